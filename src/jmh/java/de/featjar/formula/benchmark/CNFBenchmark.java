@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.benchmark;
+
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.IComputation;
+import de.featjar.formula.computation.ComputeCNFFormula;
+import de.featjar.formula.computation.ComputeNNFFormula;
+import de.featjar.formula.structure.IFormula;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link ComputeCNFFormula} with different transformation strategies.
+ * As {@link ComputeCNFFormula} modifies its input, each invocation starts from the original
+ * formula and includes the {@link ComputeNNFFormula} step (which clones the formula).
+ * Subtract the results of {@link NNFBenchmark} to obtain the time spent in the CNF step alone.
+ *
+ * @author Sebastian Krieter
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CNFBenchmark {
+
+    /**
+     * Transformation strategies of {@link ComputeCNFFormula}.
+     */
+    public enum Strategy {
+        /**
+         * Distributive transformation only.
+         */
+        DISTRIBUTIVE,
+        /**
+         * Tseitin transformation for all non-CNF constraints.
+         */
+        TSEITIN,
+        /**
+         * Tseitin transformation with Plaisted-Greenbaum optimization for all non-CNF constraints.
+         */
+        PLAISTED_GREENBAUM
+    }
+
+    @Param({
+        "generated-20-10",
+        "generated-100-100",
+        "generated-500-1000",
+        "testFeatureModels/car.xml",
+        "testFeatureModels/berkeley_db_model.xml",
+        "testFeatureModels/500-100.xml",
+        "Automotive02_V1/model.xml",
+        "kconfigreader/min-example.model",
+        "kconfigreader/distrib-bug.model",
+        "models_stability_light/busybox_monthlySnapshot/2010-05-02_14-17-07/clean.dimacs"
+    })
+    public String model;
+
+    @Param
+    public Strategy strategy;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private IFormula formula;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        FormulaCorpus.initialize();
+        formula = FormulaCorpus.load(model);
+    }
+
+    @Benchmark
+    public IFormula cnf() {
+        IComputation<IFormula> computation = Computations.of(formula)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .set(ComputeCNFFormula.IS_PARALLEL, parallel);
+        switch (strategy) {
+            case TSEITIN:
+                computation = computation.set(ComputeCNFFormula.MAXIMUM_NUMBER_OF_LITERALS, 0);
+                break;
+            case PLAISTED_GREENBAUM:
+                computation = computation
+                        .set(ComputeCNFFormula.MAXIMUM_NUMBER_OF_LITERALS, 0)
+                        .set(ComputeCNFFormula.IS_PLAISTED_GREENBAUM, Boolean.TRUE);
+                break;
+            case DISTRIBUTIVE:
+            default:
+                break;
+        }
+        return computation.compute();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.benchmark;
+
+import de.featjar.base.computation.Computations;
+import de.featjar.formula.computation.ComputeDNFFormula;
+import de.featjar.formula.computation.ComputeNNFFormula;
+import de.featjar.formula.structure.IFormula;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link ComputeDNFFormula}.
+ * The DNF of a formula is exponential in size in general, so only small inputs are used by default.
+ * Each invocation includes the {@link ComputeNNFFormula} step (see {@link CNFBenchmark}).
+ *
+ * @author Sebastian Krieter
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DNFBenchmark {
+
+    @Param({
+        "generated-10-3",
+        "generated-20-5",
+        "testFeatureModels/simple.xml",
+        "testFeatureModels/car.xml",
+        "kconfigreader/min-example.model"
+    })
+    public String model;
+
+    private IFormula formula;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        FormulaCorpus.initialize();
+        formula = FormulaCorpus.load(model);
+    }
+
+    @Benchmark
+    public IFormula dnf() {
+        return Computations.of(formula)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeDNFFormula::new)
+                .compute();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.benchmark;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Cache;
+import de.featjar.base.data.Result;
+import de.featjar.base.io.IO;
+import de.featjar.base.log.Log;
+import de.featjar.formula.io.FormulaFormats;
+import de.featjar.formula.structure.Expressions;
+import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.structure.connective.And;
+import de.featjar.formula.structure.connective.Reference;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Provides the input formulas for the transformation benchmarks.
+ * A formula is identified by a string that is either a resource path of a real model
+ * (FeatureIDE XML, KConfigReader model, or DIMACS file, resolved via {@link FormulaFormats})
+ * or {@code generated-<variables>-<constraints>}, which denotes a random formula with the given
+ * number of variables and top-level constraints.
+ * Generated formulas use a fixed seed, so all benchmark runs operate on identical inputs.
+ *
+ * @author Sebastian Krieter
+ */
+public final class FormulaCorpus {
+
+    public static final String GENERATED_PREFIX = "generated-";
+
+    private static final long SEED = 1;
+    private static final int MAXIMUM_DEPTH = 3;
+    private static final int MAXIMUM_ARITY = 3;
+
+    private static boolean initialized;
+
+    private FormulaCorpus() {}
+
+    /**
+     * Initializes FeatJAR without caching, so that repeated computations in a benchmark are not
+     * answered from the cache.
+     */
+    public static synchronized void initialize() {
+        if (!initialized) {
+            FeatJAR.configure()
+                    .log(c -> c.logToSystemErr(Log.Verbosity.ERROR, Log.Verbosity.WARNING))
+                    .cache(c -> c.setCachePolicy(Cache.CachePolicy.CACHE_NONE))
+                    .initialize();
+            initialized = true;
+        }
+    }
+
+    /**
+     * {@return the formula identified by the given name}
+     *
+     * @param name the resource path or generator specification of the formula
+     */
+    public static IFormula load(String name) {
+        if (name.startsWith(GENERATED_PREFIX)) {
+            String[] parameters = name.substring(GENERATED_PREFIX.length()).split("-");
+            return generate(Integer.parseInt(parameters[0]), Integer.parseInt(parameters[1]), SEED);
+        }
+        URL resource = ClassLoader.getSystemResource(name);
+        if (resource == null) {
+            throw new IllegalArgumentException("Unknown model " + name);
+        }
+        Result<IFormula> formula = IO.load(resource, FormulaFormats.getInstance());
+        if (formula.isEmpty()) {
+            throw new IllegalArgumentException("Could not parse model " + name + "\n" + formula.printProblems());
+        }
+        return formula.get();
+    }
+
+    /**
+     * Generates a random formula that is neither in CNF nor in DNF.
+     *
+     * @param variableCount the number of variables
+     * @param constraintCount the number of top-level constraints
+     * @param seed the random seed
+     * @return a conjunction of random constraints
+     */
+    public static IFormula generate(int variableCount, int constraintCount, long seed) {
+        Random random = new Random(seed);
+        List<IFormula> constraints = new ArrayList<>(constraintCount);
+        for (int i = 0; i < constraintCount; i++) {
+            constraints.add(generate(variableCount, MAXIMUM_DEPTH, random));
+        }
+        return new Reference(new And(constraints));
+    }
+
+    private static IFormula generate(int variableCount, int depth, Random random) {
+        if (depth == 0) {
+            return Expressions.literal(random.nextBoolean(), "x" + (random.nextInt(variableCount) + 1));
+        }
+        switch (random.nextInt(5)) {
+            case 0:
+                return Expressions.and(generateChildren(variableCount, depth, random));
+            case 1:
+                return Expressions.or(generateChildren(variableCount, depth, random));
+            case 2:
+                return Expressions.implies(
+                        generate(variableCount, depth - 1, random), generate(variableCount, depth - 1, random));
+            case 3:
+                return Expressions.biImplies(
+                        generate(variableCount, depth - 1, random), generate(variableCount, depth - 1, random));
+            default:
+                return Expressions.not(generate(variableCount, depth - 1, random));
+        }
+    }
+
+    private static IFormula[] generateChildren(int variableCount, int depth, Random random) {
+        IFormula[] children = new IFormula[2 + random.nextInt(MAXIMUM_ARITY - 1)];
+        for (int i = 0; i < children.length; i++) {
+            children[i] = generate(variableCount, depth - 1, random);
+        }
+        return children;
+    }
+}
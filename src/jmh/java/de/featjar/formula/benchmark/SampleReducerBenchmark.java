@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.benchmark;
+
+import de.featjar.base.computation.Computations;
+import de.featjar.formula.assignment.BooleanSolution;
+import de.featjar.formula.computation.GreedySampleReducer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link GreedySampleReducer} on random samples.
+ * The values of each variable are skewed, such that some interactions are rare and the reduction has to keep
+ * solutions that cover them.
+ *
+ * @author Sebastian Krieter
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class SampleReducerBenchmark {
+
+    @Param({"10000"})
+    public int sampleSize;
+
+    @Param({"20", "50"})
+    public int variableCount;
+
+    @Param({"3"})
+    public int t;
+
+    private List<BooleanSolution> sample;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(0);
+        sample = new ArrayList<>(sampleSize);
+        for (int i = 0; i < sampleSize; i++) {
+            int[] literals = new int[variableCount];
+            for (int v = 0; v < variableCount; v++) {
+                literals[v] = random.nextInt(4 + v % 16) == 0 ? -(v + 1) : v + 1;
+            }
+            sample.add(new BooleanSolution(literals, false));
+        }
+    }
+
+    @Benchmark
+    public List<BooleanSolution> reduce() {
+        return Computations.of(sample)
+                .map(GreedySampleReducer::new)
+                .set(GreedySampleReducer.T, t)
+                .compute();
+    }
+}
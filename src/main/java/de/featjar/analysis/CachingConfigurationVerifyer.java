@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.analysis;
+
+import de.featjar.formula.assignment.BooleanAssignment;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Memoizes the results of another verifier, such that each distinct configuration is verified at most once.
+ * Configurations are identified by their set of literals, regardless of order and of unassigned variables, which is
+ * packed into a bit mask per sign.
+ * Verifications are run on a given executor. Thus, with an executor that runs several tasks in parallel, several
+ * configurations can be verified concurrently; concurrent requests for the same configuration share one verification.
+ * A verification that throws an exception, or that cannot be submitted to the executor, is not cached.
+ *
+ * @author Sebastian Krieter
+ */
+public class CachingConfigurationVerifyer implements IBatchConfigurationVerifyer {
+
+    private static final class ConfigurationKey {
+        // words[2 * i] (words[2 * i + 1]) contains the positive (negative) literals of variables 64 * i + 1 and above
+        private final long[] words;
+        private final int hashCode;
+
+        private ConfigurationKey(BooleanAssignment configuration) {
+            final int[] literals = configuration.get();
+            int maxVariable = 0;
+            for (final int literal : literals) {
+                maxVariable = Math.max(maxVariable, Math.abs(literal));
+            }
+            words = new long[2 * ((maxVariable + Long.SIZE - 1) >>> 6)];
+            for (final int literal : literals) {
+                if (literal != 0) {
+                    final int variable = Math.abs(literal) - 1;
+                    words[2 * (variable >>> 6) + (literal > 0 ? 0 : 1)] |= 1L << variable;
+                }
+            }
+            hashCode = Arrays.hashCode(words);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof ConfigurationKey
+                    && hashCode == ((ConfigurationKey) obj).hashCode
+                    && Arrays.equals(words, ((ConfigurationKey) obj).words);
+        }
+    }
+
+    private final IConfigurationVerifyer verifier;
+    private final Executor executor;
+    private final ConcurrentHashMap<ConfigurationKey, CompletableFuture<Integer>> results = new ConcurrentHashMap<>();
+    private final LongAdder verificationCount = new LongAdder();
+    private final LongAdder cacheHitCount = new LongAdder();
+
+    /**
+     * Creates a caching verifier that verifies configurations synchronously in the calling thread.
+     *
+     * @param verifier the verifier
+     */
+    public CachingConfigurationVerifyer(IConfigurationVerifyer verifier) {
+        this(verifier, Runnable::run);
+    }
+
+    /**
+     * Creates a caching verifier that verifies configurations on the given executor.
+     *
+     * @param verifier the verifier, must be thread-safe if the executor runs tasks in parallel
+     * @param executor the executor
+     */
+    public CachingConfigurationVerifyer(IConfigurationVerifyer verifier, Executor executor) {
+        this.verifier = verifier;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Integer> submit(BooleanAssignment configuration) {
+        final ConfigurationKey key = new ConfigurationKey(configuration);
+        CompletableFuture<Integer> result = results.get(key);
+        if (result == null) {
+            final CompletableFuture<Integer> newResult = new CompletableFuture<>();
+            result = results.putIfAbsent(key, newResult);
+            if (result == null) {
+                try {
+                    executor.execute(() -> {
+                        verificationCount.increment();
+                        try {
+                            newResult.complete(verifier.test(configuration));
+                        } catch (Throwable e) {
+                            results.remove(key, newResult);
+                            newResult.completeExceptionally(e);
+                        }
+                    });
+                } catch (Throwable e) {
+                    // e.g., the executor rejected the task, so concurrent and later requests must not wait for it
+                    results.remove(key, newResult);
+                    newResult.completeExceptionally(e);
+                }
+                return newResult;
+            }
+        }
+        cacheHitCount.increment();
+        return result;
+    }
+
+    /**
+     * {@return the number of verifications run by the underlying verifier}
+     */
+    public long getVerificationCount() {
+        return verificationCount.sum();
+    }
+
+    /**
+     * {@return the number of submitted configurations whose result was taken from the cache}
+     */
+    public long getCacheHitCount() {
+        return cacheHitCount.sum();
+    }
+
+    /**
+     * Removes all cached results.
+     */
+    public void clear() {
+        results.clear();
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.analysis;
+
+import de.featjar.formula.assignment.BooleanAssignment;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the configurations verified by another verifier.
+ * Unlike {@link CachingConfigurationVerifyer}, every call is counted, including repeated verifications of the same
+ * configuration.
+ *
+ * @author Sebastian Krieter
+ */
+public class CountingConfigurationVerifyer implements IConfigurationVerifyer {
+
+    private final IConfigurationVerifyer verifier;
+    private final LongAdder verificationCount = new LongAdder();
+
+    /**
+     * Creates a counting verifier.
+     *
+     * @param verifier the verifier
+     */
+    public CountingConfigurationVerifyer(IConfigurationVerifyer verifier) {
+        this.verifier = verifier;
+    }
+
+    @Override
+    public int test(BooleanAssignment configuration) {
+        verificationCount.increment();
+        return verifier.test(configuration);
+    }
+
+    /**
+     * {@return the number of verified configurations}
+     */
+    public long getVerificationCount() {
+        return verificationCount.sum();
+    }
+
+    /**
+     * Resets the number of verified configurations to zero.
+     */
+    public void reset() {
+        verificationCount.reset();
+    }
+}
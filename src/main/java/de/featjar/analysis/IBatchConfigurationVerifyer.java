@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.analysis;
+
+import de.featjar.formula.assignment.BooleanAssignment;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Verifies configurations asynchronously, such that several configurations can be verified concurrently.
+ *
+ * @author Sebastian Krieter
+ */
+public interface IBatchConfigurationVerifyer extends IConfigurationVerifyer {
+
+    /**
+     * Submits a configuration for verification.
+     *
+     * @param configuration the configuration
+     * @return a future that completes with the verification result, which is {@code 0} iff the configuration passes
+     */
+    CompletableFuture<Integer> submit(BooleanAssignment configuration);
+
+    /**
+     * Submits several configurations for verification.
+     *
+     * @param configurations the configurations
+     * @return a future for each configuration in the same order
+     */
+    default List<CompletableFuture<Integer>> submitAll(Collection<? extends BooleanAssignment> configurations) {
+        final List<CompletableFuture<Integer>> results = new ArrayList<>(configurations.size());
+        for (final BooleanAssignment configuration : configurations) {
+            results.add(submit(configuration));
+        }
+        return results;
+    }
+
+    /**
+     * Verifies a configuration and waits for the result.
+     *
+     * @param configuration the configuration
+     * @return the verification result, which is {@code 0} iff the configuration passes
+     */
+    @Override
+    default int test(BooleanAssignment configuration) {
+        return join(submit(configuration));
+    }
+
+    /**
+     * {@return the result of a verification, waiting for it if necessary}
+     * Exceptions thrown by the verification are rethrown unwrapped.
+     *
+     * @param result the future result of a verification
+     */
+    static int join(CompletableFuture<Integer> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -24,12 +24,10 @@ import de.featjar.analysis.ISolver;
 import de.featjar.base.data.IntegerList;
 import de.featjar.base.data.Maps;
 import de.featjar.base.data.Result;
-import de.featjar.base.data.Sets;
 import de.featjar.formula.VariableMap;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
 import java.util.stream.IntStream;
 
 /**
@@ -42,6 +40,13 @@ import java.util.stream.IntStream;
  * may occur multiple times. For specific use cases, consider using
  * {@link BooleanClause} (a disjunction of literals) or {@link BooleanSolution}
  * (a conjunction of literals).
+ * <p>
+ * Set operations on literals and variables can be given a caller-owned scratch
+ * buffer to avoid allocating temporary data structures. A scratch buffer is an
+ * {@code int} array that is indexed by variable and must be longer than the
+ * largest variable index of all involved literals. It must be filled with
+ * zeros when passed to a method and is filled with zeros again when the method
+ * returns. Thus, it can be reused across calls, but not concurrently.
  *
  * @author Sebastian Krieter
  * @author Elias Kuiter
@@ -61,49 +66,158 @@ public class BooleanAssignment extends IntegerList implements IAssignment<Intege
      *         clause is a tautology
      */
     public static int[] unitPropagation(BooleanClause clause, BooleanAssignment core) {
+        final int[] scratch = isIndexed(core)
+                ? newScratch(clause.get())
+                : newScratch(clause.get(), core.get());
+        return unitPropagation(clause, core, scratch);
+    }
+
+    /**
+     * Constructs a new literal array from the given clause with all literals
+     * removed that evaluate to {@code false}. Returns {@code null} if any literal
+     * evaluate to {@code true} or the clause contains a literal and its complement.
+     *
+     * @param clause  the given clause
+     * @param core    the known literals
+     * @param scratch a scratch buffer for all variables of the clause and the core
+     *                (see {@link BooleanAssignment})
+     * @return a new array containing only unknown literals or {@code null} if the
+     *         clause is a tautology
+     */
+    public static int[] unitPropagation(BooleanClause clause, BooleanAssignment core, int[] scratch) {
         final int[] literals = clause.get();
-        final LinkedHashSet<Integer> literalSet = new LinkedHashSet<>(literals.length << 1);
+        // a solution or sorted assignment is queried directly, any other core is marked in the scratch buffer
+        final int[] coreLiterals = isIndexed(core) ? null : core.get();
+        if (coreLiterals != null) {
+            for (final int literal : coreLiterals) {
+                scratch[Math.abs(literal)] |= mark(literal) << 2;
+            }
+        }
 
-        for (int var : literals) {
-            if (core.indexOf(var) >= 0) {
-                return null;
-            } else if (core.indexOf(-var) < 0) {
-                if (literalSet.contains(-var)) {
+        int count = 0;
+        for (final int literal : literals) {
+            if (literal != 0) {
+                final int variable = Math.abs(literal);
+                final int state = scratch[variable];
+                if (coreLiterals == null ? core.indexOf(literal) >= 0 : (state & (mark(literal) << 2)) != 0) {
+                    clear(scratch, literals, coreLiterals);
                     return null;
-                } else {
-                    literalSet.add(var);
+                } else if (coreLiterals == null ? core.indexOf(-literal) < 0 : (state & (mark(-literal) << 2)) == 0) {
+                    if ((state & mark(-literal)) != 0) {
+                        clear(scratch, literals, coreLiterals);
+                        return null;
+                    } else if ((state & mark(literal)) == 0) {
+                        scratch[variable] = state | mark(literal);
+                        count++;
+                    }
                 }
             }
         }
-        final int[] literalArray = new int[literalSet.size()];
+
+        final int[] literalArray = new int[count];
         int i = 0;
-        for (final int lit : literalSet) {
-            literalArray[i++] = lit;
+        for (final int literal : literals) {
+            final int variable = Math.abs(literal);
+            if (literal != 0 && (scratch[variable] & mark(literal)) != 0) {
+                literalArray[i++] = literal;
+                scratch[variable] &= ~mark(literal);
+            }
         }
+        clear(scratch, coreLiterals);
         return literalArray;
     }
 
     public static int[] simplify(int[] literals) {
-        final LinkedHashSet<Integer> integerSet = Sets.empty();
+        return simplify(literals, newScratch(literals));
+    }
+
+    /**
+     * {@return the given literals without duplicates, or an empty array if they contain a literal and its complement}
+     *
+     * @param literals the literals
+     * @param scratch a scratch buffer for all variables of the literals (see {@link BooleanAssignment})
+     */
+    public static int[] simplify(int[] literals, int[] scratch) {
+        int count = 0;
+        boolean containsZero = false;
         for (final int integer : literals) {
-            if (integer != 0 && integerSet.contains(-integer)) {
-                // If this assignment is a contradiction or tautology, it can be simplified.
-                return new int[] {};
+            if (integer == 0) {
+                if (!containsZero) {
+                    containsZero = true;
+                    count++;
+                }
             } else {
-                integerSet.add(integer);
+                final int variable = Math.abs(integer);
+                final int state = scratch[variable];
+                if ((state & mark(-integer)) != 0) {
+                    // If this assignment is a contradiction or tautology, it can be simplified.
+                    clear(scratch, literals);
+                    return new int[] {};
+                } else if ((state & mark(integer)) == 0) {
+                    scratch[variable] = state | mark(integer);
+                    count++;
+                }
             }
         }
-        if (integerSet.size() == literals.length) {
+        if (count == literals.length) {
+            clear(scratch, literals);
             return Arrays.copyOf(literals, literals.length);
         }
-        int[] newArray = new int[integerSet.size()];
+        int[] newArray = new int[count];
         int i = 0;
-        for (final int lit : integerSet) {
-            newArray[i++] = lit;
+        for (final int integer : literals) {
+            if (integer == 0) {
+                if (containsZero) {
+                    newArray[i++] = 0;
+                    containsZero = false;
+                }
+            } else {
+                final int variable = Math.abs(integer);
+                if ((scratch[variable] & mark(integer)) != 0) {
+                    newArray[i++] = integer;
+                    scratch[variable] &= ~mark(integer);
+                }
+            }
         }
         return newArray;
     }
 
+    private static boolean isIndexed(BooleanAssignment assignment) {
+        return assignment instanceof BooleanSolution || assignment instanceof SortedBooleanAssignment;
+    }
+
+    private static int mark(int literal) {
+        return literal >= 0 ? 1 : 2;
+    }
+
+    private static int[] newScratch(int[]... literalArrays) {
+        int maxVariable = 0;
+        for (final int[] literals : literalArrays) {
+            for (final int literal : literals) {
+                maxVariable = Math.max(maxVariable, Math.abs(literal));
+            }
+        }
+        return new int[maxVariable + 1];
+    }
+
+    private static void clear(int[] scratch, int[]... literalArrays) {
+        for (final int[] literals : literalArrays) {
+            if (literals != null) {
+                for (final int literal : literals) {
+                    scratch[Math.abs(literal)] = 0;
+                }
+            }
+        }
+    }
+
+    private static void checkVariables(int[] variables) {
+        for (final int variable : variables) {
+            if (variable < 0) {
+                throw new IllegalArgumentException(String.format("%d is negative", variable));
+            }
+        }
+    }
+
     public static void adapt(
             int[] oldLiterals,
             int[] newLiterals,
@@ -185,19 +299,31 @@ public class BooleanAssignment extends IntegerList implements IAssignment<Intege
         if (variable < 0) {
             throw new IllegalArgumentException(String.format("%d is negative", variable));
         }
-        return IntStream.range(0, elements.length)
-                .filter(i -> Math.abs(elements[i]) == variable)
-                .findFirst()
-                .orElse(-1);
+        for (int i = 0; i < elements.length; i++) {
+            if (Math.abs(elements[i]) == variable) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     public int[] indicesOfVariable(int variable) {
         if (variable < 0) {
             throw new IllegalArgumentException(String.format("%d is negative", variable));
         }
-        return IntStream.range(0, elements.length)
-                .filter(i -> Math.abs(elements[i]) == variable)
-                .toArray();
+        int count = 0;
+        for (final int element : elements) {
+            if (Math.abs(element) == variable) {
+                count++;
+            }
+        }
+        final int[] indices = new int[count];
+        for (int i = 0, j = 0; j < count; i++) {
+            if (Math.abs(elements[i]) == variable) {
+                indices[j++] = i;
+            }
+        }
+        return indices;
     }
 
     public final boolean containsVariable(int integer) {
@@ -205,15 +331,25 @@ public class BooleanAssignment extends IntegerList implements IAssignment<Intege
     }
 
     public final boolean containsAnyVariable(int... integers) {
-        return Arrays.stream(integers).anyMatch(integer -> containsVariable(integer));
+        for (final int integer : integers) {
+            if (containsVariable(integer)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public final boolean containsAllVariables(int... integers) {
-        return Arrays.stream(integers).allMatch(integer -> containsVariable(integer));
+        for (final int integer : integers) {
+            if (!containsVariable(integer)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     public final boolean containsNoneVariables(int... integers) {
-        return Arrays.stream(integers).noneMatch(integer -> containsVariable(integer));
+        return !containsAnyVariable(integers);
     }
 
     /**
@@ -222,26 +358,33 @@ public class BooleanAssignment extends IntegerList implements IAssignment<Intege
      * @param integers the integers
      */
     public final int[] retainAllVariables(int... integers) {
-        boolean[] intersectionMarker = new boolean[elements.length];
+        return retainAllVariables(integers, newScratch(elements, integers));
+    }
+
+    /**
+     * {@return the intersection of this integer list with the given integers}
+     *
+     * @param integers the integers
+     * @param scratch a scratch buffer for all variables of this list and the integers (see {@link BooleanAssignment})
+     */
+    public final int[] retainAllVariables(int[] integers, int[] scratch) {
+        checkVariables(integers);
+        for (final int integer : integers) {
+            scratch[integer] = 1;
+        }
         int count = 0;
-        for (int integer : integers) {
-            final int[] indices = indicesOfVariable(integer);
-            for (int i = 0; i < indices.length; i++) {
-                int index = indices[i];
-                if (index >= 0 && !intersectionMarker[index]) {
-                    count++;
-                    intersectionMarker[index] = true;
-                }
-            }
+        for (final int element : elements) {
+            count += scratch[Math.abs(element)];
         }
 
         int[] newArray = new int[count];
         int j = 0;
-        for (int i = 0; i < elements.length; i++) {
-            if (intersectionMarker[i]) {
-                newArray[j++] = elements[i];
+        for (final int element : elements) {
+            if (scratch[Math.abs(element)] != 0) {
+                newArray[j++] = element;
             }
         }
+        clear(scratch, integers);
         assert Arrays.stream(elements)
                 .allMatch(e -> Arrays.stream(newArray).anyMatch(i -> i == e)
                         == Arrays.stream(integers).anyMatch(i -> i == Math.abs(e)));
@@ -254,26 +397,34 @@ public class BooleanAssignment extends IntegerList implements IAssignment<Intege
      * @param integers the integers
      */
     public final int[] retainAllNegated(int... integers) {
-        boolean[] intersectionMarker = new boolean[elements.length];
+        return retainAllNegated(integers, newScratch(elements, integers));
+    }
+
+    /**
+     * {@return the intersection of this integer list with the given integers}
+     *
+     * @param integers the integers
+     * @param scratch a scratch buffer for all variables of this list and the integers (see {@link BooleanAssignment})
+     */
+    public final int[] retainAllNegated(int[] integers, int[] scratch) {
+        for (final int integer : integers) {
+            scratch[Math.abs(integer)] |= mark(-integer);
+        }
         int count = 0;
-        for (int integer : integers) {
-            final int[] indices = indicesOf(-integer);
-            for (int i = 0; i < indices.length; i++) {
-                int index = indices[i];
-                if (index >= 0 && !intersectionMarker[index]) {
-                    count++;
-                    intersectionMarker[index] = true;
-                }
+        for (final int element : elements) {
+            if ((scratch[Math.abs(element)] & mark(element)) != 0) {
+                count++;
             }
         }
 
         int[] newArray = new int[count];
         int j = 0;
-        for (int i = 0; i < elements.length; i++) {
-            if (intersectionMarker[i]) {
-                newArray[j++] = elements[i];
+        for (final int element : elements) {
+            if ((scratch[Math.abs(element)] & mark(element)) != 0) {
+                newArray[j++] = element;
             }
         }
+        clear(scratch, integers);
         assert Arrays.stream(elements)
                 .allMatch(e -> Arrays.stream(newArray).anyMatch(i -> i == e)
                         == Arrays.stream(integers).anyMatch(i -> i == Math.abs(e)));
@@ -286,26 +437,33 @@ public class BooleanAssignment extends IntegerList implements IAssignment<Intege
      * @param integers the integers
      */
     public final int[] removeAllVariables(int... integers) {
-        boolean[] intersectionMarker = new boolean[elements.length];
+        return removeAllVariables(integers, newScratch(elements, integers));
+    }
+
+    /**
+     * {@return the difference of this integer list and the given integers}
+     *
+     * @param integers the integers
+     * @param scratch a scratch buffer for all variables of this list and the integers (see {@link BooleanAssignment})
+     */
+    public final int[] removeAllVariables(int[] integers, int[] scratch) {
+        checkVariables(integers);
+        for (final int integer : integers) {
+            scratch[integer] = 1;
+        }
         int count = 0;
-        for (int integer : integers) {
-            final int[] indices = indicesOfVariable(integer);
-            for (int i = 0; i < indices.length; i++) {
-                int index = indices[i];
-                if (index >= 0 && !intersectionMarker[index]) {
-                    count++;
-                    intersectionMarker[index] = true;
-                }
-            }
+        for (final int element : elements) {
+            count += scratch[Math.abs(element)];
         }
 
         int[] newArray = new int[elements.length - count];
         int j = 0;
-        for (int i = 0; i < elements.length; i++) {
-            if (!intersectionMarker[i]) {
-                newArray[j++] = elements[i];
+        for (final int element : elements) {
+            if (scratch[Math.abs(element)] == 0) {
+                newArray[j++] = element;
             }
         }
+        clear(scratch, integers);
         assert Arrays.stream(elements)
                 .allMatch(e -> Arrays.stream(newArray).anyMatch(i -> i == e)
                         ^ Arrays.stream(integers).anyMatch(i -> i == Math.abs(e)));
@@ -382,6 +540,13 @@ public class BooleanAssignment extends IntegerList implements IAssignment<Intege
         return new BooleanSolution(IntStream.of(elements).map(Math::abs).max().orElse(0), elements);
     }
 
+    /**
+     * {@return a copy of this assignment that is sorted by variable and contains neither zeros nor duplicates}
+     */
+    public SortedBooleanAssignment toSortedAssignment() {
+        return new SortedBooleanAssignment(elements);
+    }
+
     public BooleanSolution toSolution(int variableCount) {
         if (variableCount < 0) {
             throw new IllegalArgumentException(
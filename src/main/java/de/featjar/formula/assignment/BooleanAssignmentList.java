@@ -96,6 +96,18 @@ public class BooleanAssignmentList implements IAssignmentList<BooleanAssignment>
         this.assignments = assignments.collect(Collectors.toCollection(ArrayList::new));
     }
 
+    /**
+     * Creates a list that is backed by the given list of assignments without copying it.
+     * Used by subclasses that provide their own list implementation (e.g., read-only views).
+     *
+     * @param assignments the backing list
+     * @param variableMap the variable map
+     */
+    protected BooleanAssignmentList(List<BooleanAssignment> assignments, VariableMap variableMap) {
+        this.variableMap = variableMap;
+        this.assignments = assignments;
+    }
+
     public BooleanAssignmentList(BooleanAssignmentList other) {
         this(other.variableMap, other.getAll());
     }
@@ -116,6 +128,17 @@ public class BooleanAssignmentList implements IAssignmentList<BooleanAssignment>
                 assignments.stream().map(BooleanAssignment::toAssignment).collect(Collectors.toList()));
     }
 
+    /**
+     * {@return a new list containing each assignment of this list sorted by variable}
+     *
+     * @see SortedBooleanAssignment
+     */
+    public BooleanAssignmentList toSortedAssignmentList() {
+        return new BooleanAssignmentList(
+                variableMap,
+                assignments.stream().map(BooleanAssignment::toSortedAssignment).collect(Collectors.toList()));
+    }
+
     @Override
     public BooleanAssignmentList toClauseList() {
         return new BooleanAssignmentList(
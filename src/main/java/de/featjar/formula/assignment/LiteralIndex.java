@@ -0,0 +1,227 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Indexes a growing list of assignments by one bit set per literal, whose bits denote the assignments containing
+ * the literal.
+ * Thus, the assignments containing a set of literals are the conjunction of the bit sets of these literals.
+ * Bit sets are stored as arrays of words, in which bit {@code i % 64} of word {@code i / 64} denotes the assignment
+ * with index {@code i}. All bit sets have the same length of at least {@link #getWordCount()} words and can be
+ * combined word by word.
+ * The index may be queried concurrently, but not while assignments are added.
+ *
+ * @author Sebastian Krieter
+ */
+public final class LiteralIndex {
+
+    // columns[2 * (v - 1)] (columns[2 * (v - 1) + 1]) contains the assignments that contain the literal v (-v)
+    private long[][] columns;
+    private long[] emptyColumn;
+    private int variableCount;
+    private int size;
+
+    /**
+     * Creates an empty index.
+     */
+    public LiteralIndex() {
+        this(0, 0);
+    }
+
+    /**
+     * Creates an empty index with an initial capacity.
+     * The index grows beyond the given capacity if needed.
+     *
+     * @param variableCount the expected number of variables
+     * @param capacity the expected number of assignments
+     */
+    public LiteralIndex(int variableCount, int capacity) {
+        columns = new long[2 * Math.max(variableCount, 0)][];
+        emptyColumn = new long[getWordCount(Math.max(capacity, 0))];
+    }
+
+    /**
+     * Creates an index of the given assignments.
+     *
+     * @param assignments the assignments
+     */
+    public LiteralIndex(List<? extends BooleanAssignment> assignments) {
+        this(0, assignments.size());
+        for (final BooleanAssignment assignment : assignments) {
+            add(assignment.get());
+        }
+    }
+
+    /**
+     * {@return the number of words needed for a bit set of the given number of assignments}
+     *
+     * @param size the number of assignments
+     */
+    public static int getWordCount(int size) {
+        return (size + Long.SIZE - 1) >>> 6;
+    }
+
+    /**
+     * Adds an assignment to this index.
+     *
+     * @param literals the literals of the assignment, zeros are ignored
+     */
+    public void add(int[] literals) {
+        final int wordIndex = size >>> 6;
+        if (wordIndex >= emptyColumn.length) {
+            final int capacity = Math.max(wordIndex + 1, 2 * emptyColumn.length);
+            for (int i = 0; i < columns.length; i++) {
+                if (columns[i] != null) {
+                    columns[i] = Arrays.copyOf(columns[i], capacity);
+                }
+            }
+            emptyColumn = new long[capacity];
+        }
+        final long bit = 1L << size;
+        for (final int literal : literals) {
+            if (literal != 0) {
+                final int column = getColumnIndex(literal);
+                if (column >= columns.length) {
+                    columns = Arrays.copyOf(columns, Math.max(column + 2, 2 * columns.length));
+                }
+                long[] words = columns[column];
+                if (words == null) {
+                    words = new long[emptyColumn.length];
+                    columns[column] = words;
+                }
+                words[wordIndex] |= bit;
+                variableCount = Math.max(variableCount, Math.abs(literal));
+            }
+        }
+        size++;
+    }
+
+    /**
+     * {@return the number of indexed assignments}
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@return the number of words needed for a bit set of all indexed assignments}
+     */
+    public int getWordCount() {
+        return getWordCount(size);
+    }
+
+    /**
+     * {@return the largest variable index contained in any indexed assignment}
+     */
+    public int getVariableCount() {
+        return variableCount;
+    }
+
+    /**
+     * {@return the assignments containing the given literal}
+     * The returned bit set is shared with this index and must not be modified.
+     * Its words beyond {@link #getWordCount()} are zero.
+     *
+     * @param literal the literal, must not be zero
+     */
+    public long[] getColumn(int literal) {
+        if (literal == 0) {
+            throw new IllegalArgumentException(String.valueOf(literal));
+        }
+        final int column = getColumnIndex(literal);
+        if (column >= columns.length || columns[column] == null) {
+            return emptyColumn;
+        }
+        return columns[column];
+    }
+
+    /**
+     * {@return a new bit set that contains all indexed assignments}
+     */
+    public long[] getAll() {
+        final long[] all = new long[getWordCount()];
+        Arrays.fill(all, -1L);
+        if ((size & 63) != 0) {
+            all[all.length - 1] = (1L << size) - 1;
+        }
+        return all;
+    }
+
+    /**
+     * {@return whether any indexed assignment contains all given literals}
+     *
+     * @param literals the literals, must not contain zero
+     */
+    public boolean containsAny(int... literals) {
+        if (literals.length == 0) {
+            return size > 0;
+        }
+        final long[][] literalColumns = getColumns(literals);
+        final int wordCount = getWordCount();
+        for (int w = 0; w < wordCount; w++) {
+            if (and(literalColumns, w) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@return the number of indexed assignments that contain all given literals}
+     *
+     * @param literals the literals, must not contain zero
+     */
+    public int count(int... literals) {
+        if (literals.length == 0) {
+            return size;
+        }
+        final long[][] literalColumns = getColumns(literals);
+        final int wordCount = getWordCount();
+        int count = 0;
+        for (int w = 0; w < wordCount; w++) {
+            count += Long.bitCount(and(literalColumns, w));
+        }
+        return count;
+    }
+
+    private long[][] getColumns(int[] literals) {
+        final long[][] literalColumns = new long[literals.length][];
+        for (int i = 0; i < literals.length; i++) {
+            literalColumns[i] = getColumn(literals[i]);
+        }
+        return literalColumns;
+    }
+
+    private static long and(long[][] literalColumns, int w) {
+        long word = literalColumns[0][w];
+        for (int i = 1; word != 0 && i < literalColumns.length; i++) {
+            word &= literalColumns[i][w];
+        }
+        return word;
+    }
+
+    private static int getColumnIndex(int literal) {
+        return literal > 0 ? 2 * (literal - 1) : 2 * (-literal - 1) + 1;
+    }
+}
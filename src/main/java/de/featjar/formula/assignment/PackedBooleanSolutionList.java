@@ -0,0 +1,352 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment;
+
+import de.featjar.formula.VariableMap;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A list of {@link BooleanSolution solutions} that stores each solution as two packed bit sets,
+ * one containing the selected variables and one containing the assigned (i.e., defined) variables.
+ * Thus, a solution over {@code n} variables requires {@code 2n} bits instead of {@code 32n} bits plus an array
+ * header. Solutions are decoded into new {@link BooleanSolution} objects on access, which are detached from this
+ * list. That is, changing a returned solution does not change this list; use {@link #set(int, BooleanAssignment)}
+ * instead.
+ * For queries on single variables (e.g., which solutions select a given variable), this list lazily builds
+ * a {@link LiteralIndex} of all solutions.
+ * All variable indices must be contained in the range of the variable map given at construction.
+ *
+ * @author Sebastian Krieter
+ */
+public class PackedBooleanSolutionList extends BooleanAssignmentList {
+
+    private static final class PackedRows extends AbstractList<BooleanAssignment> implements RandomAccess {
+        private int variableCount;
+        private int wordsPerRow;
+        private long[] selected;
+        private long[] defined;
+        private int size;
+
+        private LiteralIndex literalIndex;
+
+        private PackedRows(int variableCount, int capacity) {
+            reset(variableCount, capacity);
+        }
+
+        private void reset(int variableCount, int capacity) {
+            this.variableCount = variableCount;
+            wordsPerRow = getWordCount(variableCount);
+            selected = new long[Math.max(capacity, 1) * wordsPerRow];
+            defined = new long[selected.length];
+            size = 0;
+            literalIndex = null;
+        }
+
+        @Override
+        public BooleanSolution get(int index) {
+            checkIndex(index, size);
+            final int[] literals = new int[variableCount];
+            decode(index, literals);
+            return new BooleanSolution(literals, false);
+        }
+
+        private void decode(int index, int[] literals) {
+            final int offset = index * wordsPerRow;
+            for (int w = 0; w < wordsPerRow; w++) {
+                long definedWord = defined[offset + w];
+                final long selectedWord = selected[offset + w];
+                while (definedWord != 0) {
+                    final int bit = Long.numberOfTrailingZeros(definedWord);
+                    final int variable = (w << 6) + bit + 1;
+                    literals[variable - 1] = (selectedWord & (1L << bit)) != 0 ? variable : -variable;
+                    definedWord &= definedWord - 1;
+                }
+            }
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public BooleanAssignment set(int index, BooleanAssignment assignment) {
+            checkIndex(index, size);
+            final BooleanSolution oldSolution = get(index);
+            encode(index, assignment);
+            return oldSolution;
+        }
+
+        @Override
+        public void add(int index, BooleanAssignment assignment) {
+            checkIndex(index, size + 1);
+            ensureCapacity(size + 1);
+            final int offset = index * wordsPerRow;
+            final int length = (size - index) * wordsPerRow;
+            System.arraycopy(selected, offset, selected, offset + wordsPerRow, length);
+            System.arraycopy(defined, offset, defined, offset + wordsPerRow, length);
+            size++;
+            modCount++;
+            encode(index, assignment);
+        }
+
+        @Override
+        public BooleanSolution remove(int index) {
+            checkIndex(index, size);
+            final BooleanSolution oldSolution = get(index);
+            final int offset = index * wordsPerRow;
+            final int length = (size - index - 1) * wordsPerRow;
+            System.arraycopy(selected, offset + wordsPerRow, selected, offset, length);
+            System.arraycopy(defined, offset + wordsPerRow, defined, offset, length);
+            size--;
+            modCount++;
+            literalIndex = null;
+            return oldSolution;
+        }
+
+        @Override
+        public void clear() {
+            size = 0;
+            modCount++;
+            literalIndex = null;
+        }
+
+        private void encode(int index, BooleanAssignment assignment) {
+            final int[] literals = assignment.get();
+            for (final int literal : literals) {
+                if (Math.abs(literal) > variableCount) {
+                    throw new IllegalArgumentException(
+                            String.format("Variable %d exceeds variable count %d", Math.abs(literal), variableCount));
+                }
+            }
+            final int offset = index * wordsPerRow;
+            Arrays.fill(selected, offset, offset + wordsPerRow, 0L);
+            Arrays.fill(defined, offset, offset + wordsPerRow, 0L);
+            pack(literals, selected, defined, offset);
+            literalIndex = null;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity * wordsPerRow > selected.length) {
+                final int newCapacity = Math.max(capacity, (selected.length / Math.max(wordsPerRow, 1)) * 3 / 2 + 1);
+                selected = Arrays.copyOf(selected, newCapacity * wordsPerRow);
+                defined = Arrays.copyOf(defined, newCapacity * wordsPerRow);
+            }
+        }
+
+        private LiteralIndex getLiteralIndex() {
+            if (literalIndex == null) {
+                final LiteralIndex index = new LiteralIndex(variableCount, size);
+                final int[] literals = new int[variableCount];
+                for (int row = 0; row < size; row++) {
+                    Arrays.fill(literals, 0);
+                    decode(row, literals);
+                    index.add(literals);
+                }
+                literalIndex = index;
+            }
+            return literalIndex;
+        }
+
+        private void checkVariable(int variable) {
+            if (variable < 1 || variable > variableCount) {
+                throw new IllegalArgumentException(
+                        String.format("Variable %d is not in range [1, %d]", variable, variableCount));
+            }
+        }
+
+        private static void checkIndex(int index, int size) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+        }
+    }
+
+    public PackedBooleanSolutionList(VariableMap variableMap) {
+        this(variableMap, 16);
+    }
+
+    public PackedBooleanSolutionList(VariableMap variableMap, int capacity) {
+        super(new PackedRows(Math.max(variableMap.maxIndex(), 0), capacity), variableMap);
+    }
+
+    public PackedBooleanSolutionList(BooleanAssignmentList assignmentList) {
+        this(assignmentList.getVariableMap(), assignmentList.size());
+        addAll(assignmentList);
+    }
+
+    /**
+     * {@return a new solution containing the literals of the solution with the given index}
+     * The returned solution is detached from this list.
+     *
+     * @param index the index of the solution
+     */
+    @Override
+    public BooleanAssignment get(int index) {
+        return assignments.get(index);
+    }
+
+    /**
+     * {@return the number of words needed to pack a solution over the given number of variables}
+     *
+     * @param variableCount the number of variables
+     */
+    public static int getWordCount(int variableCount) {
+        return (variableCount + Long.SIZE - 1) >>> 6;
+    }
+
+    /**
+     * Packs the literals of a solution into two bit sets in the format of this list (see
+     * {@link #getSelectedWords(int)} and {@link #getDefinedWords(int)}).
+     * Bits are only set, so both bit sets should be empty initially.
+     *
+     * @param literals the literals, zeros are ignored
+     * @param selected the selected variables, must contain at least {@link #getWordCount(int)} words
+     * @param defined the assigned variables, must contain at least {@link #getWordCount(int)} words
+     */
+    public static void pack(int[] literals, long[] selected, long[] defined) {
+        pack(literals, selected, defined, 0);
+    }
+
+    private static void pack(int[] literals, long[] selected, long[] defined, int offset) {
+        for (final int literal : literals) {
+            if (literal != 0) {
+                final int variable = Math.abs(literal) - 1;
+                final long bit = 1L << variable;
+                defined[offset + (variable >>> 6)] |= bit;
+                if (literal > 0) {
+                    selected[offset + (variable >>> 6)] |= bit;
+                }
+            }
+        }
+    }
+
+    private PackedRows rows() {
+        return (PackedRows) assignments;
+    }
+
+    /**
+     * {@return the number of variables that each solution in this list can contain}
+     */
+    public int getVariableCount() {
+        return rows().variableCount;
+    }
+
+    /**
+     * {@return the value of a variable in the solution with the given index}
+     * That is, the positive or negative variable index, or {@code 0} if the variable is not assigned.
+     *
+     * @param index the index of the solution
+     * @param variable the variable index
+     */
+    public int getLiteral(int index, int variable) {
+        final PackedRows rows = rows();
+        PackedRows.checkIndex(index, rows.size);
+        rows.checkVariable(variable);
+        final int word = index * rows.wordsPerRow + ((variable - 1) >>> 6);
+        final long bit = 1L << (variable - 1);
+        return (rows.defined[word] & bit) == 0 ? 0 : (rows.selected[word] & bit) != 0 ? variable : -variable;
+    }
+
+    /**
+     * {@return the selected variables of the solution with the given index}
+     * Bit {@code i} is set iff variable {@code i + 1} is assigned positively.
+     *
+     * @param index the index of the solution
+     */
+    public long[] getSelectedWords(int index) {
+        final PackedRows rows = rows();
+        PackedRows.checkIndex(index, rows.size);
+        final int offset = index * rows.wordsPerRow;
+        return Arrays.copyOfRange(rows.selected, offset, offset + rows.wordsPerRow);
+    }
+
+    /**
+     * {@return the assigned variables of the solution with the given index}
+     * Bit {@code i} is set iff variable {@code i + 1} is assigned.
+     *
+     * @param index the index of the solution
+     */
+    public long[] getDefinedWords(int index) {
+        final PackedRows rows = rows();
+        PackedRows.checkIndex(index, rows.size);
+        final int offset = index * rows.wordsPerRow;
+        return Arrays.copyOfRange(rows.defined, offset, offset + rows.wordsPerRow);
+    }
+
+    /**
+     * {@return the indices of all solutions in this list that contain the given literal}
+     * For example, for a positive literal, these are all solutions that select the respective variable.
+     *
+     * @param literal the literal
+     */
+    public BitSet getSolutionsWith(int literal) {
+        rows().checkVariable(Math.abs(literal));
+        return BitSet.valueOf(rows().getLiteralIndex().getColumn(literal));
+    }
+
+    /**
+     * {@return the number of solutions in this list that contain the given literal}
+     *
+     * @param literal the literal
+     */
+    public int countSolutionsWith(int literal) {
+        rows().checkVariable(Math.abs(literal));
+        return rows().getLiteralIndex().count(literal);
+    }
+
+    /**
+     * {@return an index of all solutions in this list by their literals}
+     * The index is built lazily and reflects the solutions at the time of the call; it is not updated if this list
+     * is modified afterwards.
+     */
+    public LiteralIndex getLiteralIndex() {
+        return rows().getLiteralIndex();
+    }
+
+    @Override
+    public PackedBooleanSolutionList adapt(VariableMap newVariables, boolean integrateOldVariables) {
+        final List<BooleanAssignment> adaptedSolutions = new ArrayList<>(size());
+        for (BooleanAssignment solution : assignments) {
+            adaptedSolutions.add(solution.adapt(variableMap, newVariables, integrateOldVariables));
+        }
+        rows().reset(Math.max(newVariables.maxIndex(), 0), adaptedSolutions.size());
+        variableMap = newVariables;
+        assignments.addAll(adaptedSolutions);
+        return this;
+    }
+
+    @Override
+    public PackedBooleanSolutionList clone() {
+        final PackedBooleanSolutionList clone = new PackedBooleanSolutionList(variableMap, 0);
+        final PackedRows rows = rows();
+        final PackedRows cloneRows = clone.rows();
+        cloneRows.selected = Arrays.copyOf(rows.selected, rows.size * rows.wordsPerRow);
+        cloneRows.defined = Arrays.copyOf(rows.defined, rows.size * rows.wordsPerRow);
+        cloneRows.size = rows.size;
+        return clone;
+    }
+}
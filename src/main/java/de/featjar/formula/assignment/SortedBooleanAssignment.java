@@ -0,0 +1,315 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment;
+
+import de.featjar.formula.VariableMap;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * A {@link BooleanAssignment} whose literals are sorted by variable and contain
+ * neither zeros nor duplicates, where a negative literal precedes its
+ * complement. Thus, literals and variables are looked up by binary search and
+ * set operations with other sorted assignments are linear-time merges.
+ *
+ * @author Sebastian Krieter
+ */
+public class SortedBooleanAssignment extends BooleanAssignment {
+
+    private static final long serialVersionUID = 2903817742163540155L;
+
+    /**
+     * Sorts the given literals by variable and removes zeros and duplicates.
+     *
+     * @param integers the literals
+     * @return a new sorted array
+     */
+    public static int[] sort(int[] integers) {
+        int count = 0;
+        final int[] keys = new int[integers.length];
+        for (final int integer : integers) {
+            if (integer != 0) {
+                keys[count++] = key(integer);
+            }
+        }
+        Arrays.sort(keys, 0, count);
+        int uniqueCount = 0;
+        for (int i = 0; i < count; i++) {
+            if (uniqueCount == 0 || keys[uniqueCount - 1] != keys[i]) {
+                keys[uniqueCount++] = keys[i];
+            }
+        }
+        final int[] sortedIntegers = new int[uniqueCount];
+        for (int i = 0; i < uniqueCount; i++) {
+            sortedIntegers[i] = literal(keys[i]);
+        }
+        return sortedIntegers;
+    }
+
+    private static int key(int literal) {
+        return literal > 0 ? (literal << 1) | 1 : -literal << 1;
+    }
+
+    private static int literal(int key) {
+        return (key & 1) == 0 ? -(key >>> 1) : key >>> 1;
+    }
+
+    public SortedBooleanAssignment(int... integers) {
+        super(sort(integers));
+    }
+
+    public SortedBooleanAssignment(Collection<Integer> integers) {
+        super(sort(integers.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    public SortedBooleanAssignment(SortedBooleanAssignment sortedBooleanAssignment) {
+        super(sortedBooleanAssignment);
+    }
+
+    private SortedBooleanAssignment(int[] sortedIntegers, boolean sorted) {
+        super(sortedIntegers);
+        assert Arrays.equals(sortedIntegers, sort(sortedIntegers)) : "unsorted: " + Arrays.toString(sortedIntegers);
+    }
+
+    private int binarySearch(int key) {
+        int low = 0;
+        int high = elements.length - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int midKey = key(elements[mid]);
+            if (midKey < key) {
+                low = mid + 1;
+            } else if (midKey > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    @Override
+    public int indexOf(int integer) {
+        return integer == 0 ? -1 : Math.max(-1, binarySearch(key(integer)));
+    }
+
+    @Override
+    public int[] indicesOf(int integer) {
+        final int index = indexOf(integer);
+        return index < 0 ? new int[0] : new int[] {index};
+    }
+
+    @Override
+    public int indexOfVariable(int variable) {
+        if (variable < 0) {
+            throw new IllegalArgumentException(String.format("%d is negative", variable));
+        }
+        if (variable == 0) {
+            return -1;
+        }
+        final int index = binarySearch(key(-variable));
+        if (index >= 0) {
+            return index;
+        }
+        final int insertionIndex = -(index + 1);
+        return insertionIndex < elements.length && elements[insertionIndex] == variable ? insertionIndex : -1;
+    }
+
+    @Override
+    public int[] indicesOfVariable(int variable) {
+        final int index = indexOfVariable(variable);
+        if (index < 0) {
+            return new int[0];
+        }
+        return index + 1 < elements.length && elements[index + 1] == variable
+                ? new int[] {index, index + 1}
+                : new int[] {index};
+    }
+
+    private static int[] sorted(BooleanAssignment integers) {
+        return integers instanceof SortedBooleanAssignment ? integers.get() : sort(integers.get());
+    }
+
+    private static int[] sortedVariables(BooleanAssignment integers) {
+        final int[] variables = integers.copy();
+        for (final int variable : variables) {
+            if (variable < 0) {
+                throw new IllegalArgumentException(String.format("%d is negative", variable));
+            }
+        }
+        Arrays.sort(variables);
+        return variables;
+    }
+
+    /**
+     * {@return the union of this assignment and the given literals}
+     *
+     * @param integers the literals
+     */
+    @Override
+    public SortedBooleanAssignment addAll(BooleanAssignment integers) {
+        final int[] other = sorted(integers);
+        final int[] union = new int[elements.length + other.length];
+        int i = 0, j = 0, k = 0;
+        while (i < elements.length && j < other.length) {
+            final int key1 = key(elements[i]);
+            final int key2 = key(other[j]);
+            if (key1 < key2) {
+                union[k++] = elements[i++];
+            } else if (key1 > key2) {
+                union[k++] = other[j++];
+            } else {
+                union[k++] = elements[i++];
+                j++;
+            }
+        }
+        while (i < elements.length) {
+            union[k++] = elements[i++];
+        }
+        while (j < other.length) {
+            union[k++] = other[j++];
+        }
+        return new SortedBooleanAssignment(Arrays.copyOf(union, k), true);
+    }
+
+    /**
+     * {@return the intersection of this assignment and the given literals}
+     *
+     * @param integers the literals
+     */
+    @Override
+    public SortedBooleanAssignment retainAll(BooleanAssignment integers) {
+        return merge(sorted(integers), true);
+    }
+
+    /**
+     * {@return the literals of this assignment whose complement is contained in the given literals}
+     *
+     * @param integers the literals
+     */
+    @Override
+    public SortedBooleanAssignment retainAllNegated(BooleanAssignment integers) {
+        return merge(sort(integers.negate()), true);
+    }
+
+    /**
+     * {@return the difference of this assignment and the given literals}
+     *
+     * @param integers the literals
+     */
+    @Override
+    public SortedBooleanAssignment removeAll(BooleanAssignment integers) {
+        return merge(sorted(integers), false);
+    }
+
+    private SortedBooleanAssignment merge(int[] other, boolean retain) {
+        final int[] result = new int[elements.length];
+        int j = 0, k = 0;
+        for (final int element : elements) {
+            final int key = key(element);
+            while (j < other.length && key(other[j]) < key) {
+                j++;
+            }
+            if ((j < other.length && key(other[j]) == key) == retain) {
+                result[k++] = element;
+            }
+        }
+        return new SortedBooleanAssignment(Arrays.copyOf(result, k), true);
+    }
+
+    /**
+     * {@return the literals of this assignment whose variable is contained in the given variables}
+     *
+     * @param integers the variables
+     */
+    @Override
+    public SortedBooleanAssignment retainAllVariables(BooleanAssignment integers) {
+        return mergeVariables(sortedVariables(integers), true);
+    }
+
+    /**
+     * {@return the literals of this assignment whose variable is not contained in the given variables}
+     *
+     * @param integers the variables
+     */
+    @Override
+    public SortedBooleanAssignment removeAllVariables(BooleanAssignment integers) {
+        return mergeVariables(sortedVariables(integers), false);
+    }
+
+    private SortedBooleanAssignment mergeVariables(int[] variables, boolean retain) {
+        final int[] result = new int[elements.length];
+        int j = 0, k = 0;
+        for (final int element : elements) {
+            final int variable = Math.abs(element);
+            while (j < variables.length && variables[j] < variable) {
+                j++;
+            }
+            if ((j < variables.length && variables[j] == variable) == retain) {
+                result[k++] = element;
+            }
+        }
+        return new SortedBooleanAssignment(Arrays.copyOf(result, k), true);
+    }
+
+    @Override
+    public SortedBooleanAssignment inverse() {
+        final int[] inverse = negate();
+        for (int i = 1; i < inverse.length; i++) {
+            if (inverse[i - 1] == -inverse[i] && inverse[i] < 0) {
+                inverse[i] = inverse[i - 1];
+                inverse[i - 1] = -inverse[i];
+            }
+        }
+        return new SortedBooleanAssignment(inverse, true);
+    }
+
+    @Override
+    public SortedBooleanAssignment adapt(VariableMap oldVariableMap, VariableMap newVariableMap) {
+        return adapt(oldVariableMap, newVariableMap, false);
+    }
+
+    @Override
+    public SortedBooleanAssignment adapt(
+            VariableMap oldVariableMap, VariableMap newVariableMap, boolean integrateOldVariables) {
+        super.adapt(oldVariableMap, newVariableMap, integrateOldVariables);
+        final int[] sortedIntegers = sort(elements);
+        assert sortedIntegers.length == elements.length;
+        System.arraycopy(sortedIntegers, 0, elements, 0, elements.length);
+        hashCodeValid = false;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SortedBooleanAssignment[%s]", print());
+    }
+
+    @Override
+    public SortedBooleanAssignment clone() {
+        return new SortedBooleanAssignment(this);
+    }
+
+    @Override
+    public SortedBooleanAssignment toSortedAssignment() {
+        return this;
+    }
+}
@@ -24,6 +24,8 @@ import de.featjar.formula.assignment.BooleanAssignmentList;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
+import java.util.function.DoubleConsumer;
 import java.util.function.DoubleSupplier;
 
 public abstract class AAggregatableMetrics {
@@ -52,6 +54,11 @@ public abstract class AAggregatableMetrics {
     protected static final double EMPTY = -2;
     protected static final double INVALID = -1;
 
+    /**
+     * The z-score of the two-sided 95% confidence interval of the normal distribution.
+     */
+    protected static final double CONFIDENCE_Z = 1.959963984540054;
+
     protected BooleanAssignmentList sample;
 
     private double[] values = null;
@@ -62,6 +69,11 @@ public abstract class AAggregatableMetrics {
     protected double median = EMPTY;
     protected double variance = EMPTY;
     protected double standardDeviation = EMPTY;
+    protected double meanError = EMPTY;
+
+    private int approximationSize;
+    private long approximationSeed;
+    private QuantileSketch sketch;
 
     public List<ISampleMetric> getAllAggregates() {
         final List<ISampleMetric> aggregates = new ArrayList<>(6);
@@ -74,6 +86,30 @@ public abstract class AAggregatableMetrics {
         return aggregates;
     }
 
+    /**
+     * {@return the lower and upper bound of the 95% confidence interval of the mean}
+     * In exact mode, both bounds are equal to the mean.
+     */
+    public List<ISampleMetric> getMeanConfidenceAggregates() {
+        final List<ISampleMetric> aggregates = new ArrayList<>(2);
+        aggregates.add(getAggregate("meanLowerBound", () -> getMeanBound(-1)));
+        aggregates.add(getAggregate("meanUpperBound", () -> getMeanBound(1)));
+        return aggregates;
+    }
+
+    /**
+     * {@return aggregates for the given quantiles}
+     *
+     * @param quantiles the quantiles between 0 and 1
+     */
+    public List<ISampleMetric> getQuantileAggregates(double... quantiles) {
+        final List<ISampleMetric> aggregates = new ArrayList<>(quantiles.length);
+        for (final double quantile : quantiles) {
+            aggregates.add(getAggregate("quantile" + quantile, () -> getQuantile(quantile)));
+        }
+        return aggregates;
+    }
+
     public abstract ISampleMetric getAggregate(String name, DoubleSupplier aggregate);
 
     public double[] getValues() {
@@ -85,6 +121,93 @@ public abstract class AAggregatableMetrics {
 
     protected abstract double[] computeValues();
 
+    /**
+     * Enables or disables the approximate mode.
+     * In approximate mode, all aggregates are estimated from a fixed number of randomly sampled values (see
+     * {@link #sampleValues(int, Random, DoubleConsumer)}) instead of all values.
+     * The sampled values are not stored; the median and other quantiles are estimated with a {@link QuantileSketch}.
+     * The sampling error of the mean is reported as a 95% confidence interval (see
+     * {@link #getMeanConfidenceAggregates()}).
+     *
+     * @param size the number of values to sample, or {@code 0} to compute exact aggregates
+     * @param seed the seed for sampling values
+     */
+    public void setApproximation(int size, long seed) {
+        if (size < 0) {
+            throw new IllegalArgumentException(String.valueOf(size));
+        }
+        approximationSize = size;
+        approximationSeed = seed;
+        reset();
+    }
+
+    public boolean isApproximate() {
+        return approximationSize > 0;
+    }
+
+    protected int getApproximationSize() {
+        return approximationSize;
+    }
+
+    protected Random createRandom() {
+        return new Random(approximationSeed);
+    }
+
+    /**
+     * Passes randomly sampled values of the current sample to a consumer.
+     * The default implementation computes all values and samples from them with replacement. Subclasses should
+     * override this method to compute only the sampled values.
+     *
+     * @param size the number of values to sample
+     * @param random the random generator
+     * @param consumer the consumer of the sampled values
+     */
+    protected void sampleValues(int size, Random random, DoubleConsumer consumer) {
+        final double[] values = getValues();
+        if (values.length > 0) {
+            for (int i = 0; i < size; i++) {
+                consumer.accept(values[random.nextInt(values.length)]);
+            }
+        }
+    }
+
+    private void computeApproximation() {
+        final Random random = createRandom();
+        final QuantileSketch sketch = new QuantileSketch(random.nextLong());
+        final double[] aggregates = {Double.MAX_VALUE, 0, 0, 0};
+        sampleValues(approximationSize, random, value -> {
+            sketch.add(value);
+            if (aggregates[0] > value) {
+                aggregates[0] = value;
+            }
+            if (aggregates[1] < value) {
+                aggregates[1] = value;
+            }
+            final double delta = value - aggregates[2];
+            aggregates[2] += delta / sketch.getCount();
+            aggregates[3] += delta * (value - aggregates[2]);
+        });
+        final long count = sketch.getCount();
+        if (count == 0) {
+            min = INVALID;
+            max = INVALID;
+            mean = INVALID;
+            median = INVALID;
+            variance = INVALID;
+            standardDeviation = INVALID;
+            meanError = INVALID;
+        } else {
+            this.sketch = sketch;
+            min = aggregates[0];
+            max = aggregates[1];
+            mean = aggregates[2];
+            median = sketch.getMedian();
+            variance = aggregates[3] / count;
+            standardDeviation = Math.sqrt(variance);
+            meanError = CONFIDENCE_Z * Math.sqrt(aggregates[3] / Math.max(count - 1, 1) / count);
+        }
+    }
+
     public void setSample(BooleanAssignmentList sample) {
         if ((this.sample == null) || (this.sample != sample)) {
             this.sample = sample;
@@ -100,9 +223,14 @@ public abstract class AAggregatableMetrics {
         median = EMPTY;
         variance = EMPTY;
         standardDeviation = EMPTY;
+        meanError = EMPTY;
+        sketch = null;
     }
 
     protected double getMin() {
+        if (min == EMPTY && isApproximate()) {
+            computeApproximation();
+        }
         if (min == EMPTY) {
             final double[] values = getValues();
             if (values.length == 0) {
@@ -120,6 +248,9 @@ public abstract class AAggregatableMetrics {
     }
 
     protected double getMax() {
+        if (max == EMPTY && isApproximate()) {
+            computeApproximation();
+        }
         if (max == EMPTY) {
             final double[] values = getValues();
             if (values.length == 0) {
@@ -137,6 +268,9 @@ public abstract class AAggregatableMetrics {
     }
 
     protected double getMean() {
+        if (mean == EMPTY && isApproximate()) {
+            computeApproximation();
+        }
         if (mean == EMPTY) {
             final double[] values = getValues();
             if (values.length == 0) {
@@ -153,6 +287,9 @@ public abstract class AAggregatableMetrics {
     }
 
     protected double getMedian() {
+        if (median == EMPTY && isApproximate()) {
+            computeApproximation();
+        }
         if (median == EMPTY) {
             final double[] values = getValues();
             if (values.length == 0) {
@@ -171,6 +308,9 @@ public abstract class AAggregatableMetrics {
     }
 
     protected double getVariance() {
+        if (variance == EMPTY && isApproximate()) {
+            computeApproximation();
+        }
         if (variance == EMPTY) {
             final double[] values = getValues();
             if (values.length == 0) {
@@ -189,6 +329,9 @@ public abstract class AAggregatableMetrics {
     }
 
     protected double getStandardDeviation() {
+        if (standardDeviation == EMPTY && isApproximate()) {
+            computeApproximation();
+        }
         if (standardDeviation == EMPTY) {
             final double[] values = getValues();
             if (values.length == 0) {
@@ -199,4 +342,48 @@ public abstract class AAggregatableMetrics {
         }
         return standardDeviation;
     }
+
+    /**
+     * {@return the estimated quantile of all values}
+     * That is, the smallest value such that at least a fraction {@code quantile} of all values are less or equal.
+     *
+     * @param quantile the quantile between 0 and 1
+     */
+    protected double getQuantile(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException(String.valueOf(quantile));
+        }
+        if (isApproximate()) {
+            if (meanError == EMPTY) {
+                computeApproximation();
+            }
+            return sketch == null ? INVALID : sketch.getQuantile(quantile);
+        }
+        final double[] values = getValues();
+        if (values.length == 0) {
+            return INVALID;
+        }
+        final double[] sortedValues = Arrays.copyOf(values, values.length);
+        Arrays.sort(sortedValues);
+        return sortedValues[Math.max((int) Math.ceil(quantile * sortedValues.length) - 1, 0)];
+    }
+
+    /**
+     * {@return the half-width of the 95% confidence interval of the mean, or 0 in exact mode}
+     */
+    protected double getMeanError() {
+        if (!isApproximate()) {
+            return getMean() == INVALID ? INVALID : 0;
+        }
+        if (meanError == EMPTY) {
+            computeApproximation();
+        }
+        return meanError;
+    }
+
+    private double getMeanBound(int sign) {
+        final double mean = getMean();
+        final double meanError = getMeanError();
+        return mean == INVALID ? INVALID : mean + sign * meanError;
+    }
 }
@@ -26,7 +26,7 @@ package de.featjar.formula.assignment.metrics;
  *
  * @author Sebastian Krieter
  */
-public class CosineNegativeDistance implements IDistanceFunction {
+public class CosineNegativeDistance implements IPackedDistanceFunction {
 
     @Override
     public double computeDistance(final int[] literals1, final int[] literals2) {
@@ -38,6 +38,21 @@ public class CosineNegativeDistance implements IDistanceFunction {
         return (1 - cosineSimilarity) / 2.0;
     }
 
+    @Override
+    public double computeDistance(
+            final long[] selected1,
+            final long[] defined1,
+            final long[] selected2,
+            final long[] defined2,
+            final int variableCount) {
+        double conflicts = 0;
+        for (int k = 0; k < selected1.length; k++) {
+            conflicts += Long.bitCount((selected1[k] ^ selected2[k]) | (defined1[k] ^ defined2[k]));
+        }
+        final double cosineSimilarity = (variableCount - 2 * conflicts) / variableCount;
+        return (1 - cosineSimilarity) / 2.0;
+    }
+
     @Override
     public String getName() {
         return "CosineNegative";
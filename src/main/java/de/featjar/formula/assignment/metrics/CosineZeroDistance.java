@@ -26,7 +26,7 @@ package de.featjar.formula.assignment.metrics;
  *
  * @author Sebastian Krieter
  */
-public class CosineZeroDistance implements IDistanceFunction {
+public class CosineZeroDistance implements IPackedDistanceFunction {
 
     @Override
     public double computeDistance(final int[] literals1, final int[] literals2) {
@@ -44,6 +44,29 @@ public class CosineZeroDistance implements IDistanceFunction {
         return (1 - cosineSimilarity) / 2.0;
     }
 
+    @Override
+    public double computeDistance(
+            final long[] selected1,
+            final long[] defined1,
+            final long[] selected2,
+            final long[] defined2,
+            final int variableCount) {
+        // padding bits beyond variableCount are counted as positive in every word
+        final double padding = (selected1.length << 6) - variableCount;
+        double sum = -padding;
+        double sumA = -padding;
+        double sumB = -padding;
+        for (int k = 0; k < selected1.length; k++) {
+            final long a = selected1[k] | ~defined1[k];
+            final long b = selected2[k] | ~defined2[k];
+            sumA += Long.bitCount(a);
+            sumB += Long.bitCount(b);
+            sum += Long.bitCount(a & b);
+        }
+        final double cosineSimilarity = sum / Math.sqrt(sumA * sumB);
+        return (1 - cosineSimilarity) / 2.0;
+    }
+
     @Override
     public String getName() {
         return "CosineZero";
@@ -21,6 +21,8 @@
 package de.featjar.formula.assignment.metrics;
 
 import java.util.List;
+import java.util.Random;
+import java.util.function.DoubleConsumer;
 import java.util.function.DoubleSupplier;
 
 public class CountMetrics extends AAggregatableMetrics {
@@ -35,6 +37,22 @@ public class CountMetrics extends AAggregatableMetrics {
         return new CountMetrics(function).getAllAggregates();
     }
 
+    /**
+     * {@return all aggregates, estimated from the given number of randomly sampled configurations}
+     * In addition to the exact aggregates, the bounds of the 95% confidence interval of the mean are included.
+     *
+     * @param function the count function
+     * @param approximationSize the number of configurations to sample
+     * @param seed the seed for sampling configurations
+     */
+    public static List<ISampleMetric> getAllAggregates(ICountFunction function, int approximationSize, long seed) {
+        final CountMetrics metrics = new CountMetrics(function);
+        metrics.setApproximation(approximationSize, seed);
+        final List<ISampleMetric> aggregates = metrics.getAllAggregates();
+        aggregates.addAll(metrics.getMeanConfidenceAggregates());
+        return aggregates;
+    }
+
     @Override
     protected double[] computeValues() {
         final int size = sample.size();
@@ -45,6 +63,19 @@ public class CountMetrics extends AAggregatableMetrics {
         return values;
     }
 
+    /**
+     * Samples random configurations with replacement and passes their counts to the consumer.
+     */
+    @Override
+    protected void sampleValues(int size, Random random, DoubleConsumer consumer) {
+        final int sampleSize = sample.size();
+        if (sampleSize > 0) {
+            for (int k = 0; k < size; k++) {
+                consumer.accept(function.compute(sample.get(random.nextInt(sampleSize))));
+            }
+        }
+    }
+
     @Override
     public ISampleMetric getAggregate(String name, DoubleSupplier aggregate) {
         return new DoubleMetric(function.getName() + "_count_" + name, aggregate);
@@ -21,11 +21,16 @@
 package de.featjar.formula.assignment.metrics;
 
 import java.util.List;
+import java.util.Random;
+import java.util.function.DoubleConsumer;
 import java.util.function.DoubleSupplier;
 
 public class DistanceMetrics extends AAggregatableMetrics {
 
     private final IDistanceFunction function;
+    private final boolean isStoringDistances;
+
+    private double[] distances;
 
     private double leastMean = EMPTY;
     private double mostMean = EMPTY;
@@ -33,7 +38,21 @@ public class DistanceMetrics extends AAggregatableMetrics {
     private double meanMax = EMPTY;
 
     public DistanceMetrics(IDistanceFunction function) {
+        this(function, false);
+    }
+
+    /**
+     * Creates distance metrics for a given distance function.
+     * All aggregates are computed together in a single parallel pass over the sample
+     * (see {@link TiledDistanceComputation}).
+     * If distances are not stored, computing the median requires a second pass.
+     *
+     * @param function the distance function
+     * @param isStoringDistances whether to store all pairwise distances in the first pass
+     */
+    public DistanceMetrics(IDistanceFunction function, boolean isStoringDistances) {
         this.function = function;
+        this.isStoringDistances = isStoringDistances;
     }
 
     public static List<ISampleMetric> getAllAggregates(IDistanceFunction distanceFunction) {
@@ -46,6 +65,27 @@ public class DistanceMetrics extends AAggregatableMetrics {
         return aggregates;
     }
 
+    /**
+     * {@return all aggregates, estimated from the given number of randomly sampled pairs of configurations}
+     * In addition to the exact aggregates, the bounds of the 95% confidence interval of the mean are included.
+     *
+     * @param distanceFunction the distance function
+     * @param approximationSize the number of pairs to sample
+     * @param seed the seed for sampling pairs
+     */
+    public static List<ISampleMetric> getAllAggregates(
+            IDistanceFunction distanceFunction, int approximationSize, long seed) {
+        final DistanceMetrics metrics = new DistanceMetrics(distanceFunction);
+        metrics.setApproximation(approximationSize, seed);
+        final List<ISampleMetric> aggregates = metrics.getAllAggregates();
+        aggregates.addAll(metrics.getMeanConfidenceAggregates());
+        aggregates.add(metrics.getAggregate("leastMean", metrics::getLeastMean));
+        aggregates.add(metrics.getAggregate("mostMean", metrics::getMostMean));
+        aggregates.add(metrics.getAggregate("meanMin", metrics::getMeanMin));
+        aggregates.add(metrics.getAggregate("meanMax", metrics::getMeanMax));
+        return aggregates;
+    }
+
     @Override
     public ISampleMetric getAggregate(String name, DoubleSupplier aggregate) {
         return new DoubleMetric(function.getName() + "_distance_" + name, aggregate);
@@ -53,138 +93,192 @@ public class DistanceMetrics extends AAggregatableMetrics {
 
     @Override
     protected double[] computeValues() {
+        if (distances == null) {
+            computeAggregates(true);
+        }
+        return distances;
+    }
+
+    private void computeAggregates(boolean isStoringDistances) {
+        final TiledDistanceComputation computation = new TiledDistanceComputation(function);
+        computation.setStoringDistances(isStoringDistances);
+        final TiledDistanceComputation.Aggregates aggregates = computation.compute(sample);
+        if (aggregates.getCount() == 0) {
+            distances = new double[0];
+            min = INVALID;
+            max = INVALID;
+            mean = INVALID;
+            variance = INVALID;
+            standardDeviation = INVALID;
+            leastMean = INVALID;
+            mostMean = INVALID;
+            meanMin = INVALID;
+            meanMax = INVALID;
+        } else {
+            if (isStoringDistances) {
+                distances = aggregates.getDistances();
+            }
+            min = aggregates.getMin();
+            max = aggregates.getMax();
+            mean = aggregates.getMean();
+            variance = aggregates.getVariance();
+            standardDeviation = aggregates.getStandardDeviation();
+            leastMean = aggregates.getLeastMean();
+            mostMean = aggregates.getMostMean();
+            meanMin = aggregates.getMeanMin();
+            meanMax = aggregates.getMeanMax();
+        }
+    }
+
+    private void computeAggregates() {
+        if (leastMean == EMPTY) {
+            if (isApproximate()) {
+                computeApproximateRowAggregates();
+            } else {
+                computeAggregates(isStoringDistances);
+            }
+        }
+    }
+
+    /**
+     * Samples random pairs of distinct configurations with replacement and passes their distances to the consumer.
+     */
+    @Override
+    protected void sampleValues(int size, Random random, DoubleConsumer consumer) {
+        final int sampleSize = sample.size();
+        if (sampleSize >= 2) {
+            for (int k = 0; k < size; k++) {
+                final int i = random.nextInt(sampleSize);
+                int j = random.nextInt(sampleSize - 1);
+                if (j >= i) {
+                    j++;
+                }
+                consumer.accept(function.computeDistance(sample.get(i).get(), sample.get(j).get()));
+            }
+        }
+    }
+
+    /*
+     * Estimates the per-configuration aggregates from randomly chosen configurations, whose distances to all other
+     * configurations are computed, such that the total number of computed distances is about the approximation size.
+     * leastMean and mostMean are unbiased estimates, whereas meanMin and meanMax are the extremes among the chosen
+     * configurations only.
+     */
+    private void computeApproximateRowAggregates() {
         final int size = sample.size();
-        final double[] values = new double[(size * (size - 1)) >> 1];
-        int index = 0;
-        for (int i = 0; i < (size - 1); i++) {
+        if (size < 2) {
+            leastMean = INVALID;
+            mostMean = INVALID;
+            meanMin = INVALID;
+            meanMax = INVALID;
+            return;
+        }
+        final Random random = createRandom();
+        final int rowCount = Math.max(1, Math.min(size, getApproximationSize() / (size - 1)));
+        double minSum = 0;
+        double maxSum = 0;
+        double minRowSum = Double.MAX_VALUE;
+        double maxRowSum = 0;
+        for (int k = 0; k < rowCount; k++) {
+            final int i = random.nextInt(size);
             final int[] literals1 = sample.get(i).get();
-            for (int j = i + 1; j < size; j++) {
-                values[index++] =
-                        function.computeDistance(literals1, sample.get(j).get());
+            double rowMin = Double.MAX_VALUE;
+            double rowMax = 0;
+            double rowSum = 0;
+            for (int j = 0; j < size; j++) {
+                if (i != j) {
+                    final double distance = function.computeDistance(literals1, sample.get(j).get());
+                    rowSum += distance;
+                    if (rowMin > distance) {
+                        rowMin = distance;
+                    }
+                    if (rowMax < distance) {
+                        rowMax = distance;
+                    }
+                }
+            }
+            minSum += rowMin;
+            maxSum += rowMax;
+            if (minRowSum > rowSum) {
+                minRowSum = rowSum;
+            }
+            if (maxRowSum < rowSum) {
+                maxRowSum = rowSum;
             }
         }
-        return values;
+        leastMean = minSum / rowCount;
+        mostMean = maxSum / rowCount;
+        meanMin = minRowSum / size;
+        meanMax = maxRowSum / size;
     }
 
     @Override
     protected void reset() {
         super.reset();
+        distances = null;
         leastMean = EMPTY;
         mostMean = EMPTY;
         meanMin = EMPTY;
         meanMax = EMPTY;
     }
 
-    private double getLeastMean() {
-        if (leastMean == EMPTY) {
-            final double[] distances = getValues();
-            if (distances.length == 0) {
-                leastMean = INVALID;
-            } else {
-                final int size = (((int) Math.sqrt((distances.length << 3) + 1)) >> 1) + 1;
-
-                double sum = 0;
-                for (int i = 0; i < size; i++) {
-                    double minDistance = Double.MAX_VALUE;
-                    for (int j = 0; j < size; j++) {
-                        if (i != j) {
-                            final double d = getDistance(distances, size, i, j);
-                            if (minDistance > d) {
-                                minDistance = d;
-                            }
-                        }
-                    }
-                    sum += minDistance;
-                }
-                leastMean = sum / size;
-            }
+    @Override
+    protected double getMin() {
+        if (!isApproximate()) {
+            computeAggregates();
+        }
+        return super.getMin();
+    }
+
+    @Override
+    protected double getMax() {
+        if (!isApproximate()) {
+            computeAggregates();
+        }
+        return super.getMax();
+    }
+
+    @Override
+    protected double getMean() {
+        if (!isApproximate()) {
+            computeAggregates();
         }
+        return super.getMean();
+    }
+
+    @Override
+    protected double getVariance() {
+        if (!isApproximate()) {
+            computeAggregates();
+        }
+        return super.getVariance();
+    }
+
+    @Override
+    protected double getStandardDeviation() {
+        if (!isApproximate()) {
+            computeAggregates();
+        }
+        return super.getStandardDeviation();
+    }
+
+    private double getLeastMean() {
+        computeAggregates();
         return leastMean;
     }
 
     private double getMostMean() {
-        if (mostMean == EMPTY) {
-            final double[] distances = getValues();
-            if (distances.length == 0) {
-                mostMean = INVALID;
-            } else {
-                final int size = (((int) Math.sqrt((distances.length << 3) + 1)) >> 1) + 1;
-
-                double sum = 0;
-                for (int i = 0; i < size; i++) {
-                    double maxDistance = 0;
-                    for (int j = 0; j < size; j++) {
-                        if (i != j) {
-                            final double d = getDistance(distances, size, i, j);
-                            if (maxDistance < d) {
-                                maxDistance = d;
-                            }
-                        }
-                    }
-                    sum += maxDistance;
-                }
-                mostMean = sum / size;
-            }
-        }
+        computeAggregates();
         return mostMean;
     }
 
     private double getMeanMin() {
-        if (meanMin == EMPTY) {
-            final double[] distances = getValues();
-            if (distances.length == 0) {
-                meanMin = INVALID;
-            } else {
-                final int size = (((int) Math.sqrt((distances.length << 3) + 1)) >> 1) + 1;
-                double minLocalMean = Double.MAX_VALUE;
-                for (int i = 0; i < size; i++) {
-                    double localMean = 0;
-                    for (int j = 0; j < size; j++) {
-                        if (i != j) {
-                            localMean += getDistance(distances, size, i, j);
-                        }
-                    }
-                    localMean /= size;
-                    if (localMean < minLocalMean) {
-                        minLocalMean = localMean;
-                    }
-                }
-                meanMin = minLocalMean;
-            }
-        }
+        computeAggregates();
         return meanMin;
     }
 
     private double getMeanMax() {
-        if (meanMax == EMPTY) {
-            final double[] distances = getValues();
-            if (distances.length == 0) {
-                meanMax = INVALID;
-            } else {
-                final int size = (((int) Math.sqrt((distances.length << 3) + 1)) >> 1) + 1;
-                double maxLocalMean = 0;
-                for (int i = 0; i < size; i++) {
-                    double localMean = 0;
-                    for (int j = 0; j < size; j++) {
-                        if (i != j) {
-                            localMean += getDistance(distances, size, i, j);
-                        }
-                    }
-                    localMean /= size;
-                    if (localMean > maxLocalMean) {
-                        maxLocalMean = localMean;
-                    }
-                }
-                meanMax = maxLocalMean;
-            }
-        }
+        computeAggregates();
         return meanMax;
     }
-
-    private double getDistance(final double[] distances, final int size, int i, int j) {
-        return distances[
-                i < j
-                        ? (distances.length + j) - ((((size - i) * (size - i - 1)) >> 1) + i + 1)
-                        : (distances.length + i) - ((((size - j) * (size - j - 1)) >> 1) + j + 1)];
-    }
 }
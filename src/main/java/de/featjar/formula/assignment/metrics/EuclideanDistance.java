@@ -26,7 +26,7 @@ package de.featjar.formula.assignment.metrics;
  *
  * @author Sebastian Krieter
  */
-public class EuclideanDistance implements IDistanceFunction {
+public class EuclideanDistance implements IPackedDistanceFunction {
 
     @Override
     public double computeDistance(final int[] literals1, final int[] literals2) {
@@ -37,6 +37,20 @@ public class EuclideanDistance implements IDistanceFunction {
         return Math.sqrt(conflicts);
     }
 
+    @Override
+    public double computeDistance(
+            final long[] selected1,
+            final long[] defined1,
+            final long[] selected2,
+            final long[] defined2,
+            final int variableCount) {
+        double conflicts = 0;
+        for (int k = 0; k < selected1.length; k++) {
+            conflicts += Long.bitCount((selected1[k] ^ selected2[k]) | (defined1[k] ^ defined2[k]));
+        }
+        return Math.sqrt(conflicts);
+    }
+
     @Override
     public String getName() {
         return "Euclidean";
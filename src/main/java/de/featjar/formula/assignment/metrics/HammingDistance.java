@@ -25,7 +25,7 @@ package de.featjar.formula.assignment.metrics;
  *
  * @author Sebastian Krieter
  */
-public class HammingDistance implements IDistanceFunction {
+public class HammingDistance implements IPackedDistanceFunction {
 
     @Override
     public double computeDistance(final int[] literals1, final int[] literals2) {
@@ -36,6 +36,20 @@ public class HammingDistance implements IDistanceFunction {
         return conflicts / literals1.length;
     }
 
+    @Override
+    public double computeDistance(
+            final long[] selected1,
+            final long[] defined1,
+            final long[] selected2,
+            final long[] defined2,
+            final int variableCount) {
+        double conflicts = 0;
+        for (int k = 0; k < selected1.length; k++) {
+            conflicts += Long.bitCount((selected1[k] ^ selected2[k]) | (defined1[k] ^ defined2[k]));
+        }
+        return conflicts / variableCount;
+    }
+
     @Override
     public String getName() {
         return "Hamming";
@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment.metrics;
+
+import de.featjar.formula.assignment.PackedBooleanSolutionList;
+
+/**
+ * Computes the distance between two packed literal arrays (e.g., configurations).
+ * A literal array is packed into two bit masks of equal length, where bit
+ * {@code i} of the selection mask is set iff the literal at index {@code i} is
+ * positive, and bit {@code i} of the definition mask is set iff the literal at
+ * index {@code i} is not zero. Thus, the selection mask must be a subset of the
+ * definition mask and all bits at index {@code variableCount} and above must be
+ * zero in both masks. For two packed literal arrays, this function must return
+ * the same distance as {@link #computeDistance(int[], int[])} for the unpacked
+ * arrays, while processing 64 literals per word.
+ *
+ * @author Sebastian Krieter
+ */
+public interface IPackedDistanceFunction extends IDistanceFunction {
+
+    double computeDistance(
+            final long[] selected1,
+            final long[] defined1,
+            final long[] selected2,
+            final long[] defined2,
+            final int variableCount);
+
+    /**
+     * {@return the number of words needed to pack a literal array of the given length}
+     *
+     * @param variableCount the length of the literal array
+     * @see PackedBooleanSolutionList#getWordCount(int)
+     */
+    static int getWordCount(int variableCount) {
+        return PackedBooleanSolutionList.getWordCount(variableCount);
+    }
+
+    /**
+     * Packs the literal array of a solution into a selection and a definition mask.
+     * The literal at index {@code i} must be {@code i + 1}, {@code -(i + 1)}, or {@code 0}, such that the masks are
+     * the same as stored by a {@link PackedBooleanSolutionList}.
+     *
+     * @param literals the literal array
+     * @param selected the selection mask, must contain at least {@link #getWordCount(int)} words
+     * @param defined the definition mask, must contain at least {@link #getWordCount(int)} words
+     * @see PackedBooleanSolutionList#pack(int[], long[], long[])
+     */
+    static void pack(final int[] literals, final long[] selected, final long[] defined) {
+        PackedBooleanSolutionList.pack(literals, selected, defined);
+    }
+}
@@ -0,0 +1,487 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment.metrics;
+
+import de.featjar.formula.assignment.BooleanAssignment;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Maintains distance and count aggregates of a sample while configurations are added and removed.
+ * In contrast to {@link DistanceMetrics} and {@link CountMetrics}, which recompute all aggregates whenever the sample
+ * changes, each {@link #add(BooleanAssignment) add} computes only the distances of the new configuration to all other
+ * configurations and each {@link #remove(int) remove} recomputes only the distances of the removed configuration to
+ * update the aggregates. Thus, an update requires O(n) distance computations for a sample of size n.
+ * Pairwise distances are not stored, so memory is linear in n. Instead, each configuration keeps the sum, minimum,
+ * and maximum of its distances to all other configurations. If a removal invalidates the minimum or maximum of a
+ * configuration, it is recomputed with O(n) distance computations the next time it is queried.
+ * Mean and variance are updated with Welford's algorithm; aggregates that require a minimum or maximum over all
+ * configurations take O(n) when queried.
+ * All aggregates follow the definitions of {@link DistanceMetrics} and {@link CountMetrics} and return
+ * {@link AAggregatableMetrics#INVALID} if there are not enough configurations.
+ *
+ * @author Sebastian Krieter
+ */
+public class IncrementalSampleMetrics {
+
+    private static final class RunningAggregate {
+        private long count;
+        private double mean, m2;
+
+        private void add(double value) {
+            count++;
+            final double delta = value - mean;
+            mean += delta / count;
+            m2 += delta * (value - mean);
+        }
+
+        private void remove(double value) {
+            if (--count == 0) {
+                mean = 0;
+                m2 = 0;
+            } else {
+                final double delta = value - mean;
+                mean -= delta / count;
+                m2 -= delta * (value - mean);
+                if (m2 < 0) {
+                    m2 = 0;
+                }
+            }
+        }
+
+        private double getVariance() {
+            return count == 0 ? AAggregatableMetrics.INVALID : m2 / count;
+        }
+    }
+
+    private final IDistanceFunction distanceFunction;
+    private final ICountFunction countFunction;
+
+    private final RunningAggregate distanceAggregate = new RunningAggregate();
+    private final RunningAggregate countAggregate = new RunningAggregate();
+
+    // configurations are stored in slots, which are reused after removal
+    private int[] order = new int[0];
+    private int size;
+    private int[] freeSlots = new int[0];
+    private int freeSlotCount;
+    private int slotCount;
+
+    private int[][] literals = new int[0][];
+    private double[] rowSum = new double[0];
+    private double[] rowMin = new double[0];
+    private double[] rowMax = new double[0];
+    private boolean[] isStaleRow = new boolean[0];
+    private int staleRowCount;
+    private double[] counts = new double[0];
+
+    /**
+     * Creates incremental metrics that maintain distance aggregates only.
+     *
+     * @param distanceFunction the distance function
+     */
+    public IncrementalSampleMetrics(IDistanceFunction distanceFunction) {
+        this(distanceFunction, null);
+    }
+
+    /**
+     * Creates incremental metrics that maintain distance and count aggregates.
+     *
+     * @param distanceFunction the distance function, may be {@code null} to maintain count aggregates only
+     * @param countFunction the count function, may be {@code null} to maintain distance aggregates only
+     */
+    public IncrementalSampleMetrics(IDistanceFunction distanceFunction, ICountFunction countFunction) {
+        this.distanceFunction = distanceFunction;
+        this.countFunction = countFunction;
+    }
+
+    /**
+     * {@return the number of configurations}
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds all given configurations.
+     *
+     * @param assignments the configurations
+     */
+    public void addAll(Collection<? extends BooleanAssignment> assignments) {
+        for (final BooleanAssignment assignment : assignments) {
+            add(assignment);
+        }
+    }
+
+    /**
+     * Adds a configuration at the end and updates all aggregates.
+     *
+     * @param assignment the configuration
+     * @return the index of the configuration
+     */
+    public int add(BooleanAssignment assignment) {
+        final int slot = allocateSlot();
+        final int[] newLiterals = assignment.get();
+        literals[slot] = newLiterals;
+        if (distanceFunction != null) {
+            double sum = 0;
+            double min = Double.MAX_VALUE;
+            double max = 0;
+            for (int i = 0; i < size; i++) {
+                final int other = order[i];
+                final double distance = distanceFunction.computeDistance(literals[other], newLiterals);
+                distanceAggregate.add(distance);
+                sum += distance;
+                if (min > distance) {
+                    min = distance;
+                }
+                if (max < distance) {
+                    max = distance;
+                }
+                rowSum[other] += distance;
+                if (rowMin[other] > distance) {
+                    rowMin[other] = distance;
+                }
+                if (rowMax[other] < distance) {
+                    rowMax[other] = distance;
+                }
+            }
+            rowSum[slot] = sum;
+            rowMin[slot] = min;
+            rowMax[slot] = max;
+            isStaleRow[slot] = false;
+        }
+        if (countFunction != null) {
+            final double count = countFunction.compute(assignment);
+            counts[slot] = count;
+            countAggregate.add(count);
+        }
+        order[size] = slot;
+        return size++;
+    }
+
+    /**
+     * Removes the configuration at the given index and updates all aggregates.
+     * Subsequent configurations are shifted to the left.
+     *
+     * @param index the index of the configuration
+     */
+    public void remove(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        final int slot = order[index];
+        if (distanceFunction != null) {
+            for (int i = 0; i < size; i++) {
+                final int other = order[i];
+                if (other != slot) {
+                    final double distance = computeDistance(i, index);
+                    distanceAggregate.remove(distance);
+                    rowSum[other] -= distance;
+                    if (!isStaleRow[other] && (rowMin[other] == distance || rowMax[other] == distance)) {
+                        isStaleRow[other] = true;
+                        staleRowCount++;
+                    }
+                }
+            }
+            if (isStaleRow[slot]) {
+                isStaleRow[slot] = false;
+                staleRowCount--;
+            }
+        }
+        System.arraycopy(order, index + 1, order, index, size - index - 1);
+        size--;
+        if (countFunction != null) {
+            countAggregate.remove(counts[slot]);
+        }
+        literals[slot] = null;
+        freeSlots[freeSlotCount++] = slot;
+    }
+
+    /**
+     * Removes all configurations.
+     */
+    public void clear() {
+        size = 0;
+        slotCount = 0;
+        freeSlotCount = 0;
+        Arrays.fill(literals, null);
+        Arrays.fill(isStaleRow, false);
+        staleRowCount = 0;
+        distanceAggregate.count = 0;
+        distanceAggregate.mean = 0;
+        distanceAggregate.m2 = 0;
+        countAggregate.count = 0;
+        countAggregate.mean = 0;
+        countAggregate.m2 = 0;
+    }
+
+    /**
+     * {@return the distance between the configurations at the given indices}
+     *
+     * @param index1 the index of the first configuration
+     * @param index2 the index of the second configuration
+     */
+    public double getDistance(int index1, int index2) {
+        checkDistanceFunction();
+        checkIndex(index1);
+        checkIndex(index2);
+        return index1 == index2 ? 0 : computeDistance(index1, index2);
+    }
+
+    /**
+     * {@return the minimum distance of the configuration at the given index to any other configuration}
+     *
+     * @param index the index of the configuration
+     */
+    public double getMinDistance(int index) {
+        checkDistanceFunction();
+        updateStaleRows();
+        return size < 2 ? AAggregatableMetrics.INVALID : rowMin[order[checkIndex(index)]];
+    }
+
+    /**
+     * {@return the maximum distance of the configuration at the given index to any other configuration}
+     *
+     * @param index the index of the configuration
+     */
+    public double getMaxDistance(int index) {
+        checkDistanceFunction();
+        updateStaleRows();
+        return size < 2 ? AAggregatableMetrics.INVALID : rowMax[order[checkIndex(index)]];
+    }
+
+    /**
+     * {@return the mean distance of the configuration at the given index to all other configurations}
+     *
+     * @param index the index of the configuration
+     */
+    public double getMeanDistance(int index) {
+        checkDistanceFunction();
+        return size < 2 ? AAggregatableMetrics.INVALID : rowSum[order[checkIndex(index)]] / (size - 1);
+    }
+
+    public double getDistanceMin() {
+        checkDistanceFunction();
+        updateStaleRows();
+        if (size < 2) {
+            return AAggregatableMetrics.INVALID;
+        }
+        double min = Double.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            min = Math.min(min, rowMin[order[i]]);
+        }
+        return min;
+    }
+
+    public double getDistanceMax() {
+        checkDistanceFunction();
+        updateStaleRows();
+        if (size < 2) {
+            return AAggregatableMetrics.INVALID;
+        }
+        double max = 0;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, rowMax[order[i]]);
+        }
+        return max;
+    }
+
+    public double getDistanceMean() {
+        checkDistanceFunction();
+        return size < 2 ? AAggregatableMetrics.INVALID : distanceAggregate.mean;
+    }
+
+    public double getDistanceVariance() {
+        checkDistanceFunction();
+        return size < 2 ? AAggregatableMetrics.INVALID : distanceAggregate.getVariance();
+    }
+
+    public double getDistanceStandardDeviation() {
+        checkDistanceFunction();
+        return size < 2 ? AAggregatableMetrics.INVALID : Math.sqrt(distanceAggregate.getVariance());
+    }
+
+    public double getDistanceLeastMean() {
+        checkDistanceFunction();
+        updateStaleRows();
+        if (size < 2) {
+            return AAggregatableMetrics.INVALID;
+        }
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += rowMin[order[i]];
+        }
+        return sum / size;
+    }
+
+    public double getDistanceMostMean() {
+        checkDistanceFunction();
+        updateStaleRows();
+        if (size < 2) {
+            return AAggregatableMetrics.INVALID;
+        }
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += rowMax[order[i]];
+        }
+        return sum / size;
+    }
+
+    public double getDistanceMeanMin() {
+        checkDistanceFunction();
+        if (size < 2) {
+            return AAggregatableMetrics.INVALID;
+        }
+        double min = Double.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            min = Math.min(min, rowSum[order[i]]);
+        }
+        return min / size;
+    }
+
+    public double getDistanceMeanMax() {
+        checkDistanceFunction();
+        if (size < 2) {
+            return AAggregatableMetrics.INVALID;
+        }
+        double max = 0;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, rowSum[order[i]]);
+        }
+        return max / size;
+    }
+
+    public double getCountMin() {
+        checkCountFunction();
+        if (size == 0) {
+            return AAggregatableMetrics.INVALID;
+        }
+        double min = Double.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            min = Math.min(min, counts[order[i]]);
+        }
+        return min;
+    }
+
+    public double getCountMax() {
+        checkCountFunction();
+        if (size == 0) {
+            return AAggregatableMetrics.INVALID;
+        }
+        double max = 0;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, counts[order[i]]);
+        }
+        return max;
+    }
+
+    public double getCountMean() {
+        checkCountFunction();
+        return size == 0 ? AAggregatableMetrics.INVALID : countAggregate.mean;
+    }
+
+    public double getCountVariance() {
+        checkCountFunction();
+        return countAggregate.getVariance();
+    }
+
+    public double getCountStandardDeviation() {
+        checkCountFunction();
+        return size == 0 ? AAggregatableMetrics.INVALID : Math.sqrt(countAggregate.getVariance());
+    }
+
+    /*
+     * Computes the distance between the configurations at the given indices in the same order as when the later one
+     * was added, such that removing it subtracts exactly the value that was added.
+     */
+    private double computeDistance(int index1, int index2) {
+        return index1 < index2
+                ? distanceFunction.computeDistance(literals[order[index1]], literals[order[index2]])
+                : distanceFunction.computeDistance(literals[order[index2]], literals[order[index1]]);
+    }
+
+    private void updateStaleRows() {
+        if (staleRowCount > 0 && size >= 2) {
+            for (int index = 0; index < size; index++) {
+                final int slot = order[index];
+                if (isStaleRow[slot]) {
+                    double min = Double.MAX_VALUE;
+                    double max = 0;
+                    for (int i = 0; i < size; i++) {
+                        if (i != index) {
+                            final double distance = computeDistance(i, index);
+                            if (min > distance) {
+                                min = distance;
+                            }
+                            if (max < distance) {
+                                max = distance;
+                            }
+                        }
+                    }
+                    rowMin[slot] = min;
+                    rowMax[slot] = max;
+                    isStaleRow[slot] = false;
+                }
+            }
+            staleRowCount = 0;
+        }
+    }
+
+    private int allocateSlot() {
+        if (freeSlotCount > 0) {
+            return freeSlots[--freeSlotCount];
+        }
+        if (slotCount == literals.length) {
+            final int capacity = Math.max(16, slotCount * 2);
+            order = Arrays.copyOf(order, capacity);
+            freeSlots = Arrays.copyOf(freeSlots, capacity);
+            literals = Arrays.copyOf(literals, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+            if (distanceFunction != null) {
+                rowSum = Arrays.copyOf(rowSum, capacity);
+                rowMin = Arrays.copyOf(rowMin, capacity);
+                rowMax = Arrays.copyOf(rowMax, capacity);
+                isStaleRow = Arrays.copyOf(isStaleRow, capacity);
+            }
+        }
+        return slotCount++;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return index;
+    }
+
+    private void checkDistanceFunction() {
+        if (distanceFunction == null) {
+            throw new IllegalStateException("No distance function");
+        }
+    }
+
+    private void checkCountFunction() {
+        if (countFunction == null) {
+            throw new IllegalStateException("No count function");
+        }
+    }
+}
@@ -26,7 +26,7 @@ package de.featjar.formula.assignment.metrics;
  *
  * @author Sebastian Krieter
  */
-public class OverlapDeselectedDistance implements IDistanceFunction {
+public class OverlapDeselectedDistance implements IPackedDistanceFunction {
 
     @Override
     public double computeDistance(final int[] literals1, final int[] literals2) {
@@ -44,6 +44,27 @@ public class OverlapDeselectedDistance implements IDistanceFunction {
         return 1 - similarity;
     }
 
+    @Override
+    public double computeDistance(
+            final long[] selected1,
+            final long[] defined1,
+            final long[] selected2,
+            final long[] defined2,
+            final int variableCount) {
+        double sum = 0;
+        double sumA = 0;
+        double sumB = 0;
+        for (int k = 0; k < selected1.length; k++) {
+            final long a = defined1[k] & ~selected1[k];
+            final long b = defined2[k] & ~selected2[k];
+            sumA += Long.bitCount(a);
+            sumB += Long.bitCount(b);
+            sum += Long.bitCount(a & b);
+        }
+        final double similarity = sum / Math.min(sumA, sumB);
+        return 1 - similarity;
+    }
+
     @Override
     public String getName() {
         return "OverlapDeselected";
@@ -26,7 +26,7 @@ package de.featjar.formula.assignment.metrics;
  *
  * @author Sebastian Krieter
  */
-public class OverlapSelectedDistance implements IDistanceFunction {
+public class OverlapSelectedDistance implements IPackedDistanceFunction {
 
     @Override
     public double computeDistance(final int[] literals1, final int[] literals2) {
@@ -44,6 +44,29 @@ public class OverlapSelectedDistance implements IDistanceFunction {
         return 1 - similarity;
     }
 
+    @Override
+    public double computeDistance(
+            final long[] selected1,
+            final long[] defined1,
+            final long[] selected2,
+            final long[] defined2,
+            final int variableCount) {
+        // padding bits beyond variableCount are counted as positive in every word
+        final double padding = (selected1.length << 6) - variableCount;
+        double sum = -padding;
+        double sumA = -padding;
+        double sumB = -padding;
+        for (int k = 0; k < selected1.length; k++) {
+            final long a = selected1[k] | ~defined1[k];
+            final long b = selected2[k] | ~defined2[k];
+            sumA += Long.bitCount(a);
+            sumB += Long.bitCount(b);
+            sum += Long.bitCount(a & b);
+        }
+        final double similarity = sum / Math.min(sumA, sumB);
+        return 1 - similarity;
+    }
+
     @Override
     public String getName() {
         return "OverlapSelected";
@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment.metrics;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Estimates quantiles of a stream of values in constant memory.
+ * Values are collected in a hierarchy of buffers, where each value at level {@code h} represents {@code 2^h} values
+ * of the stream. Whenever a buffer is full, it is sorted and every other value (starting at a random offset) is
+ * promoted to the next level. With a buffer capacity {@code k}, the sketch stores
+ * {@code O(k log(n / k))} values for a stream of {@code n} values and the rank error of an estimated quantile
+ * decreases proportionally to {@code 1 / k}.
+ * Random offsets are drawn from a seeded generator, so the estimates are reproducible.
+ *
+ * @author Sebastian Krieter
+ */
+public class QuantileSketch {
+
+    private final int capacity;
+    private final Random random;
+
+    private double[][] levels = new double[1][];
+    private int[] sizes = new int[1];
+    private long count;
+
+    /**
+     * Creates a new sketch with a buffer capacity of 256.
+     *
+     * @param seed the seed for choosing compaction offsets
+     */
+    public QuantileSketch(long seed) {
+        this(256, seed);
+    }
+
+    /**
+     * Creates a new sketch.
+     *
+     * @param capacity the buffer capacity per level, larger values yield more accurate estimates
+     * @param seed the seed for choosing compaction offsets
+     */
+    public QuantileSketch(int capacity, long seed) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException(String.valueOf(capacity));
+        }
+        this.capacity = capacity;
+        random = new Random(seed);
+        levels[0] = new double[capacity];
+    }
+
+    /**
+     * {@return the number of values added to this sketch}
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Adds a value to this sketch.
+     *
+     * @param value the value
+     */
+    public void add(double value) {
+        count++;
+        insert(0, value);
+    }
+
+    /**
+     * Adds all values represented by another sketch to this sketch.
+     *
+     * @param other the other sketch
+     */
+    public void merge(QuantileSketch other) {
+        count += other.count;
+        for (int level = 0; level < other.sizes.length; level++) {
+            final double[] buffer = other.levels[level];
+            for (int i = 0; i < other.sizes[level]; i++) {
+                insert(level, buffer[i]);
+            }
+        }
+    }
+
+    /**
+     * {@return the estimated median of all added values, or {@link Double#NaN} if the sketch is empty}
+     */
+    public double getMedian() {
+        return getQuantile(0.5);
+    }
+
+    /**
+     * {@return the estimated quantile of all added values, or {@link Double#NaN} if the sketch is empty}
+     * That is, the smallest value such that at least a fraction {@code quantile} of all values are less or equal.
+     *
+     * @param quantile the quantile between 0 and 1
+     */
+    public double getQuantile(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException(String.valueOf(quantile));
+        }
+        int storedCount = 0;
+        for (final int size : sizes) {
+            storedCount += size;
+        }
+        if (storedCount == 0) {
+            return Double.NaN;
+        }
+        final double[] values = new double[storedCount];
+        final long[] weights = new long[storedCount];
+        final Integer[] order = new Integer[storedCount];
+        long totalWeight = 0;
+        for (int level = 0, index = 0; level < sizes.length; level++) {
+            for (int i = 0; i < sizes[level]; i++, index++) {
+                values[index] = levels[level][i];
+                weights[index] = 1L << level;
+                order[index] = index;
+                totalWeight += weights[index];
+            }
+        }
+        Arrays.sort(order, (i1, i2) -> Double.compare(values[i1], values[i2]));
+        final double targetWeight = Math.max(1, Math.ceil(quantile * totalWeight));
+        long weight = 0;
+        for (final int index : order) {
+            weight += weights[index];
+            if (weight >= targetWeight) {
+                return values[index];
+            }
+        }
+        return values[order[storedCount - 1]];
+    }
+
+    private void insert(int level, double value) {
+        if (level == sizes.length) {
+            levels = Arrays.copyOf(levels, level + 1);
+            sizes = Arrays.copyOf(sizes, level + 1);
+            levels[level] = new double[capacity];
+        }
+        levels[level][sizes[level]++] = value;
+        if (sizes[level] == capacity) {
+            compact(level);
+        }
+    }
+
+    private void compact(int level) {
+        final double[] buffer = levels[level];
+        final int size = sizes[level];
+        Arrays.sort(buffer, 0, size);
+        final int pairCount = size >> 1;
+        final int offset = random.nextBoolean() ? 1 : 0;
+        final double[] promoted = new double[pairCount];
+        for (int i = 0; i < pairCount; i++) {
+            promoted[i] = buffer[2 * i + offset];
+        }
+        sizes[level] = 0;
+        // with an odd size, the largest value stays on this level
+        if ((size & 1) != 0) {
+            buffer[sizes[level]++] = buffer[size - 1];
+        }
+        for (final double value : promoted) {
+            insert(level + 1, value);
+        }
+    }
+}
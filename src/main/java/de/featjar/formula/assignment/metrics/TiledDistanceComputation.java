@@ -0,0 +1,426 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment.metrics;
+
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanSolution;
+import de.featjar.formula.assignment.PackedBooleanSolutionList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Computes all pairwise distances of a sample in parallel and aggregates them in a single pass.
+ * The upper triangle of the distance matrix is divided into square tiles, which are distributed among the threads
+ * of the common fork-join pool. Each tile aggregates the distances of its pairs locally; the partial results are
+ * merged afterwards. Thus, the full distance matrix needs only to be stored if requested (e.g., to compute the
+ * median).
+ * If the distance function is an {@link IPackedDistanceFunction} and the sample consists of solutions of equal
+ * length, the solutions are packed into bit masks once (in the format of {@link PackedBooleanSolutionList}), such
+ * that each distance is computed word-wise. A {@link PackedBooleanSolutionList} is used without unpacking it.
+ * An instance may be used for several samples, also concurrently.
+ *
+ * @author Sebastian Krieter
+ */
+public class TiledDistanceComputation {
+
+    /**
+     * The aggregated pairwise distances of a sample.
+     */
+    public static class Aggregates {
+        private final int size;
+        private long count;
+        private double min = Double.MAX_VALUE, max = 0, mean, m2;
+        private double[] rowMin, rowMax, rowSum;
+        private double[] distances;
+
+        private Aggregates(int size) {
+            this.size = size;
+        }
+
+        private void add(double distance) {
+            count++;
+            final double delta = distance - mean;
+            mean += delta / count;
+            m2 += delta * (distance - mean);
+            if (min > distance) {
+                min = distance;
+            }
+            if (max < distance) {
+                max = distance;
+            }
+        }
+
+        private Aggregates merge(Aggregates other) {
+            if (other.count > 0) {
+                if (count == 0) {
+                    count = other.count;
+                    mean = other.mean;
+                    m2 = other.m2;
+                } else {
+                    final long newCount = count + other.count;
+                    final double delta = other.mean - mean;
+                    mean += delta * other.count / newCount;
+                    m2 += other.m2 + delta * delta * ((double) count * other.count / newCount);
+                    count = newCount;
+                }
+                min = Math.min(min, other.min);
+                max = Math.max(max, other.max);
+            }
+            return this;
+        }
+
+        /**
+         * {@return the number of configurations in the sample}
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * {@return the number of pairs of configurations}
+         */
+        public long getCount() {
+            return count;
+        }
+
+        public double getMin() {
+            return min;
+        }
+
+        public double getMax() {
+            return max;
+        }
+
+        public double getMean() {
+            return mean;
+        }
+
+        public double getVariance() {
+            return m2 / count;
+        }
+
+        public double getStandardDeviation() {
+            return Math.sqrt(getVariance());
+        }
+
+        /**
+         * {@return the mean distance of each configuration to its nearest configuration}
+         */
+        public double getLeastMean() {
+            return Arrays.stream(rowMin).sum() / size;
+        }
+
+        /**
+         * {@return the mean distance of each configuration to its farthest configuration}
+         */
+        public double getMostMean() {
+            return Arrays.stream(rowMax).sum() / size;
+        }
+
+        /**
+         * {@return the smallest mean distance of a configuration to all other configurations}
+         */
+        public double getMeanMin() {
+            return Arrays.stream(rowSum).min().orElse(0) / size;
+        }
+
+        /**
+         * {@return the largest mean distance of a configuration to all other configurations}
+         */
+        public double getMeanMax() {
+            return Arrays.stream(rowSum).max().orElse(0) / size;
+        }
+
+        /**
+         * {@return all pairwise distances in row-major order of the upper triangle of the distance matrix, or
+         * {@code null} if they were not stored}
+         */
+        public double[] getDistances() {
+            return distances;
+        }
+    }
+
+    /**
+     * The largest number of distances that can be stored.
+     */
+    public static final int MAXIMUM_STORED_DISTANCES = Integer.MAX_VALUE - 8;
+
+    /**
+     * The state of a single computation.
+     */
+    private final class Context {
+        private final int size, tileSize;
+        private final boolean isStoringDistances;
+        private final List<? extends BooleanAssignment> sample;
+        private int[][] literals;
+        private IPackedDistanceFunction packedFunction;
+        private long[][] selected, defined;
+        private int variableCount;
+        private int[] tileRows, tileColumns;
+        private Aggregates result;
+        private Object[] blockLocks;
+
+        private Context(List<? extends BooleanAssignment> sample) {
+            this.sample = sample;
+            size = sample.size();
+            tileSize = TiledDistanceComputation.this.tileSize;
+            isStoringDistances = TiledDistanceComputation.this.isStoringDistances;
+        }
+
+        private void pack(PackedBooleanSolutionList packedSample) {
+            packedFunction = (IPackedDistanceFunction) function;
+            variableCount = packedSample.getVariableCount();
+            selected = new long[size][];
+            defined = new long[size][];
+            for (int i = 0; i < size; i++) {
+                selected[i] = packedSample.getSelectedWords(i);
+                defined[i] = packedSample.getDefinedWords(i);
+            }
+        }
+
+        private void pack() {
+            packedFunction = (IPackedDistanceFunction) function;
+            variableCount = literals[0].length;
+            final int wordCount = PackedBooleanSolutionList.getWordCount(variableCount);
+            selected = new long[size][wordCount];
+            defined = new long[size][wordCount];
+            for (int i = 0; i < size; i++) {
+                PackedBooleanSolutionList.pack(literals[i], selected[i], defined[i]);
+            }
+        }
+
+        private boolean isPackable() {
+            if (size == 0 || !(function instanceof IPackedDistanceFunction)) {
+                return false;
+            }
+            for (int i = 0; i < size; i++) {
+                if (!(sample.get(i) instanceof BooleanSolution) || literals[i].length != literals[0].length) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private Aggregates compute() {
+            final int blockCount = (size + tileSize - 1) / tileSize;
+            final int tileCount = (int) (((long) blockCount * (blockCount + 1)) >> 1);
+            tileRows = new int[tileCount];
+            tileColumns = new int[tileCount];
+            for (int i = 0, tile = 0; i < blockCount; i++) {
+                for (int j = i; j < blockCount; j++, tile++) {
+                    tileRows[tile] = i;
+                    tileColumns[tile] = j;
+                }
+            }
+            blockLocks = new Object[blockCount];
+            for (int i = 0; i < blockCount; i++) {
+                blockLocks[i] = new Object();
+            }
+
+            result = new Aggregates(size);
+            result.rowMin = new double[size];
+            result.rowMax = new double[size];
+            result.rowSum = new double[size];
+            Arrays.fill(result.rowMin, Double.MAX_VALUE);
+            if (isStoringDistances) {
+                result.distances = new double[(int) getPairCount(size)];
+            }
+            if (tileCount > 0) {
+                result.merge(new TileTask(this, 0, tileCount).invoke());
+            }
+            return result;
+        }
+
+        private Aggregates computeTile(int rowBlock, int columnBlock) {
+            final Aggregates aggregates = new Aggregates(size);
+            final int rowStart = rowBlock * tileSize;
+            final int rowEnd = Math.min(rowStart + tileSize, size);
+            final int columnStart = columnBlock * tileSize;
+            final int columnEnd = Math.min(columnStart + tileSize, size);
+
+            final double[] rowMin = new double[rowEnd - rowStart];
+            final double[] rowMax = new double[rowMin.length];
+            final double[] rowSum = new double[rowMin.length];
+            final double[] columnMin = new double[columnEnd - columnStart];
+            final double[] columnMax = new double[columnMin.length];
+            final double[] columnSum = new double[columnMin.length];
+            Arrays.fill(rowMin, Double.MAX_VALUE);
+            Arrays.fill(columnMin, Double.MAX_VALUE);
+
+            final double[] distances = result.distances;
+            for (int i = rowStart; i < rowEnd; i++) {
+                final int r = i - rowStart;
+                // index of pair (i, j) in the upper triangle is rowOffset + j
+                final long rowOffset = (long) i * size - (((long) i * (i + 1)) >> 1) - i - 1;
+                for (int j = Math.max(columnStart, i + 1); j < columnEnd; j++) {
+                    final double distance = packedFunction != null
+                            ? packedFunction.computeDistance(
+                                    selected[i], defined[i], selected[j], defined[j], variableCount)
+                            : function.computeDistance(literals[i], literals[j]);
+                    aggregates.add(distance);
+                    if (distances != null) {
+                        distances[(int) (rowOffset + j)] = distance;
+                    }
+                    final int c = j - columnStart;
+                    rowSum[r] += distance;
+                    columnSum[c] += distance;
+                    if (rowMin[r] > distance) {
+                        rowMin[r] = distance;
+                    }
+                    if (rowMax[r] < distance) {
+                        rowMax[r] = distance;
+                    }
+                    if (columnMin[c] > distance) {
+                        columnMin[c] = distance;
+                    }
+                    if (columnMax[c] < distance) {
+                        columnMax[c] = distance;
+                    }
+                }
+            }
+            mergeRows(rowBlock, rowStart, rowMin, rowMax, rowSum);
+            mergeRows(columnBlock, columnStart, columnMin, columnMax, columnSum);
+            return aggregates;
+        }
+
+        private void mergeRows(int block, int start, double[] min, double[] max, double[] sum) {
+            synchronized (blockLocks[block]) {
+                for (int k = 0; k < min.length; k++) {
+                    final int i = start + k;
+                    if (result.rowMin[i] > min[k]) {
+                        result.rowMin[i] = min[k];
+                    }
+                    if (result.rowMax[i] < max[k]) {
+                        result.rowMax[i] = max[k];
+                    }
+                    result.rowSum[i] += sum[k];
+                }
+            }
+        }
+    }
+
+    private static class TileTask extends RecursiveTask<Aggregates> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Context context;
+        private final int fromTile, toTile;
+
+        private TileTask(Context context, int fromTile, int toTile) {
+            this.context = context;
+            this.fromTile = fromTile;
+            this.toTile = toTile;
+        }
+
+        @Override
+        protected Aggregates compute() {
+            if (toTile - fromTile > 1) {
+                final int middle = (fromTile + toTile) >>> 1;
+                final TileTask left = new TileTask(context, fromTile, middle);
+                left.fork();
+                final Aggregates right = new TileTask(context, middle, toTile).compute();
+                return left.join().merge(right);
+            }
+            return context.computeTile(context.tileRows[fromTile], context.tileColumns[fromTile]);
+        }
+    }
+
+    private final IDistanceFunction function;
+    private int tileSize = 64;
+    private boolean isStoringDistances;
+
+    public TiledDistanceComputation(IDistanceFunction function) {
+        this.function = function;
+    }
+
+    /**
+     * Sets the number of configurations per tile side. Defaults to 64.
+     *
+     * @param tileSize the tile size
+     */
+    public void setTileSize(int tileSize) {
+        if (tileSize < 1) {
+            throw new IllegalArgumentException(String.valueOf(tileSize));
+        }
+        this.tileSize = tileSize;
+    }
+
+    /**
+     * Sets whether all pairwise distances are stored (see {@link Aggregates#getDistances()}). Defaults to false.
+     * At most {@link #MAXIMUM_STORED_DISTANCES} distances (i.e., about 65,000 configurations) can be stored.
+     *
+     * @param isStoringDistances whether to store all distances
+     */
+    public void setStoringDistances(boolean isStoringDistances) {
+        this.isStoringDistances = isStoringDistances;
+    }
+
+    /**
+     * {@return the aggregated pairwise distances of the given sample}
+     * A {@link PackedBooleanSolutionList} is not unpacked if the distance function is an
+     * {@link IPackedDistanceFunction}.
+     *
+     * @param sample the sample
+     * @throws IllegalArgumentException if distances are stored and the sample has too many pairs of configurations
+     */
+    public Aggregates compute(BooleanAssignmentList sample) {
+        if (sample instanceof PackedBooleanSolutionList && function instanceof IPackedDistanceFunction) {
+            final Context context = createContext(sample.getAll());
+            context.pack((PackedBooleanSolutionList) sample);
+            return context.compute();
+        }
+        return compute(sample.getAll());
+    }
+
+    /**
+     * {@return the aggregated pairwise distances of the given sample}
+     *
+     * @param sample the sample
+     * @throws IllegalArgumentException if distances are stored and the sample has too many pairs of configurations
+     */
+    public Aggregates compute(List<? extends BooleanAssignment> sample) {
+        final Context context = createContext(sample);
+        final int size = context.size;
+        context.literals = new int[size][];
+        for (int i = 0; i < size; i++) {
+            context.literals[i] = sample.get(i).get();
+        }
+        if (context.isPackable()) {
+            context.pack();
+        }
+        return context.compute();
+    }
+
+    private Context createContext(List<? extends BooleanAssignment> sample) {
+        final int size = sample.size();
+        if (isStoringDistances && getPairCount(size) > MAXIMUM_STORED_DISTANCES) {
+            throw new IllegalArgumentException(String.format(
+                    "Cannot store %d distances of %d configurations (at most %d)",
+                    getPairCount(size), size, MAXIMUM_STORED_DISTANCES));
+        }
+        return new Context(sample);
+    }
+
+    private static long getPairCount(int size) {
+        return ((long) size * (size - 1)) >> 1;
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * Encodes cardinality constraints over integer literals as clauses.
+ * A cardinality constraint requires that the number of satisfied literals lies within a given range.
+ * All encodings except {@link Encoding#BINOMIAL} introduce auxiliary variables, which are requested from a supplier.
+ * The resulting clauses are equisatisfiable with the cardinality constraint and imply it,
+ * so the encoding can replace a cardinality constraint that occurs with positive polarity.
+ *
+ * @author Sebastian Krieter
+ */
+public class CardinalityEncoder {
+
+    /**
+     * Clause encodings for cardinality constraints.
+     */
+    public enum Encoding {
+        /**
+         * Enumerates all subsets of literals that must not be (un-)satisfied at the same time.
+         * Requires no auxiliary variables, but its size grows with the binomial coefficient of the number of literals and the bound.
+         */
+        BINOMIAL,
+        /**
+         * Sequential counter encoding (Sinz 2005).
+         * Requires O(n * k) clauses and auxiliary variables for n literals and a bound k.
+         */
+        SEQUENTIAL_COUNTER,
+        /**
+         * Totalizer encoding (Bailleux and Boufkhad 2003), truncated at the largest relevant bound.
+         * Counts the satisfied literals in a binary tree of unary counters,
+         * which supports lower and upper bounds with the same auxiliary variables.
+         */
+        TOTALIZER
+    }
+
+    private final Encoding encoding;
+    private final IntSupplier newVariable;
+    private final List<int[]> clauses = new ArrayList<>();
+
+    /**
+     * Creates a new cardinality encoder.
+     *
+     * @param encoding the encoding
+     * @param newVariable supplies the indices of new auxiliary variables
+     */
+    public CardinalityEncoder(Encoding encoding, IntSupplier newVariable) {
+        this.encoding = encoding;
+        this.newVariable = newVariable;
+    }
+
+    /**
+     * {@return clauses that require that at least a minimum and at most a maximum number of the given literals are satisfied}
+     * A negative maximum stands for an open upper bound.
+     * An unsatisfiable constraint is encoded as a single empty clause.
+     *
+     * @param literals the literals
+     * @param minimum the minimum
+     * @param maximum the maximum
+     */
+    public List<int[]> encode(int[] literals, int minimum, int maximum) {
+        clauses.clear();
+        final int n = literals.length;
+        minimum = Math.max(minimum, 0);
+        if (maximum < 0 || maximum > n) {
+            maximum = n;
+        }
+        if (minimum > maximum) {
+            clauses.add(new int[0]);
+        } else if (minimum == n) {
+            for (int literal : literals) {
+                clauses.add(new int[] {literal});
+            }
+        } else if (maximum == 0) {
+            for (int literal : literals) {
+                clauses.add(new int[] {-literal});
+            }
+        } else {
+            switch (encoding) {
+                case BINOMIAL:
+                    if (minimum > 0) {
+                        binomial(literals, n - minimum + 1);
+                    }
+                    if (maximum < n) {
+                        binomial(negate(literals), maximum + 1);
+                    }
+                    break;
+                case SEQUENTIAL_COUNTER:
+                    if (minimum > 0) {
+                        sequentialCounter(negate(literals), n - minimum);
+                    }
+                    if (maximum < n) {
+                        sequentialCounter(literals, maximum);
+                    }
+                    break;
+                case TOTALIZER:
+                    totalizer(literals, minimum, maximum);
+                    break;
+                default:
+                    throw new IllegalStateException(String.valueOf(encoding));
+            }
+        }
+        return new ArrayList<>(clauses);
+    }
+
+    private static int[] negate(int[] literals) {
+        int[] negatedLiterals = new int[literals.length];
+        for (int i = 0; i < literals.length; i++) {
+            negatedLiterals[i] = -literals[i];
+        }
+        return negatedLiterals;
+    }
+
+    /**
+     * Adds all clauses of the given size over the given literals.
+     */
+    private void binomial(int[] literals, int clauseSize) {
+        final int[] index = new int[clauseSize];
+        for (int i = 0; i < clauseSize; i++) {
+            index[i] = i;
+        }
+        final int n = literals.length;
+        while (true) {
+            int[] clause = new int[clauseSize];
+            for (int i = 0; i < clauseSize; i++) {
+                clause[i] = literals[index[i]];
+            }
+            clauses.add(clause);
+            int i = clauseSize - 1;
+            while (i >= 0 && index[i] == n - clauseSize + i) {
+                i--;
+            }
+            if (i < 0) {
+                return;
+            }
+            index[i]++;
+            for (int j = i + 1; j < clauseSize; j++) {
+                index[j] = index[j - 1] + 1;
+            }
+        }
+    }
+
+    /**
+     * Adds clauses that require that at most k of the given literals are satisfied, with 0 &lt; k &lt; n.
+     * The auxiliary variable s(i, j) is implied if at least j of the first i + 1 literals are satisfied.
+     */
+    private void sequentialCounter(int[] literals, int k) {
+        final int n = literals.length;
+        int[] previous = new int[k];
+        for (int j = 0; j < k; j++) {
+            previous[j] = newVariable.getAsInt();
+        }
+        clauses.add(new int[] {-literals[0], previous[0]});
+        for (int j = 1; j < k; j++) {
+            clauses.add(new int[] {-previous[j]});
+        }
+        for (int i = 1; i < n - 1; i++) {
+            final int literal = literals[i];
+            int[] current = new int[k];
+            for (int j = 0; j < k; j++) {
+                current[j] = newVariable.getAsInt();
+            }
+            clauses.add(new int[] {-literal, current[0]});
+            clauses.add(new int[] {-previous[0], current[0]});
+            for (int j = 1; j < k; j++) {
+                clauses.add(new int[] {-literal, -previous[j - 1], current[j]});
+                clauses.add(new int[] {-previous[j], current[j]});
+            }
+            clauses.add(new int[] {-literal, -previous[k - 1]});
+            previous = current;
+        }
+        clauses.add(new int[] {-literals[n - 1], -previous[k - 1]});
+    }
+
+    /**
+     * Adds clauses that require that between minimum and maximum of the given literals are satisfied,
+     * with 0 &lt;= minimum &lt;= maximum &lt;= n and not both bounds trivial.
+     */
+    private void totalizer(int[] literals, int minimum, int maximum) {
+        final int n = literals.length;
+        final boolean hasUpperBound = maximum < n;
+        final boolean hasLowerBound = minimum > 0;
+        final int limit = hasUpperBound ? maximum + 1 : minimum;
+        int[] outputs = totalizer(literals, 0, n, limit, hasUpperBound, hasLowerBound);
+        if (hasLowerBound) {
+            clauses.add(new int[] {outputs[minimum - 1]});
+        }
+        if (hasUpperBound) {
+            clauses.add(new int[] {-outputs[maximum]});
+        }
+    }
+
+    /**
+     * {@return the unary counter for the literals in the given interval}
+     * The i-th output (zero-based) is satisfied iff at least i + 1 literals are satisfied.
+     * Outputs are only created up to the given limit.
+     */
+    private int[] totalizer(
+            int[] literals, int from, int to, int limit, boolean isCountingUp, boolean isCountingDown) {
+        if (to - from == 1) {
+            return new int[] {literals[from]};
+        }
+        final int middle = (from + to) >>> 1;
+        final int[] left = totalizer(literals, from, middle, limit, isCountingUp, isCountingDown);
+        final int[] right = totalizer(literals, middle, to, limit, isCountingUp, isCountingDown);
+        final int[] outputs = new int[Math.min(to - from, limit)];
+        for (int i = 0; i < outputs.length; i++) {
+            outputs[i] = newVariable.getAsInt();
+        }
+        for (int i = 0; i <= left.length; i++) {
+            for (int j = 0; j <= right.length; j++) {
+                if (isCountingUp && i + j > 0) {
+                    // at least i left and j right literals imply at least i + j literals
+                    final int[] clause = new int[(i > 0 ? 1 : 0) + (j > 0 ? 1 : 0) + 1];
+                    int c = 0;
+                    if (i > 0) clause[c++] = -left[i - 1];
+                    if (j > 0) clause[c++] = -right[j - 1];
+                    clause[c] = outputs[Math.min(i + j, outputs.length) - 1];
+                    clauses.add(clause);
+                }
+                if (isCountingDown && i + j < outputs.length) {
+                    // at most i left and j right literals imply at most i + j literals
+                    final int[] clause = new int[(i < left.length ? 1 : 0) + (j < right.length ? 1 : 0) + 1];
+                    int c = 0;
+                    if (i < left.length) clause[c++] = left[i];
+                    if (j < right.length) clause[c++] = right[j];
+                    clause[c] = -outputs[i + j];
+                    clauses.add(clause);
+                }
+            }
+        }
+        return outputs;
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Applies the distributive law to integer literals.
+ * Given the alternatives of each child of a connective, computes all clauses that combine one alternative of each
+ * child. New clauses are built on a reusable literal stack, such that alternatives that contain the complement of a
+ * literal on the stack (i.e., that would yield a tautology) are never combined and children that are already
+ * satisfied by the literals on the stack are skipped. Subsumed clauses are detected using 64-bit clause signatures.
+ * An instance holds the state of a single transformation and must not be used by several threads at once.
+ *
+ * @author Sebastian Krieter
+ */
+final class ClauseDistributor {
+
+    private final boolean[] literalMarks;
+    private final int[] literalStack;
+    private int literalStackSize;
+    private final ArrayList<int[]> clauses = new ArrayList<>();
+
+    /**
+     * Creates a distributor for literals of the given variables.
+     *
+     * @param variableCount the largest variable of any literal
+     */
+    ClauseDistributor(int variableCount) {
+        int numberOfLiterals = (variableCount + 1) << 1;
+        literalMarks = new boolean[numberOfLiterals];
+        literalStack = new int[numberOfLiterals];
+    }
+
+    /**
+     * {@return all clauses that combine one alternative of each child, sorted by length and without subsumed
+     * clauses}
+     * The literals of each clause are distinct and ordered as in the given alternatives.
+     *
+     * @param alternatives the alternatives of each child
+     * @param cancelPredicate maps each new clause to a throwable if the transformation should be cancelled, if any
+     * @throws DistributiveTransformer.CancelledException if the cancel predicate cancels the transformation
+     */
+    List<int[]> distribute(int[][][] alternatives, Function<int[], Throwable> cancelPredicate)
+            throws DistributiveTransformer.CancelledException {
+        clauses.clear();
+        try {
+            distribute(alternatives, 0, cancelPredicate);
+        } catch (DistributiveTransformer.CancelledException e) {
+            pop(0);
+            clauses.clear();
+            throw e;
+        }
+
+        clauses.sort(Comparator.comparingInt(clause -> clause.length));
+        int lastIndex = clauses.size();
+        long[] signatures = new long[lastIndex];
+        for (int i = 0; i < lastIndex; i++) {
+            signatures[i] = getSignature(clauses.get(i));
+        }
+        List<int[]> filteredClauses = new ArrayList<>(lastIndex);
+        for (int i = 0; i < lastIndex; i++) {
+            int[] clause = clauses.get(i);
+            if (clause != null) {
+                long signature = signatures[i];
+                for (int j = i + 1; j < lastIndex; j++) {
+                    int[] clause2 = clauses.get(j);
+                    if (clause2 != null && (signature & ~signatures[j]) == 0 && containsAll(clause2, clause)) {
+                        clauses.set(j, null);
+                    }
+                }
+                filteredClauses.add(clause);
+            }
+        }
+        clauses.clear();
+        return filteredClauses;
+    }
+
+    /**
+     * {@return the index of an integer literal in the literal marks, i.e., twice its variable, plus one if negative}
+     *
+     * @param literal the literal
+     */
+    static int getIndex(int literal) {
+        return literal > 0 ? literal << 1 : (-literal << 1) | 1;
+    }
+
+    private static long getSignature(int[] clause) {
+        long signature = 0;
+        for (int literal : clause) {
+            signature |= 1L << (getIndex(literal) & 63);
+        }
+        return signature;
+    }
+
+    /**
+     * Adds all clauses that combine one alternative of each child, starting at the given child, with the literals on
+     * the stack. Skips alternatives that contain the complement of a literal on the stack and children that are
+     * already satisfied by the literals on the stack.
+     */
+    private void distribute(int[][][] alternatives, int index, Function<int[], Throwable> cancelPredicate)
+            throws DistributiveTransformer.CancelledException {
+        if (index == alternatives.length) {
+            int[] clause = Arrays.copyOf(literalStack, literalStackSize);
+            if (cancelPredicate != null) {
+                Throwable cancelThrowable = cancelPredicate.apply(clause);
+                if (cancelThrowable != null) {
+                    throw new DistributiveTransformer.CancelledException(cancelThrowable);
+                }
+            }
+            clauses.add(clause);
+        } else {
+            int[][] childAlternatives = alternatives[index];
+            if (isRedundant(childAlternatives)) {
+                distribute(alternatives, index + 1, cancelPredicate);
+            } else {
+                for (int[] alternative : childAlternatives) {
+                    int stackSize = literalStackSize;
+                    if (push(alternative)) {
+                        distribute(alternatives, index + 1, cancelPredicate);
+                    }
+                    pop(stackSize);
+                }
+            }
+        }
+    }
+
+    private boolean isRedundant(int[][] childAlternatives) {
+        for (int[] alternative : childAlternatives) {
+            if (isMarked(alternative)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isMarked(int[] alternative) {
+        for (int literal : alternative) {
+            if (!literalMarks[getIndex(literal)]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Pushes all literals of the given alternative that are not on the stack yet.
+     * @return false if the alternative contains the complement of a literal on the stack
+     */
+    private boolean push(int[] alternative) {
+        for (int literal : alternative) {
+            int index = getIndex(literal);
+            if (literalMarks[index ^ 1]) {
+                return false;
+            }
+            if (!literalMarks[index]) {
+                literalMarks[index] = true;
+                literalStack[literalStackSize++] = literal;
+            }
+        }
+        return true;
+    }
+
+    private void pop(int stackSize) {
+        while (literalStackSize > stackSize) {
+            literalMarks[getIndex(literalStack[--literalStackSize])] = false;
+        }
+    }
+
+    /**
+     * {@return whether the first clause contains all literals of the second clause}
+     * Uses the literal marks, which are not in use while filtering clauses.
+     */
+    private boolean containsAll(int[] clause, int[] subClause) {
+        for (int literal : clause) {
+            literalMarks[getIndex(literal)] = true;
+        }
+        boolean containsAll = isMarked(subClause);
+        for (int literal : clause) {
+            literalMarks[getIndex(literal)] = false;
+        }
+        return containsAll;
+    }
+}
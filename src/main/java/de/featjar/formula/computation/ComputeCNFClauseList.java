@@ -0,0 +1,668 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import de.featjar.base.computation.AComputation;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.Dependency;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Range;
+import de.featjar.base.data.Result;
+import de.featjar.base.tree.structure.ITree;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanClause;
+import de.featjar.formula.structure.IExpression;
+import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.structure.connective.ACardinal;
+import de.featjar.formula.structure.connective.And;
+import de.featjar.formula.structure.connective.Reference;
+import de.featjar.formula.structure.predicate.ExpressionKind;
+import de.featjar.formula.structure.predicate.Literal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
+/**
+ * Transforms a formula in negation normal form into a {@link BooleanAssignmentList} of {@link BooleanClause clauses}.
+ * Yields the same clauses as {@link ComputeCNFFormula} followed by
+ * {@link de.featjar.formula.assignment.ComputeBooleanClauseList}, up to tautologies, duplicate literals, and the order
+ * of clauses and variables, but never builds an intermediate formula.
+ * Instead, the input is translated once into integer literals and all clauses are emitted as integer arrays.
+ * Disjunctions are distributed by the same {@link ClauseDistributor} as in {@link DistributiveTransformer}.
+ * Auxiliary variables of the Tseitin transformation and of cardinality encodings are added directly to the variable
+ * map of the result.
+ * <p>
+ * If {@link #IS_PARALLEL} is set, the children of the formula are transformed in the common fork-join pool.
+ * Large children are split further, such that a few huge constraints do not serialize the transformation.
+ * Equal Tseitin substitutions are shared across threads via a concurrent map and are numbered only after all
+ * children have been transformed, in the order of the input formula.
+ * Thus, the result is the same regardless of whether and how the transformation is parallelized.
+ *
+ * @author Sebastian Krieter
+ */
+public class ComputeCNFClauseList extends AComputation<BooleanAssignmentList> {
+    public static final Dependency<IFormula> NNF_FORMULA = Dependency.newDependency(IFormula.class);
+    /**
+     * Determines whether this computation uses the Plaisted-Greenbaum optimization.
+     */
+    public static final Dependency<Boolean> IS_PLAISTED_GREENBAUM = Dependency.newDependency(Boolean.class);
+    /**
+     * Determines the maximum number of literals available for distributive
+     * transformation.
+     */
+    public static final Dependency<Integer> MAXIMUM_NUMBER_OF_LITERALS = Dependency.newDependency(Integer.class);
+    /**
+     * Determines whether this computation is parallel.
+     * The result is the same as without parallelization.
+     */
+    public static final Dependency<Boolean> IS_PARALLEL = Dependency.newDependency(Boolean.class);
+    /**
+     * Determines how cardinality constraints are encoded if they are kept in the input formula
+     * (see {@link ComputeNNFFormula#IS_KEEPING_CARDINALS}).
+     */
+    public static final Dependency<CardinalityEncoder.Encoding> CARDINALITY_ENCODING =
+            Dependency.newDependency(CardinalityEncoder.Encoding.class);
+
+    /**
+     * Minimum number of nodes of a (sub-)formula for being split into parallel tasks.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 10;
+
+    /**
+     * Cancels the distributive transformation of a child when the maximum number of literals is exceeded.
+     */
+    private static final Throwable CANCELLED = new RuntimeException("exceeded maximum number of literals");
+
+    /**
+     * Creates a new CNF clause list computation.
+     *
+     * @param nnfFormula the input NNF formula computation
+     */
+    public ComputeCNFClauseList(IComputation<IFormula> nnfFormula) {
+        super(
+                nnfFormula, //
+                Computations.of(Boolean.FALSE), //
+                Computations.of(Integer.MAX_VALUE), //
+                Computations.of(Boolean.FALSE), //
+                Computations.of(CardinalityEncoder.Encoding.SEQUENTIAL_COUNTER));
+    }
+
+    protected ComputeCNFClauseList(ComputeCNFClauseList other) {
+        super(other);
+    }
+
+    /**
+     * Sets whether this computation introduces auxiliary variables.
+     *
+     * @param tseitin whether this computation introduces auxiliary variables
+     */
+    public void setTseitin(IComputation<Boolean> tseitin) {
+        setDependencyComputation(
+                MAXIMUM_NUMBER_OF_LITERALS,
+                tseitin.mapResult(ComputeCNFClauseList.class, "setTseitin", b -> b ? 0 : Integer.MAX_VALUE));
+    }
+
+    @Override
+    public Result<BooleanAssignmentList> compute(List<Object> dependencyList, Progress progress) {
+        IFormula nnfFormula = NNF_FORMULA.get(dependencyList);
+        VariableMap variableMap = VariableMap.of(nnfFormula);
+        if (nnfFormula instanceof Reference) {
+            nnfFormula = ((Reference) nnfFormula).getExpression();
+        }
+        if (!ExpressionKind.CARDINAL_NNF.test(nnfFormula)) {
+            throw new IllegalArgumentException("Formula is not in NNF");
+        }
+        Converter converter = new Converter(
+                variableMap,
+                IS_PLAISTED_GREENBAUM.get(dependencyList),
+                MAXIMUM_NUMBER_OF_LITERALS.get(dependencyList),
+                IS_PARALLEL.get(dependencyList),
+                CARDINALITY_ENCODING.get(dependencyList));
+        converter.transform(nnfFormula, progress);
+        return Result.of(converter.clauseList);
+    }
+
+    @Override
+    public ITree<IComputation<?>> cloneNode() {
+        return new ComputeCNFClauseList(this);
+    }
+
+    /**
+     * A formula in negation normal form over integer literals.
+     * Either a literal or a conjunction or disjunction of child nodes.
+     */
+    private static final class Node {
+        private final int literal;
+        private final boolean isAnd;
+        private final Node[] children;
+        private final int size;
+
+        private Node(int literal) {
+            this.literal = literal;
+            this.isAnd = false;
+            this.children = null;
+            this.size = 1;
+        }
+
+        private Node(boolean isAnd, Node[] children) {
+            this.literal = 0;
+            this.isAnd = isAnd;
+            this.children = children;
+            this.size = size(children, 0, children.length) + 1;
+        }
+
+        private static int size(Node[] nodes, int from, int to) {
+            long size = 0;
+            for (int i = from; i < to; i++) {
+                size += nodes[i].size;
+            }
+            return (int) Math.min(size, Integer.MAX_VALUE);
+        }
+
+        private boolean isLiteral() {
+            return children == null;
+        }
+
+        private boolean isClause() {
+            if (isLiteral()) {
+                return true;
+            }
+            if (isAnd) {
+                return false;
+            }
+            for (Node child : children) {
+                if (!child.isLiteral()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean isCNF() {
+            if (isAnd) {
+                for (Node child : children) {
+                    if (!child.isClause()) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            return isClause();
+        }
+
+        private Node negate() {
+            if (isLiteral()) {
+                return new Node(-literal);
+            }
+            Node[] negatedChildren = new Node[children.length];
+            for (int i = 0; i < children.length; i++) {
+                negatedChildren[i] = children[i].negate();
+            }
+            return new Node(!isAnd, negatedChildren);
+        }
+    }
+
+    /**
+     * A substitution of a conjunction or disjunction with an auxiliary variable.
+     * Identified by its connective, the literals of its children, and the (shared) substitutions of its children.
+     * The auxiliary variable is assigned after all substitutions have been collected.
+     */
+    private static final class Substitution {
+        private final boolean isAnd;
+        private final int[] literals;
+        private final Substitution[] substitutions;
+        private final int hashCode;
+        private int variable;
+
+        private Substitution(boolean isAnd, int[] literals, Substitution[] substitutions) {
+            this.isAnd = isAnd;
+            this.literals = literals;
+            this.substitutions = substitutions;
+            int hashCode = Arrays.hashCode(literals);
+            for (Substitution substitution : substitutions) {
+                hashCode = 31 * hashCode + (substitution == null ? 0 : substitution.hashCode);
+            }
+            this.hashCode = 31 * hashCode + (isAnd ? 1 : 0);
+        }
+
+        private int getLiteral(int index) {
+            return substitutions[index] == null ? literals[index] : substitutions[index].variable;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Substitution)) {
+                return false;
+            }
+            Substitution other = (Substitution) obj;
+            if (hashCode != other.hashCode
+                    || isAnd != other.isAnd
+                    || !Arrays.equals(literals, other.literals)
+                    || substitutions.length != other.substitutions.length) {
+                return false;
+            }
+            // children are shared, so they can be compared by identity
+            for (int i = 0; i < substitutions.length; i++) {
+                if (substitutions[i] != other.substitutions[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The result of transforming a child of the input formula.
+     * Either a list of clauses or, if the distributive transformation was canceled, the substituted root.
+     */
+    private static final class Transformation {
+        private List<int[]> clauses;
+        private Substitution root;
+    }
+
+    /**
+     * Applies an action to a range of nodes, splitting the range into parallel tasks if it is large enough.
+     */
+    private static final class ForkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Node[] nodes;
+        private final int from, to;
+        private final IntConsumer action;
+
+        private ForkTask(Node[] nodes, int from, int to, IntConsumer action) {
+            this.nodes = nodes;
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1 && Node.size(nodes, from, to) >= PARALLEL_THRESHOLD) {
+                final int middle = (from + to) >>> 1;
+                final ForkTask left = new ForkTask(nodes, from, middle, action);
+                left.fork();
+                new ForkTask(nodes, middle, to, action).compute();
+                left.join();
+            } else {
+                for (int i = from; i < to; i++) {
+                    action.accept(i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Holds the state of a single transformation.
+     */
+    private static final class Converter {
+        private final VariableMap variableMap;
+        private final BooleanAssignmentList clauseList;
+        private final boolean isPlaistedGreenbaum;
+        private final int maximumNumberOfLiterals;
+        private final boolean isParallel;
+        private final CardinalityEncoder.Encoding cardinalityEncoding;
+        private final ConcurrentHashMap<Substitution, Substitution> substitutions = new ConcurrentHashMap<>();
+        private final List<Node> definitions = new ArrayList<>();
+        /**
+         * Distributors that are not in use, such that each thread reuses a distributor while transforming.
+         */
+        private final ConcurrentLinkedQueue<ClauseDistributor> distributors = new ConcurrentLinkedQueue<>();
+        private int auxiliaryVariableIndex;
+        private int cardinalityAuxiliaryVariableIndex;
+
+        private Converter(
+                VariableMap variableMap,
+                boolean isPlaistedGreenbaum,
+                int maximumNumberOfLiterals,
+                boolean isParallel,
+                CardinalityEncoder.Encoding cardinalityEncoding) {
+            this.variableMap = variableMap;
+            this.clauseList = new BooleanAssignmentList(variableMap);
+            this.isPlaistedGreenbaum = isPlaistedGreenbaum;
+            this.maximumNumberOfLiterals = maximumNumberOfLiterals;
+            this.isParallel = isParallel;
+            this.cardinalityEncoding = cardinalityEncoding;
+        }
+
+        /**
+         * Transforms the given formula in three phases.
+         * First, the formula is translated into nodes, which encodes all cardinality constraints
+         * and adds the definitions of their non-literal children as further nodes.
+         * Second, all nodes are transformed (possibly in parallel), which collects clauses and substitutions.
+         * Third, the auxiliary variables of all substitutions are numbered and all clauses are emitted in order.
+         */
+        private void transform(IFormula formula, Progress progress) {
+            List<Node> nodeList = new ArrayList<>();
+            if (formula instanceof And) {
+                for (IExpression child : formula.getChildren()) {
+                    nodeList.add(toNode((IFormula) child));
+                }
+            } else {
+                nodeList.add(toNode(formula));
+            }
+            nodeList.addAll(definitions);
+            definitions.clear();
+            transform(nodeList.toArray(new Node[0]), progress);
+        }
+
+        private void transform(Node[] nodes, Progress progress) {
+            progress.setTotalSteps(nodes.length);
+
+            Transformation[] transformations = new Transformation[nodes.length];
+            forEach(nodes, Node.size(nodes, 0, nodes.length), i -> {
+                transformations[i] = transform(nodes[i]);
+                progress.incrementCurrentStep();
+            });
+
+            List<Substitution> numberedSubstitutions = new ArrayList<>(substitutions.size());
+            for (Transformation transformation : transformations) {
+                if (transformation.root != null) {
+                    number(transformation.root.substitutions, numberedSubstitutions);
+                }
+            }
+            for (Transformation transformation : transformations) {
+                if (transformation.root != null) {
+                    addRootClauses(transformation.root);
+                } else {
+                    for (int[] clause : transformation.clauses) {
+                        clauseList.add(new BooleanClause(clause, false));
+                    }
+                }
+            }
+            for (Substitution substitution : numberedSubstitutions) {
+                addDefinitionClauses(substitution);
+            }
+            substitutions.clear();
+        }
+
+        private void forEach(Node[] nodes, int size, IntConsumer action) {
+            if (isParallel && size >= PARALLEL_THRESHOLD) {
+                new ForkTask(nodes, 0, nodes.length, action).invoke();
+            } else {
+                for (int i = 0; i < nodes.length; i++) {
+                    action.accept(i);
+                }
+            }
+        }
+
+        private Transformation transform(Node node) {
+            Transformation transformation = new Transformation();
+            if (node.isCNF()) {
+                transformation.clauses = new ArrayList<>();
+                if (node.isAnd) {
+                    for (Node child : node.children) {
+                        transformation.clauses.add(toClause(child));
+                    }
+                } else {
+                    transformation.clauses.add(toClause(node));
+                }
+            } else {
+                transformation.clauses = distribute(node, new AtomicLong(maximumNumberOfLiterals));
+                if (transformation.clauses != null) {
+                    for (int[] clause : transformation.clauses) {
+                        Arrays.sort(clause);
+                    }
+                } else {
+                    // the root is never shared, so it is not added to the substitutions
+                    transformation.root = substituteChildren(node);
+                }
+            }
+            return transformation;
+        }
+
+        private static int[] toClause(Node clause) {
+            if (clause.isLiteral()) {
+                return new int[] {clause.literal};
+            }
+            int[] literals = new int[clause.children.length];
+            for (int i = 0; i < literals.length; i++) {
+                literals[i] = clause.children[i].literal;
+            }
+            Arrays.sort(literals);
+            int k = 0;
+            for (int i = 0; i < literals.length; i++) {
+                if (k == 0 || literals[k - 1] != literals[i]) {
+                    literals[k++] = literals[i];
+                }
+            }
+            return k == literals.length ? literals : Arrays.copyOf(literals, k);
+        }
+
+        private Node toNode(IFormula formula) {
+            if (formula instanceof Literal) {
+                Literal literal = (Literal) formula;
+                int variable = variableMap
+                        .get(literal.getExpression().getName())
+                        .orElseThrow();
+                return new Node(literal.isPositive() ? variable : -variable);
+            } else if (formula instanceof ACardinal) {
+                return toNode((ACardinal) formula);
+            } else {
+                List<? extends IExpression> children = formula.getChildren();
+                Node[] childNodes = new Node[children.size()];
+                for (int i = 0; i < childNodes.length; i++) {
+                    childNodes[i] = toNode((IFormula) children.get(i));
+                }
+                return new Node(formula instanceof And, childNodes);
+            }
+        }
+
+        /**
+         * Encodes a cardinality constraint. Children that are not literals are substituted by auxiliary variables,
+         * whose definitions are transformed after the input formula.
+         */
+        private Node toNode(ACardinal cardinal) {
+            List<? extends IExpression> children = cardinal.getChildren();
+            int[] literals = new int[children.size()];
+            for (int i = 0; i < literals.length; i++) {
+                Node child = toNode((IFormula) children.get(i));
+                if (child.isLiteral()) {
+                    literals[i] = child.literal;
+                } else {
+                    int variable = newCardinalityAuxiliaryVariable();
+                    literals[i] = variable;
+                    definitions.add(new Node(false, new Node[] {new Node(-variable), child}));
+                    definitions.add(new Node(false, new Node[] {new Node(variable), child.negate()}));
+                }
+            }
+            Range range = cardinal.getRange();
+            List<int[]> clauses = new CardinalityEncoder(cardinalityEncoding, this::newCardinalityAuxiliaryVariable)
+                    .encode(
+                            literals,
+                            range.getLowerBound() == Range.OPEN ? 0 : range.getLowerBound(),
+                            range.getUpperBound());
+            Node[] clauseNodes = new Node[clauses.size()];
+            for (int i = 0; i < clauseNodes.length; i++) {
+                int[] clause = clauses.get(i);
+                Node[] literalNodes = new Node[clause.length];
+                for (int j = 0; j < clause.length; j++) {
+                    literalNodes[j] = new Node(clause[j]);
+                }
+                clauseNodes[i] = new Node(false, literalNodes);
+            }
+            return new Node(true, clauseNodes);
+        }
+
+        private int newCardinalityAuxiliaryVariable() {
+            String name;
+            do {
+                name = ComputeCNFFormula.CARDINALITY_AUXILIARY_VARIABLE_NAME_PREFIX
+                        + (++cardinalityAuxiliaryVariableIndex);
+            } while (variableMap.has(name));
+            return variableMap.add(name);
+        }
+
+        private int newAuxiliaryVariable() {
+            String name;
+            do {
+                name = TseitinTransformer.AUXILIARY_VARIABLE_NAME_PREFIX + (++auxiliaryVariableIndex);
+            } while (variableMap.has(name));
+            return variableMap.add(name);
+        }
+
+        /**
+         * {@return the clauses of the given node as arrays without duplicate literals, or null if the
+         * transformation exceeds the maximum number of literals}
+         * Disjunctions are distributed by a {@link ClauseDistributor}, which skips tautologies and subsumed clauses.
+         */
+        @SuppressWarnings("unchecked")
+        private List<int[]> distribute(Node node, AtomicLong remainingLiterals) {
+            if (node.isLiteral()) {
+                List<int[]> clauses = new ArrayList<>(1);
+                clauses.add(new int[] {node.literal});
+                return clauses;
+            }
+            if (remainingLiterals.get() < 0) {
+                return null;
+            }
+            Node[] children = node.children;
+            List<int[]>[] childClauses = new List[children.length];
+            forEach(children, node.size, i -> childClauses[i] = distribute(children[i], remainingLiterals));
+            for (List<int[]> clauses : childClauses) {
+                if (clauses == null) {
+                    return null;
+                }
+            }
+            if (node.isAnd) {
+                List<int[]> clauses = new ArrayList<>();
+                for (List<int[]> clauses2 : childClauses) {
+                    clauses.addAll(clauses2);
+                }
+                return clauses;
+            } else {
+                int[][][] alternatives = new int[childClauses.length][][];
+                for (int i = 0; i < alternatives.length; i++) {
+                    alternatives[i] = childClauses[i].toArray(new int[0][]);
+                }
+                Arrays.sort(alternatives, Comparator.comparingInt(childAlternatives -> childAlternatives.length));
+                ClauseDistributor distributor = distributors.poll();
+                if (distributor == null) {
+                    distributor = new ClauseDistributor(variableMap.maxIndex());
+                }
+                try {
+                    return distributor.distribute(
+                            alternatives,
+                            clause -> remainingLiterals.addAndGet(-clause.length) < 0 ? CANCELLED : null);
+                } catch (DistributiveTransformer.CancelledException e) {
+                    return null;
+                } finally {
+                    distributors.offer(distributor);
+                }
+            }
+        }
+
+        /**
+         * {@return a substitution of the given conjunction or disjunction, whose children are substituted and shared}
+         */
+        private Substitution substituteChildren(Node node) {
+            Node[] children = node.children;
+            int[] literals = new int[children.length];
+            Substitution[] childSubstitutions = new Substitution[children.length];
+            forEach(children, node.size, i -> {
+                Node child = children[i];
+                if (child.isLiteral()) {
+                    literals[i] = child.literal;
+                } else {
+                    childSubstitutions[i] = substitute(child);
+                }
+            });
+            return new Substitution(node.isAnd, literals, childSubstitutions);
+        }
+
+        private Substitution substitute(Node node) {
+            Substitution substitution = substituteChildren(node);
+            Substitution sharedSubstitution = substitutions.putIfAbsent(substitution, substitution);
+            return sharedSubstitution == null ? substitution : sharedSubstitution;
+        }
+
+        /**
+         * Assigns auxiliary variables to the given substitutions and their children in post-order.
+         */
+        private void number(Substitution[] childSubstitutions, List<Substitution> numberedSubstitutions) {
+            for (Substitution substitution : childSubstitutions) {
+                if (substitution != null && substitution.variable == 0) {
+                    number(substitution.substitutions, numberedSubstitutions);
+                    substitution.variable = newAuxiliaryVariable();
+                    numberedSubstitutions.add(substitution);
+                }
+            }
+        }
+
+        private void addRootClauses(Substitution root) {
+            int[] literals = new int[root.literals.length];
+            for (int i = 0; i < literals.length; i++) {
+                literals[i] = root.getLiteral(i);
+            }
+            if (root.isAnd) {
+                for (int literal : literals) {
+                    clauseList.add(new BooleanClause(literal));
+                }
+            } else {
+                clauseList.add(new BooleanClause(literals));
+            }
+        }
+
+        private void addDefinitionClauses(Substitution substitution) {
+            int variable = substitution.variable;
+            int[] literals = substitution.literals;
+            int[] definition = new int[literals.length + 1];
+            if (substitution.isAnd) {
+                for (int i = 0; i < literals.length; i++) {
+                    int literal = substitution.getLiteral(i);
+                    clauseList.add(new BooleanClause(-variable, literal));
+                    definition[i] = -literal;
+                }
+                if (!isPlaistedGreenbaum) {
+                    definition[literals.length] = variable;
+                    clauseList.add(new BooleanClause(definition));
+                }
+            } else {
+                for (int i = 0; i < literals.length; i++) {
+                    int literal = substitution.getLiteral(i);
+                    if (!isPlaistedGreenbaum) {
+                        clauseList.add(new BooleanClause(variable, -literal));
+                    }
+                    definition[i] = literal;
+                }
+                definition[literals.length] = -variable;
+                clauseList.add(new BooleanClause(definition));
+            }
+        }
+    }
+}
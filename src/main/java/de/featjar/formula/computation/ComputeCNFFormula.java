@@ -25,19 +25,24 @@ import de.featjar.base.computation.Computations;
 import de.featjar.base.computation.Dependency;
 import de.featjar.base.computation.IComputation;
 import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Range;
 import de.featjar.base.data.Result;
 import de.featjar.base.tree.structure.ITree;
 import de.featjar.formula.structure.FormulaNormalForm;
+import de.featjar.formula.structure.IExpression;
 import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.structure.connective.ACardinal;
 import de.featjar.formula.structure.connective.And;
 import de.featjar.formula.structure.connective.Or;
 import de.featjar.formula.structure.connective.Reference;
 import de.featjar.formula.structure.predicate.ExpressionKind;
 import de.featjar.formula.structure.predicate.Literal;
+import de.featjar.formula.structure.term.value.Variable;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.function.Consumer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
 /**
  * Transforms a formula into strict conjunctive normal form.
@@ -54,11 +59,19 @@ public class ComputeCNFFormula extends AComputation<IFormula> {
     /**
      * Determines the maximum number of literals available for distributive
      * transformation.
+     * The budget applies to each child of the (conjunctive) input formula separately and counts the literals of every
+     * clause generated while distributing, before duplicate and subsumed clauses are removed
+     * (see {@link DistributiveTransformer.MaximumNumberOfLiteralsCancelPredicate}).
+     * With a budget of zero, all children that are not in CNF are transformed with the Tseitin transformation.
+     * A budget of {@link Integer#MAX_VALUE} is unlimited, such that the result is equivalent to the input and has no
+     * auxiliary variables.
      */
     public static final Dependency<Integer> MAXIMUM_NUMBER_OF_LITERALS = Dependency.newDependency(Integer.class);
     /**
-     * Determines whether this computation is parallel. Use with care! Enabling
-     * parallel computation makes the result of this computation indeterministic.
+     * Determines whether this computation is parallel.
+     * If set, the children of the formula are transformed in the common fork-join pool. Their clauses and
+     * substitutions are collected per child and concatenated in the order of the input formula before auxiliary
+     * variables are numbered. Thus, the result is the same as without parallelization.
      */
     public static final Dependency<Boolean> IS_PARALLEL = Dependency.newDependency(Boolean.class);
 
@@ -67,6 +80,18 @@ public class ComputeCNFFormula extends AComputation<IFormula> {
      */
     public static final Dependency<Boolean> IS_STRICT = Dependency.newDependency(Boolean.class);
 
+    /**
+     * Determines how cardinality constraints are encoded if they are kept in the input formula
+     * (see {@link ComputeNNFFormula#IS_KEEPING_CARDINALS}).
+     */
+    public static final Dependency<CardinalityEncoder.Encoding> CARDINALITY_ENCODING =
+            Dependency.newDependency(CardinalityEncoder.Encoding.class);
+
+    /**
+     * Prefix for naming auxiliary variables introduced by cardinality encodings.
+     */
+    public static final String CARDINALITY_AUXILIARY_VARIABLE_NAME_PREFIX = "_card_";
+
     /**
      * Creates a new CNF formula computation.
      *
@@ -78,7 +103,8 @@ public class ComputeCNFFormula extends AComputation<IFormula> {
                 Computations.of(Boolean.FALSE), //
                 Computations.of(Integer.MAX_VALUE), //
                 Computations.of(Boolean.FALSE), //
-                Computations.of(Boolean.TRUE));
+                Computations.of(Boolean.TRUE), //
+                Computations.of(CardinalityEncoder.Encoding.SEQUENTIAL_COUNTER));
     }
 
     protected ComputeCNFFormula(ComputeCNFFormula other) {
@@ -105,34 +131,53 @@ public class ComputeCNFFormula extends AComputation<IFormula> {
             referenceFormula = (Reference) nnfFormula;
             nnfFormula = referenceFormula.getExpression();
         }
-        if (!ExpressionKind.NNF.test(nnfFormula)) {
+        if (!ExpressionKind.CARDINAL_NNF.test(nnfFormula)) {
             throw new IllegalArgumentException("Formula is not in NNF");
         }
         int maximumNumberOfLiterals = MAXIMUM_NUMBER_OF_LITERALS.get(dependencyList);
         boolean isPlaistedGreenbaum = IS_PLAISTED_GREENBAUM.get(dependencyList);
         boolean isParallel = IS_PARALLEL.get(dependencyList);
         boolean isStrict = IS_STRICT.get(dependencyList);
+        CardinalityEncoder.Encoding cardinalityEncoding = CARDINALITY_ENCODING.get(dependencyList);
 
-        List<IFormula> clauseFormulas =
-                isParallel ? Collections.synchronizedList(new ArrayList<>()) : new ArrayList<>();
-        List<TseitinTransformer.Substitution> substitutions =
-                isParallel ? Collections.synchronizedList(new ArrayList<>()) : new ArrayList<>();
-        Consumer<IFormula> transformer = formula -> {
-            transform(formula, clauseFormulas, substitutions, isPlaistedGreenbaum, maximumNumberOfLiterals);
-            progress.incrementCurrentStep();
-        };
-
-        if (nnfFormula instanceof And) {
-            List<IFormula> children = (List<IFormula>) nnfFormula.getChildren();
-            progress.setTotalSteps(children.size());
-            if (isParallel) {
-                children.parallelStream().forEach(transformer);
+        // cardinality constraints are encoded sequentially, such that their auxiliary variables are numbered in order
+        List<IFormula> formulas = new ArrayList<>();
+        AtomicInteger cardinalityAuxiliaryVariableIndex = new AtomicInteger();
+        List<IFormula> children =
+                nnfFormula instanceof And ? (List<IFormula>) nnfFormula.getChildren() : List.of(nnfFormula);
+        for (IFormula child : children) {
+            if (child.preOrderStream().anyMatch(expression -> expression instanceof ACardinal)) {
+                encodeAllCardinals(child, formulas, cardinalityEncoding, cardinalityAuxiliaryVariableIndex);
             } else {
-                children.forEach(transformer);
+                formulas.add(child);
             }
+        }
+
+        // each formula is transformed into its own lists, which are concatenated in order
+        progress.setTotalSteps(formulas.size());
+        List<IFormula>[] clauseFormulaLists = new List[formulas.size()];
+        List<TseitinTransformer.Substitution>[] substitutionLists = new List[formulas.size()];
+        IntConsumer transformer = i -> {
+            clauseFormulaLists[i] = new ArrayList<>();
+            substitutionLists[i] = new ArrayList<>();
+            transform(
+                    formulas.get(i),
+                    clauseFormulaLists[i],
+                    substitutionLists[i],
+                    isPlaistedGreenbaum,
+                    maximumNumberOfLiterals);
+            progress.incrementCurrentStep();
+        };
+        if (isParallel) {
+            IntStream.range(0, formulas.size()).parallel().forEach(transformer);
         } else {
-            progress.setTotalSteps(1);
-            transformer.accept(nnfFormula);
+            IntStream.range(0, formulas.size()).forEach(transformer);
+        }
+        List<IFormula> clauseFormulas = new ArrayList<>();
+        List<TseitinTransformer.Substitution> substitutions = new ArrayList<>();
+        for (int i = 0; i < formulas.size(); i++) {
+            clauseFormulas.addAll(clauseFormulaLists[i]);
+            substitutions.addAll(substitutionLists[i]);
         }
 
         TseitinTransformer.unify(substitutions);
@@ -148,6 +193,16 @@ public class ComputeCNFFormula extends AComputation<IFormula> {
         return Result.of(cnf);
     }
 
+    /**
+     * Transforms a child of the input formula into clauses.
+     * Without a budget (i.e., {@link Integer#MAX_VALUE}), the child is transformed with the distributive law, such that
+     * the result is equivalent. Otherwise, the distributive transformation is attempted within the budget first.
+     * If it exceeds the budget, the expensive subformulas of the child are substituted, such that the estimate for the
+     * remainder fits the budget, and the remainder is transformed with the distributive law.
+     * As the estimate is an upper bound, it is only used to choose the subformulas to substitute, never to skip the
+     * first attempt, which stops after at most the budget of generated literals.
+     * If the remainder exceeds the budget anyway, the child is transformed with the Tseitin transformation.
+     */
     @SuppressWarnings("unchecked")
     private void transform(
             IFormula formula,
@@ -160,6 +215,9 @@ public class ComputeCNFFormula extends AComputation<IFormula> {
         } else if (formula.isNormalForm(FormulaNormalForm.CNF)) {
             clauseFormulas.addAll(
                     (List<? extends IFormula>) toStrictForm(formula).getChildren());
+        } else if (maximumNumberOfLiterals == Integer.MAX_VALUE) {
+            clauseFormulas.addAll((List<? extends IFormula>)
+                    distributiveTransform(formula, null).orElseThrow().getChildren());
         } else {
             Result<IFormula> transformationResult = distributiveTransform(
                     formula,
@@ -169,10 +227,275 @@ public class ComputeCNFFormula extends AComputation<IFormula> {
                         (List<? extends IFormula>) transformationResult.get().getChildren());
                 return;
             }
+            if (maximumNumberOfLiterals > 0) {
+                List<TseitinTransformer.Substitution> newSubstitutions = new ArrayList<>();
+                IFormula reducedFormula = (IFormula) formula.cloneTree();
+                substituteExpensiveSubformulas(
+                        reducedFormula, newSubstitutions, isPlaistedGreenbaum, maximumNumberOfLiterals);
+                transformationResult = distributiveTransform(
+                        reducedFormula,
+                        new DistributiveTransformer.MaximumNumberOfLiteralsCancelPredicate(maximumNumberOfLiterals));
+                if (transformationResult.isPresent()) {
+                    clauseFormulas.addAll(
+                            (List<? extends IFormula>) transformationResult.get().getChildren());
+                    substitutions.addAll(newSubstitutions);
+                    return;
+                }
+            }
             substitutions.addAll(tseitinTransform(formula, isPlaistedGreenbaum));
         }
     }
 
+    /**
+     * Estimated size of the distributive transformation of a formula.
+     * Estimates are upper bounds, as they do not account for tautologies, duplicate literals, and subsumed clauses.
+     */
+    private static final class Estimate {
+        private static final Estimate LITERAL = new Estimate(1, 1, 0);
+
+        /**
+         * The number of clauses in the resulting CNF.
+         */
+        private final long numberOfClauses;
+        /**
+         * The number of literals in the resulting CNF.
+         */
+        private final long numberOfLiterals;
+        /**
+         * The number of literals generated while distributing all disjunctions,
+         * as counted by {@link DistributiveTransformer.MaximumNumberOfLiteralsCancelPredicate}.
+         */
+        private final long numberOfGeneratedLiterals;
+
+        private Estimate(long numberOfClauses, long numberOfLiterals, long numberOfGeneratedLiterals) {
+            this.numberOfClauses = numberOfClauses;
+            this.numberOfLiterals = numberOfLiterals;
+            this.numberOfGeneratedLiterals = numberOfGeneratedLiterals;
+        }
+
+        /**
+         * {@return the estimate for the given formula, computed bottom-up in a single pass}
+         *
+         * @param formula the formula in NNF
+         */
+        private static Estimate of(IFormula formula) {
+            if (formula instanceof Literal) {
+                return LITERAL;
+            }
+            List<? extends IExpression> children = formula.getChildren();
+            Estimate[] childEstimates = new Estimate[children.size()];
+            for (int i = 0; i < childEstimates.length; i++) {
+                childEstimates[i] = of((IFormula) children.get(i));
+            }
+            return of(formula, childEstimates);
+        }
+
+        /**
+         * {@return the estimate for the given conjunction or disjunction, given the estimates of its children}
+         * A conjunction yields the clauses of all children,
+         * a disjunction yields the product of the clauses of all children.
+         *
+         * @param formula the formula
+         * @param childEstimates the estimates of its children
+         */
+        private static Estimate of(IFormula formula, Estimate[] childEstimates) {
+            long numberOfGeneratedLiterals = 0;
+            for (Estimate childEstimate : childEstimates) {
+                numberOfGeneratedLiterals = add(numberOfGeneratedLiterals, childEstimate.numberOfGeneratedLiterals);
+            }
+            if (formula instanceof And) {
+                long numberOfClauses = 0, numberOfLiterals = 0;
+                for (Estimate childEstimate : childEstimates) {
+                    numberOfClauses = add(numberOfClauses, childEstimate.numberOfClauses);
+                    numberOfLiterals = add(numberOfLiterals, childEstimate.numberOfLiterals);
+                }
+                return new Estimate(numberOfClauses, numberOfLiterals, numberOfGeneratedLiterals);
+            } else {
+                long numberOfClauses = 1, numberOfLiterals = 0;
+                boolean isClause = true;
+                for (Estimate childEstimate : childEstimates) {
+                    numberOfLiterals = add(
+                            multiply(numberOfLiterals, childEstimate.numberOfClauses),
+                            multiply(childEstimate.numberOfLiterals, numberOfClauses));
+                    numberOfClauses = multiply(numberOfClauses, childEstimate.numberOfClauses);
+                    isClause &= childEstimate == LITERAL;
+                }
+                if (!isClause) {
+                    numberOfGeneratedLiterals = add(numberOfGeneratedLiterals, numberOfLiterals);
+                }
+                return new Estimate(numberOfClauses, numberOfLiterals, numberOfGeneratedLiterals);
+            }
+        }
+
+        private static long add(long a, long b) {
+            long sum = a + b;
+            return sum < 0 ? Long.MAX_VALUE : sum;
+        }
+
+        private static long multiply(long a, long b) {
+            return a != 0 && b > Long.MAX_VALUE / a ? Long.MAX_VALUE : a * b;
+        }
+    }
+
+    /**
+     * Substitutes subformulas of the given formula with auxiliary variables, such that distributing any of its
+     * disjunctions generates at most the given maximum number of literals.
+     * Works bottom-up, and for each disjunction that exceeds the maximum, substitutes its children with the most
+     * clauses one after another.
+     * Thus, only the offending subformulas are transformed with Tseitin, and the remaining formula is transformed
+     * with the distributive law.
+     *
+     * @param formula the formula, which is modified
+     * @param substitutions the list of substitutions to add the substituted subformulas' definitions to
+     * @param isPlaistedGreenbaum whether to use the Plaisted-Greenbaum optimization
+     * @param maximumNumberOfLiterals the maximum number of literals per disjunction
+     * @return the estimate for the modified formula
+     */
+    private Estimate substituteExpensiveSubformulas(
+            IFormula formula,
+            List<TseitinTransformer.Substitution> substitutions,
+            boolean isPlaistedGreenbaum,
+            int maximumNumberOfLiterals) {
+        if (formula instanceof Literal) {
+            return Estimate.LITERAL;
+        }
+        List<? extends IExpression> children = formula.getChildren();
+        Estimate[] childEstimates = new Estimate[children.size()];
+        for (int i = 0; i < childEstimates.length; i++) {
+            childEstimates[i] = substituteExpensiveSubformulas(
+                    (IFormula) children.get(i), substitutions, isPlaistedGreenbaum, maximumNumberOfLiterals);
+        }
+        Estimate estimate = Estimate.of(formula, childEstimates);
+        if (formula instanceof Or) {
+            while (estimate.numberOfGeneratedLiterals > maximumNumberOfLiterals) {
+                int mostExpensiveChildIndex = -1;
+                for (int i = 0; i < childEstimates.length; i++) {
+                    Estimate childEstimate = childEstimates[i];
+                    if (childEstimate != Estimate.LITERAL
+                            && (mostExpensiveChildIndex < 0
+                                    || childEstimate.numberOfClauses
+                                            > childEstimates[mostExpensiveChildIndex].numberOfClauses
+                                    || (childEstimate.numberOfClauses
+                                                    == childEstimates[mostExpensiveChildIndex].numberOfClauses
+                                            && childEstimate.numberOfLiterals
+                                                    > childEstimates[mostExpensiveChildIndex].numberOfLiterals))) {
+                        mostExpensiveChildIndex = i;
+                    }
+                }
+                if (mostExpensiveChildIndex < 0) {
+                    break;
+                }
+                formula.replaceChild(
+                        mostExpensiveChildIndex,
+                        substitute(
+                                (IFormula) children.get(mostExpensiveChildIndex), substitutions, isPlaistedGreenbaum));
+                childEstimates[mostExpensiveChildIndex] = Estimate.LITERAL;
+                estimate = Estimate.of(formula, childEstimates);
+            }
+        }
+        return estimate;
+    }
+
+    /**
+     * {@return a literal of an auxiliary variable that is defined as the given subformula by a Tseitin transformation}
+     */
+    private Literal substitute(
+            IFormula formula, List<TseitinTransformer.Substitution> substitutions, boolean isPlaistedGreenbaum) {
+        List<TseitinTransformer.Substitution> newSubstitutions =
+                tseitinTransform(new And(formula), isPlaistedGreenbaum);
+        // the last substitution defines the root, which only contains the literal of the given subformula
+        TseitinTransformer.Substitution root = newSubstitutions.get(newSubstitutions.size() - 1);
+        substitutions.addAll(newSubstitutions.subList(0, newSubstitutions.size() - 1));
+        return (Literal) root.getClauseFormulas().get(0);
+    }
+
+    /**
+     * Replaces all cardinality constraints in the given formula with their encodings and adds the result to the given
+     * list. Children of cardinality constraints that are not literals are substituted by auxiliary variables,
+     * whose definitions are encoded recursively and added after the formula.
+     */
+    private void encodeAllCardinals(
+            IFormula formula,
+            List<IFormula> formulas,
+            CardinalityEncoder.Encoding cardinalityEncoding,
+            AtomicInteger auxiliaryVariableIndex) {
+        List<IFormula> definitions = new ArrayList<>();
+        formulas.add(encodeCardinals(formula, definitions, cardinalityEncoding, auxiliaryVariableIndex));
+        for (IFormula definition : definitions) {
+            encodeAllCardinals(definition, formulas, cardinalityEncoding, auxiliaryVariableIndex);
+        }
+    }
+
+    private IFormula encodeCardinals(
+            IFormula formula,
+            List<IFormula> definitions,
+            CardinalityEncoder.Encoding cardinalityEncoding,
+            AtomicInteger auxiliaryVariableIndex) {
+        if (formula instanceof ACardinal) {
+            return encodeCardinal((ACardinal) formula, definitions, cardinalityEncoding, auxiliaryVariableIndex);
+        } else if (!(formula instanceof Literal)) {
+            formula.replaceChildren(child -> {
+                IFormula newChild =
+                        encodeCardinals((IFormula) child, definitions, cardinalityEncoding, auxiliaryVariableIndex);
+                return newChild == child ? null : newChild;
+            });
+        }
+        return formula;
+    }
+
+    @SuppressWarnings("unchecked")
+    private IFormula encodeCardinal(
+            ACardinal cardinal,
+            List<IFormula> definitions,
+            CardinalityEncoder.Encoding cardinalityEncoding,
+            AtomicInteger auxiliaryVariableIndex) {
+        List<IFormula> children = (List<IFormula>) cardinal.getChildren();
+        List<Literal> literals = new ArrayList<>(children.size());
+        int[] integerLiterals = new int[children.size()];
+        NNFTransformer negator = null;
+        for (int i = 0; i < integerLiterals.length; i++) {
+            IFormula child = children.get(i);
+            if (child instanceof Literal) {
+                literals.add((Literal) child);
+            } else {
+                Variable variable = newCardinalityAuxiliaryVariable(auxiliaryVariableIndex);
+                literals.add(new Literal(variable));
+                if (negator == null) {
+                    negator = new NNFTransformer(variable, true);
+                }
+                definitions.add(new Or(new Literal(false, variable.cloneNode()), child));
+                definitions.add(new Or(new Literal(variable.cloneNode()), negator.transform(child, false)));
+            }
+            integerLiterals[i] = i + 1;
+        }
+        Range range = cardinal.getRange();
+        List<int[]> clauses = new CardinalityEncoder(cardinalityEncoding, () -> {
+                    literals.add(new Literal(newCardinalityAuxiliaryVariable(auxiliaryVariableIndex)));
+                    return literals.size();
+                })
+                .encode(
+                        integerLiterals,
+                        range.getLowerBound() == Range.OPEN ? 0 : range.getLowerBound(),
+                        range.getUpperBound());
+        List<IFormula> clauseFormulas = new ArrayList<>(clauses.size());
+        for (int[] clause : clauses) {
+            List<Literal> clauseLiterals = new ArrayList<>(clause.length);
+            for (int integerLiteral : clause) {
+                Literal literal = (Literal) literals.get(Math.abs(integerLiteral) - 1).cloneTree();
+                if (integerLiteral < 0) {
+                    literal.setPositive(!literal.isPositive());
+                }
+                clauseLiterals.add(literal);
+            }
+            clauseFormulas.add(new Or(clauseLiterals));
+        }
+        return new And(clauseFormulas);
+    }
+
+    private static Variable newCardinalityAuxiliaryVariable(AtomicInteger auxiliaryVariableIndex) {
+        return new Variable(CARDINALITY_AUXILIARY_VARIABLE_NAME_PREFIX + auxiliaryVariableIndex.incrementAndGet());
+    }
+
     protected Result<IFormula> distributiveTransform(
             IFormula formula, DistributiveTransformer.ICancelPredicate cancelPredicate) {
         return new DistributiveTransformer(true, cancelPredicate).apply(formula);
@@ -38,8 +38,22 @@ import java.util.List;
 public class ComputeNNFFormula extends AComputation<IFormula> {
     protected static final Dependency<IFormula> FORMULA = Dependency.newDependency(IFormula.class);
 
+    /**
+     * Determines whether this computation uses the single-pass {@link NNFTransformer}
+     * instead of applying each transformation step in a separate traversal.
+     */
+    public static final Dependency<Boolean> IS_SINGLE_PASS = Dependency.newDependency(Boolean.class);
+
+    /**
+     * Determines whether this computation keeps cardinality constraints instead of expanding them.
+     * If so, the result is of kind {@link ExpressionKind#CARDINAL_NNF} and {@link ComputeCNFFormula} encodes the
+     * cardinality constraints with auxiliary variables (see {@link ComputeCNFFormula#CARDINALITY_ENCODING}).
+     * Implies the single-pass transformation.
+     */
+    public static final Dependency<Boolean> IS_KEEPING_CARDINALS = Dependency.newDependency(Boolean.class);
+
     public ComputeNNFFormula(IComputation<IFormula> formula) {
-        super(formula);
+        super(formula, Computations.of(Boolean.FALSE), Computations.of(Boolean.FALSE));
     }
 
     protected ComputeNNFFormula(ComputeNNFFormula other) {
@@ -54,6 +68,10 @@ public class ComputeNNFFormula extends AComputation<IFormula> {
                 : getVariables(formula);
         if (variables.isEmpty()) throw new IllegalArgumentException("requires at least one variable");
         Variable variable = variables.get(0);
+        boolean isKeepingCardinals = IS_KEEPING_CARDINALS.get(dependencyList);
+        if (isKeepingCardinals || IS_SINGLE_PASS.get(dependencyList)) {
+            return new NNFTransformer(variable, isKeepingCardinals).apply(formula);
+        }
         return Reference.mutateClone(formula, reference -> Trees.traverse(reference, new ConnectiveSimplifier())
                 .flatMap(_void -> Trees.traverse(reference, new DeMorganApplier()))
                 .flatMap(_void -> Trees.traverse(reference, new TrueFalseSimplifier()))
@@ -0,0 +1,355 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import de.featjar.base.computation.AComputation;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.Dependency;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Result;
+import de.featjar.base.tree.structure.ITree;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanClause;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Simplifies a list of clauses without changing the set of its solutions.
+ * Removes duplicate literals, tautological clauses, and clauses that are subsumed by (i.e., contain all literals of)
+ * another clause, which includes duplicate clauses. If {@link #IS_STRENGTHENING} is set, additionally applies
+ * self-subsuming resolution. That is, if a clause C is subsumed by another clause D except for one literal l, whose
+ * complement is contained in D, then l is removed from C.
+ * If the clauses are unsatisfiable due to an empty clause (before or after simplification), the result only contains
+ * the empty clause. The remaining clauses keep their original order.
+ * <p>
+ * Candidates for subsumption and strengthening are found via occurrence lists, which store the clauses containing
+ * each literal, and are filtered by 64-bit clause signatures before the actual subset check.
+ * Each clause is processed in order of increasing size and is processed again when it was strengthened,
+ * until no further clause can be removed or strengthened.
+ *
+ * @author Sebastian Krieter
+ */
+public class ComputeSimplifiedClauseList extends AComputation<BooleanAssignmentList> {
+
+    public static final Dependency<BooleanAssignmentList> CLAUSE_LIST =
+            Dependency.newDependency(BooleanAssignmentList.class);
+
+    /**
+     * Determines whether clauses are strengthened by self-subsuming resolution. Defaults to true.
+     */
+    public static final Dependency<Boolean> IS_STRENGTHENING = Dependency.newDependency(Boolean.class);
+
+    public ComputeSimplifiedClauseList(IComputation<BooleanAssignmentList> clauseList) {
+        super(clauseList, Computations.of(Boolean.TRUE));
+    }
+
+    protected ComputeSimplifiedClauseList(ComputeSimplifiedClauseList other) {
+        super(other);
+    }
+
+    @Override
+    public Result<BooleanAssignmentList> compute(List<Object> dependencyList, Progress progress) {
+        BooleanAssignmentList clauseList = CLAUSE_LIST.get(dependencyList);
+        List<BooleanAssignment> assignments = clauseList.getAll();
+        int[][] clauses = new int[assignments.size()][];
+        for (int i = 0; i < clauses.length; i++) {
+            clauses[i] = normalize(assignments.get(i).get());
+        }
+        Simplifier simplifier = new Simplifier(clauses, IS_STRENGTHENING.get(dependencyList));
+        progress.setTotalSteps(clauses.length);
+        boolean isSatisfiable = simplifier.simplify(progress);
+
+        BooleanAssignmentList simplifiedClauseList = new BooleanAssignmentList(clauseList.getVariableMap());
+        if (isSatisfiable) {
+            for (int[] clause : clauses) {
+                if (clause != null) {
+                    simplifiedClauseList.add(new BooleanClause(clause, false));
+                }
+            }
+        } else {
+            simplifiedClauseList.add(new BooleanClause());
+        }
+        return Result.of(simplifiedClauseList);
+    }
+
+    @Override
+    public ITree<IComputation<?>> cloneNode() {
+        return new ComputeSimplifiedClauseList(this);
+    }
+
+    /**
+     * {@return the given literals in ascending order without duplicates and zeros, or null if they contain a literal
+     * and its complement}
+     */
+    private static int[] normalize(int[] literals) {
+        int[] clause = literals.clone();
+        Arrays.sort(clause);
+        int k = 0;
+        for (int i = 0; i < clause.length; i++) {
+            int literal = clause[i];
+            if (literal != 0 && (k == 0 || clause[k - 1] != literal)) {
+                clause[k++] = literal;
+            }
+        }
+        for (int i = 0; i < k && clause[i] < 0; i++) {
+            if (Arrays.binarySearch(clause, i + 1, k, -clause[i]) >= 0) {
+                return null;
+            }
+        }
+        return k == clause.length ? clause : Arrays.copyOf(clause, k);
+    }
+
+    private static int getIndex(int literal) {
+        return literal > 0 ? literal << 1 : (-literal << 1) | 1;
+    }
+
+    private static long getSignature(int[] clause) {
+        long signature = 0;
+        for (int literal : clause) {
+            signature |= 1L << (getIndex(literal) & 63);
+        }
+        return signature;
+    }
+
+    /**
+     * Removes and strengthens clauses in place.
+     * Removed clauses are set to null.
+     */
+    private static final class Simplifier {
+        private final int[][] clauses;
+        private final boolean isStrengthening;
+        private final long[] signatures;
+        /**
+         * The clauses containing a literal with index i are stored at occurrences[occurrenceStarts[i]] up to (but
+         * excluding) occurrences[occurrenceStarts[i + 1]].
+         * As clauses are only removed or shortened, the lists are not updated, so they may contain stale entries.
+         */
+        private final int[] occurrenceStarts, occurrences;
+
+        private int[] queue;
+        private int queueSize;
+        private final boolean[] isQueued;
+
+        private Simplifier(int[][] clauses, boolean isStrengthening) {
+            this.clauses = clauses;
+            this.isStrengthening = isStrengthening;
+            signatures = new long[clauses.length];
+            isQueued = new boolean[clauses.length];
+            int maximumIndex = 1;
+            for (int[] clause : clauses) {
+                if (clause != null) {
+                    for (int literal : clause) {
+                        maximumIndex = Math.max(maximumIndex, getIndex(literal) | 1);
+                    }
+                }
+            }
+            occurrenceStarts = new int[maximumIndex + 2];
+            int numberOfOccurrences = 0;
+            for (int[] clause : clauses) {
+                if (clause != null) {
+                    for (int literal : clause) {
+                        occurrenceStarts[getIndex(literal) + 1]++;
+                    }
+                    numberOfOccurrences += clause.length;
+                }
+            }
+            for (int i = 1; i < occurrenceStarts.length; i++) {
+                occurrenceStarts[i] += occurrenceStarts[i - 1];
+            }
+            occurrences = new int[numberOfOccurrences];
+            int[] occurrenceEnds = Arrays.copyOf(occurrenceStarts, occurrenceStarts.length - 1);
+            for (int i = 0; i < clauses.length; i++) {
+                int[] clause = clauses[i];
+                if (clause != null) {
+                    signatures[i] = getSignature(clause);
+                    for (int literal : clause) {
+                        occurrences[occurrenceEnds[getIndex(literal)]++] = i;
+                    }
+                }
+            }
+            queue = new int[clauses.length];
+        }
+
+        /**
+         * {@return false if an empty clause was found or derived, true otherwise}
+         */
+        private boolean simplify(Progress progress) {
+            for (int i = 0; i < clauses.length; i++) {
+                if (clauses[i] != null) {
+                    if (clauses[i].length == 0) {
+                        return false;
+                    }
+                    enqueue(i);
+                }
+            }
+            boolean isFirstRound = true;
+            while (queueSize > 0) {
+                int[] round = sortQueueBySize();
+                for (int i : round) {
+                    if (clauses[i] != null) {
+                        removeSubsumed(i);
+                        if (isStrengthening && !strengthen(i)) {
+                            return false;
+                        }
+                    }
+                    if (isFirstRound) {
+                        progress.incrementCurrentStep();
+                    }
+                }
+                isFirstRound = false;
+            }
+            return true;
+        }
+
+        /**
+         * {@return the queued clauses in order of increasing size}
+         * Empties the queue.
+         */
+        private int[] sortQueueBySize() {
+            int maximumSize = 0;
+            for (int k = 0; k < queueSize; k++) {
+                maximumSize = Math.max(maximumSize, getSize(queue[k]));
+            }
+            int[] starts = new int[maximumSize + 2];
+            for (int k = 0; k < queueSize; k++) {
+                starts[getSize(queue[k]) + 1]++;
+            }
+            for (int size = 1; size < starts.length; size++) {
+                starts[size] += starts[size - 1];
+            }
+            int[] round = new int[queueSize];
+            for (int k = 0; k < queueSize; k++) {
+                int i = queue[k];
+                round[starts[getSize(i)]++] = i;
+                isQueued[i] = false;
+            }
+            queueSize = 0;
+            return round;
+        }
+
+        private int getSize(int i) {
+            // removed clauses are still queued, but are skipped anyway
+            return clauses[i] == null ? 0 : clauses[i].length;
+        }
+
+        private void enqueue(int i) {
+            if (!isQueued[i]) {
+                isQueued[i] = true;
+                queue[queueSize++] = i;
+            }
+        }
+
+        /**
+         * Removes all other clauses that contain all literals of the given clause.
+         */
+        private void removeSubsumed(int i) {
+            int[] clause = clauses[i];
+            long signature = signatures[i];
+            int leastFrequentIndex = getIndex(clause[0]);
+            for (int literal : clause) {
+                int index = getIndex(literal);
+                if (getNumberOfOccurrences(index) < getNumberOfOccurrences(leastFrequentIndex)) {
+                    leastFrequentIndex = index;
+                }
+            }
+            for (int k = occurrenceStarts[leastFrequentIndex]; k < occurrenceStarts[leastFrequentIndex + 1]; k++) {
+                int j = occurrences[k];
+                int[] otherClause = clauses[j];
+                if (j != i
+                        && otherClause != null
+                        && otherClause.length >= clause.length
+                        && (signature & ~signatures[j]) == 0
+                        && isSubset(clause, -1, otherClause)) {
+                    clauses[j] = null;
+                }
+            }
+        }
+
+        /**
+         * Removes the complement of each literal l of the given clause from all other clauses that contain the
+         * complement and all other literals of the given clause.
+         * @return false if an empty clause was derived
+         */
+        private boolean strengthen(int i) {
+            int[] clause = clauses[i];
+            for (int l = 0; l < clause.length; l++) {
+                int complement = -clause[l];
+                int complementIndex = getIndex(complement);
+                long signature = (signatures[i] & ~(1L << (getIndex(clause[l]) & 63))) | (1L << (complementIndex & 63));
+                for (int k = occurrenceStarts[complementIndex]; k < occurrenceStarts[complementIndex + 1]; k++) {
+                    int j = occurrences[k];
+                    int[] otherClause = clauses[j];
+                    if (j != i
+                            && otherClause != null
+                            && otherClause.length >= clause.length
+                            && (signature & ~signatures[j]) == 0
+                            && isSubset(clause, l, otherClause)) {
+                        int complementPosition = Arrays.binarySearch(otherClause, complement);
+                        if (complementPosition >= 0) {
+                            int[] strengthenedClause = new int[otherClause.length - 1];
+                            System.arraycopy(otherClause, 0, strengthenedClause, 0, complementPosition);
+                            System.arraycopy(
+                                    otherClause,
+                                    complementPosition + 1,
+                                    strengthenedClause,
+                                    complementPosition,
+                                    strengthenedClause.length - complementPosition);
+                            if (strengthenedClause.length == 0) {
+                                return false;
+                            }
+                            clauses[j] = strengthenedClause;
+                            signatures[j] = getSignature(strengthenedClause);
+                            enqueue(j);
+                        }
+                    }
+                }
+            }
+            return true;
+        }
+
+        private int getNumberOfOccurrences(int index) {
+            return occurrenceStarts[index + 1] - occurrenceStarts[index];
+        }
+
+        /**
+         * {@return whether the second clause contains all literals of the first clause, except for the literal at
+         * the given position (if any)}
+         */
+        private static boolean isSubset(int[] clause, int excludedPosition, int[] otherClause) {
+            int j = 0;
+            for (int i = 0; i < clause.length; i++) {
+                if (i != excludedPosition) {
+                    int literal = clause[i];
+                    while (j < otherClause.length && otherClause[j] < literal) {
+                        j++;
+                    }
+                    if (j == otherClause.length || otherClause[j] != literal) {
+                        return false;
+                    }
+                    j++;
+                }
+            }
+            return true;
+        }
+    }
+}
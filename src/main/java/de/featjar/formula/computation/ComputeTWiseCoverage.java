@@ -0,0 +1,330 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import de.featjar.base.computation.AComputation;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.Dependency;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.LexicographicIterator;
+import de.featjar.base.data.Result;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.LiteralIndex;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Computes the t-wise interaction coverage of a sample.
+ * An interaction is a set of t literals over distinct variables. It is covered if at least one assignment of the
+ * sample contains all of its literals. Interactions that contain an excluded interaction (e.g., because they are
+ * known to be invalid) are counted as invalid and are neither covered nor uncovered.
+ * The sample is indexed by a {@link LiteralIndex}. Thus, the assignments containing an interaction are the conjunction
+ * of the bit sets of its literals. Combinations of variables are processed in parallel.
+ *
+ * @author Sebastian Krieter
+ */
+public class ComputeTWiseCoverage extends AComputation<ComputeTWiseCoverage.Coverage> {
+
+    /**
+     * The t-wise interaction coverage of a sample.
+     */
+    public static class Coverage {
+        private final int t;
+        private final long coveredCount, uncoveredCount, invalidCount;
+
+        public Coverage(int t, long coveredCount, long uncoveredCount, long invalidCount) {
+            this.t = t;
+            this.coveredCount = coveredCount;
+            this.uncoveredCount = uncoveredCount;
+            this.invalidCount = invalidCount;
+        }
+
+        public int getT() {
+            return t;
+        }
+
+        public long getCoveredCount() {
+            return coveredCount;
+        }
+
+        public long getUncoveredCount() {
+            return uncoveredCount;
+        }
+
+        public long getInvalidCount() {
+            return invalidCount;
+        }
+
+        /**
+         * {@return the ratio of covered interactions to all valid interactions, or 1 if there are no valid
+         * interactions}
+         */
+        public double getCoverage() {
+            final long validCount = coveredCount + uncoveredCount;
+            return validCount == 0 ? 1 : (double) coveredCount / validCount;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "Coverage[t=%d, covered=%d, uncovered=%d, invalid=%d, coverage=%f]",
+                    t, coveredCount, uncoveredCount, invalidCount, getCoverage());
+        }
+    }
+
+    public static final Dependency<BooleanAssignmentList> SAMPLE =
+            Dependency.newDependency(BooleanAssignmentList.class);
+
+    public static final Dependency<Integer> T = Dependency.newDependency(Integer.class);
+
+    /**
+     * Interactions to exclude from the coverage. Every interaction that contains all literals of an excluded
+     * interaction is counted as invalid. Defaults to an empty list.
+     */
+    public static final Dependency<BooleanAssignmentList> EXCLUDED_INTERACTIONS =
+            Dependency.newDependency(BooleanAssignmentList.class);
+
+    /**
+     * A file to which all uncovered interactions are written while they are counted, one per line in DIMACS clause
+     * notation (i.e., literals separated by spaces and terminated by 0), in no particular order.
+     * Defaults to an empty string, in which case uncovered interactions are only counted.
+     */
+    public static final Dependency<String> UNCOVERED_INTERACTIONS_FILE = Dependency.newDependency(String.class);
+
+    public ComputeTWiseCoverage(IComputation<BooleanAssignmentList> sample) {
+        super(
+                sample,
+                Computations.of(2),
+                Computations.of(new BooleanAssignmentList(new VariableMap())),
+                Computations.of(""));
+    }
+
+    protected ComputeTWiseCoverage(ComputeTWiseCoverage other) {
+        super(other);
+    }
+
+    @Override
+    public Result<Coverage> compute(List<Object> dependencyList, Progress progress) {
+        final BooleanAssignmentList sample = SAMPLE.get(dependencyList);
+        final BooleanAssignmentList excludedInteractions = EXCLUDED_INTERACTIONS.get(dependencyList);
+        final String uncoveredInteractionsFile = UNCOVERED_INTERACTIONS_FILE.get(dependencyList);
+        final int t = T.get(dependencyList);
+        if (t < 1) {
+            throw new IllegalArgumentException(String.valueOf(t));
+        }
+        final LiteralIndex literalIndex = new LiteralIndex(sample.getAll());
+        final int variableCount = Math.max(sample.getVariableMap().maxIndex(), literalIndex.getVariableCount());
+        if (t > variableCount) {
+            return Result.of(new Coverage(t, 0, 0, 0));
+        }
+        final Context context = new Context(t, variableCount, literalIndex, excludedInteractions);
+
+        final ThreadLocal<long[][]> prefixes = ThreadLocal.withInitial(() -> new long[t][context.wordCount]);
+        final LongAdder coveredCount = new LongAdder();
+        final LongAdder uncoveredCount = new LongAdder();
+        final LongAdder invalidCount = new LongAdder();
+        try (BufferedWriter writer = uncoveredInteractionsFile.isEmpty()
+                ? null
+                : Files.newBufferedWriter(Path.of(uncoveredInteractionsFile))) {
+            LexicographicIterator.parallelStream(t, variableCount).forEach(combination -> {
+                final long[] counts = new long[3];
+                final StringBuilder uncovered = writer == null ? null : new StringBuilder();
+                final int[] literals = new int[t];
+                context.visit(0, combination.elementIndices, literals, prefixes.get(), counts, uncovered);
+                coveredCount.add(counts[0]);
+                uncoveredCount.add(counts[1]);
+                invalidCount.add(counts[2]);
+                if (uncovered != null && uncovered.length() > 0) {
+                    try {
+                        synchronized (writer) {
+                            writer.append(uncovered);
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            return Result.empty(e);
+        }
+        return Result.of(new Coverage(t, coveredCount.sum(), uncoveredCount.sum(), invalidCount.sum()));
+    }
+
+    /**
+     * The state of a single computation, such that an instance can compute several coverages concurrently.
+     */
+    private static final class Context {
+        private final int t, variableCount, wordCount;
+        private final LiteralIndex literalIndex;
+        private final long[] allAssignments;
+        private final int[][][] excludedByLiteral;
+
+        private Context(
+                int t, int variableCount, LiteralIndex literalIndex, BooleanAssignmentList excludedInteractions) {
+            this.t = t;
+            this.variableCount = variableCount;
+            this.literalIndex = literalIndex;
+            wordCount = literalIndex.getWordCount();
+            allAssignments = literalIndex.getAll();
+            excludedByLiteral = buildExclusions(excludedInteractions);
+        }
+
+        /*
+         * Indexes each excluded interaction by its literal with the largest variable, such that it needs only be
+         * checked once all of its literals are part of an interaction. Returns null if there are no exclusions.
+         */
+        private int[][][] buildExclusions(BooleanAssignmentList excludedInteractions) {
+            final List<List<int[]>> exclusions = new ArrayList<>(2 * variableCount + 1);
+            for (int i = 0; i < 2 * variableCount + 1; i++) {
+                exclusions.add(null);
+            }
+            boolean isEmpty = true;
+            for (final BooleanAssignment excludedInteraction : excludedInteractions) {
+                final int[] literals = excludedInteraction.get();
+                int lastLiteral = 0;
+                boolean isValid = literals.length <= t;
+                for (final int literal : literals) {
+                    if (literal == 0 || Math.abs(literal) > variableCount) {
+                        isValid = false;
+                    } else if (Math.abs(literal) > Math.abs(lastLiteral)) {
+                        lastLiteral = literal;
+                    }
+                }
+                if (isValid && lastLiteral != 0) {
+                    final int index = lastLiteral + variableCount;
+                    if (exclusions.get(index) == null) {
+                        exclusions.set(index, new ArrayList<>());
+                    }
+                    exclusions.get(index).add(literals);
+                    isEmpty = false;
+                }
+            }
+            if (isEmpty) {
+                return null;
+            }
+            final int[][][] excludedByLiteral = new int[exclusions.size()][][];
+            for (int i = 0; i < excludedByLiteral.length; i++) {
+                final List<int[]> literalExclusions = exclusions.get(i);
+                if (literalExclusions != null) {
+                    excludedByLiteral[i] = literalExclusions.toArray(new int[0][]);
+                }
+            }
+            return excludedByLiteral;
+        }
+
+        /*
+         * Visits all sign combinations of the given variables depth-first, sharing the conjunction of the bit sets of
+         * the first literals among all extensions. counts holds the number of covered, uncovered, and invalid
+         * interactions.
+         */
+        private void visit(
+                int depth,
+                int[] variableIndices,
+                int[] literals,
+                long[][] prefixes,
+                long[] counts,
+                StringBuilder uncovered) {
+            final long[] parent = depth == 0 ? allAssignments : prefixes[depth];
+            final int variable = variableIndices[depth] + 1;
+            for (int sign = 0; sign < 2; sign++) {
+                final int literal = sign == 0 ? variable : -variable;
+                literals[depth] = literal;
+                if (isExcluded(literals, depth)) {
+                    counts[2] += 1L << (t - depth - 1);
+                    continue;
+                }
+                final long[] literalAssignments = literalIndex.getColumn(literal);
+                if (depth == t - 1) {
+                    boolean isCovered = false;
+                    for (int w = 0; w < wordCount; w++) {
+                        if ((parent[w] & literalAssignments[w]) != 0) {
+                            isCovered = true;
+                            break;
+                        }
+                    }
+                    if (isCovered) {
+                        counts[0]++;
+                    } else {
+                        counts[1]++;
+                        if (uncovered != null) {
+                            for (final int l : literals) {
+                                uncovered.append(l).append(' ');
+                            }
+                            uncovered.append("0\n");
+                        }
+                    }
+                } else {
+                    final long[] current = prefixes[depth + 1];
+                    boolean isEmpty = true;
+                    for (int w = 0; w < wordCount; w++) {
+                        final long word = parent[w] & literalAssignments[w];
+                        current[w] = word;
+                        isEmpty &= word == 0;
+                    }
+                    if (isEmpty && uncovered == null && excludedByLiteral == null) {
+                        // all extensions are uncovered and valid
+                        counts[1] += 1L << (t - depth - 1);
+                    } else {
+                        visit(depth + 1, variableIndices, literals, prefixes, counts, uncovered);
+                    }
+                }
+            }
+        }
+
+        private boolean isExcluded(int[] literals, int depth) {
+            if (excludedByLiteral == null) {
+                return false;
+            }
+            final int[][] exclusions = excludedByLiteral[literals[depth] + variableCount];
+            if (exclusions == null) {
+                return false;
+            }
+            for (final int[] excludedLiterals : exclusions) {
+                if (containsAll(literals, depth, excludedLiterals)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static boolean containsAll(int[] literals, int depth, int[] excludedLiterals) {
+        loop:
+        for (final int excludedLiteral : excludedLiterals) {
+            for (int i = 0; i <= depth; i++) {
+                if (literals[i] == excludedLiteral) {
+                    continue loop;
+                }
+            }
+            return false;
+        }
+        return true;
+    }
+}
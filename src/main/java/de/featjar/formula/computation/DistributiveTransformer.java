@@ -22,6 +22,7 @@ package de.featjar.formula.computation;
 
 import de.featjar.base.data.Result;
 import de.featjar.base.tree.structure.ITree;
+import de.featjar.formula.VariableMap;
 import de.featjar.formula.structure.IExpression;
 import de.featjar.formula.structure.IFormula;
 import de.featjar.formula.structure.connective.And;
@@ -31,11 +32,14 @@ import de.featjar.formula.structure.predicate.ExpressionKind;
 import de.featjar.formula.structure.predicate.Literal;
 import java.util.*;
 import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.function.IntFunction;
 
 /**
  * Transforms a formula into strict normal form using the distributive law.
  * Does not modify its input.
+ * Internally, literals are encoded as integers (according to a {@link VariableMap} of the input) and distributed by
+ * a {@link ClauseDistributor}. All state of a transformation is local to its call, so a transformer is reentrant.
+ * However, a stateful cancel predicate (e.g., {@link MaximumNumberOfLiteralsCancelPredicate}) is shared by all calls.
  *
  * @author Sebastian Krieter
  * @author Elias Kuiter
@@ -60,7 +64,23 @@ public class DistributiveTransformer implements Function<IFormula, Result<IFormu
     /**
      * Predicate for determining whether to cancel an ongoing distributive transformation.
      */
-    public interface ICancelPredicate extends Function<LinkedHashSet<Literal>, Throwable> {}
+    public interface ICancelPredicate extends Function<LinkedHashSet<Literal>, Throwable> {
+        /**
+         * {@return a throwable if the transformation should be cancelled, null otherwise}
+         * Called for each new clause, which is given as integer literals.
+         * By default, converts the clause into a set of literals and calls {@link #apply(Object)}.
+         *
+         * @param clause the new clause
+         * @param literals maps integer literals to literals
+         */
+        default Throwable apply(int[] clause, IntFunction<Literal> literals) {
+            LinkedHashSet<Literal> literalSet = new LinkedHashSet<>(clause.length * 2);
+            for (int literal : clause) {
+                literalSet.add(literals.apply(literal));
+            }
+            return apply(literalSet);
+        }
+    }
 
     /**
      * Cancels an ongoing distributive transformation when a given maximum number of literals has been exceeded.
@@ -81,7 +101,16 @@ public class DistributiveTransformer implements Function<IFormula, Result<IFormu
 
         @Override
         public Throwable apply(LinkedHashSet<Literal> clause) {
-            currentNumberOfLiterals += clause.size();
+            return apply(clause.size());
+        }
+
+        @Override
+        public Throwable apply(int[] clause, IntFunction<Literal> literals) {
+            return apply(clause.length);
+        }
+
+        private Throwable apply(int clauseSize) {
+            currentNumberOfLiterals += clauseSize;
             return currentNumberOfLiterals > maximumNumberOfLiterals
                     ? new RuntimeException("exceeded maximum number of literals " + maximumNumberOfLiterals
                             + " with clause of size " + currentNumberOfLiterals)
@@ -118,7 +147,7 @@ public class DistributiveTransformer implements Function<IFormula, Result<IFormu
      * @param cancelPredicate the cancel predicate, if any
      */
     public DistributiveTransformer(boolean isCNF, ICancelPredicate cancelPredicate) {
-        this.cancelPredicate = cancelPredicate != null ? cancelPredicate : clause -> null;
+        this.cancelPredicate = cancelPredicate;
         this.isCNF = isCNF;
         if (this.isCNF) {
             clauseClass = Or.class;
@@ -135,6 +164,7 @@ public class DistributiveTransformer implements Function<IFormula, Result<IFormu
         formula = (IFormula) formula.cloneTree();
         if (isCNF) formula = (formula instanceof And) ? (And) formula : new And(formula);
         else formula = (formula instanceof Or) ? (Or) formula : new Or(formula);
+        Transformation transformation = new Transformation(VariableMap.of(formula));
 
         ArrayList<PathElement> path = new ArrayList<>();
         ArrayDeque<IFormula> stack = new ArrayDeque<>();
@@ -163,7 +193,7 @@ public class DistributiveTransformer implements Function<IFormula, Result<IFormu
                 if ((clauseClass == currentFormula.getClass()) && (currentElement.maximumDepth > 0)) {
                     PathElement parentElement = path.get(path.size() - 1);
                     try {
-                        parentElement.newChildren.addAll(transform(currentFormula));
+                        parentElement.newChildren.addAll(transformation.transform(currentFormula));
                     } catch (CancelledException e) {
                         return Result.empty(e);
                     }
@@ -180,100 +210,89 @@ public class DistributiveTransformer implements Function<IFormula, Result<IFormu
         return Result.of(formula);
     }
 
-    @SuppressWarnings("unchecked")
-    private List<IFormula> transform(IFormula formula) throws CancelledException {
-        if (formula instanceof Literal) {
-            return new ArrayList<>();
-        } else {
-            ArrayList<LinkedHashSet<Literal>> clauses = new ArrayList<>();
-            List<IFormula> children = new ArrayList<>((List<IFormula>) formula.getChildren());
-            children.sort(Comparator.comparingInt(ITree::getChildrenCount));
-            transform(children, clauses, new LinkedHashSet<>(children.size() * 2), 0);
+    /**
+     * Holds the state of a single call to {@link #apply(IFormula)}, such that a transformer can be reused and shared.
+     */
+    private final class Transformation {
+        private final VariableMap variableMap;
+        /**
+         * Maps the index of an integer literal (i.e., twice its variable, plus one if negative) to a literal object.
+         */
+        private final Literal[] literals;
+
+        private final ClauseDistributor distributor;
+
+        private Transformation(VariableMap variableMap) {
+            this.variableMap = variableMap;
+            literals = new Literal[(variableMap.getVariableCount() + 1) << 1];
+            distributor = new ClauseDistributor(variableMap.getVariableCount());
+        }
 
-            List<IFormula> filteredClauseList = new ArrayList<>(clauses.size());
-            clauses.sort(Comparator.comparingInt(Set::size));
-            int lastIndex = clauses.size();
-            for (int i = 0; i < lastIndex; i++) {
-                LinkedHashSet<Literal> set = clauses.get(i);
-                if (set != null) {
-                    for (int j = i + 1; j < lastIndex; j++) {
-                        LinkedHashSet<Literal> set2 = clauses.get(j);
-                        if (set2 != null) {
-                            if (set2.containsAll(set)) {
-                                clauses.set(j, null);
-                            }
-                        }
+        @SuppressWarnings("unchecked")
+        private List<IFormula> transform(IFormula formula) throws CancelledException {
+            if (formula instanceof Literal) {
+                return new ArrayList<>();
+            } else {
+                List<IFormula> children = new ArrayList<>((List<IFormula>) formula.getChildren());
+                children.sort(Comparator.comparingInt(ITree::getChildrenCount));
+                int[][][] alternatives = new int[children.size()][][];
+                for (int i = 0; i < alternatives.length; i++) {
+                    alternatives[i] = encode(children.get(i));
+                }
+                List<int[]> clauses = distributor.distribute(
+                        alternatives,
+                        cancelPredicate == null ? null : clause -> cancelPredicate.apply(clause, this::decode));
+
+                List<IFormula> clauseList = new ArrayList<>(clauses.size());
+                for (int[] clause : clauses) {
+                    List<Literal> clauseLiterals = new ArrayList<>(clause.length);
+                    for (int literal : clause) {
+                        clauseLiterals.add(decode(literal));
                     }
-                    filteredClauseList.add(clauseConstructor.apply(new ArrayList<>(set)));
+                    clauseList.add(clauseConstructor.apply(clauseLiterals));
                 }
+                return clauseList;
             }
-
-            return filteredClauseList;
         }
-    }
 
-    @SuppressWarnings("unchecked")
-    private void transform(
-            List<IFormula> children, List<LinkedHashSet<Literal>> clauses, LinkedHashSet<Literal> literals, int index)
-            throws CancelledException {
-        if (index == children.size()) {
-            LinkedHashSet<Literal> newClause = new LinkedHashSet<>(literals);
-            Throwable cancelThrowable = cancelPredicate.apply(newClause);
-            if (cancelThrowable != null) {
-                throw new CancelledException(cancelThrowable);
-            }
-            clauses.add(newClause);
-        } else {
-            IExpression child = children.get(index);
+        /**
+         * {@return the alternatives of the given child as integer literals}
+         * A literal has a single alternative, any other formula has one alternative per child.
+         */
+        private int[][] encode(IFormula child) {
             if (child instanceof Literal) {
-                Literal clauseLiteral = (Literal) child;
-                if (literals.contains(clauseLiteral)) {
-                    transform(children, clauses, literals, index + 1);
-                } else if (!literals.contains(clauseLiteral.invert())) {
-                    literals.add(clauseLiteral);
-                    transform(children, clauses, literals, index + 1);
-                    literals.remove(clauseLiteral);
-                }
-            } else {
-                if (isRedundant(literals, child)) {
-                    transform(children, clauses, literals, index + 1);
+                return new int[][] {{encode((Literal) child)}};
+            }
+            List<? extends IExpression> grandChildren = child.getChildren();
+            int[][] alternatives = new int[grandChildren.size()][];
+            for (int i = 0; i < alternatives.length; i++) {
+                IExpression grandChild = grandChildren.get(i);
+                if (grandChild instanceof Literal) {
+                    alternatives[i] = new int[] {encode((Literal) grandChild)};
                 } else {
-                    for (IExpression grandChild : child.getChildren()) {
-                        if (grandChild instanceof Literal) {
-                            Literal newlyAddedLiteral = (Literal) grandChild;
-                            if (!literals.contains(newlyAddedLiteral.invert())) {
-                                literals.add(newlyAddedLiteral);
-                                transform(children, clauses, literals, index + 1);
-                                literals.remove(newlyAddedLiteral);
-                            }
-                        } else {
-                            List<Literal> greatGrandChildren = (List<Literal>) grandChild.getChildren();
-                            if (containsNoComplements(literals, greatGrandChildren)) {
-                                List<Literal> newlyAddedLiterals = greatGrandChildren.stream()
-                                        .filter(literals::add)
-                                        .collect(Collectors.toList());
-                                transform(children, clauses, literals, index + 1);
-                                newlyAddedLiterals.forEach(literals::remove);
-                            }
-                        }
+                    List<? extends IExpression> greatGrandChildren = grandChild.getChildren();
+                    int[] alternative = new int[greatGrandChildren.size()];
+                    for (int j = 0; j < alternative.length; j++) {
+                        alternative[j] = encode((Literal) greatGrandChildren.get(j));
                     }
+                    alternatives[i] = alternative;
                 }
             }
+            return alternatives;
         }
-    }
-
-    protected boolean containsNoComplements(LinkedHashSet<Literal> literals, List<Literal> greatGrandChildren) {
-        return greatGrandChildren.stream().map(Literal::invert).noneMatch(literals::contains);
-    }
 
-    protected boolean isRedundant(LinkedHashSet<Literal> literals, IExpression child) {
-        return child.getChildren().stream().anyMatch(e -> isRedundant(e, literals));
-    }
+        private int encode(Literal literal) {
+            int variable = variableMap.get(literal.getExpression().getName()).orElseThrow();
+            int integerLiteral = literal.isPositive() ? variable : -variable;
+            int index = ClauseDistributor.getIndex(integerLiteral);
+            if (literals[index] == null) {
+                literals[index] = literal;
+            }
+            return integerLiteral;
+        }
 
-    @SuppressWarnings("unchecked")
-    protected static boolean isRedundant(IExpression expression, LinkedHashSet<Literal> literals) {
-        return (expression instanceof Literal)
-                ? literals.contains(expression)
-                : literals.containsAll((List<Literal>) expression.getChildren());
+        private Literal decode(int literal) {
+            return literals[ClauseDistributor.getIndex(literal)];
+        }
     }
 }
@@ -26,80 +26,94 @@ import de.featjar.base.computation.Dependency;
 import de.featjar.base.computation.IComputation;
 import de.featjar.base.computation.Progress;
 import de.featjar.base.data.Result;
-import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanSolution;
+import de.featjar.formula.assignment.LiteralIndex;
 import java.util.ArrayList;
-import java.util.BitSet;
-import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.PriorityQueue;
+import java.util.function.Function;
 import java.util.stream.IntStream;
 
 /**
  * Removes solutions from a given sample without reducing the t-wise interaction coverage for a given t.
+ * Interactions are never stored. Instead, the sample is indexed by a {@link LiteralIndex}, in which unassigned
+ * variables (i.e., zeros) are ignored, such that interactions involving them are not considered. Interactions are
+ * enumerated depth-first, such that the solutions containing
+ * a partial interaction are the conjunction of its literals' bit sets and are shared among all its extensions.
+ * Partial interactions that cannot affect the result (e.g., because they are contained in at most one solution) are
+ * pruned. Solutions are chosen greedily from a lazy max-priority queue; after each choice, only the interactions
+ * of the chosen solution are visited to update the scores of the remaining solutions.
  *
  * @author Sebastian Krieter
  * @author Rahel Sundermann
  */
 public class GreedySampleReducer extends AComputation<List<BooleanSolution>> {
 
-    private static class Interaction extends BooleanAssignment {
-        private static final long serialVersionUID = 4320112709021072255L;
+    private static class Candidate implements Comparable<Candidate> {
+        private final int index;
+        private final double score;
 
-        private int counter = 0;
-
-        public Interaction(int... array) {
-            super(array);
-        }
-
-        public void setCounter(int counter) {
-            this.counter = counter;
-        }
-
-        public int getCounter() {
-            return counter;
-        }
-
-        @Override
-        public int hashCode() {
-            return super.hashCode();
+        private Candidate(int index, double score) {
+            this.index = index;
+            this.score = score;
         }
 
         @Override
-        public boolean equals(Object obj) {
-            return super.equals(obj);
+        public int compareTo(Candidate other) {
+            final int scoreComparison = Double.compare(other.score, score);
+            return scoreComparison != 0 ? scoreComparison : Integer.compare(index, other.index);
         }
     }
 
-    private static class Config extends BooleanSolution {
-        private static final long serialVersionUID = 6908616425377756720L;
-
-        private double score = 0;
-        private int interactionCount = 0;
-
-        public Config(BooleanSolution solution) {
-            super(solution);
-        }
-
-        public synchronized void incScore(double s) {
-            score += s;
-            interactionCount++;
-        }
-
-        public synchronized void decScore(double s) {
-            score -= s;
-            interactionCount--;
-        }
-
-        @Override
-        public int hashCode() {
-            return super.hashCode();
+    /**
+     * Thread-local results of visiting interactions.
+     */
+    private static class Partial {
+        private long[] forced;
+        private double[] scores;
+        private int[] interactionCounts;
+
+        private Partial merge(Partial other) {
+            if (other.forced != null) {
+                if (forced == null) {
+                    forced = other.forced;
+                } else {
+                    for (int i = 0; i < forced.length; i++) {
+                        forced[i] |= other.forced[i];
+                    }
+                }
+            }
+            if (other.scores != null) {
+                if (scores == null) {
+                    scores = other.scores;
+                    interactionCounts = other.interactionCounts;
+                } else {
+                    for (int i = 0; i < scores.length; i++) {
+                        scores[i] += other.scores[i];
+                        interactionCounts[i] += other.interactionCounts[i];
+                    }
+                }
+            }
+            return this;
         }
+    }
 
-        @Override
-        public boolean equals(Object obj) {
-            return super.equals(obj);
-        }
+    private interface InteractionVisitor {
+        /**
+         * {@return whether the extensions of a partial interaction should be visited}
+         *
+         * @param solutions the solutions containing the partial interaction
+         */
+        boolean extend(long[] solutions);
+
+        /**
+         * Visits an interaction of size t.
+         * The solutions containing the interaction are the conjunction of both given bit sets.
+         *
+         * @param prefixSolutions the solutions containing the first t - 1 literals of the interaction
+         * @param literalSolutions the solutions containing the last literal of the interaction
+         */
+        void visit(long[] prefixSolutions, long[] literalSolutions);
     }
 
     @SuppressWarnings("rawtypes")
@@ -107,13 +121,14 @@ public class GreedySampleReducer extends AComputation<List<BooleanSolution>> {
 
     public static final Dependency<Integer> T = Dependency.newDependency(Integer.class);
 
-    private Config[] fieldConfigurations;
-    private int n, t, t2;
+    private int size, variableCount, wordCount, t;
 
-    private LinkedHashSet<BooleanSolution> reducedSample;
-    private LinkedHashSet<Interaction> interactions;
-    private BitSet mainIndex;
-    private BitSet[] indices;
+    private LiteralIndex literalIndex;
+    private long[] allSolutions;
+
+    private long[] forced;
+    private long[] candidates;
+    private long[] covering;
 
     public GreedySampleReducer(GreedySampleReducer other) {
         super(other);
@@ -123,187 +138,273 @@ public class GreedySampleReducer extends AComputation<List<BooleanSolution>> {
         super(sampleComputation, new ComputeConstant<>(1));
     }
 
-    private void generate(int first) {
-        int[] elementIndices;
-        boolean[] marker;
-        elementIndices = new int[t];
-        marker = new boolean[t];
-        for (int i = 0; i < t - 1; i++) {
-            elementIndices[i] = i;
+    @Override
+    public Result<List<BooleanSolution>> compute(List<Object> dependencyList, Progress progress) {
+        @SuppressWarnings("unchecked")
+        List<BooleanSolution> sample = SAMPLE.get(dependencyList);
+        if (sample.size() == 0) {
+            return Result.of(List.of());
         }
-        elementIndices[t - 1] = first;
-
-        int i = 0;
-        for (; ; ) {
-            int[] literals = new int[t];
-            BitSet curIndices = (BitSet) mainIndex.clone();
-            for (int k2 = 0; k2 < literals.length; k2++) {
-                int var = elementIndices[k2] + 1;
-                int l = marker[k2] ? -var : var;
-                literals[k2] = l;
-                curIndices.and(indices[l + n]);
+        size = sample.size();
+        variableCount = sample.get(0).size();
+        t = T.get(dependencyList);
+        if (t > variableCount) {
+            throw new IllegalArgumentException(String.format("%d > %d", t, variableCount));
+        }
+        literalIndex = new LiteralIndex(sample);
+        wordCount = literalIndex.getWordCount();
+        allSolutions = literalIndex.getAll();
+
+        // solutions that are the only ones to contain some interaction must be kept
+        forced = visitAll(null, partial -> new InteractionVisitor() {
+                    @Override
+                    public boolean extend(long[] solutions) {
+                        final int count = cardinality(solutions);
+                        if (count == 1) {
+                            markForced(partial, solutions, solutions);
+                        }
+                        return count > 1;
+                    }
+
+                    @Override
+                    public void visit(long[] prefixSolutions, long[] literalSolutions) {
+                        if (cardinality(prefixSolutions, literalSolutions) == 1) {
+                            markForced(partial, prefixSolutions, literalSolutions);
+                        }
+                    }
+                })
+                .forced;
+        if (forced == null) {
+            forced = new long[wordCount];
+        }
+        final List<BooleanSolution> reducedSample = new ArrayList<>();
+        for (int i = nextSetBit(forced, 0); i >= 0; i = nextSetBit(forced, i + 1)) {
+            reducedSample.add(sample.get(i));
+        }
+
+        candidates = new long[wordCount];
+        for (int w = 0; w < wordCount; w++) {
+            candidates[w] = allSolutions[w] & ~forced[w];
+        }
+        covering = forced.clone();
+
+        // score each solution by its interactions that are not covered yet
+        final Partial initial = visitAll(null, partial -> new InteractionVisitor() {
+            @Override
+            public boolean extend(long[] solutions) {
+                return intersects(solutions, candidates);
             }
-            int counter = curIndices.cardinality();
-            if (counter > 1) {
-                Interaction interaction = new Interaction(literals);
-                interaction.setCounter(counter);
-                synchronized (interactions) {
-                    interactions.add(interaction);
-                }
-            } else if (counter == 1) {
-                BooleanSolution config = fieldConfigurations[curIndices.nextSetBit(0)];
-                synchronized (reducedSample) {
-                    reducedSample.add(config);
+
+            @Override
+            public void visit(long[] prefixSolutions, long[] literalSolutions) {
+                if (!intersects(prefixSolutions, literalSolutions, covering)) {
+                    addScores(partial, prefixSolutions, literalSolutions, allSolutions);
                 }
             }
+        });
+        final double[] scores = initial.scores == null ? new double[size] : initial.scores;
+        final int[] interactionCounts = initial.interactionCounts == null ? new int[size] : initial.interactionCounts;
+
+        final PriorityQueue<Candidate> queue = new PriorityQueue<>();
+        for (int i = nextSetBit(candidates, 0); i >= 0; i = nextSetBit(candidates, i + 1)) {
+            if (scores[i] > 0 && interactionCounts[i] > 0) {
+                queue.add(new Candidate(i, scores[i]));
+            } else {
+                clearBit(candidates, i);
+            }
+        }
+        progress.setTotalSteps(queue.size());
 
-            for (i = 0; i < t2; i++) {
-                int index = elementIndices[i];
-                if (index + 1 < elementIndices[i + 1]) {
-                    if (marker[i]) {
-                        elementIndices[i] = index + 1;
-                    }
-                    marker[i] = !marker[i];
-                    for (int j = i - 1; j >= 0; j--) {
-                        elementIndices[j] = j;
-                        marker[j] = false;
-                    }
-                    break;
-                } else {
-                    if (marker[i]) {
-                        marker[i] = false;
-                        continue;
-                    } else {
-                        marker[i] = true;
-                        for (int j = i - 1; j >= 0; j--) {
-                            elementIndices[j] = j;
-                            marker[j] = false;
-                        }
-                        break;
+        while (!queue.isEmpty()) {
+            final Candidate candidate = queue.poll();
+            final int index = candidate.index;
+            if (!getBit(candidates, index)) {
+                continue;
+            }
+            if (scores[index] <= 0 || interactionCounts[index] <= 0) {
+                clearBit(candidates, index);
+                continue;
+            }
+            if (scores[index] != candidate.score) {
+                // scores only decrease, so an up-to-date entry is a maximum
+                queue.add(new Candidate(index, scores[index]));
+                continue;
+            }
+
+            final BooleanSolution bestSolution = sample.get(index);
+            reducedSample.add(bestSolution);
+            clearBit(candidates, index);
+
+            final Partial update = visitAll(bestSolution.get(), partial -> new InteractionVisitor() {
+                @Override
+                public boolean extend(long[] solutions) {
+                    return intersects(solutions, candidates);
+                }
+
+                @Override
+                public void visit(long[] prefixSolutions, long[] literalSolutions) {
+                    if (intersects(prefixSolutions, literalSolutions, candidates)
+                            && !intersects(prefixSolutions, literalSolutions, covering)) {
+                        addScores(partial, prefixSolutions, literalSolutions, candidates);
                     }
                 }
+            });
+            if (update.scores != null) {
+                for (int i = nextSetBit(candidates, 0); i >= 0; i = nextSetBit(candidates, i + 1)) {
+                    scores[i] -= update.scores[i];
+                    interactionCounts[i] -= update.interactionCounts[i];
+                }
             }
-            if (i == t2) {
-                if (marker[i]) {
-                    break;
-                } else {
-                    marker[i] = true;
-                    for (int j = i - 1; j >= 0; j--) {
-                        elementIndices[j] = j;
-                        marker[j] = false;
-                    }
+            setBit(covering, index);
+            progress.incrementCurrentStep();
+        }
+        return Result.of(reducedSample);
+    }
+
+    /**
+     * Visits all interactions of size t in parallel.
+     * If a solution is given, only its interactions are visited.
+     */
+    private Partial visitAll(int[] solution, Function<Partial, InteractionVisitor> visitorFactory) {
+        return IntStream.rangeClosed(0, variableCount - t)
+                .parallel()
+                .collect(
+                        Partial::new,
+                        (partial, firstVariable) -> {
+                            final long[][] prefixes = new long[t + 1][];
+                            prefixes[0] = allSolutions;
+                            for (int depth = 1; depth <= t; depth++) {
+                                prefixes[depth] = new long[wordCount];
+                            }
+                            visit(1, firstVariable, solution, prefixes, visitorFactory.apply(partial));
+                        },
+                        Partial::merge);
+    }
+
+    private void visit(int depth, int variable, int[] solution, long[][] prefixes, InteractionVisitor visitor) {
+        final long[] parent = prefixes[depth - 1];
+        final long[] current = prefixes[depth];
+        for (int sign = 0; sign < 2; sign++) {
+            final int literal;
+            if (solution == null) {
+                literal = sign == 0 ? variable + 1 : -(variable + 1);
+            } else if (sign == 0 && solution[variable] != 0) {
+                literal = solution[variable];
+            } else {
+                break;
+            }
+            final long[] literalSolutions = literalIndex.getColumn(literal);
+            if (depth == t) {
+                visitor.visit(parent, literalSolutions);
+                continue;
+            }
+            boolean empty = true;
+            for (int w = 0; w < wordCount; w++) {
+                final long word = parent[w] & literalSolutions[w];
+                current[w] = word;
+                empty &= word == 0;
+            }
+            if (!empty && visitor.extend(current)) {
+                final int lastVariable = variableCount - (t - depth);
+                for (int next = variable + 1; next <= lastVariable; next++) {
+                    visit(depth + 1, next, solution, prefixes, visitor);
                 }
             }
         }
     }
 
-    @Override
-    public Result<List<BooleanSolution>> compute(List<Object> dependencyList, Progress progress) {
-        @SuppressWarnings("unchecked")
-        List<BooleanSolution> sample = SAMPLE.get(dependencyList);
-        if (sample.size() == 0) {
-            return Result.of(List.of());
+    private void markForced(Partial partial, long[] solutions1, long[] solutions2) {
+        if (partial.forced == null) {
+            partial.forced = new long[wordCount];
+        }
+        for (int w = 0; w < wordCount; w++) {
+            partial.forced[w] |= solutions1[w] & solutions2[w];
         }
-        n = sample.get(0).size();
+    }
 
-        if (t > n) {
-            throw new IllegalArgumentException(String.format("%d > %d", t, n));
+    /*
+     * Adds the weight of an interaction (i.e., one divided by the number of solutions containing it) to all
+     * solutions containing it that are also contained in the mask.
+     */
+    private void addScores(Partial partial, long[] solutions1, long[] solutions2, long[] mask) {
+        final int count = cardinality(solutions1, solutions2);
+        if (count < 2) {
+            return;
         }
-        t = T.get(dependencyList);
-        t2 = t - 1;
-        fieldConfigurations = new Config[sample.size()];
-        int fi = 0;
-        for (BooleanSolution solution : sample) {
-            fieldConfigurations[fi++] = new Config(solution);
+        if (partial.scores == null) {
+            partial.scores = new double[size];
+            partial.interactionCounts = new int[size];
         }
-        reducedSample = new LinkedHashSet<>();
-        interactions = new LinkedHashSet<>();
-        mainIndex = new BitSet(fieldConfigurations.length);
-        mainIndex.flip(0, fieldConfigurations.length);
-
-        indices = new BitSet[2 * n + 1];
-        for (int j = 1; j <= n; j++) {
-            BitSet negIndices = new BitSet(fieldConfigurations.length);
-            BitSet posIndices = new BitSet(fieldConfigurations.length);
-            for (int i = 0; i < fieldConfigurations.length; i++) {
-                BooleanSolution config = fieldConfigurations[i];
-                if (config.get(j - 1) < 0) {
-                    negIndices.set(i);
-                } else {
-                    posIndices.set(i);
-                }
+        final double score = 1.0 / count;
+        for (int w = 0; w < wordCount; w++) {
+            long word = solutions1[w] & solutions2[w] & mask[w];
+            while (word != 0) {
+                final int index = (w << 6) + Long.numberOfTrailingZeros(word);
+                partial.scores[index] += score;
+                partial.interactionCounts[index]++;
+                word &= word - 1;
             }
-            indices[n - j] = negIndices;
-            indices[j + n] = posIndices;
         }
+    }
 
-        IntStream.range(t - 1, n).parallel().forEach(this::generate);
+    private int cardinality(long[] bits) {
+        int count = 0;
+        for (int w = 0; w < wordCount; w++) {
+            count += Long.bitCount(bits[w]);
+        }
+        return count;
+    }
 
-        for (int j = 0; j < fieldConfigurations.length; j++) {
-            BooleanSolution config = fieldConfigurations[j];
-            if (reducedSample.contains(config)) {
-                mainIndex.clear(j);
-            }
+    private int cardinality(long[] bits1, long[] bits2) {
+        int count = 0;
+        for (int w = 0; w < wordCount; w++) {
+            count += Long.bitCount(bits1[w] & bits2[w]);
         }
+        return count;
+    }
 
-        List<Interaction> alreadyCoveredInteractions = interactions.parallelStream()
-                .filter(interaction -> {
-                    if (reducedSample.stream().anyMatch(c -> c.containsAll(interaction))) {
-                        return true;
-                    } else {
-                        int[] is = interaction.get();
-                        BitSet curIndices = (BitSet) mainIndex.clone();
-                        for (int k2 = 0; k2 < is.length; k2++) {
-                            curIndices.and(indices[is[k2] + n]);
-                        }
-                        double s = 1.0 / interaction.getCounter();
-                        curIndices.stream()
-                                .mapToObj(i -> fieldConfigurations[i])
-                                .forEach(c -> c.incScore(s));
-                        return false;
-                    }
-                })
-                .collect(Collectors.toList());
-        interactions.removeAll(alreadyCoveredInteractions);
-
-        while (!interactions.isEmpty()) {
-            double bestScore = -1;
-            int bestConfigIndex = -1;
-
-            for (int j = mainIndex.nextSetBit(0); j >= 0; j = mainIndex.nextSetBit(j + 1)) {
-                Config config = fieldConfigurations[j];
-                if (config.score <= 0 || config.interactionCount == 0) {
-                    mainIndex.clear(j);
-                } else if (config.score > bestScore) {
-                    bestScore = config.score;
-                    bestConfigIndex = j;
-                }
+    private boolean intersects(long[] bits1, long[] bits2) {
+        for (int w = 0; w < wordCount; w++) {
+            if ((bits1[w] & bits2[w]) != 0) {
+                return true;
             }
-            if (bestConfigIndex < 0) {
-                break;
+        }
+        return false;
+    }
+
+    private boolean intersects(long[] bits1, long[] bits2, long[] bits3) {
+        for (int w = 0; w < wordCount; w++) {
+            if ((bits1[w] & bits2[w] & bits3[w]) != 0) {
+                return true;
             }
+        }
+        return false;
+    }
 
-            BooleanSolution bestConfig = fieldConfigurations[bestConfigIndex];
-            reducedSample.add(bestConfig);
-            mainIndex.clear(bestConfigIndex);
-
-            List<Interaction> coveredInteractions = interactions.parallelStream()
-                    .filter(interaction -> bestConfig.containsAll(interaction))
-                    .peek(interaction -> {
-                        int[] is = interaction.get();
-                        BitSet curIndices = (BitSet) mainIndex.clone();
-                        for (int k2 = 0; k2 < is.length; k2++) {
-                            curIndices.and(indices[is[k2] + n]);
-                        }
-                        double s = 1.0 / interaction.getCounter();
-                        curIndices.stream()
-                                .mapToObj(i -> fieldConfigurations[i])
-                                .forEach(c -> c.decScore(s));
-                    })
-                    .collect(Collectors.toList());
-
-            interactions.removeAll(coveredInteractions);
+    private int nextSetBit(long[] bits, int fromIndex) {
+        int w = fromIndex >>> 6;
+        if (w >= wordCount) {
+            return -1;
+        }
+        long word = bits[w] & (-1L << fromIndex);
+        while (word == 0) {
+            if (++w == wordCount) {
+                return -1;
+            }
+            word = bits[w];
         }
-        return Result.of(new ArrayList<>(reducedSample));
+        return (w << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    private static boolean getBit(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static void setBit(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    private static void clearBit(long[] bits, int index) {
+        bits[index >>> 6] &= ~(1L << index);
     }
 }
@@ -20,6 +20,8 @@
  */
 package de.featjar.formula.computation;
 
+import de.featjar.analysis.CachingConfigurationVerifyer;
+import de.featjar.analysis.IBatchConfigurationVerifyer;
 import de.featjar.analysis.IConfigurationUpdater;
 import de.featjar.analysis.IConfigurationVerifyer;
 import de.featjar.base.data.IntegerList;
@@ -27,12 +29,14 @@ import de.featjar.base.data.LexicographicIterator;
 import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
 import de.featjar.formula.assignment.BooleanSolution;
+import de.featjar.formula.assignment.LiteralIndex;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -45,7 +49,7 @@ import java.util.stream.Stream;
 public class IncInteractionFinder {
 
     protected IConfigurationUpdater updater;
-    private IConfigurationVerifyer verifier;
+    private IBatchConfigurationVerifyer verifier;
     private BooleanAssignment core;
 
     protected int configurationVerificationLimit = Integer.MAX_VALUE;
@@ -56,17 +60,30 @@ public class IncInteractionFinder {
     protected int verifyCounter;
     protected int[] lastMerge;
 
+    private LiteralIndex coverageIndex;
+
     public void reset() {
         succeedingConfs = new ArrayList<>();
         failingConfs = new ArrayList<>();
+        coverageIndex = new LiteralIndex();
     }
 
     public void setUpdater(IConfigurationUpdater updater) {
         this.updater = updater;
     }
 
+    /**
+     * Sets the verifier for configurations.
+     * A verifier that does not support batch verification is wrapped in a {@link CachingConfigurationVerifyer}, such
+     * that no configuration is verified twice.
+     * To verify configurations concurrently, pass a {@link CachingConfigurationVerifyer} with a parallel executor.
+     *
+     * @param verifier the verifier
+     */
     public void setVerifier(IConfigurationVerifyer verifier) {
-        this.verifier = verifier;
+        this.verifier = verifier instanceof IBatchConfigurationVerifyer
+                ? (IBatchConfigurationVerifyer) verifier
+                : new CachingConfigurationVerifyer(verifier);
     }
 
     public void setCore(BooleanAssignment core) {
@@ -78,7 +95,11 @@ public class IncInteractionFinder {
     }
 
     public void addConfigurations(BooleanAssignmentList configurations) {
-        configurations.forEach(this::verify);
+        final List<BooleanAssignment> configurationList = configurations.getAll();
+        final List<CompletableFuture<Integer>> results = verifier.submitAll(configurationList);
+        for (int i = 0; i < configurationList.size(); i++) {
+            verify(configurationList.get(i), results.get(i));
+        }
     }
 
     public List<BooleanAssignment> find(int tmax) {
@@ -276,12 +297,7 @@ public class IncInteractionFinder {
     }
 
     private boolean isCovered(int[] combo) {
-        for (BooleanSolution configuration : succeedingConfs) {
-            if (configuration.containsAll(combo)) {
-                return true;
-            }
-        }
-        return false;
+        return coverageIndex.containsAny(combo);
     }
 
     protected Map<Boolean, List<int[]>> group(List<int[]> list, final BooleanSolution newConfig) {
@@ -291,9 +307,15 @@ public class IncInteractionFinder {
     }
 
     protected boolean verify(BooleanAssignment solution) {
+        return verify(solution, verifier.submit(solution));
+    }
+
+    private boolean verify(BooleanAssignment solution, CompletableFuture<Integer> result) {
         verifyCounter++;
-        if (verifier.test(solution) == 0) {
-            succeedingConfs.add(solution.toSolution());
+        if (IBatchConfigurationVerifyer.join(result) == 0) {
+            final BooleanSolution configuration = solution.toSolution();
+            succeedingConfs.add(configuration);
+            coverageIndex.add(configuration.get());
             return true;
         } else {
             failingConfs.add(solution.toSolution());
@@ -0,0 +1,322 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Problem.Severity;
+import de.featjar.base.data.Range;
+import de.featjar.base.data.Result;
+import de.featjar.formula.structure.Expressions;
+import de.featjar.formula.structure.IExpression;
+import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.structure.connective.ACardinal;
+import de.featjar.formula.structure.connective.And;
+import de.featjar.formula.structure.connective.AtLeast;
+import de.featjar.formula.structure.connective.AtMost;
+import de.featjar.formula.structure.connective.Between;
+import de.featjar.formula.structure.connective.BiImplies;
+import de.featjar.formula.structure.connective.Choose;
+import de.featjar.formula.structure.connective.Implies;
+import de.featjar.formula.structure.connective.Not;
+import de.featjar.formula.structure.connective.Or;
+import de.featjar.formula.structure.connective.Reference;
+import de.featjar.formula.structure.predicate.ExpressionKind;
+import de.featjar.formula.structure.predicate.False;
+import de.featjar.formula.structure.predicate.IInvertiblePredicate;
+import de.featjar.formula.structure.predicate.IPredicate;
+import de.featjar.formula.structure.predicate.Literal;
+import de.featjar.formula.structure.predicate.True;
+import de.featjar.formula.structure.term.value.Variable;
+import de.featjar.formula.visitor.ConnectiveSimplifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Transforms a formula into strict negation normal form in a single post-order pass.
+ * Has the same effect as applying {@link ConnectiveSimplifier}, {@link de.featjar.formula.visitor.DeMorganApplier},
+ * {@link de.featjar.formula.visitor.TrueFalseSimplifier}, {@link de.featjar.formula.visitor.TrueFalseRemover},
+ * and {@link de.featjar.formula.visitor.AndOrMerger} in sequence.
+ * That is, complex connectives are eliminated, negations are pushed towards the literals by tracking
+ * the polarity of each subformula, constants are folded, and nested {@link And} and {@link Or} are merged,
+ * while the result is built bottom-up.
+ * Does not modify its input.
+ *
+ * @author Sebastian Krieter
+ */
+public class NNFTransformer implements Function<IFormula, Result<IFormula>> {
+
+    protected final Variable variable;
+    protected final boolean isKeepingCardinals;
+
+    private IExpression unsupportedExpression;
+
+    /**
+     * Creates a new NNF transformer.
+     *
+     * @param variable the variable used to express a formula that simplifies to {@link True} or {@link False}
+     */
+    public NNFTransformer(Variable variable) {
+        this(variable, false);
+    }
+
+    /**
+     * Creates a new NNF transformer.
+     * If cardinality constraints are kept, the result is of kind {@link ExpressionKind#CARDINAL_NNF}.
+     * Negated cardinality constraints are replaced by cardinality constraints with complementary bounds.
+     *
+     * @param variable the variable used to express a formula that simplifies to {@link True} or {@link False}
+     * @param isKeepingCardinals whether to keep cardinality constraints instead of expanding them
+     */
+    public NNFTransformer(Variable variable, boolean isKeepingCardinals) {
+        this.variable = variable;
+        this.isKeepingCardinals = isKeepingCardinals;
+    }
+
+    @Override
+    public Result<IFormula> apply(IFormula formula) {
+        unsupportedExpression = null;
+        if (formula instanceof Reference) {
+            Reference reference = (Reference) formula;
+            return transformRoot(reference.getExpression()).map(nnf -> {
+                Reference newReference = reference.cloneNode();
+                newReference.setChildren(List.of(nnf));
+                return newReference;
+            });
+        } else {
+            return transformRoot(formula);
+        }
+    }
+
+    private Result<IFormula> transformRoot(IFormula formula) {
+        IFormula nnf = transform(formula, true);
+        if (nnf == null) {
+            return Result.empty(
+                    new Problem("cannot transform expression " + unsupportedExpression + " into NNF", Severity.ERROR));
+        }
+        if (nnf instanceof False) {
+            return Result.of(new And(new Literal(variable.cloneNode()), new Literal(false, variable.cloneNode())));
+        }
+        if (nnf instanceof True) {
+            return Result.of(new Or(new Literal(variable.cloneNode()), new Literal(false, variable.cloneNode())));
+        }
+        return Result.of(nnf);
+    }
+
+    /**
+     * {@return a new formula in NNF that is equivalent to the given formula (or its negation), or null if the formula is not supported}
+     *
+     * @param formula the formula
+     * @param isPositive whether to transform the formula ({@code true}) or its negation ({@code false})
+     */
+    @SuppressWarnings("unchecked")
+    protected IFormula transform(IFormula formula, boolean isPositive) {
+        if (formula instanceof Literal) {
+            Literal literal = (Literal) formula.cloneTree();
+            if (!isPositive) {
+                literal.setPositive(!literal.isPositive());
+            }
+            return literal;
+        } else if (formula instanceof True || formula instanceof False) {
+            return isPositive ? formula : (IFormula) ((IInvertiblePredicate) formula).invert();
+        } else if (formula instanceof IPredicate) {
+            if (isPositive) {
+                return (IFormula) formula.cloneTree();
+            } else if (formula instanceof IInvertiblePredicate) {
+                return (IFormula) ((IInvertiblePredicate) formula.cloneTree()).invert();
+            }
+        } else if (formula instanceof Not) {
+            return transform((IFormula) ((Not) formula).getExpression(), !isPositive);
+        } else if (formula instanceof Reference) {
+            return transform(((Reference) formula).getExpression(), isPositive);
+        } else if (formula instanceof And) {
+            return transformJunction(isPositive, (List<IFormula>) formula.getChildren(), isPositive);
+        } else if (formula instanceof Or) {
+            return transformJunction(!isPositive, (List<IFormula>) formula.getChildren(), isPositive);
+        } else if (formula instanceof Implies) {
+            List<IFormula> children = (List<IFormula>) formula.getChildren();
+            return transformJunction(!isPositive, children.get(0), !isPositive, children.get(1), isPositive);
+        } else if (formula instanceof BiImplies) {
+            List<IFormula> children = (List<IFormula>) formula.getChildren();
+            List<IFormula> newChildren = new ArrayList<>(2);
+            IFormula left = transformJunction(!isPositive, children.get(0), !isPositive, children.get(1), isPositive);
+            if (!addJunctionChild(isPositive, newChildren, left)) {
+                return left;
+            }
+            IFormula right = transformJunction(!isPositive, children.get(1), !isPositive, children.get(0), isPositive);
+            if (!addJunctionChild(isPositive, newChildren, right)) {
+                return right;
+            }
+            return toJunction(isPositive, newChildren);
+        } else if (formula instanceof ACardinal) {
+            if (isKeepingCardinals) {
+                return transformCardinal((ACardinal) formula, isPositive);
+            }
+            IFormula expandedFormula = expandCardinal((ACardinal) formula);
+            if (expandedFormula != null) {
+                return transform(expandedFormula, isPositive);
+            }
+        }
+        unsupportedExpression = formula;
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private IFormula expandCardinal(ACardinal formula) {
+        List<IFormula> children = (List<IFormula>) formula.getChildren();
+        if (formula instanceof AtLeast) {
+            return new And(ConnectiveSimplifier.atLeastK(children, ((AtLeast) formula).getMinimum()));
+        } else if (formula instanceof AtMost) {
+            return new And(ConnectiveSimplifier.atMostK(children, ((AtMost) formula).getMaximum()));
+        } else if (formula instanceof Between) {
+            Between between = (Between) formula;
+            return new And(
+                    new And(ConnectiveSimplifier.atLeastK(children, between.getMinimum())),
+                    new And(ConnectiveSimplifier.atMostK(children, between.getMaximum())));
+        } else if (formula instanceof Choose) {
+            Choose choose = (Choose) formula;
+            return new And(
+                    new And(ConnectiveSimplifier.atLeastK(children, choose.getBound())),
+                    new And(ConnectiveSimplifier.atMostK(children, choose.getBound())));
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private IFormula transformCardinal(ACardinal cardinal, boolean isPositive) {
+        List<IFormula> children = (List<IFormula>) cardinal.getChildren();
+        List<IFormula> newChildren = new ArrayList<>(children.size());
+        int trueCount = 0;
+        for (IFormula child : children) {
+            IFormula newChild = transform(child, true);
+            if (newChild == null) {
+                return null;
+            } else if (newChild instanceof True) {
+                trueCount++;
+            } else if (!(newChild instanceof False)) {
+                newChildren.add(newChild);
+            }
+        }
+        Range range = cardinal.getRange();
+        int minimum = range.getLowerBound() == Range.OPEN ? 0 : range.getLowerBound() - trueCount;
+        int maximum = range.getUpperBound() == Range.OPEN ? Integer.MAX_VALUE : range.getUpperBound() - trueCount;
+        if (isPositive) {
+            return toCardinal(minimum, maximum, newChildren);
+        }
+        List<IFormula> newDisjuncts = new ArrayList<>(2);
+        IFormula lessThanMinimum = toCardinal(0, minimum - 1, newChildren);
+        if (!addJunctionChild(false, newDisjuncts, lessThanMinimum)) {
+            return lessThanMinimum;
+        }
+        if (maximum != Integer.MAX_VALUE) {
+            List<IFormula> clonedChildren = new ArrayList<>(newChildren.size());
+            for (IFormula newChild : newChildren) {
+                clonedChildren.add((IFormula) newChild.cloneTree());
+            }
+            IFormula greaterThanMaximum = toCardinal(maximum + 1, Integer.MAX_VALUE, clonedChildren);
+            if (!addJunctionChild(false, newDisjuncts, greaterThanMaximum)) {
+                return greaterThanMaximum;
+            }
+        }
+        return toJunction(false, newDisjuncts);
+    }
+
+    private static IFormula toCardinal(int minimum, int maximum, List<IFormula> newChildren) {
+        final int n = newChildren.size();
+        minimum = Math.max(minimum, 0);
+        maximum = Math.min(maximum, n);
+        if (minimum > maximum) {
+            return Expressions.False;
+        } else if (minimum == 0 && maximum == n) {
+            return Expressions.True;
+        } else if (maximum == n && (minimum == 1 || minimum == n)) {
+            boolean isAnd = minimum == n;
+            List<IFormula> newJunctionChildren = new ArrayList<>(n);
+            for (IFormula newChild : newChildren) {
+                addJunctionChild(isAnd, newJunctionChildren, newChild);
+            }
+            return toJunction(isAnd, newJunctionChildren);
+        } else if (maximum == n) {
+            return new AtLeast(minimum, newChildren);
+        } else if (minimum == maximum) {
+            return new Choose(minimum, newChildren);
+        } else if (minimum == 0) {
+            return new AtMost(maximum, newChildren);
+        } else {
+            return new Between(minimum, maximum, newChildren);
+        }
+    }
+
+    private IFormula transformJunction(boolean isAnd, List<IFormula> children, boolean isPositive) {
+        List<IFormula> newChildren = new ArrayList<>(children.size());
+        for (IFormula child : children) {
+            IFormula newChild = transform(child, isPositive);
+            if (!addJunctionChild(isAnd, newChildren, newChild)) {
+                return newChild;
+            }
+        }
+        return toJunction(isAnd, newChildren);
+    }
+
+    private IFormula transformJunction(
+            boolean isAnd, IFormula firstChild, boolean isFirstPositive, IFormula secondChild, boolean isSecondPositive) {
+        List<IFormula> newChildren = new ArrayList<>(2);
+        IFormula newChild = transform(firstChild, isFirstPositive);
+        if (!addJunctionChild(isAnd, newChildren, newChild)) {
+            return newChild;
+        }
+        newChild = transform(secondChild, isSecondPositive);
+        if (!addJunctionChild(isAnd, newChildren, newChild)) {
+            return newChild;
+        }
+        return toJunction(isAnd, newChildren);
+    }
+
+    /**
+     * Adds a transformed child to the children of a new {@link And} or {@link Or}.
+     * Neutral constants are skipped and nested junctions of the same kind are merged.
+     *
+     * @return {@code false} iff the child is null or determines the value of the junction (i.e., the junction can be replaced by the child)
+     */
+    @SuppressWarnings("unchecked")
+    private static boolean addJunctionChild(boolean isAnd, List<IFormula> newChildren, IFormula newChild) {
+        if (newChild == null || (isAnd ? newChild instanceof False : newChild instanceof True)) {
+            return false;
+        }
+        if (isAnd ? newChild instanceof And : newChild instanceof Or) {
+            newChildren.addAll((List<IFormula>) newChild.getChildren());
+        } else if (!(isAnd ? newChild instanceof True : newChild instanceof False)) {
+            newChildren.add(newChild);
+        }
+        return true;
+    }
+
+    private static IFormula toJunction(boolean isAnd, List<IFormula> newChildren) {
+        switch (newChildren.size()) {
+            case 0:
+                return isAnd ? Expressions.True : Expressions.False;
+            case 1:
+                return newChildren.get(0);
+            default:
+                return isAnd ? new And(newChildren) : new Or(newChildren);
+        }
+    }
+}
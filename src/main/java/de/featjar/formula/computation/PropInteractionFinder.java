@@ -22,290 +22,288 @@ package de.featjar.formula.computation;
 
 import de.featjar.analysis.IConfigurationUpdater;
 import de.featjar.analysis.IConfigurationVerifyer;
+import de.featjar.base.computation.AComputation;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.Dependency;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
 import de.featjar.base.data.LexicographicIterator;
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
 import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
 import de.featjar.formula.assignment.BooleanClause;
 import de.featjar.formula.assignment.BooleanSolution;
+import de.featjar.formula.assignment.LiteralIndex;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 /**
- * Calculates statistics regarding t-wise feature coverage of a set of
- * solutions.
+ * Detects interactions that are likely to cause the failure of configurations, based on the numbers of failing and
+ * succeeding configurations that contain them.
+ * The given configurations are verified first. Then, for each t-wise interaction over the variables of the first
+ * failing configuration that is not contained in any verified configuration, a configuration containing it and a
+ * configuration not containing it are verified. Finally, each interaction is scored by its support, which is
+ * negative if the interaction is contained in relatively more failing than succeeding configurations.
+ * Verified configurations are indexed by a {@link LiteralIndex}, such that the number of configurations containing
+ * an interaction is the cardinality of the conjunction of the bit sets of its literals. Interactions are enumerated in
+ * a fixed order in chunks of at most {@link #CHUNK_SIZE} interactions. Each chunk is checked for coverage in
+ * parallel, whereas new configurations for its uncovered interactions are verified sequentially.
  *
  * @author Sebastian Krieter
  */
-// TODO convert to computation
-public class PropInteractionFinder {
+public class PropInteractionFinder extends AComputation<BooleanAssignmentList> {
 
-    private IConfigurationUpdater updater;
-    private IConfigurationVerifyer verifier;
-    private BooleanAssignment core;
+    public static final Dependency<BooleanAssignmentList> CONFIGURATIONS =
+            Dependency.newDependency(BooleanAssignmentList.class);
 
-    private List<BooleanSolution> succeedingConfs;
-    private List<BooleanSolution> failingConfs;
+    public static final Dependency<IConfigurationUpdater> UPDATER =
+            Dependency.newDependency(IConfigurationUpdater.class);
 
-    private int verifyCounter;
+    /**
+     * The verifier for configurations, which is called sequentially.
+     * To count the verified configurations, wrap it in a {@link de.featjar.analysis.CountingConfigurationVerifyer}.
+     */
+    public static final Dependency<IConfigurationVerifyer> VERIFIER =
+            Dependency.newDependency(IConfigurationVerifyer.class);
 
-    public void reset() {
-        succeedingConfs = new ArrayList<>();
-        failingConfs = new ArrayList<>();
-    }
+    public static final Dependency<Integer> T = Dependency.newDependency(Integer.class);
 
-    public void setUpdater(IConfigurationUpdater updater) {
-        this.updater = updater;
-    }
+    /**
+     * Literals that are contained in every valid configuration and are ignored by the search. Defaults to none.
+     */
+    public static final Dependency<BooleanAssignment> CORE = Dependency.newDependency(BooleanAssignment.class);
 
-    public void setVerifier(IConfigurationVerifyer verifier) {
-        this.verifier = verifier;
-    }
+    /**
+     * The maximum number of interactions that are checked for coverage at once before verifying new configurations.
+     */
+    public static final int CHUNK_SIZE = 1 << 14;
 
-    public void setCore(BooleanAssignment core) {
-        this.core = core;
-    }
+    private static final class Search {
+        private final IConfigurationUpdater updater;
+        private final IConfigurationVerifyer verifier;
+        private final BooleanAssignment core;
+        private final LiteralIndex failingConfs = new LiteralIndex();
+        private final LiteralIndex succeedingConfs = new LiteralIndex();
+        private int[] firstFailingConf;
 
-    public void addConfigurations(List<BooleanSolution> configurations) {
-        configurations.forEach(this::verify);
-    }
+        private Search(IConfigurationUpdater updater, IConfigurationVerifyer verifier, BooleanAssignment core) {
+            this.updater = updater;
+            this.verifier = verifier;
+            this.core = core;
+        }
 
-    public List<BooleanAssignment> find(int t) {
-        int[] tempLiterals = failingConfs.get(0).get();
-        int[] variantLiterals = new int[tempLiterals.length - core.size()];
-        int variantLiteralsIndex = 0;
-        for (int i = 0; i < tempLiterals.length; i++) {
-            int l = tempLiterals[i];
-            if (l != 0) {
-                variantLiterals[variantLiteralsIndex++] = Math.abs(l);
-            }
+        private int[] removeCore(int[] literals) {
+            return Arrays.stream(literals).filter(l -> l != 0 && !core.contains(l)).toArray();
         }
 
-        final int n = variantLiterals.length;
-        final int t2 = (n < t) ? n : t;
-        final int pow = (int) Math.pow(2, t2);
+        private void verify(BooleanAssignment configuration) {
+            final int[] nonCore = removeCore(configuration.get());
+            if (verifier.test(configuration) == 0) {
+                succeedingConfs.add(nonCore);
+            } else {
+                failingConfs.add(nonCore);
+                if (firstFailingConf == null) {
+                    firstFailingConf = nonCore;
+                }
+            }
+        }
 
-        ArrayList<int[]> interactions = new ArrayList<>();
+        private boolean isCovered(int[] literals) {
+            return failingConfs.containsAny(literals) || succeedingConfs.containsAny(literals);
+        }
 
-        boolean[][] masks = new boolean[pow][t2];
-        for (int i = 0; i < masks.length; i++) {
-            boolean[] p = masks[i];
-            for (int j = 0; j < t2; j++) {
-                p[j] = (i >> j & 1) == 0;
-            }
+        private int support(int[] literals) {
+            return support(failingConfs.count(literals), succeedingConfs.count(literals));
         }
 
-        IntStream.range(0, pow) //
-                .forEach(maskIndex -> {
-                    boolean[] mask = new boolean[t2];
-                    for (int j = 0; j < t2; j++) {
-                        mask[j] = (maskIndex >> j & 1) == 0;
-                    }
-                    int[] literals = new int[t2];
+        private int support(int fail, int succ) {
+            int propFail = fail * succeedingConfs.size();
+            int propSucc = succ * failingConfs.size();
+            return propSucc - propFail;
+        }
+    }
 
-                    LexicographicIterator.stream(t2, n).forEach(combo -> {
-                        for (int k = 0; k < t2; k++) {
-                            final int l = variantLiterals[(int) combo.elementIndices[k]];
-                            literals[k] = mask[k] ? l : -l;
-                        }
+    public PropInteractionFinder(
+            IComputation<BooleanAssignmentList> configurations,
+            IConfigurationUpdater updater,
+            IConfigurationVerifyer verifier) {
+        super(
+                configurations,
+                Computations.of(updater),
+                Computations.of(verifier),
+                Computations.of(2),
+                Computations.of(new BooleanAssignment()));
+    }
 
-                        int succ = 0;
-                        int fail = 0;
-                        for (BooleanSolution config : failingConfs) {
-                            if (config.containsAll(literals)) {
-                                fail++;
-                            }
-                        }
-                        for (BooleanSolution config : succeedingConfs) {
-                            if (config.containsAll(literals)) {
-                                succ++;
-                            }
-                        }
-                        if (fail == 0 && succ == 0) {
-                            BooleanSolution config = updater.complete(List.of(literals), null, null)
-                                    .orElse(null);
-                            if (config != null) {
-                                if (verify(config)) {
-                                    succ++;
-                                    loop:
-                                    for (int[] interaction : interactions) {
-                                        for (int i = 0; i < t2; i++) {
-                                            if (config.indexOf(interaction[i]) < 0) {
-                                                continue loop;
-                                            }
-                                        }
-                                        interaction[t2 + 1]++;
-                                    }
-                                } else {
-                                    fail++;
-                                    loop:
-                                    for (int[] interaction : interactions) {
-                                        for (int i = 0; i < t2; i++) {
-                                            if (config.indexOf(interaction[i]) < 0) {
-                                                continue loop;
-                                            }
-                                        }
-                                        interaction[t2]++;
-                                    }
-                                }
-                            }
-                            config = updater.complete(null, List.of(literals), null)
-                                    .orElse(null);
-                            if (config != null) {
-                                if (verify(config)) {
-                                    loop:
-                                    for (int[] interaction : interactions) {
-                                        for (int i = 0; i < t2; i++) {
-                                            if (config.indexOf(interaction[i]) < 0) {
-                                                continue loop;
-                                            }
-                                        }
-                                        interaction[t2 + 1]++;
-                                    }
-                                } else {
-                                    loop:
-                                    for (int[] interaction : interactions) {
-                                        for (int i = 0; i < t2; i++) {
-                                            if (config.indexOf(interaction[i]) < 0) {
-                                                continue loop;
-                                            }
-                                        }
-                                        interaction[t2]++;
-                                    }
-                                }
-                            }
-                        }
-                        if (fail != 0 || succ != 0) {
-                            int[] interaction = Arrays.copyOf(literals, literals.length + 2);
-                            interaction[t2] = fail;
-                            interaction[t2 + 1] = succ;
-                            interactions.add(interaction);
-                        }
-                    });
-                });
+    protected PropInteractionFinder(PropInteractionFinder other) {
+        super(other);
+    }
 
-        interactions.stream().forEach(a -> a[t2] = support(a[t2], a[t2 + 1]));
-        Collections.sort(interactions, Comparator.comparing(a -> a[t2]));
-        double max = interactions.get(0)[t2];
-        List<BooleanClause> collect = interactions.stream()
-                .takeWhile(a -> (a[t2] / max) > 0)
-                .map(this::ll)
-                .collect(Collectors.toCollection(ArrayList::new));
+    @Override
+    public Result<BooleanAssignmentList> compute(List<Object> dependencyList, Progress progress) {
+        final BooleanAssignmentList configurations = CONFIGURATIONS.get(dependencyList);
+        final Search search =
+                new Search(UPDATER.get(dependencyList), VERIFIER.get(dependencyList), CORE.get(dependencyList));
+        final int t = T.get(dependencyList);
 
-        for (int i = 0; i < collect.size(); i++) {
-            collect.set(
-                    i,
-                    updater.update(collect.get(i))
-                            .map(l -> new BooleanClause(l.removeAll(core.get())))
-                            .orElse(null));
+        for (final BooleanAssignment configuration : configurations) {
+            search.verify(configuration);
+        }
+        if (search.firstFailingConf == null) {
+            return Result.empty(new Problem("No failing configuration", Problem.Severity.ERROR));
         }
 
-        //		ArrayList<LiteralList> merge = new ArrayList<>();
-        //		for (LiteralList in : collect) {
-        //			boolean merged = false;
-        //			for (int i = 0; i < merge.size(); i++) {
-        //				LiteralList config = updater.complete(null, null, List.of(in.getLiterals(), merge.get(i).getLiterals()))
-        //						.orElse(null);
-        //				if (config == null) {
-        //					merge.set(i, LiteralList.merge(List.of(in, merge.get(i))));
-        //					merged = true;
-        //				}
-        //			}
-        //			if (!merged) {
-        //				merge.add(in);
-        //			}
-        //		}
-        //
-        //		for (int i = 0; i < merge.size(); i++) {
-        //			merge.set(i, updater.update(merge.get(i)).orElse(null));
-        //		}
-        for (int i = 0; i < collect.size(); i++) {
-            BooleanClause clause = collect.get(i);
-            for (int j = i + 1; j < collect.size(); j++) {
-                if (collect.get(j).containsAll(clause)) {
-                    collect.set(i, null);
-                    break;
+        final int[] variantVariables =
+                Arrays.stream(search.firstFailingConf).map(Math::abs).toArray();
+        final int n = variantVariables.length;
+        final int t2 = (n < t) ? n : t;
+        final int pow = 1 << t2;
+        progress.setTotalSteps(3L * pow);
+
+        // verify configurations for all interactions not contained in any verified configuration
+        final List<int[]> chunk = new ArrayList<>();
+        for (int maskIndex = 0; maskIndex < pow; maskIndex++) {
+            final int mask = maskIndex;
+            final Iterator<int[]> iterator = LexicographicIterator.stream(t2, n)
+                    .map(combo -> getLiterals(combo.elementIndices, variantVariables, mask))
+                    .iterator();
+            while (iterator.hasNext()) {
+                chunk.clear();
+                while (chunk.size() < CHUNK_SIZE && iterator.hasNext()) {
+                    chunk.add(iterator.next());
+                }
+                final List<int[]> candidates = chunk.parallelStream()
+                        .filter(literals -> !search.isCovered(literals))
+                        .collect(Collectors.toList());
+                for (final int[] literals : candidates) {
+                    // a previous verification may have covered the interaction meanwhile
+                    if (!search.isCovered(literals)) {
+                        BooleanSolution config = search.updater
+                                .complete(List.of(literals), null, null)
+                                .orElse(null);
+                        if (config != null) {
+                            search.verify(config);
+                        }
+                        config = search.updater
+                                .complete(null, List.of(literals), null)
+                                .orElse(null);
+                        if (config != null) {
+                            search.verify(config);
+                        }
+                    }
                 }
             }
+            progress.incrementCurrentStep();
         }
-        Collections.sort(collect, Comparator.comparing(a -> a.size()));
-        //		Collections.reverse(collect);
-        //		for (int i = 0; i < collect.size(); i++) {
-        //			for (int j = i + 1; j < collect.size(); j++) {
-        //				if (collect.get(i).containsAll(collect.get(j))) {
-        //					collect.set(i, null);
-        //					break;
-        //				}
-        //			}
-        //		}
-        //		for (int i = 0; i < collect.size(); i++) {
-        //			for (int j = i + 1; j < collect.size(); j++) {
-        //				if (collect.get(j).containsAll(collect.get(i))) {
-        //					collect.set(i, null);
-        //					break;
-        //				}
-        //			}
-        //		}
 
-        ArrayList<int[]> merge2 = new ArrayList<>();
-        for (BooleanClause literals : collect) {
-            if (literals != null) {
-                int succ = 0;
-                int fail = 0;
-                for (BooleanSolution config : failingConfs) {
-                    if (config.containsAll(literals)) {
-                        fail++;
-                    }
-                }
-                for (BooleanSolution config : succeedingConfs) {
-                    if (config.containsAll(literals)) {
-                        succ++;
+        // collect all interactions with the same sign of support as the minimal support
+        final AtomicBoolean hasCoveredInteraction = new AtomicBoolean();
+        final List<int[]> interactions = new ArrayList<>();
+        for (int maskIndex = 0; maskIndex < pow; maskIndex++) {
+            collectInteractions(search, variantVariables, t2, maskIndex, false, interactions, hasCoveredInteraction);
+            progress.incrementCurrentStep();
+        }
+        if (interactions.isEmpty() && hasCoveredInteraction.get()) {
+            for (int maskIndex = 0; maskIndex < pow; maskIndex++) {
+                collectInteractions(search, variantVariables, t2, maskIndex, true, interactions, null);
+            }
+            if (interactions.stream().anyMatch(a -> a[t2] == 0)) {
+                interactions.clear();
+            }
+        }
+        progress.incrementCurrentStep(pow);
+        interactions.sort(Comparator.<int[]>comparingInt(a -> a[t2]).thenComparing(Arrays::compare));
+
+        final List<BooleanClause> collect = new ArrayList<>(interactions.size());
+        for (final int[] interaction : interactions) {
+            collect.add(search.updater
+                    .update(new BooleanClause(Arrays.copyOf(interaction, t2)))
+                    .map(l -> new BooleanClause(search.removeCore(l.get())))
+                    .orElse(null));
+        }
+        for (int i = 0; i < collect.size(); i++) {
+            final BooleanClause clause = collect.get(i);
+            if (clause != null) {
+                for (int j = i + 1; j < collect.size(); j++) {
+                    final BooleanClause other = collect.get(j);
+                    if (other != null && other.containsAll(clause)) {
+                        collect.set(i, null);
+                        break;
                     }
                 }
-                int[] interaction = Arrays.copyOf(literals.get(), literals.size() + 1);
-                interaction[literals.size()] = support(fail, succ);
-                merge2.add(interaction);
             }
         }
 
-        Collections.sort(merge2, Comparator.comparing(a -> a[a.length - 1]));
-        double max2 = merge2.get(0)[t2];
-        return merge2.stream()
-                .takeWhile(a -> (a[t2] / max2) > 0.5)
-                .map(this::ll2)
+        final List<int[]> merged = collect.stream()
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(a -> a.size()))
+                .map(literals -> {
+                    final int[] interaction = Arrays.copyOf(literals.get(), literals.size() + 1);
+                    interaction[literals.size()] = search.support(literals.get());
+                    return interaction;
+                })
+                .sorted(Comparator.comparingInt(a -> a[a.length - 1]))
                 .collect(Collectors.toList());
+        if (merged.isEmpty()) {
+            return Result.of(new BooleanAssignmentList(configurations.getVariableMap()));
+        }
+        final double maxSupport = merged.get(0)[merged.get(0).length - 1];
+        return Result.of(new BooleanAssignmentList(
+                configurations.getVariableMap(),
+                merged.stream()
+                        .takeWhile(a -> (a[a.length - 1] / maxSupport) > 0.5)
+                        .map(a -> new BooleanAssignment(Arrays.copyOf(a, a.length - 1)))));
     }
 
-    private BooleanClause ll(int[] a) {
-        return new BooleanClause(Arrays.copyOf(a, a.length - 2));
-    }
-
-    private BooleanAssignment ll2(int[] a) {
-        return new BooleanAssignment(Arrays.copyOf(a, a.length - 1));
-    }
-
-    private int support(int fail, int succ) {
-        int propFail = fail * succeedingConfs.size();
-        int propSucc = succ * failingConfs.size();
-        return propSucc - propFail;
+    /**
+     * Collects all interactions for the given sign mask that are contained in at least one verified configuration,
+     * together with their support. If {@code positive} is false, only interactions with negative support are
+     * collected.
+     */
+    private static void collectInteractions(
+            Search search,
+            int[] variantVariables,
+            int t2,
+            int maskIndex,
+            boolean positive,
+            List<int[]> interactions,
+            AtomicBoolean hasCoveredInteraction) {
+        interactions.addAll(LexicographicIterator.parallelStream(t2, variantVariables.length)
+                .map(combo -> {
+                    final int[] literals = getLiterals(combo.elementIndices, variantVariables, maskIndex);
+                    final int fail = search.failingConfs.count(literals);
+                    final int succ = search.succeedingConfs.count(literals);
+                    if (fail == 0 && succ == 0) {
+                        return null;
+                    }
+                    if (hasCoveredInteraction != null) {
+                        hasCoveredInteraction.set(true);
+                    }
+                    final int support = search.support(fail, succ);
+                    if (positive ? support < 0 : support >= 0) {
+                        return null;
+                    }
+                    final int[] interaction = Arrays.copyOf(literals, t2 + 1);
+                    interaction[t2] = support;
+                    return interaction;
+                })
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
     }
 
-    private boolean verify(BooleanSolution solution) {
-        verifyCounter++;
-        BooleanSolution nonCore = new BooleanSolution(solution.removeAll(core.get()));
-        if (verifier.test(solution) == 0) {
-            succeedingConfs.add(nonCore);
-            return true;
-        } else {
-            failingConfs.add(nonCore);
-            return false;
+    private static int[] getLiterals(int[] elementIndices, int[] variantVariables, int maskIndex) {
+        final int[] literals = new int[elementIndices.length];
+        for (int k = 0; k < literals.length; k++) {
+            final int l = variantVariables[elementIndices[k]];
+            literals[k] = (maskIndex >> k & 1) == 0 ? l : -l;
         }
-    }
-
-    public int getVerifyCounter() {
-        return verifyCounter;
+        return literals;
     }
 }
@@ -20,8 +20,8 @@
  */
 package de.featjar.formula.computation;
 
-import de.featjar.base.data.Maps;
 import de.featjar.base.tree.visitor.ITreeVisitor;
+import de.featjar.formula.structure.ExpressionInterner;
 import de.featjar.formula.structure.IExpression;
 import de.featjar.formula.structure.IFormula;
 import de.featjar.formula.structure.connective.And;
@@ -115,15 +115,21 @@ public class TseitinTransformer
     /**
      * Unifies a given list of substitutions.
      * That is, removes all duplicate substitutions.
+     * Original formulas are compared after {@link ExpressionInterner interning},
+     * so that shared subformulas of nested substitutions are hashed and compared only once.
      * @param substitutions the list of substitutions
      */
     public static void unify(List<Substitution> substitutions) {
         int currentAuxiliaryVariableIndex = 0;
-        LinkedHashMap<Substitution, Substitution> unifiedSubstitutions = Maps.empty();
+        ExpressionInterner interner = new ExpressionInterner();
+        IdentityHashMap<IFormula, Substitution> unifiedSubstitutions = new IdentityHashMap<>();
+        List<Substitution> unifiedSubstitutionList = new ArrayList<>();
         for (Substitution substitution : substitutions) {
-            Substitution storedSubstitution = unifiedSubstitutions.get(substitution);
+            IFormula internedFormula = interner.intern(substitution.originalFormula);
+            Substitution storedSubstitution = unifiedSubstitutions.get(internedFormula);
             if (storedSubstitution == null) {
-                unifiedSubstitutions.put(substitution, substitution);
+                unifiedSubstitutions.put(internedFormula, substitution);
+                unifiedSubstitutionList.add(substitution);
                 Variable variable = substitution.getAuxiliaryVariable();
                 if (variable != null) {
                     variable.setName(AUXILIARY_VARIABLE_NAME_PREFIX + (++currentAuxiliaryVariableIndex));
@@ -136,7 +142,7 @@ public class TseitinTransformer
             }
         }
         substitutions.clear();
-        substitutions.addAll(unifiedSubstitutions.keySet());
+        substitutions.addAll(unifiedSubstitutionList);
     }
 
     /**
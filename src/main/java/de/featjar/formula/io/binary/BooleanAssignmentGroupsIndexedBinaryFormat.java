@@ -0,0 +1,224 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.io.binary;
+
+import de.featjar.base.data.Problem.Severity;
+import de.featjar.base.data.Result;
+import de.featjar.base.io.binary.ABinaryFormat;
+import de.featjar.base.io.format.ParseProblem;
+import de.featjar.base.io.input.AInputMapper;
+import de.featjar.base.io.output.AOutputMapper;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentGroups;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanClause;
+import de.featjar.formula.assignment.BooleanSolution;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Reads / Writes a list of assignments in a versioned, indexed binary format that supports random access
+ * (see {@link MappedBooleanAssignmentGroups}).
+ * After a header with the variable names, the file contains the offset of each group.
+ * Groups that consist only of solutions with one entry per variable (i.e., the literal of the variable or zero at
+ * its index) store each solution as a fixed number of 64-bit words with two bits per variable (assigned, positive),
+ * such that the i-th solution can be located directly.
+ * Other groups store an offset for each assignment, followed by its type and literals.
+ * All numbers are written in big-endian byte order.
+ *
+ * @author Sebastian Krieter
+ */
+public class BooleanAssignmentGroupsIndexedBinaryFormat extends ABinaryFormat<BooleanAssignmentGroups> {
+
+    static final int MAGIC_NUMBER = 0x464A4247;
+    static final int VERSION = 1;
+
+    static final byte SOLUTION_GROUP = 1;
+    static final byte MIXED_GROUP = 2;
+
+    static final byte SOLUTION_TYPE = 1;
+    static final byte CLAUSE_TYPE = 2;
+    static final byte ASSIGNMENT_TYPE = 3;
+
+    @Override
+    public void write(BooleanAssignmentGroups assignmentSpace, AOutputMapper outputMapper) throws IOException {
+        final DataOutputStream out =
+                new DataOutputStream(new BufferedOutputStream(outputMapper.get().getOutputStream()));
+        final VariableMap variableMap = assignmentSpace.getVariableMap();
+        final int maxIndex = Math.max(variableMap.maxIndex(), 0);
+        final List<BooleanAssignmentList> groups = assignmentSpace.getGroups();
+
+        final byte[][] names = new byte[maxIndex][];
+        long position = 12;
+        for (int i = 1; i <= maxIndex; i++) {
+            names[i - 1] = variableMap.get(i).orElse("").getBytes(StandardCharsets.UTF_8);
+            position += 4 + names[i - 1].length;
+        }
+        position += 4 + 8L * groups.size();
+
+        final int words = (2 * maxIndex + 63) >>> 6;
+        final boolean[] isSolutionGroup = new boolean[groups.size()];
+        final long[] groupOffsets = new long[groups.size()];
+        for (int i = 0; i < groups.size(); i++) {
+            final BooleanAssignmentList group = groups.get(i);
+            isSolutionGroup[i] = group.stream().allMatch(a -> isPackable(a, maxIndex));
+            groupOffsets[i] = position;
+            position += getGroupSize(group, isSolutionGroup[i], words);
+        }
+
+        out.writeInt(MAGIC_NUMBER);
+        out.writeInt(VERSION);
+        out.writeInt(maxIndex);
+        for (byte[] name : names) {
+            out.writeInt(name.length);
+            out.write(name);
+        }
+        out.writeInt(groups.size());
+        for (long groupOffset : groupOffsets) {
+            out.writeLong(groupOffset);
+        }
+        for (int i = 0; i < groups.size(); i++) {
+            final BooleanAssignmentList group = groups.get(i);
+            if (isSolutionGroup[i]) {
+                writeSolutionGroup(out, group, words);
+            } else {
+                writeMixedGroup(out, group, groupOffsets[i]);
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * {@return whether the given assignment can be stored in a solution group, such that it is read back unchanged}
+     * This is the case for solutions that have one literal or zero for each variable, at the index of the variable.
+     */
+    private static boolean isPackable(BooleanAssignment assignment, int maxIndex) {
+        if (!(assignment instanceof BooleanSolution)) {
+            return false;
+        }
+        final int[] literals = assignment.get();
+        if (literals.length != maxIndex) {
+            return false;
+        }
+        for (int j = 0; j < literals.length; j++) {
+            final int l = literals[j];
+            if (l != 0 && Math.abs(l) != j + 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long getGroupSize(BooleanAssignmentList group, boolean isSolutionGroup, int words) {
+        if (isSolutionGroup) {
+            return 9 + 8L * words * group.size();
+        } else {
+            long size = 5 + 8L * group.size();
+            for (BooleanAssignment assignment : group) {
+                size += 5 + 4L * assignment.get().length;
+            }
+            return size;
+        }
+    }
+
+    private static void writeSolutionGroup(DataOutputStream out, BooleanAssignmentList group, int words)
+            throws IOException {
+        out.writeByte(SOLUTION_GROUP);
+        out.writeInt(group.size());
+        out.writeInt(words);
+        final long[] packed = new long[words];
+        for (BooleanAssignment assignment : group) {
+            final int[] literals = assignment.get();
+            for (int j = 0; j < literals.length; j++) {
+                final int l = literals[j];
+                if (l != 0) {
+                    packed[j >>> 5] |= (l > 0 ? 0b11L : 0b01L) << ((j & 31) << 1);
+                }
+            }
+            for (int w = 0; w < words; w++) {
+                out.writeLong(packed[w]);
+                packed[w] = 0;
+            }
+        }
+    }
+
+    private static void writeMixedGroup(DataOutputStream out, BooleanAssignmentList group, long groupOffset)
+            throws IOException {
+        out.writeByte(MIXED_GROUP);
+        out.writeInt(group.size());
+        long position = groupOffset + 5 + 8L * group.size();
+        for (BooleanAssignment assignment : group) {
+            out.writeLong(position);
+            position += 5 + 4L * assignment.get().length;
+        }
+        for (BooleanAssignment assignment : group) {
+            if (assignment instanceof BooleanSolution) {
+                out.writeByte(SOLUTION_TYPE);
+            } else if (assignment instanceof BooleanClause) {
+                out.writeByte(CLAUSE_TYPE);
+            } else {
+                out.writeByte(ASSIGNMENT_TYPE);
+            }
+            final int[] literals = assignment.get();
+            out.writeInt(literals.length);
+            for (int l : literals) {
+                out.writeInt(l);
+            }
+        }
+    }
+
+    @Override
+    public Result<BooleanAssignmentGroups> parse(AInputMapper inputMapper) {
+        try {
+            final byte[] bytes = inputMapper.get().getInputStream().readAllBytes();
+            return Result.of(new MappedBooleanAssignmentGroups(ByteBuffer.wrap(bytes)).load());
+        } catch (final IOException e) {
+            return Result.empty(new ParseProblem(e.getMessage(), Severity.ERROR, 0));
+        } catch (final IndexOutOfBoundsException e) {
+            return Result.empty(new ParseProblem("Unexpected end of input", Severity.ERROR, 0));
+        }
+    }
+
+    @Override
+    public boolean supportsSerialize() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsParse() {
+        return true;
+    }
+
+    @Override
+    public String getName() {
+        return "BooleanAssignmentIndexedBinary";
+    }
+
+    @Override
+    public String getFileExtension() {
+        return "ibin";
+    }
+}
@@ -0,0 +1,348 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.io.binary;
+
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentGroups;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanClause;
+import de.featjar.formula.assignment.BooleanSolution;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Random-access view on {@link BooleanAssignmentGroups} stored in the
+ * {@link BooleanAssignmentGroupsIndexedBinaryFormat}.
+ * Files are mapped into memory with {@link FileChannel#map(FileChannel.MapMode, long, long)}, such that only
+ * those assignments are read from disk that are actually accessed.
+ * Groups are exposed as read-only {@link BooleanAssignmentList lists} that decode an assignment on each access.
+ *
+ * @author Sebastian Krieter
+ */
+public class MappedBooleanAssignmentGroups {
+
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    /**
+     * A read-only list of assignments that are decoded on access.
+     */
+    public static class MappedBooleanAssignmentList extends BooleanAssignmentList {
+        private MappedBooleanAssignmentList(VariableMap variableMap, List<BooleanAssignment> assignments) {
+            super(assignments, variableMap);
+        }
+
+        /**
+         * {@return a copy of this list that resides in memory}
+         */
+        public BooleanAssignmentList load() {
+            // decodes by index, as iterators of abstract lists wrap decoding errors in NoSuchElementException
+            final List<BooleanAssignment> loadedAssignments = new ArrayList<>(assignments.size());
+            for (int i = 0; i < assignments.size(); i++) {
+                loadedAssignments.add(assignments.get(i));
+            }
+            return new BooleanAssignmentList(variableMap, loadedAssignments);
+        }
+    }
+
+    private class GroupView extends AbstractList<BooleanAssignment> implements RandomAccess {
+        private final int group;
+
+        private GroupView(int group) {
+            this.group = group;
+        }
+
+        @Override
+        public BooleanAssignment get(int index) {
+            return getAssignment(group, index);
+        }
+
+        @Override
+        public int size() {
+            return groupSizes[group];
+        }
+    }
+
+    /**
+     * Maps the given file into memory.
+     *
+     * @param path the file in {@link BooleanAssignmentGroupsIndexedBinaryFormat}
+     * @return a view on the stored groups
+     * @throws IOException if the file cannot be read or has an unsupported format
+     */
+    public static MappedBooleanAssignmentGroups open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            final int segmentCount = (int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+            final ByteBuffer[] segments = new ByteBuffer[Math.max(segmentCount, 1)];
+            segments[0] = ByteBuffer.allocate(0);
+            for (int i = 0; i < segmentCount; i++) {
+                final long position = (long) i << SEGMENT_SHIFT;
+                segments[i] = channel.map(
+                        FileChannel.MapMode.READ_ONLY, position, Math.min(SEGMENT_MASK + 1, size - position));
+            }
+            // mapped buffers stay valid after the channel is closed
+            return new MappedBooleanAssignmentGroups(segments);
+        }
+    }
+
+    private final ByteBuffer[] segments;
+    private final VariableMap variableMap;
+    private final int maxIndex;
+    private final byte[] groupKinds;
+    private final int[] groupSizes;
+    private final int[] wordsPerSolution;
+    private final long[] groupDataOffsets;
+
+    /**
+     * Creates a view on the given buffer.
+     *
+     * @param buffer the buffer containing a file in {@link BooleanAssignmentGroupsIndexedBinaryFormat}
+     * @throws IOException if the buffer has an unsupported format
+     */
+    public MappedBooleanAssignmentGroups(ByteBuffer buffer) throws IOException {
+        this(split(buffer));
+    }
+
+    private static ByteBuffer[] split(ByteBuffer buffer) {
+        final int size = buffer.remaining();
+        final int segmentCount = (int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        final ByteBuffer[] segments = new ByteBuffer[Math.max(segmentCount, 1)];
+        segments[0] = ByteBuffer.allocate(0);
+        for (int i = 0; i < segmentCount; i++) {
+            final int position = buffer.position() + (i << SEGMENT_SHIFT);
+            final ByteBuffer segment = buffer.duplicate();
+            segment.position(position);
+            segment.limit(position + (int) Math.min(SEGMENT_MASK + 1, size - ((long) i << SEGMENT_SHIFT)));
+            segments[i] = segment.slice();
+        }
+        return segments;
+    }
+
+    private MappedBooleanAssignmentGroups(ByteBuffer[] segments) throws IOException {
+        this.segments = segments;
+        long position = 0;
+        if (size() < 8
+                || getInt(position) != BooleanAssignmentGroupsIndexedBinaryFormat.MAGIC_NUMBER
+                || getInt(position + 4) != BooleanAssignmentGroupsIndexedBinaryFormat.VERSION) {
+            throw new IOException("Unsupported format");
+        }
+        position += 8;
+        maxIndex = getInt(position);
+        position += 4;
+        // each variable name is preceded by its length
+        requireAvailable(position, 4L * maxIndex);
+        variableMap = new VariableMap();
+        for (int i = 1; i <= maxIndex; i++) {
+            final int length = getInt(position);
+            position += 4;
+            requireAvailable(position, length);
+            final byte[] name = new byte[length];
+            for (int j = 0; j < length; j++) {
+                name[j] = getByte(position++);
+            }
+            if (length > 0) {
+                final String variableName = new String(name, StandardCharsets.UTF_8);
+                if (variableMap.has(variableName)) {
+                    throw new IOException("Duplicate variable name " + variableName);
+                }
+                variableMap.add(i, variableName);
+            }
+        }
+        final int groupCount = getInt(position);
+        position += 4;
+        requireAvailable(position, 8L * groupCount);
+        groupKinds = new byte[groupCount];
+        groupSizes = new int[groupCount];
+        wordsPerSolution = new int[groupCount];
+        groupDataOffsets = new long[groupCount];
+        for (int i = 0; i < groupCount; i++) {
+            long groupPosition = getLong(position);
+            position += 8;
+            requireAvailable(groupPosition, 5);
+            groupKinds[i] = getByte(groupPosition);
+            groupSizes[i] = getInt(groupPosition + 1);
+            if (groupSizes[i] < 0) {
+                throw new IOException("Invalid group size " + groupSizes[i]);
+            }
+            groupPosition += 5;
+            if (groupKinds[i] == BooleanAssignmentGroupsIndexedBinaryFormat.SOLUTION_GROUP) {
+                requireAvailable(groupPosition, 4);
+                wordsPerSolution[i] = getInt(groupPosition);
+                groupPosition += 4;
+                if (wordsPerSolution[i] != (2L * maxIndex + 63) >>> 6) {
+                    throw new IOException("Invalid number of words per solution " + wordsPerSolution[i]);
+                }
+                requireAvailable(groupPosition, 8L * wordsPerSolution[i] * groupSizes[i]);
+            } else if (groupKinds[i] == BooleanAssignmentGroupsIndexedBinaryFormat.MIXED_GROUP) {
+                requireAvailable(groupPosition, 8L * groupSizes[i]);
+            } else {
+                throw new IOException("Unknown group kind " + groupKinds[i]);
+            }
+            groupDataOffsets[i] = groupPosition;
+        }
+    }
+
+    public VariableMap getVariableMap() {
+        return variableMap;
+    }
+
+    public int getGroupCount() {
+        return groupSizes.length;
+    }
+
+    /**
+     * {@return a read-only view on the group with the given index}
+     *
+     * @param group the group index
+     */
+    public MappedBooleanAssignmentList getGroup(int group) {
+        return new MappedBooleanAssignmentList(variableMap, new GroupView(group));
+    }
+
+    /**
+     * {@return read-only views on all groups}
+     */
+    public BooleanAssignmentGroups getGroups() {
+        final List<BooleanAssignmentList> groups = new ArrayList<>(getGroupCount());
+        for (int i = 0; i < getGroupCount(); i++) {
+            groups.add(getGroup(i));
+        }
+        return new BooleanAssignmentGroups(variableMap, groups);
+    }
+
+    /**
+     * {@return a copy of all groups that resides in memory}
+     */
+    public BooleanAssignmentGroups load() {
+        final List<BooleanAssignmentList> groups = new ArrayList<>(getGroupCount());
+        for (int i = 0; i < getGroupCount(); i++) {
+            groups.add(getGroup(i).load());
+        }
+        return new BooleanAssignmentGroups(variableMap, groups);
+    }
+
+    /**
+     * {@return the assignment with the given index in the given group}
+     *
+     * @param group the group index
+     * @param index the assignment index
+     */
+    public BooleanAssignment getAssignment(int group, int index) {
+        if (index < 0 || index >= groupSizes[group]) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        if (groupKinds[group] == BooleanAssignmentGroupsIndexedBinaryFormat.SOLUTION_GROUP) {
+            final int words = wordsPerSolution[group];
+            final long position = groupDataOffsets[group] + ((long) index * words << 3);
+            final int[] literals = new int[maxIndex];
+            for (int w = 0; w < words; w++) {
+                final long word = getLong(position + (w << 3));
+                final int offset = w << 5;
+                final int end = Math.min(32, maxIndex - offset);
+                for (int k = 0; k < end; k++) {
+                    final int bits = (int) (word >>> (k << 1)) & 0b11;
+                    if ((bits & 0b01) != 0) {
+                        final int variable = offset + k + 1;
+                        literals[variable - 1] = (bits & 0b10) != 0 ? variable : -variable;
+                    }
+                }
+            }
+            return new BooleanSolution(literals, false);
+        } else {
+            long position = getLong(groupDataOffsets[group] + ((long) index << 3));
+            requireAvailable(position, 5);
+            final byte type = getByte(position);
+            final int literalCount = getInt(position + 1);
+            position += 5;
+            requireAvailable(position, 4L * literalCount);
+            final int[] literals = new int[literalCount];
+            for (int k = 0; k < literals.length; k++, position += 4) {
+                literals[k] = getInt(position);
+            }
+            switch (type) {
+                case BooleanAssignmentGroupsIndexedBinaryFormat.SOLUTION_TYPE:
+                    return new BooleanSolution(literals, false);
+                case BooleanAssignmentGroupsIndexedBinaryFormat.CLAUSE_TYPE:
+                    return new BooleanClause(literals, false);
+                default:
+                    return new BooleanAssignment(literals);
+            }
+        }
+    }
+
+    /**
+     * Checks that the given number of bytes can be read from the given position, such that no length read from a
+     * corrupt file causes a huge or negative allocation.
+     *
+     * @throws IndexOutOfBoundsException if the bytes are not available
+     */
+    private void requireAvailable(long position, long length) {
+        if (position < 0 || length < 0 || length > size() - position) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Cannot read %d bytes at position %d of %d", length, position, size()));
+        }
+    }
+
+    private long size() {
+        final ByteBuffer last = segments[segments.length - 1];
+        return ((long) (segments.length - 1) << SEGMENT_SHIFT) + last.limit();
+    }
+
+    private byte getByte(long position) {
+        return segments[(int) (position >>> SEGMENT_SHIFT)].get((int) (position & SEGMENT_MASK));
+    }
+
+    private int getInt(long position) {
+        final ByteBuffer segment = segments[(int) (position >>> SEGMENT_SHIFT)];
+        final int offset = (int) (position & SEGMENT_MASK);
+        if (offset + 4 <= segment.limit()) {
+            return segment.getInt(offset);
+        }
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            value = (value << 8) | (getByte(position + i) & 0xFF);
+        }
+        return value;
+    }
+
+    private long getLong(long position) {
+        final ByteBuffer segment = segments[(int) (position >>> SEGMENT_SHIFT)];
+        final int offset = (int) (position & SEGMENT_MASK);
+        if (offset + 8 <= segment.limit()) {
+            return segment.getLong(offset);
+        }
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (getByte(position + i) & 0xFF);
+        }
+        return value;
+    }
+}
@@ -23,6 +23,7 @@ package de.featjar.formula.io.dimacs;
 import de.featjar.base.data.Result;
 import de.featjar.base.io.format.IFormat;
 import de.featjar.base.io.format.ParseProblem;
+import de.featjar.base.io.input.AInput;
 import de.featjar.base.io.input.AInputMapper;
 import de.featjar.formula.VariableMap;
 import de.featjar.formula.assignment.BooleanAssignment;
@@ -80,10 +81,12 @@ public class BooleanAssignmentGroupsDimacsFormat implements IFormat<BooleanAssig
 
     @Override
     public Result<BooleanAssignmentGroups> parse(AInputMapper inputMapper) {
-        final BooleanAssignmentGroupsDimacsParser r = new BooleanAssignmentGroupsDimacsParser();
+        final BooleanAssignmentGroupsDimacsStreamParser r = new BooleanAssignmentGroupsDimacsStreamParser();
         r.setReadingVariableDirectory(true);
         try {
-            return Result.of(r.parse(inputMapper.get().getNonEmptyLineIterator()));
+            final AInput input = inputMapper.get();
+            r.setCharset(input.getCharset());
+            return Result.of(r.parse(input.getInputStream()));
         } catch (final ParseException e) {
             return Result.empty(new ParseProblem(e, e.getErrorOffset()));
         } catch (final Exception e) {
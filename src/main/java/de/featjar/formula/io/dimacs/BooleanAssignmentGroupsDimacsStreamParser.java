@@ -0,0 +1,438 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.io.dimacs;
+
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignmentGroups;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanClause;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.Arrays;
+
+/**
+ * Parses a CNF in DIMACS format directly from bytes into a {@link BooleanAssignmentList} of {@link BooleanClause clauses}.
+ * Accepts the same input as {@link BooleanAssignmentGroupsDimacsParser}, but reads from a buffered
+ * {@link InputStream} or {@link ReadableByteChannel} (e.g., a {@link java.nio.channels.FileChannel}) and
+ * parses literals without creating intermediate strings or formulas.
+ *
+ * @author Sebastian Krieter
+ */
+public class BooleanAssignmentGroupsDimacsStreamParser {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int EOF = -1;
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+    private InputStream inputStream;
+    private ReadableByteChannel channel;
+    private int position, limit;
+    private int lineCount;
+
+    private Charset charset = StandardCharsets.UTF_8;
+    private VariableMap indexVariables;
+    private boolean[] isKnownVariable;
+
+    /**
+     * The amount of variables as declared in the problem definition. May differ
+     * from the actual amount of found variables.
+     */
+    private int variableCount;
+    /** The amount of clauses in the problem. */
+    private int clauseCount;
+    /** True to read the variable directory for naming variables. */
+    private boolean readVariableDirectory = false;
+
+    /**
+     * Sets the reading variable directory flag. If true, the reader will look for a
+     * variable directory in the comments. Defaults to false.
+     *
+     * @param readVariableDirectory whether to read the variable directory
+     * @see BooleanAssignmentGroupsDimacsParser#setReadingVariableDirectory(boolean)
+     */
+    public void setReadingVariableDirectory(boolean readVariableDirectory) {
+        this.readVariableDirectory = readVariableDirectory;
+    }
+
+    /**
+     * Sets the charset used to decode variable names. Defaults to UTF-8.
+     *
+     * @param charset the charset
+     */
+    public void setCharset(Charset charset) {
+        this.charset = charset;
+    }
+
+    /**
+     * Reads the input from a stream. The stream is not closed.
+     *
+     * @param inputStream the source to read from
+     * @return a CNF; not null
+     * @throws IOException    if the reader encounters a problem.
+     * @throws ParseException if the input does not conform to the DIMACS CNF file
+     *                        format
+     */
+    public BooleanAssignmentGroups parse(InputStream inputStream) throws ParseException, IOException {
+        this.inputStream = inputStream;
+        this.channel = null;
+        return parse();
+    }
+
+    /**
+     * Reads the input from a channel. The channel is not closed.
+     *
+     * @param channel the source to read from
+     * @return a CNF; not null
+     * @throws IOException    if the reader encounters a problem.
+     * @throws ParseException if the input does not conform to the DIMACS CNF file
+     *                        format
+     */
+    public BooleanAssignmentGroups parse(ReadableByteChannel channel) throws ParseException, IOException {
+        this.inputStream = null;
+        this.channel = channel;
+        return parse();
+    }
+
+    private BooleanAssignmentGroups parse() throws ParseException, IOException {
+        position = 0;
+        limit = 0;
+        lineCount = 1;
+        indexVariables = new VariableMap();
+        isKnownVariable = new boolean[0];
+        variableCount = -1;
+        clauseCount = -1;
+        try {
+            readComments(readVariableDirectory);
+            readProblem();
+            readComments(readVariableDirectory);
+
+            if (readVariableDirectory) {
+                for (int i = 1; i <= variableCount; i++) {
+                    if (!indexVariables.has(i)) {
+                        indexVariables.add(i, getUniqueName(i));
+                    }
+                }
+            }
+
+            final BooleanAssignmentList clauses = readClauses();
+            final int actualVariableCount = indexVariables.getVariableCount();
+            if (variableCount != actualVariableCount) {
+                throw new ParseException(
+                        String.format("Found %d instead of %d variables", actualVariableCount, variableCount), 1);
+            }
+            return new BooleanAssignmentGroups(indexVariables, clauses);
+        } finally {
+            inputStream = null;
+            channel = null;
+            isKnownVariable = null;
+        }
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return EOF;
+        }
+        return buffer[position] & 0xFF;
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return EOF;
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    private boolean fill() throws IOException {
+        int count;
+        if (channel != null) {
+            byteBuffer.clear();
+            do {
+                count = channel.read(byteBuffer);
+            } while (count == 0);
+        } else {
+            do {
+                count = inputStream.read(buffer, 0, buffer.length);
+            } while (count == 0);
+        }
+        position = 0;
+        limit = Math.max(count, 0);
+        return count > 0;
+    }
+
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\t' || c == '\r' || c == '\n' || c == '\f' || c == 0x0B;
+    }
+
+    /**
+     * Skips whitespace (including line breaks).
+     *
+     * @return the next character
+     */
+    private int skipWhitespace() throws IOException {
+        int c = peek();
+        while (isWhitespace(c)) {
+            if (c == '\n') {
+                lineCount++;
+            }
+            position++;
+            c = peek();
+        }
+        return c;
+    }
+
+    /**
+     * Reads the remainder of the current line, excluding the line break.
+     */
+    private String readLine() throws IOException {
+        byte[] line = new byte[64];
+        int length = 0;
+        for (int c = read(); c != EOF && c != '\n'; c = read()) {
+            if (length == line.length) {
+                line = Arrays.copyOf(line, length << 1);
+            }
+            line[length++] = (byte) c;
+        }
+        lineCount++;
+        if (length > 0 && line[length - 1] == '\r') {
+            length--;
+        }
+        return new String(line, 0, length, charset);
+    }
+
+    private void skipLine() throws IOException {
+        for (int c = read(); c != EOF && c != '\n'; c = read()) {}
+        lineCount++;
+    }
+
+    private void readComments(boolean readingVariables) throws IOException {
+        while (skipWhitespace() == DimacsConstants.COMMENT.charAt(0)) {
+            position++;
+            if (readingVariables) {
+                String comment = readLine();
+                int start = 0;
+                while (start < comment.length() && Character.isWhitespace(comment.charAt(start))) {
+                    start++;
+                }
+                readVariableDirectoryEntry(comment.substring(start));
+            } else {
+                skipLine();
+            }
+        }
+    }
+
+    /**
+     * Reads the problem definition.
+     *
+     * @throws ParseException if the input does not conform to the DIMACS CNF file
+     *                        format
+     */
+    private void readProblem() throws ParseException, IOException {
+        if (skipWhitespace() != DimacsConstants.PROBLEM.charAt(0)) {
+            throw new ParseException("Invalid problem format", lineCount);
+        }
+        position++;
+        expectSpace();
+        for (int i = 0; i < DimacsConstants.CNF.length(); i++) {
+            if (read() != DimacsConstants.CNF.charAt(i)) {
+                throw new ParseException("Invalid problem format", lineCount);
+            }
+        }
+        expectSpace();
+        variableCount = readCount("Variable count is not an integer");
+        expectSpace();
+        clauseCount = readCount("Clause count is not an integer");
+    }
+
+    private void expectSpace() throws ParseException, IOException {
+        int c = peek();
+        if (c != ' ' && c != '\t') {
+            throw new ParseException("Invalid problem format", lineCount);
+        }
+        while (c == ' ' || c == '\t') {
+            position++;
+            c = peek();
+        }
+    }
+
+    private int readCount(String message) throws ParseException, IOException {
+        long value = 0;
+        int digits = 0;
+        for (int c = peek(); '0' <= c && c <= '9'; c = peek()) {
+            value = value * 10 + (c - '0');
+            if (value > Integer.MAX_VALUE) {
+                throw new ParseException(message, lineCount);
+            }
+            digits++;
+            position++;
+        }
+        if (digits == 0) {
+            throw new ParseException("Invalid problem format", lineCount);
+        }
+        int c = peek();
+        if (c != EOF && !isWhitespace(c)) {
+            throw new ParseException(message, lineCount);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Reads all clauses.
+     *
+     * @return all clauses; not null
+     * @throws ParseException if the input does not conform to the DIMACS CNF file
+     *                        format
+     */
+    private BooleanAssignmentList readClauses() throws ParseException, IOException {
+        final BooleanAssignmentList clauses = new BooleanAssignmentList(indexVariables, clauseCount);
+        int[] literals = new int[16];
+        int literalCount = 0;
+        boolean isLineStart = true;
+        while (true) {
+            int c = read();
+            if (c == EOF) {
+                break;
+            } else if (c == '\n') {
+                lineCount++;
+                isLineStart = true;
+                continue;
+            } else if (isWhitespace(c)) {
+                continue;
+            } else if (isLineStart && c == DimacsConstants.COMMENT.charAt(0)) {
+                skipLine();
+                continue;
+            }
+            isLineStart = false;
+
+            boolean isNegative = c == '-';
+            if (isNegative) {
+                c = read();
+            }
+            long value = 0;
+            int digits = 0;
+            while ('0' <= c && c <= '9') {
+                value = value * 10 + (c - '0');
+                if (value > Integer.MAX_VALUE) {
+                    throw new ParseException("Illegal literal", lineCount);
+                }
+                digits++;
+                c = peek();
+                if ('0' <= c && c <= '9') {
+                    position++;
+                }
+            }
+            if (digits == 0 || (c != EOF && !isWhitespace(c))) {
+                throw new ParseException("Illegal literal", lineCount);
+            }
+
+            if (value == 0) {
+                if (isNegative) {
+                    throw new ParseException("Illegal literal", lineCount);
+                }
+                addClause(clauses, literals, literalCount);
+                literalCount = 0;
+            } else {
+                final int variable = (int) value;
+                registerVariable(variable);
+                if (literalCount == literals.length) {
+                    literals = Arrays.copyOf(literals, literalCount << 1);
+                }
+                literals[literalCount++] = isNegative ? -variable : variable;
+            }
+        }
+        if (literalCount > 0) {
+            addClause(clauses, literals, literalCount);
+        }
+        if (clauses.size() < clauseCount) {
+            throw new ParseException(String.format("Found %d instead of %d clauses", clauses.size(), clauseCount), 1);
+        }
+        return clauses;
+    }
+
+    private void addClause(BooleanAssignmentList clauses, int[] literals, int literalCount) throws ParseException {
+        if (clauses.size() == clauseCount) {
+            throw new ParseException(String.format("Found more than %d clauses", clauseCount), 1);
+        }
+        clauses.add(new BooleanClause(Arrays.copyOf(literals, literalCount)));
+    }
+
+    private void registerVariable(int variable) throws ParseException {
+        if (variable > variableCount) {
+            throw new ParseException(
+                    String.format("Variable %d exceeds variable count %d", variable, variableCount), lineCount);
+        }
+        final int index = variable - 1;
+        if (index >= isKnownVariable.length) {
+            isKnownVariable = Arrays.copyOf(
+                    isKnownVariable,
+                    (int) Math.min(Math.max(variable, (long) isKnownVariable.length << 1), variableCount));
+        }
+        if (!isKnownVariable[index]) {
+            isKnownVariable[index] = true;
+            if (!indexVariables.has(variable)) {
+                indexVariables.add(variable, getUniqueName(variable));
+            }
+        }
+    }
+
+    private String getUniqueName(int i) {
+        String indexName = Integer.toString(i);
+        String name = indexName;
+        int suffix = 2;
+        while (indexVariables.has(name)) {
+            name = indexName + "_" + suffix;
+            suffix++;
+        }
+        return name;
+    }
+
+    /**
+     * Reads an entry of the variable directory.
+     *
+     * @param comment variable directory entry
+     * @return true if an entry was found
+     */
+    private boolean readVariableDirectoryEntry(String comment) {
+        final int firstSeparator = comment.indexOf(' ');
+        if (firstSeparator <= 0) {
+            return false;
+        }
+        final int index;
+        try {
+            index = Integer.parseInt(comment.substring(0, firstSeparator));
+        } catch (final NumberFormatException e) {
+            return false;
+        }
+        if (comment.length() < (firstSeparator + 2)) {
+            return false;
+        }
+        final String variable = comment.substring(firstSeparator + 1);
+        if (!indexVariables.has(index)) {
+            indexVariables.add(index, variable);
+        }
+        return true;
+    }
+}
@@ -22,12 +22,16 @@ package de.featjar.formula.io.dimacs;
 
 import de.featjar.base.data.Result;
 import de.featjar.base.io.format.IFormat;
+import de.featjar.base.io.format.ParseProblem;
+import de.featjar.base.io.input.AInput;
+import de.featjar.base.io.input.AInputMapper;
 import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.text.ParseException;
 import java.util.Objects;
 
 /**
- * Serializes a {@link BooleanAssignmentList} to a String in DIMACS format.
+ * Serializes a {@link BooleanAssignmentList} to a String in DIMACS format and parses it back.
  *
  * @author Sebastian Krieter
  */
@@ -62,11 +66,31 @@ public class CnfDimacsFormat implements IFormat<BooleanAssignmentList> {
         return Result.of(sb.toString());
     }
 
+    @Override
+    public Result<BooleanAssignmentList> parse(AInputMapper inputMapper) {
+        final BooleanAssignmentGroupsDimacsStreamParser r = new BooleanAssignmentGroupsDimacsStreamParser();
+        r.setReadingVariableDirectory(true);
+        try {
+            final AInput input = inputMapper.get();
+            r.setCharset(input.getCharset());
+            return Result.of(r.parse(input.getInputStream()).getFirstGroup());
+        } catch (final ParseException e) {
+            return Result.empty(new ParseProblem(e, e.getErrorOffset()));
+        } catch (final Exception e) {
+            return Result.empty(e);
+        }
+    }
+
     @Override
     public boolean supportsSerialize() {
         return true;
     }
 
+    @Override
+    public boolean supportsParse() {
+        return true;
+    }
+
     @Override
     public String getName() {
         return "DIMACS";
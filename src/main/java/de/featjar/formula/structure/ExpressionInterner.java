@@ -0,0 +1,239 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.structure;
+
+import de.featjar.formula.structure.connective.And;
+import de.featjar.formula.structure.connective.BiImplies;
+import de.featjar.formula.structure.connective.Implies;
+import de.featjar.formula.structure.connective.Not;
+import de.featjar.formula.structure.connective.Or;
+import de.featjar.formula.structure.predicate.Literal;
+import de.featjar.formula.structure.term.value.Variable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Interns expressions, such that structurally equal subtrees are represented by the same instance.
+ * Thus, a set of interned expressions forms a directed acyclic graph in which each distinct subtree exists only once.
+ * Two interned expressions are equal iff they are identical, which makes comparing them an O(1) operation.
+ * Interning a node only compares its {@link IExpression#equalsNode(IExpression) node data} and the identities of its (already interned) children,
+ * so each node is hashed at most once per interner.
+ * Does not modify its input, but may reuse nodes of its input that are already canonical.
+ * Interned expressions are shared and therefore must not be modified afterwards (e.g., use {@link IExpression#cloneTree()} before mutating them).
+ *
+ * @author Sebastian Krieter
+ */
+public class ExpressionInterner {
+
+    private static final class Key {
+        private final IExpression expression;
+        private final IExpression[] children;
+        private final int hashCode;
+
+        private Key(IExpression expression, IExpression[] children) {
+            this.expression = expression;
+            this.children = children;
+            int hashCode = expression.hashCodeNode();
+            for (IExpression child : children) {
+                hashCode = 31 * hashCode + System.identityHashCode(child);
+            }
+            this.hashCode = hashCode;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            Key other = (Key) obj;
+            if (hashCode != other.hashCode || children.length != other.children.length) {
+                return false;
+            }
+            for (int i = 0; i < children.length; i++) {
+                if (children[i] != other.children[i]) {
+                    return false;
+                }
+            }
+            return expression.equalsNode(other.expression);
+        }
+    }
+
+    private final HashMap<Key, IExpression> canonicalExpressions = new HashMap<>();
+    private final IdentityHashMap<IExpression, IExpression> internedExpressions = new IdentityHashMap<>();
+
+    /**
+     * {@return the canonical instance of the given expression}
+     * The returned expression is equal to the given expression.
+     *
+     * @param <T> the type of the expression
+     * @param expression the expression
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends IExpression> T intern(T expression) {
+        IExpression internedExpression = internedExpressions.get(expression);
+        if (internedExpression == null) {
+            internedExpression = internNode(expression);
+            internedExpressions.put(expression, internedExpression);
+            internedExpressions.put(internedExpression, internedExpression);
+        }
+        return (T) internedExpression;
+    }
+
+    private IExpression internNode(IExpression expression) {
+        List<? extends IExpression> children = expression.getChildren();
+        IExpression[] internedChildren = new IExpression[children.size()];
+        boolean isCanonical = true;
+        for (int i = 0; i < internedChildren.length; i++) {
+            IExpression child = children.get(i);
+            IExpression internedChild = intern(child);
+            internedChildren[i] = internedChild;
+            isCanonical &= internedChild == child;
+        }
+        IExpression canonicalExpression = canonicalExpressions.get(new Key(expression, internedChildren));
+        if (canonicalExpression == null) {
+            if (isCanonical) {
+                canonicalExpression = expression;
+            } else {
+                canonicalExpression = (IExpression) expression.cloneNode();
+                canonicalExpression.setChildren(Arrays.asList(internedChildren));
+            }
+            canonicalExpressions.put(new Key(canonicalExpression, internedChildren), canonicalExpression);
+        }
+        return canonicalExpression;
+    }
+
+    /**
+     * {@return whether the given expression is the canonical instance of its equivalence class in this interner}
+     *
+     * @param expression the expression
+     */
+    public boolean isInterned(IExpression expression) {
+        return internedExpressions.get(expression) == expression;
+    }
+
+    /**
+     * {@return the number of distinct subtrees in this interner}
+     */
+    public int size() {
+        return canonicalExpressions.size();
+    }
+
+    /**
+     * Removes all interned expressions.
+     */
+    public void clear() {
+        canonicalExpressions.clear();
+        internedExpressions.clear();
+    }
+
+    /**
+     * {@return the canonical variable with the given name}
+     *
+     * @param name the name
+     */
+    public Variable variable(String name) {
+        return intern(new Variable(name));
+    }
+
+    /**
+     * {@return the canonical positive literal of the variable with the given name}
+     *
+     * @param name the variable name
+     */
+    public Literal literal(String name) {
+        return literal(true, name);
+    }
+
+    /**
+     * {@return the canonical literal of the variable with the given name}
+     *
+     * @param isPositive whether the literal is positive
+     * @param name the variable name
+     */
+    public Literal literal(boolean isPositive, String name) {
+        return intern(new Literal(isPositive, variable(name)));
+    }
+
+    /**
+     * {@return the canonical conjunction of the given formulas}
+     *
+     * @param formulas the formulas
+     */
+    public And and(IFormula... formulas) {
+        return intern(new And(internAll(formulas)));
+    }
+
+    /**
+     * {@return the canonical disjunction of the given formulas}
+     *
+     * @param formulas the formulas
+     */
+    public Or or(IFormula... formulas) {
+        return intern(new Or(internAll(formulas)));
+    }
+
+    /**
+     * {@return the canonical negation of the given formula}
+     *
+     * @param formula the formula
+     */
+    public Not not(IFormula formula) {
+        return intern(new Not(intern(formula)));
+    }
+
+    /**
+     * {@return the canonical implication of the given formulas}
+     *
+     * @param leftFormula the left formula
+     * @param rightFormula the right formula
+     */
+    public Implies implies(IFormula leftFormula, IFormula rightFormula) {
+        return intern(new Implies(intern(leftFormula), intern(rightFormula)));
+    }
+
+    /**
+     * {@return the canonical bi-implication of the given formulas}
+     *
+     * @param leftFormula the left formula
+     * @param rightFormula the right formula
+     */
+    public BiImplies biImplies(IFormula leftFormula, IFormula rightFormula) {
+        return intern(new BiImplies(intern(leftFormula), intern(rightFormula)));
+    }
+
+    private IFormula[] internAll(IFormula[] formulas) {
+        IFormula[] internedFormulas = new IFormula[formulas.length];
+        for (int i = 0; i < formulas.length; i++) {
+            internedFormulas[i] = intern(formulas[i]);
+        }
+        return internedFormulas;
+    }
+}
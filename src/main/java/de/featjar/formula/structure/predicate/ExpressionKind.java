@@ -49,6 +49,13 @@ public interface ExpressionKind extends Predicate<IExpression> {
      */
     ExpressionKind NNF = of("NNF", Variable.class, Literal.class, And.class, Or.class);
 
+    /**
+     * Represents Boolean expressions in negation normal form that may additionally contain cardinality constraints.
+     * Negations are only allowed in front of variables, but {@link AtLeast}, {@link AtMost}, {@link Between},
+     * and {@link Choose} are not expanded.
+     */
+    ExpressionKind CARDINAL_NNF = extend("cardinal NNF", NNF, AtLeast.class, AtMost.class, Between.class, Choose.class);
+
     /**
      * Represents arbitrary Boolean expressions.
      * These can usually be simplified to strict negation normal form.
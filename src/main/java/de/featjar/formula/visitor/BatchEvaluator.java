@@ -0,0 +1,252 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.visitor;
+
+import de.featjar.base.data.Result;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.structure.IFormula;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Evaluates a propositional formula on many Boolean assignments at once.
+ * The formula is compiled once into a {@link FormulaProgram}, which is then executed on 64 assignments at a time.
+ * Each value on the program's stack is a pair of bit masks, one containing the assignments for which a
+ * subformula evaluates to {@code true} and one containing those for which it evaluates to {@code false}.
+ * Thus, unassigned variables are handled like in {@link Evaluator}, using three-valued logic.
+ *
+ * @author Sebastian Krieter
+ */
+public class BatchEvaluator {
+
+    /**
+     * {@return an evaluator for the given formula}
+     * Fails if the formula contains other than propositional expressions.
+     *
+     * @param formula the formula
+     */
+    public static Result<BatchEvaluator> compile(IFormula formula) {
+        return FormulaProgram.compile(formula, VariableMap.of(formula)).map(BatchEvaluator::new);
+    }
+
+    private final FormulaProgram program;
+
+    /**
+     * Creates an evaluator for the given program.
+     * Assignments are evaluated with respect to the variable map of the program.
+     *
+     * @param program the program
+     */
+    public BatchEvaluator(FormulaProgram program) {
+        this.program = program;
+    }
+
+    /**
+     * {@return the indices of all assignments in the given list that satisfy the formula}
+     *
+     * @param assignmentList the assignment list
+     */
+    public BitSet evaluate(BooleanAssignmentList assignmentList) {
+        return evaluate(assignmentList.getAll(), assignmentList.getVariableMap(), true);
+    }
+
+    /**
+     * {@return the indices of all assignments in the given list that satisfy or violate the formula}
+     * Assignments for which the formula evaluates to neither {@code true} nor {@code false}
+     * (because of unassigned variables) are never contained in the result.
+     *
+     * @param assignments the assignments
+     * @param variableMap the variable map for the assignments
+     * @param value whether to return satisfying ({@code true}) or violating ({@code false}) assignments
+     */
+    public BitSet evaluate(List<? extends BooleanAssignment> assignments, VariableMap variableMap, boolean value) {
+        // maps variables of the assignments to variables of the program
+        int[] columnIndex = new int[Math.max(variableMap.maxIndex(), 0) + 1];
+        VariableMap programVariableMap = program.variableMap;
+        for (String name : programVariableMap.getVariableNames()) {
+            int variable = variableMap.get(name).orElse(0);
+            if (0 < variable && variable < columnIndex.length) {
+                columnIndex[variable] = programVariableMap.get(name).get();
+            }
+        }
+
+        final int columnCount = Math.max(programVariableMap.maxIndex(), 0) + 1;
+        final long[] trueColumns = new long[columnCount];
+        final long[] falseColumns = new long[columnCount];
+        final long[] trueStack = new long[program.maximumStackSize];
+        final long[] falseStack = new long[program.maximumStackSize];
+        final long[] atLeastTrue = new long[program.maximumCardinalSize + 1];
+        final long[] atLeastPossible = new long[program.maximumCardinalSize + 1];
+
+        final int size = assignments.size();
+        final long[] words = new long[(size + 63) >>> 6];
+        for (int wordIndex = 0; wordIndex < words.length; wordIndex++) {
+            Arrays.fill(trueColumns, 0L);
+            Arrays.fill(falseColumns, 0L);
+            final int offset = wordIndex << 6;
+            final int blockSize = Math.min(64, size - offset);
+            for (int i = 0; i < blockSize; i++) {
+                final long bit = 1L << i;
+                for (int literal : assignments.get(offset + i).get()) {
+                    final int variable = Math.abs(literal);
+                    if (variable < columnIndex.length) {
+                        final int column = columnIndex[variable];
+                        if (column > 0) {
+                            if (literal > 0) {
+                                trueColumns[column] |= bit;
+                            } else {
+                                falseColumns[column] |= bit;
+                            }
+                        }
+                    }
+                }
+            }
+            execute(trueColumns, falseColumns, trueStack, falseStack, atLeastTrue, atLeastPossible);
+            final long mask = blockSize == 64 ? -1L : (1L << blockSize) - 1;
+            words[wordIndex] = (value ? trueStack[0] : falseStack[0]) & mask;
+        }
+        return BitSet.valueOf(words);
+    }
+
+    private void execute(
+            long[] trueColumns,
+            long[] falseColumns,
+            long[] trueStack,
+            long[] falseStack,
+            long[] atLeastTrue,
+            long[] atLeastPossible) {
+        final int[] program = this.program.program;
+        int top = -1;
+        int pc = 0;
+        while (pc < program.length) {
+            switch (program[pc++]) {
+                case FormulaProgram.TRUE:
+                    top++;
+                    trueStack[top] = -1L;
+                    falseStack[top] = 0L;
+                    break;
+                case FormulaProgram.FALSE:
+                    top++;
+                    trueStack[top] = 0L;
+                    falseStack[top] = -1L;
+                    break;
+                case FormulaProgram.UNKNOWN:
+                    top++;
+                    trueStack[top] = 0L;
+                    falseStack[top] = 0L;
+                    break;
+                case FormulaProgram.LITERAL: {
+                    final int literal = program[pc++];
+                    final int column = Math.abs(literal);
+                    top++;
+                    if (literal < 0) {
+                        trueStack[top] = falseColumns[column];
+                        falseStack[top] = trueColumns[column];
+                    } else {
+                        trueStack[top] = trueColumns[column];
+                        falseStack[top] = falseColumns[column];
+                    }
+                    break;
+                }
+                case FormulaProgram.NOT: {
+                    final long t = trueStack[top];
+                    trueStack[top] = falseStack[top];
+                    falseStack[top] = t;
+                    break;
+                }
+                case FormulaProgram.AND: {
+                    final int count = program[pc++];
+                    long t = -1L, f = 0L;
+                    for (int i = top - count + 1; i <= top; i++) {
+                        t &= trueStack[i];
+                        f |= falseStack[i];
+                    }
+                    top -= count - 1;
+                    trueStack[top] = t;
+                    falseStack[top] = f;
+                    break;
+                }
+                case FormulaProgram.OR: {
+                    final int count = program[pc++];
+                    long t = 0L, f = -1L;
+                    for (int i = top - count + 1; i <= top; i++) {
+                        t |= trueStack[i];
+                        f &= falseStack[i];
+                    }
+                    top -= count - 1;
+                    trueStack[top] = t;
+                    falseStack[top] = f;
+                    break;
+                }
+                case FormulaProgram.IMPLIES: {
+                    top--;
+                    final long t = falseStack[top] | trueStack[top + 1];
+                    final long f = trueStack[top] & falseStack[top + 1];
+                    trueStack[top] = t;
+                    falseStack[top] = f;
+                    break;
+                }
+                case FormulaProgram.BI_IMPLIES: {
+                    top--;
+                    final long t = (trueStack[top] & trueStack[top + 1]) | (falseStack[top] & falseStack[top + 1]);
+                    final long f = (trueStack[top] & falseStack[top + 1]) | (falseStack[top] & trueStack[top + 1]);
+                    trueStack[top] = t;
+                    falseStack[top] = f;
+                    break;
+                }
+                case FormulaProgram.CARDINAL: {
+                    final int count = program[pc++];
+                    final int lowerBound = program[pc++];
+                    final int upperBound = program[pc++];
+                    // atLeastTrue[j] (atLeastPossible[j]) contains all assignments for which at least j children
+                    // evaluate to true (do not evaluate to false)
+                    atLeastTrue[0] = -1L;
+                    atLeastPossible[0] = -1L;
+                    Arrays.fill(atLeastTrue, 1, count + 1, 0L);
+                    Arrays.fill(atLeastPossible, 1, count + 1, 0L);
+                    for (int i = top - count + 1; i <= top; i++) {
+                        final long t = trueStack[i];
+                        final long p = ~falseStack[i];
+                        for (int j = i - top + count; j > 0; j--) {
+                            atLeastTrue[j] |= atLeastTrue[j - 1] & t;
+                            atLeastPossible[j] |= atLeastPossible[j - 1] & p;
+                        }
+                    }
+                    long t = lowerBound <= count ? atLeastTrue[lowerBound] : 0L;
+                    long f = lowerBound <= count ? ~atLeastPossible[lowerBound] : -1L;
+                    if (upperBound >= 0 && upperBound < count) {
+                        t &= ~atLeastPossible[upperBound + 1];
+                        f |= atLeastTrue[upperBound + 1];
+                    }
+                    top -= count - 1;
+                    trueStack[top] = t;
+                    falseStack[top] = f;
+                    break;
+                }
+                default:
+                    throw new IllegalStateException(String.valueOf(program[pc - 1]));
+            }
+        }
+    }
+}
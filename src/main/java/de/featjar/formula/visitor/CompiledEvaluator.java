@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.visitor;
+
+import de.featjar.base.data.Result;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanSolution;
+import de.featjar.formula.structure.IFormula;
+
+/**
+ * Evaluates a {@link FormulaProgram} on Boolean solutions without allocating memory.
+ * Values are represented as {@code 1} ({@code true}), {@code -1} ({@code false}), and {@code 0} (unknown),
+ * so that results agree with the three-valued semantics of {@link Evaluator}.
+ * An evaluator reuses its stack and is thus not thread-safe; use one evaluator per thread instead.
+ *
+ * @author Sebastian Krieter
+ */
+public class CompiledEvaluator {
+
+    private final int[] program;
+    private final int[] stack;
+    private int defaultValue;
+
+    /**
+     * Creates an evaluator for the given formula.
+     *
+     * @param formula the formula
+     * @param variableMap the variable map of the solutions to evaluate
+     * @return the evaluator, or an empty result if the formula is not propositional
+     */
+    public static Result<CompiledEvaluator> of(IFormula formula, VariableMap variableMap) {
+        return FormulaProgram.compile(formula, variableMap).map(CompiledEvaluator::new);
+    }
+
+    /**
+     * Creates an evaluator for the given program.
+     * The program is shared, whereas the stack is allocated once per evaluator.
+     * Unassigned variables are initially unknown (see {@link #setDefaultBooleanValue(Boolean)}).
+     *
+     * @param program the program
+     */
+    public CompiledEvaluator(FormulaProgram program) {
+        this.program = program.program;
+        stack = new int[program.maximumStackSize];
+    }
+
+    /**
+     * {@return the value of variables that are not assigned by an evaluated solution}
+     * That is, {@code null} if such variables are unknown.
+     */
+    public Boolean getDefaultBooleanValue() {
+        return defaultValue == 0 ? null : defaultValue > 0;
+    }
+
+    /**
+     * Sets the value of variables that are not assigned by an evaluated solution.
+     *
+     * @param defaultBooleanValue the default value, {@code null} if such variables are unknown
+     */
+    public void setDefaultBooleanValue(Boolean defaultBooleanValue) {
+        defaultValue = defaultBooleanValue == null ? 0 : defaultBooleanValue ? 1 : -1;
+    }
+
+    /**
+     * {@return the evaluation of the program on the given solution}
+     * That is, {@link Boolean#TRUE}, {@link Boolean#FALSE}, or {@code null} if the result is unknown.
+     *
+     * @param solution the solution, indexed by the variable map of the program
+     */
+    public Boolean evaluate(BooleanSolution solution) {
+        final int value = evaluate(solution.get());
+        return value == 0 ? null : value > 0;
+    }
+
+    /**
+     * {@return the evaluation of the program on the given solution}
+     * That is, {@code 1} for true, {@code -1} for false, or {@code 0} if the result is unknown.
+     *
+     * @param solution the literals of a solution, where {@code solution[i - 1]} is either {@code i}, {@code -i}, or
+     *                 {@code 0}
+     */
+    public int evaluate(int[] solution) {
+        final int[] program = this.program;
+        final int[] stack = this.stack;
+        int top = -1;
+        int pc = 0;
+        while (pc < program.length) {
+            switch (program[pc++]) {
+                case FormulaProgram.TRUE:
+                    stack[++top] = 1;
+                    break;
+                case FormulaProgram.FALSE:
+                    stack[++top] = -1;
+                    break;
+                case FormulaProgram.UNKNOWN:
+                    stack[++top] = 0;
+                    break;
+                case FormulaProgram.LITERAL: {
+                    final int literal = program[pc++];
+                    final int variable = Math.abs(literal);
+                    int value = variable != 0 && variable <= solution.length ? solution[variable - 1] : 0;
+                    value = value == 0 ? defaultValue : value > 0 ? 1 : -1;
+                    stack[++top] = literal < 0 ? -value : value;
+                    break;
+                }
+                case FormulaProgram.NOT:
+                    stack[top] = -stack[top];
+                    break;
+                case FormulaProgram.AND: {
+                    final int count = program[pc++];
+                    int value = 1;
+                    for (int i = top - count + 1; i <= top; i++) {
+                        value = Math.min(value, stack[i]);
+                    }
+                    top -= count - 1;
+                    stack[top] = value;
+                    break;
+                }
+                case FormulaProgram.OR: {
+                    final int count = program[pc++];
+                    int value = -1;
+                    for (int i = top - count + 1; i <= top; i++) {
+                        value = Math.max(value, stack[i]);
+                    }
+                    top -= count - 1;
+                    stack[top] = value;
+                    break;
+                }
+                case FormulaProgram.IMPLIES:
+                    top--;
+                    stack[top] = Math.max(-stack[top], stack[top + 1]);
+                    break;
+                case FormulaProgram.BI_IMPLIES:
+                    top--;
+                    stack[top] = stack[top] * stack[top + 1];
+                    break;
+                case FormulaProgram.CARDINAL: {
+                    final int count = program[pc++];
+                    final int lowerBound = program[pc++];
+                    final int upperBound = program[pc++];
+                    int trueCount = 0;
+                    int unknownCount = 0;
+                    for (int i = top - count + 1; i <= top; i++) {
+                        if (stack[i] > 0) {
+                            trueCount++;
+                        } else if (stack[i] == 0) {
+                            unknownCount++;
+                        }
+                    }
+                    top -= count - 1;
+                    if (trueCount + unknownCount < lowerBound || (upperBound >= 0 && trueCount > upperBound)) {
+                        stack[top] = -1;
+                    } else if (trueCount >= lowerBound && (upperBound < 0 || trueCount + unknownCount <= upperBound)) {
+                        stack[top] = 1;
+                    } else {
+                        stack[top] = 0;
+                    }
+                    break;
+                }
+                default:
+                    throw new IllegalStateException(String.valueOf(program[pc - 1]));
+            }
+        }
+        return stack[0];
+    }
+}
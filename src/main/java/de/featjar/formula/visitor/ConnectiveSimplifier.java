@@ -115,7 +115,7 @@ public class ConnectiveSimplifier implements ITreeVisitor<IFormula, Void> {
         return newFormula;
     }
 
-    private void atMostOneRec(List<? extends IFormula> elements, List<IFormula> groupedElements) {
+    private static void atMostOneRec(List<? extends IFormula> elements, List<IFormula> groupedElements) {
         final int n = elements.size();
         if (n > 1) {
             int half = n / 2;
@@ -127,7 +127,13 @@ public class ConnectiveSimplifier implements ITreeVisitor<IFormula, Void> {
         }
     }
 
-    private List<IFormula> atMostK(List<? extends IFormula> elements, int k) {
+    /**
+     * {@return clauses that are satisfied iff at most k of the given elements are satisfied}
+     *
+     * @param elements the elements
+     * @param k the maximum
+     */
+    public static List<IFormula> atMostK(List<? extends IFormula> elements, int k) {
         final int n = elements.size();
 
         // return tautology
@@ -150,7 +156,13 @@ public class ConnectiveSimplifier implements ITreeVisitor<IFormula, Void> {
         }
     }
 
-    private List<IFormula> atLeastK(List<? extends IFormula> elements, int k) {
+    /**
+     * {@return clauses that are satisfied iff at least k of the given elements are satisfied}
+     *
+     * @param elements the elements
+     * @param k the minimum
+     */
+    public static List<IFormula> atLeastK(List<? extends IFormula> elements, int k) {
         final int n = elements.size();
 
         // return tautology
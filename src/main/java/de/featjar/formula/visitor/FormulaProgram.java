@@ -0,0 +1,231 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.visitor;
+
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Range;
+import de.featjar.base.data.Result;
+import de.featjar.base.tree.visitor.ITreeVisitor;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.structure.IExpression;
+import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.structure.connective.ACardinal;
+import de.featjar.formula.structure.connective.And;
+import de.featjar.formula.structure.connective.BiImplies;
+import de.featjar.formula.structure.connective.Implies;
+import de.featjar.formula.structure.connective.Not;
+import de.featjar.formula.structure.connective.Or;
+import de.featjar.formula.structure.connective.Reference;
+import de.featjar.formula.structure.predicate.False;
+import de.featjar.formula.structure.predicate.Literal;
+import de.featjar.formula.structure.predicate.True;
+import de.featjar.formula.structure.term.value.Constant;
+import de.featjar.formula.structure.term.value.Variable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A propositional formula compiled into a flat postfix program.
+ * Each instruction consists of an opcode followed by its operands.
+ * Variables are referenced by their index in a {@link VariableMap} and pushed as literals;
+ * that is, a negative operand pushes the negated value of the variable.
+ * Operand {@code 0} refers to a variable that is not contained in the variable map.
+ * Programs are immutable and can be shared by several evaluators (e.g., {@link CompiledEvaluator}).
+ *
+ * @author Sebastian Krieter
+ */
+public final class FormulaProgram {
+
+    /** Pushes {@code true}. */
+    static final int TRUE = 0;
+    /** Pushes {@code false}. */
+    static final int FALSE = 1;
+    /** Pushes an unknown value. */
+    static final int UNKNOWN = 2;
+    /** Pushes the value of a literal, given as operand. */
+    static final int LITERAL = 3;
+    /** Negates the topmost value. */
+    static final int NOT = 4;
+    /** Replaces the topmost {@code n} values with their conjunction, given {@code n} as operand. */
+    static final int AND = 5;
+    /** Replaces the topmost {@code n} values with their disjunction, given {@code n} as operand. */
+    static final int OR = 6;
+    /** Replaces the topmost two values with their implication. */
+    static final int IMPLIES = 7;
+    /** Replaces the topmost two values with their bi-implication. */
+    static final int BI_IMPLIES = 8;
+    /**
+     * Replaces the topmost {@code n} values with a cardinality constraint,
+     * given {@code n}, a lower bound, and an upper bound (negative if open) as operands.
+     */
+    static final int CARDINAL = 9;
+
+    private static class Compiler implements ITreeVisitor<IExpression, FormulaProgram> {
+        private final VariableMap variableMap;
+        private final List<Integer> program = new ArrayList<>();
+        private int stackSize, maximumStackSize, maximumCardinalSize;
+
+        private Compiler(VariableMap variableMap) {
+            this.variableMap = variableMap;
+        }
+
+        @Override
+        public TraversalAction firstVisit(List<IExpression> path) {
+            final IExpression expression = ITreeVisitor.getCurrentNode(path);
+            if (expression instanceof Literal
+                    || expression instanceof Variable
+                    || expression instanceof Constant
+                    || expression instanceof True
+                    || expression instanceof False
+                    || expression instanceof Reference
+                    || expression instanceof Not
+                    || expression instanceof And
+                    || expression instanceof Or
+                    || expression instanceof Implies
+                    || expression instanceof BiImplies
+                    || expression instanceof ACardinal) {
+                return TraversalAction.CONTINUE;
+            } else {
+                return TraversalAction.FAIL;
+            }
+        }
+
+        @Override
+        public TraversalAction lastVisit(List<IExpression> path) {
+            final IExpression expression = ITreeVisitor.getCurrentNode(path);
+            if (expression instanceof Variable) {
+                if (expression.getType() != Boolean.class) {
+                    return TraversalAction.FAIL;
+                }
+                push(LITERAL, variableMap.get(((Variable) expression).getName()).orElse(0));
+            } else if (expression instanceof Constant) {
+                Object value = ((Constant) expression).getValue();
+                if (value == null) {
+                    push(UNKNOWN);
+                } else if (value instanceof Boolean) {
+                    push((Boolean) value ? TRUE : FALSE);
+                } else {
+                    return TraversalAction.FAIL;
+                }
+            } else if (expression instanceof True) {
+                push(TRUE);
+            } else if (expression instanceof False) {
+                push(FALSE);
+            } else if (expression instanceof Literal) {
+                if (!((Literal) expression).isPositive()) {
+                    int last = program.size() - 1;
+                    if (((Literal) expression).getExpression() instanceof Variable && program.get(last) != 0) {
+                        program.set(last, -program.get(last));
+                    } else {
+                        program.add(NOT);
+                    }
+                }
+            } else if (expression instanceof Not) {
+                program.add(NOT);
+            } else if (expression instanceof And) {
+                reduce(expression.getChildrenCount(), AND, expression.getChildrenCount());
+            } else if (expression instanceof Or) {
+                reduce(expression.getChildrenCount(), OR, expression.getChildrenCount());
+            } else if (expression instanceof Implies) {
+                reduce(2, IMPLIES);
+            } else if (expression instanceof BiImplies) {
+                reduce(2, BI_IMPLIES);
+            } else if (expression instanceof ACardinal) {
+                Range range = ((ACardinal) expression).getRange();
+                int childrenCount = expression.getChildrenCount();
+                int lowerBound = range.getLowerBound() == Range.OPEN ? 0 : range.getLowerBound();
+                int upperBound = range.getUpperBound();
+                reduce(childrenCount, CARDINAL, childrenCount, lowerBound, upperBound);
+                maximumCardinalSize = Math.max(maximumCardinalSize, childrenCount);
+            }
+            return TraversalAction.CONTINUE;
+        }
+
+        private void push(int... instruction) {
+            for (int value : instruction) {
+                program.add(value);
+            }
+            maximumStackSize = Math.max(maximumStackSize, ++stackSize);
+        }
+
+        private void reduce(int operandCount, int... instruction) {
+            stackSize -= operandCount;
+            push(instruction);
+        }
+
+        @Override
+        public void reset() {
+            program.clear();
+            stackSize = 0;
+            maximumStackSize = 0;
+            maximumCardinalSize = 0;
+        }
+
+        @Override
+        public Result<FormulaProgram> getResult() {
+            return Result.of(new FormulaProgram(
+                    program.stream().mapToInt(Integer::intValue).toArray(),
+                    variableMap,
+                    maximumStackSize,
+                    maximumCardinalSize));
+        }
+    }
+
+    /**
+     * {@return the program for the given formula}
+     * Fails if the formula contains other than propositional expressions.
+     *
+     * @param formula the formula
+     * @param variableMap the variable map used to index variables
+     */
+    public static Result<FormulaProgram> compile(IFormula formula, VariableMap variableMap) {
+        Result<FormulaProgram> program = formula.traverse(new Compiler(variableMap));
+        return program.isPresent()
+                ? program
+                : Result.empty(new Problem("Formula is not propositional", Problem.Severity.ERROR));
+    }
+
+    final int[] program;
+    final VariableMap variableMap;
+    final int maximumStackSize;
+    final int maximumCardinalSize;
+
+    private FormulaProgram(int[] program, VariableMap variableMap, int maximumStackSize, int maximumCardinalSize) {
+        this.program = program;
+        this.variableMap = variableMap;
+        this.maximumStackSize = maximumStackSize;
+        this.maximumCardinalSize = maximumCardinalSize;
+    }
+
+    /**
+     * {@return a copy of the instructions of this program}
+     */
+    public int[] getInstructions() {
+        return program.clone();
+    }
+
+    /**
+     * {@return the variable map used to index the variables of this program}
+     */
+    public VariableMap getVariableMap() {
+        return variableMap;
+    }
+}
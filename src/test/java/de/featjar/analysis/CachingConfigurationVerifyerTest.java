@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.analysis;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.featjar.formula.assignment.BooleanAssignment;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class CachingConfigurationVerifyerTest {
+
+    @Test
+    void cachesResults() {
+        AtomicInteger calls = new AtomicInteger();
+        CachingConfigurationVerifyer verifier = new CachingConfigurationVerifyer(configuration -> {
+            calls.incrementAndGet();
+            return configuration.contains(1) ? 1 : 0;
+        });
+        assertEquals(1, verifier.test(new BooleanAssignment(1, -2)));
+        assertEquals(1, verifier.test(new BooleanAssignment(-2, 1)));
+        assertEquals(1, verifier.test(new BooleanAssignment(1, 0, -2)));
+        assertEquals(0, verifier.test(new BooleanAssignment(-1, -2)));
+        assertEquals(0, verifier.test(new BooleanAssignment(-1, -2, 70)));
+        assertEquals(3, calls.get());
+        assertEquals(3, verifier.getVerificationCount());
+        assertEquals(2, verifier.getCacheHitCount());
+
+        verifier.clear();
+        assertEquals(1, verifier.test(new BooleanAssignment(1, -2)));
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    void sharesConcurrentVerifications() {
+        List<Runnable> tasks = new ArrayList<>();
+        AtomicInteger calls = new AtomicInteger();
+        CachingConfigurationVerifyer verifier = new CachingConfigurationVerifyer(
+                configuration -> calls.incrementAndGet(), tasks::add);
+        CompletableFuture<Integer> result1 = verifier.submit(new BooleanAssignment(1, 2));
+        CompletableFuture<Integer> result2 = verifier.submit(new BooleanAssignment(2, 1));
+        assertSame(result1, result2);
+        assertFalse(result1.isDone());
+        assertEquals(1, tasks.size());
+        assertEquals(0, verifier.getVerificationCount());
+
+        tasks.forEach(Runnable::run);
+        assertEquals(1, IBatchConfigurationVerifyer.join(result1));
+        assertEquals(1, calls.get());
+        assertEquals(1, verifier.getVerificationCount());
+        assertEquals(1, verifier.getCacheHitCount());
+    }
+
+    @Test
+    void doesNotCacheFailures() {
+        AtomicInteger calls = new AtomicInteger();
+        CachingConfigurationVerifyer verifier = new CachingConfigurationVerifyer(configuration -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException();
+            }
+            return 0;
+        });
+        assertThrows(IllegalStateException.class, () -> verifier.test(new BooleanAssignment(1)));
+        assertEquals(0, verifier.test(new BooleanAssignment(1)));
+        assertEquals(0, verifier.test(new BooleanAssignment(1)));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void doesNotCacheRejectedVerifications() {
+        AtomicInteger submissions = new AtomicInteger();
+        CachingConfigurationVerifyer verifier = new CachingConfigurationVerifyer(configuration -> 0, task -> {
+            if (submissions.incrementAndGet() == 1) {
+                throw new RejectedExecutionException();
+            }
+            task.run();
+        });
+        CompletableFuture<Integer> rejected = verifier.submit(new BooleanAssignment(1));
+        assertTrue(rejected.isCompletedExceptionally());
+        assertThrows(RejectedExecutionException.class, () -> IBatchConfigurationVerifyer.join(rejected));
+        assertEquals(0, verifier.getVerificationCount());
+
+        assertEquals(0, verifier.test(new BooleanAssignment(1)));
+        assertEquals(1, verifier.getVerificationCount());
+        assertEquals(0, verifier.getCacheHitCount());
+    }
+}
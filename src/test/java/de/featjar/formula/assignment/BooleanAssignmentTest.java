@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class BooleanAssignmentTest {
+
+    @Test
+    void unitPropagation() {
+        BooleanClause clause = new BooleanClause(1, 2, -3, 4);
+        int[] scratch = new int[5];
+        assertArrayEquals(
+                new int[] {1, 2, 4}, BooleanAssignment.unitPropagation(clause, new BooleanAssignment(3), scratch));
+        assertArrayEquals(
+                new int[] {1, 2, 4}, BooleanAssignment.unitPropagation(clause, new BooleanSolution(0, 0, 3), scratch));
+        assertNull(BooleanAssignment.unitPropagation(clause, new BooleanAssignment(-1, 2), scratch));
+        assertNull(BooleanAssignment.unitPropagation(new BooleanClause(1, -1), new BooleanAssignment(), scratch));
+        assertArrayEquals(
+                new int[] {-3, 1, 2, 4}, BooleanAssignment.unitPropagation(clause, new BooleanAssignment()));
+        assertArrayEquals(new int[5], scratch);
+    }
+
+    @Test
+    void simplify() {
+        int[] scratch = new int[4];
+        assertArrayEquals(new int[] {1, -2, 0, 3}, BooleanAssignment.simplify(new int[] {1, -2, 1, 0, 3, 0}, scratch));
+        assertArrayEquals(new int[] {}, BooleanAssignment.simplify(new int[] {1, -2, 2}, scratch));
+        assertArrayEquals(new int[] {3, 1}, BooleanAssignment.simplify(new int[] {3, 1}));
+        assertArrayEquals(new int[4], scratch);
+    }
+
+    @Test
+    void variableOperations() {
+        BooleanAssignment assignment = new BooleanAssignment(1, -2, 3, -4, 2);
+        int[] scratch = new int[6];
+        assertEquals(1, assignment.indexOfVariable(2));
+        assertArrayEquals(new int[] {1, 4}, assignment.indicesOfVariable(2));
+        assertEquals(-1, assignment.indexOfVariable(5));
+        assertArrayEquals(new int[] {-2, -4, 2}, assignment.retainAllVariables(new int[] {2, 4, 5}, scratch));
+        assertArrayEquals(new int[] {1, 3}, assignment.removeAllVariables(new int[] {2, 4, 5}, scratch));
+        assertArrayEquals(new int[] {-2, 3}, assignment.retainAllNegated(new int[] {2, -3}, scratch));
+        assertArrayEquals(new int[] {-2, 2}, assignment.retainAllVariables(2));
+        assertArrayEquals(new int[6], scratch);
+        assertThrows(IllegalArgumentException.class, () -> assignment.removeAllVariables(-1));
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class LiteralIndexTest {
+
+    @Test
+    void indexesAssignments() {
+        Random random = new Random(2);
+        List<int[]> assignments = new ArrayList<>();
+        LiteralIndex index = new LiteralIndex();
+        for (int i = 0; i < 200; i++) {
+            int[] literals = new int[random.nextInt(6)];
+            for (int j = 0; j < literals.length; j++) {
+                int variable = random.nextInt(8) + 1;
+                literals[j] = random.nextBoolean() ? variable : -variable;
+            }
+            assignments.add(literals);
+            index.add(literals);
+            if (i % 37 == 0) {
+                assertSameIndex(assignments, index);
+            }
+        }
+        assertSameIndex(assignments, index);
+    }
+
+    @Test
+    void indexesAssignmentList() {
+        LiteralIndex index = new LiteralIndex(
+                List.of(new BooleanAssignment(1, -2), new BooleanAssignment(0, 3), new BooleanClause()));
+        assertEquals(3, index.size());
+        assertEquals(3, index.getVariableCount());
+        assertEquals(1, index.getWordCount());
+        assertArrayEquals(new long[] {0b111}, index.getAll());
+        assertEquals(0b001, index.getColumn(-2)[0]);
+        assertEquals(0b010, index.getColumn(3)[0]);
+        assertEquals(0, index.getColumn(-3)[0]);
+        assertEquals(0, index.getColumn(100)[0]);
+        assertTrue(index.containsAny());
+        assertFalse(index.containsAny(1, 3));
+        assertThrows(IllegalArgumentException.class, () -> index.getColumn(0));
+    }
+
+    private static void assertSameIndex(List<int[]> assignments, LiteralIndex index) {
+        assertEquals(assignments.size(), index.size());
+        assertEquals(LiteralIndex.getWordCount(assignments.size()), index.getWordCount());
+        assertEquals(assignments.size(), index.count());
+        for (int literal1 = -9; literal1 <= 9; literal1++) {
+            for (int literal2 = -9; literal2 <= 9; literal2++) {
+                if (literal1 != 0 && literal2 != 0) {
+                    int count = 0;
+                    for (int[] assignment : assignments) {
+                        if (contains(assignment, literal1) && contains(assignment, literal2)) {
+                            count++;
+                        }
+                    }
+                    assertEquals(count, index.count(literal1, literal2));
+                    assertEquals(count > 0, index.containsAny(literal1, literal2));
+                }
+            }
+        }
+    }
+
+    private static boolean contains(int[] assignment, int literal) {
+        for (int l : assignment) {
+            if (l == literal) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.featjar.formula.VariableMap;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class PackedBooleanSolutionListTest {
+
+    @Test
+    void storesSolutions() {
+        Random random = new Random(1);
+        for (int variableCount : new int[] {1, 5, 63, 64, 65, 130}) {
+            List<BooleanSolution> solutions = randomSolutions(random, variableCount, 150);
+            PackedBooleanSolutionList list = new PackedBooleanSolutionList(createVariableMap(variableCount), 4);
+            solutions.forEach(list::add);
+            assertEquals(variableCount, list.getVariableCount());
+            assertSameSolutions(solutions, list);
+
+            solutions.remove(70);
+            list.remove(70);
+            BooleanSolution duplicate = solutions.get(100);
+            solutions.add(3, duplicate);
+            list.add(3, duplicate);
+            BooleanSolution replacement = randomSolutions(random, variableCount, 1).get(0);
+            solutions.set(64, replacement);
+            list.set(64, replacement);
+            assertSameSolutions(solutions, list);
+            assertSameSolutions(solutions, list.clone());
+        }
+    }
+
+    @Test
+    void returnsDetachedSolutions() {
+        PackedBooleanSolutionList list = new PackedBooleanSolutionList(createVariableMap(3));
+        list.add(new BooleanSolution(1, -2, 0));
+        list.get(0).get()[0] = -1;
+        assertArrayEquals(new int[] {1, -2, 0}, list.get(0).get());
+        assertEquals(1, list.countSolutionsWith(1));
+    }
+
+    @Test
+    void rejectsInvalidVariables() {
+        PackedBooleanSolutionList list = new PackedBooleanSolutionList(createVariableMap(3));
+        list.add(new BooleanSolution(1, -2, 3));
+        assertEquals(-2, list.getLiteral(0, 2));
+        assertThrows(IllegalArgumentException.class, () -> list.getLiteral(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> list.getLiteral(0, -1));
+        assertThrows(IllegalArgumentException.class, () -> list.getLiteral(0, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.getLiteral(1, 1));
+        assertThrows(IllegalArgumentException.class, () -> list.getSolutionsWith(4));
+        assertThrows(IllegalArgumentException.class, () -> list.countSolutionsWith(0));
+        assertThrows(IllegalArgumentException.class, () -> list.add(new BooleanSolution(1, 2, 3, 4)));
+    }
+
+    private static void assertSameSolutions(List<BooleanSolution> solutions, PackedBooleanSolutionList list) {
+        int variableCount = list.getVariableCount();
+        assertEquals(solutions.size(), list.size());
+        for (int i = 0; i < solutions.size(); i++) {
+            int[] literals = solutions.get(i).get();
+            assertArrayEquals(literals, list.get(i).get());
+            long[] selected = list.getSelectedWords(i);
+            long[] defined = list.getDefinedWords(i);
+            for (int v = 1; v <= variableCount; v++) {
+                int literal = literals[v - 1];
+                assertEquals(literal, list.getLiteral(i, v));
+                assertEquals(literal != 0, (defined[(v - 1) >>> 6] & (1L << (v - 1))) != 0);
+                assertEquals(literal > 0, (selected[(v - 1) >>> 6] & (1L << (v - 1))) != 0);
+            }
+        }
+        for (int v = 1; v <= variableCount; v++) {
+            for (int literal : new int[] {v, -v}) {
+                BitSet expected = new BitSet();
+                for (int i = 0; i < solutions.size(); i++) {
+                    if (solutions.get(i).get()[v - 1] == literal) {
+                        expected.set(i);
+                    }
+                }
+                assertEquals(expected, list.getSolutionsWith(literal));
+                assertEquals(expected.cardinality(), list.countSolutionsWith(literal));
+            }
+        }
+    }
+
+    private static List<BooleanSolution> randomSolutions(Random random, int variableCount, int count) {
+        List<BooleanSolution> solutions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int[] literals = new int[variableCount];
+            for (int v = 1; v <= variableCount; v++) {
+                int value = random.nextInt(5);
+                literals[v - 1] = value == 0 ? 0 : value % 2 == 0 ? v : -v;
+            }
+            solutions.add(new BooleanSolution(literals, false));
+        }
+        return solutions;
+    }
+
+    private static VariableMap createVariableMap(int variableCount) {
+        return VariableMap.of(
+                IntStream.rangeClosed(1, variableCount).mapToObj(i -> "x" + i).collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.featjar.formula.VariableMap;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SortedBooleanAssignmentTest {
+
+    @Test
+    void sortsByVariable() {
+        SortedBooleanAssignment assignment = new SortedBooleanAssignment(3, -1, 0, 2, 1, 3);
+        assertArrayEquals(new int[] {-1, 1, 2, 3}, assignment.get());
+        assertArrayEquals(new int[] {-1, 1, -2, -3}, assignment.inverse().get());
+    }
+
+    @Test
+    void lookupsOnInverse() {
+        SortedBooleanAssignment inverse = new SortedBooleanAssignment(-5, 2, -2, 7).inverse();
+        assertArrayEquals(new int[] {-2, 2, 5, -7}, inverse.get());
+        assertEquals(0, inverse.indexOf(-2));
+        assertEquals(1, inverse.indexOf(2));
+        assertEquals(2, inverse.indexOf(5));
+        assertEquals(-1, inverse.indexOf(-5));
+        assertEquals(3, inverse.indexOf(-7));
+        assertEquals(-1, inverse.indexOf(7));
+        assertEquals(2, inverse.indexOfVariable(5));
+        assertEquals(3, inverse.indexOfVariable(7));
+        assertEquals(-1, inverse.indexOfVariable(4));
+        assertArrayEquals(new int[] {0, 1}, inverse.indicesOfVariable(2));
+        assertTrue(inverse.containsAll(5, -7));
+        assertFalse(inverse.containsAny(-5, 7));
+        assertArrayEquals(new int[] {-2, 5}, inverse.retainAll(new BooleanAssignment(5, -2, 7)).get());
+    }
+
+    @Test
+    void lookups() {
+        SortedBooleanAssignment assignment = new SortedBooleanAssignment(-5, 2, -2, 7);
+        assertEquals(0, assignment.indexOf(-2));
+        assertEquals(1, assignment.indexOf(2));
+        assertEquals(-1, assignment.indexOf(5));
+        assertEquals(2, assignment.indexOfVariable(5));
+        assertEquals(-1, assignment.indexOfVariable(4));
+        assertArrayEquals(new int[] {0, 1}, assignment.indicesOfVariable(2));
+        assertTrue(assignment.containsVariable(7));
+    }
+
+    @Test
+    void setOperations() {
+        SortedBooleanAssignment assignment = new SortedBooleanAssignment(1, -2, 4);
+        BooleanAssignment other = new BooleanAssignment(4, 2, 3);
+        assertArrayEquals(new int[] {1, -2, 2, 3, 4}, assignment.addAll(other).get());
+        assertArrayEquals(new int[] {4}, assignment.retainAll(other).get());
+        assertArrayEquals(new int[] {1, -2}, assignment.removeAll(other).get());
+        assertArrayEquals(new int[] {-2}, assignment.retainAllNegated(other).get());
+        assertArrayEquals(new int[] {-2, 4}, assignment.retainAllVariables(other).get());
+        assertArrayEquals(new int[] {1}, assignment.removeAllVariables(other).get());
+    }
+
+    @Test
+    void sortedAssignmentList() {
+        BooleanAssignmentList list =
+                new BooleanAssignmentList(new VariableMap(), List.of(new BooleanAssignment(3, -1)));
+        assertArrayEquals(new int[] {-1, 3}, list.toSortedAssignmentList().get(0).get());
+        assertTrue(list.toSortedAssignmentList().toAssignmentList().get(0) instanceof SortedBooleanAssignment);
+    }
+}
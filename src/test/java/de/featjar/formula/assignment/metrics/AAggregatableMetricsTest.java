@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanSolution;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class AAggregatableMetricsTest {
+
+    @Test
+    void approximatesCountAggregates() {
+        BooleanAssignmentList sample = randomSample(new Random(1), 50, 2000);
+        CountMetrics exact = new CountMetrics(new PositiveCount());
+        exact.setSample(sample);
+        CountMetrics approximate = new CountMetrics(new PositiveCount());
+        approximate.setApproximation(20_000, 1);
+        approximate.setSample(sample);
+        assertTrue(approximate.isApproximate());
+
+        assertEquals(exact.getMean(), approximate.getMean(), 4 * approximate.getMeanError());
+        assertTrue(approximate.getMeanError() > 0);
+        assertEquals(0, exact.getMeanError());
+        assertEquals(exact.getMedian(), approximate.getMedian(), 0.02);
+        assertEquals(
+                exact.getStandardDeviation(),
+                approximate.getStandardDeviation(),
+                0.1 * exact.getStandardDeviation());
+        assertTrue(approximate.getMin() >= exact.getMin());
+        assertTrue(approximate.getMax() <= exact.getMax());
+        for (double quantile : new double[] {0.1, 0.25, 0.75, 0.9}) {
+            assertEquals(exact.getQuantile(quantile), approximate.getQuantile(quantile), 0.02);
+        }
+    }
+
+    @Test
+    void approximatesDistanceAggregates() {
+        BooleanAssignmentList sample = randomSample(new Random(2), 40, 300);
+        DistanceMetrics exact = new DistanceMetrics(new HammingDistance());
+        exact.setSample(sample);
+        DistanceMetrics approximate = new DistanceMetrics(new HammingDistance());
+        approximate.setApproximation(10_000, 2);
+        approximate.setSample(sample);
+        assertEquals(exact.getMean(), approximate.getMean(), 4 * approximate.getMeanError());
+        assertEquals(exact.getMedian(), approximate.getMedian(), 0.05);
+    }
+
+    @Test
+    void isReproducible() {
+        BooleanAssignmentList sample = randomSample(new Random(3), 30, 200);
+        for (long seed : new long[] {1, 2}) {
+            double[] values1 = getValues(DistanceMetrics.getAllAggregates(new HammingDistance(), 1000, seed), sample);
+            double[] values2 = getValues(DistanceMetrics.getAllAggregates(new HammingDistance(), 1000, seed), sample);
+            assertArrayEquals(values1, values2);
+            double[] counts1 = getValues(CountMetrics.getAllAggregates(new PositiveCount(), 1000, seed), sample);
+            double[] counts2 = getValues(CountMetrics.getAllAggregates(new PositiveCount(), 1000, seed), sample);
+            assertArrayEquals(counts1, counts2);
+        }
+    }
+
+    @Test
+    void returnsInvalidForEmptySample() {
+        BooleanAssignmentList emptySample = new BooleanAssignmentList(new VariableMap());
+        BooleanAssignmentList singletonSample = randomSample(new Random(4), 10, 1);
+        for (double value : getValues(CountMetrics.getAllAggregates(new PositiveCount(), 100, 1), emptySample)) {
+            assertEquals(AAggregatableMetrics.INVALID, value);
+        }
+        for (BooleanAssignmentList sample : List.of(emptySample, singletonSample)) {
+            for (double value :
+                    getValues(DistanceMetrics.getAllAggregates(new HammingDistance(), 100, 1), sample)) {
+                assertEquals(AAggregatableMetrics.INVALID, value);
+            }
+        }
+        CountMetrics metrics = new CountMetrics(new PositiveCount());
+        metrics.setApproximation(100, 1);
+        metrics.setSample(emptySample);
+        assertEquals(AAggregatableMetrics.INVALID, metrics.getQuantile(0.5));
+        assertThrows(IllegalArgumentException.class, () -> metrics.setApproximation(-1, 1));
+    }
+
+    private static double[] getValues(List<ISampleMetric> metrics, BooleanAssignmentList sample) {
+        return metrics.stream().mapToDouble(metric -> metric.get(sample)).toArray();
+    }
+
+    private static BooleanAssignmentList randomSample(Random random, int variableCount, int size) {
+        List<BooleanSolution> solutions = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            int[] literals = new int[variableCount];
+            for (int v = 1; v <= variableCount; v++) {
+                literals[v - 1] = random.nextBoolean() ? v : -v;
+            }
+            solutions.add(new BooleanSolution(literals, false));
+        }
+        return new BooleanAssignmentList(new VariableMap(), solutions);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class IPackedDistanceFunctionTest {
+
+    private static final List<IPackedDistanceFunction> FUNCTIONS = List.of(
+            new CosineNegativeDistance(),
+            new CosineZeroDistance(),
+            new EuclideanDistance(),
+            new HammingDistance(),
+            new JaccardDeselectedDistance(),
+            new JaccardSelectedDistance(),
+            new OverlapDeselectedDistance(),
+            new OverlapSelectedDistance(),
+            new SorensenDiceDeselectedDistance(),
+            new SorensenDiceSelectedDistance());
+
+    @Test
+    void packedDistancesEqualUnpackedDistances() {
+        Random random = new Random(1);
+        for (int variableCount : new int[] {0, 1, 2, 31, 63, 64, 65, 100, 127, 128, 129, 200}) {
+            for (int zeroProbability : new int[] {0, 3, 10, 100}) {
+                for (int i = 0; i < 20; i++) {
+                    int[] literals1 = randomSolution(random, variableCount, zeroProbability);
+                    int[] literals2 = randomSolution(random, variableCount, zeroProbability);
+                    for (IPackedDistanceFunction function : FUNCTIONS) {
+                        assertSameDistance(function, literals1, literals2);
+                        assertSameDistance(function, literals1, literals1);
+                        assertSameDistance(function, literals1, new int[variableCount]);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void assertSameDistance(IPackedDistanceFunction function, int[] literals1, int[] literals2) {
+        int variableCount = literals1.length;
+        int wordCount = IPackedDistanceFunction.getWordCount(variableCount);
+        long[] selected1 = new long[wordCount], defined1 = new long[wordCount];
+        long[] selected2 = new long[wordCount], defined2 = new long[wordCount];
+        IPackedDistanceFunction.pack(literals1, selected1, defined1);
+        IPackedDistanceFunction.pack(literals2, selected2, defined2);
+        assertEquals(
+                function.computeDistance(literals1, literals2),
+                function.computeDistance(selected1, defined1, selected2, defined2, variableCount),
+                1e-12,
+                () -> String.format("%s, %d variables", function.getName(), variableCount));
+    }
+
+    /*
+     * Creates a solution in which each variable is unassigned with the given probability in percent.
+     */
+    private static int[] randomSolution(Random random, int variableCount, int zeroProbability) {
+        int[] literals = new int[variableCount];
+        for (int v = 1; v <= variableCount; v++) {
+            literals[v - 1] = random.nextInt(100) < zeroProbability ? 0 : random.nextBoolean() ? v : -v;
+        }
+        return literals;
+    }
+}
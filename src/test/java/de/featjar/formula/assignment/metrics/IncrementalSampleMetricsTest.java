@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.featjar.formula.assignment.BooleanSolution;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class IncrementalSampleMetricsTest {
+
+    private static final double DELTA = 1e-9;
+
+    @Test
+    void matchesRecomputationAfterRandomUpdates() {
+        Random random = new Random(1);
+        for (IDistanceFunction distanceFunction :
+                List.of(new HammingDistance(), new EuclideanDistance(), new CosineNegativeDistance())) {
+            IncrementalSampleMetrics metrics = new IncrementalSampleMetrics(distanceFunction, new PositiveCount());
+            List<BooleanSolution> sample = new ArrayList<>();
+            for (int step = 0; step < 400; step++) {
+                if (!sample.isEmpty() && random.nextInt(5) < 2) {
+                    int index = random.nextInt(sample.size());
+                    sample.remove(index);
+                    metrics.remove(index);
+                } else {
+                    // few variables, such that distances and extrema often coincide
+                    BooleanSolution solution = randomSolution(random, 6);
+                    sample.add(solution);
+                    assertEquals(sample.size() - 1, metrics.add(solution));
+                }
+                assertSameMetrics(distanceFunction, sample, metrics);
+            }
+            metrics.clear();
+            sample.clear();
+            assertSameMetrics(distanceFunction, sample, metrics);
+        }
+    }
+
+    @Test
+    void failsWithoutFunction() {
+        IncrementalSampleMetrics metrics = new IncrementalSampleMetrics(null, new PositiveCount());
+        metrics.add(new BooleanSolution(1, -2));
+        assertEquals(0.5, metrics.getCountMean(), DELTA);
+        assertThrows(IllegalStateException.class, metrics::getDistanceMean);
+        assertThrows(IndexOutOfBoundsException.class, () -> metrics.remove(1));
+    }
+
+    private static void assertSameMetrics(
+            IDistanceFunction distanceFunction, List<BooleanSolution> sample, IncrementalSampleMetrics metrics) {
+        int size = sample.size();
+        assertEquals(size, metrics.size());
+        if (size < 2) {
+            assertEquals(AAggregatableMetrics.INVALID, metrics.getDistanceMean());
+            assertEquals(AAggregatableMetrics.INVALID, metrics.getDistanceMin());
+            assertEquals(AAggregatableMetrics.INVALID, metrics.getDistanceLeastMean());
+        } else {
+            double[][] distances = new double[size][size];
+            double min = Double.MAX_VALUE, max = 0, sum = 0;
+            for (int i = 0; i < size; i++) {
+                for (int j = i + 1; j < size; j++) {
+                    double distance = distanceFunction.computeDistance(sample.get(i).get(), sample.get(j).get());
+                    distances[i][j] = distance;
+                    distances[j][i] = distance;
+                    min = Math.min(min, distance);
+                    max = Math.max(max, distance);
+                    sum += distance;
+                }
+            }
+            int pairCount = size * (size - 1) / 2;
+            double mean = sum / pairCount;
+            double variance = 0;
+            double leastMean = 0, mostMean = 0, meanMin = Double.MAX_VALUE, meanMax = 0;
+            for (int i = 0; i < size; i++) {
+                double rowMin = Double.MAX_VALUE, rowMax = 0, rowSum = 0;
+                for (int j = 0; j < size; j++) {
+                    if (i != j) {
+                        rowMin = Math.min(rowMin, distances[i][j]);
+                        rowMax = Math.max(rowMax, distances[i][j]);
+                        rowSum += distances[i][j];
+                        if (i < j) {
+                            variance += (distances[i][j] - mean) * (distances[i][j] - mean);
+                        }
+                        assertEquals(distances[i][j], metrics.getDistance(i, j), DELTA);
+                    }
+                }
+                assertEquals(rowMin, metrics.getMinDistance(i), DELTA);
+                assertEquals(rowMax, metrics.getMaxDistance(i), DELTA);
+                assertEquals(rowSum / (size - 1), metrics.getMeanDistance(i), DELTA);
+                leastMean += rowMin / size;
+                mostMean += rowMax / size;
+                meanMin = Math.min(meanMin, rowSum / size);
+                meanMax = Math.max(meanMax, rowSum / size);
+            }
+            variance /= pairCount;
+            assertEquals(min, metrics.getDistanceMin(), DELTA);
+            assertEquals(max, metrics.getDistanceMax(), DELTA);
+            assertEquals(mean, metrics.getDistanceMean(), DELTA);
+            assertEquals(variance, metrics.getDistanceVariance(), DELTA);
+            assertEquals(Math.sqrt(variance), metrics.getDistanceStandardDeviation(), 1e-6);
+            assertEquals(leastMean, metrics.getDistanceLeastMean(), DELTA);
+            assertEquals(mostMean, metrics.getDistanceMostMean(), DELTA);
+            assertEquals(meanMin, metrics.getDistanceMeanMin(), DELTA);
+            assertEquals(meanMax, metrics.getDistanceMeanMax(), DELTA);
+        }
+        if (size == 0) {
+            assertEquals(AAggregatableMetrics.INVALID, metrics.getCountMean());
+        } else {
+            PositiveCount countFunction = new PositiveCount();
+            double min = Double.MAX_VALUE, max = 0, sum = 0;
+            for (BooleanSolution solution : sample) {
+                double count = countFunction.compute(solution);
+                min = Math.min(min, count);
+                max = Math.max(max, count);
+                sum += count;
+            }
+            double mean = sum / size;
+            double variance = 0;
+            for (BooleanSolution solution : sample) {
+                variance += (countFunction.compute(solution) - mean) * (countFunction.compute(solution) - mean);
+            }
+            variance /= size;
+            assertEquals(min, metrics.getCountMin(), DELTA);
+            assertEquals(max, metrics.getCountMax(), DELTA);
+            assertEquals(mean, metrics.getCountMean(), DELTA);
+            assertEquals(variance, metrics.getCountVariance(), DELTA);
+        }
+    }
+
+    private static BooleanSolution randomSolution(Random random, int variableCount) {
+        int[] literals = new int[variableCount];
+        for (int v = 1; v <= variableCount; v++) {
+            literals[v - 1] = random.nextBoolean() ? v : -v;
+        }
+        return new BooleanSolution(literals, false);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class QuantileSketchTest {
+
+    private static final int SIZE = 100_000;
+
+    @Test
+    void estimatesQuantilesWithinRankError() {
+        QuantileSketch sketch = new QuantileSketch(256, 1);
+        shuffledValues(SIZE, 1).forEach(sketch::add);
+        assertEquals(SIZE, sketch.getCount());
+        assertRankError(sketch, SIZE, 0.02);
+    }
+
+    @Test
+    void estimatesSmallStreamsExactly() {
+        QuantileSketch sketch = new QuantileSketch(256, 1);
+        double[] values = new Random(2).doubles(200).toArray();
+        Arrays.stream(values).forEach(sketch::add);
+        Arrays.sort(values);
+        for (int q = 0; q <= 100; q++) {
+            double quantile = q / 100.0;
+            assertEquals(
+                    values[Math.max((int) Math.ceil(quantile * values.length) - 1, 0)], sketch.getQuantile(quantile));
+        }
+        assertEquals(values[99], sketch.getMedian());
+    }
+
+    @Test
+    void mergesSketches() {
+        List<Integer> values = shuffledValues(SIZE, 3);
+        QuantileSketch sketch1 = new QuantileSketch(256, 3);
+        QuantileSketch sketch2 = new QuantileSketch(256, 4);
+        for (int i = 0; i < values.size(); i++) {
+            (i < SIZE / 3 ? sketch1 : sketch2).add(values.get(i));
+        }
+        sketch1.merge(sketch2);
+        assertEquals(SIZE, sketch1.getCount());
+        assertRankError(sketch1, SIZE, 0.02);
+    }
+
+    @Test
+    void isReproducible() {
+        List<Integer> values = shuffledValues(SIZE, 5);
+        QuantileSketch sketch1 = new QuantileSketch(64, 5);
+        QuantileSketch sketch2 = new QuantileSketch(64, 5);
+        values.forEach(sketch1::add);
+        values.forEach(sketch2::add);
+        for (int q = 0; q <= 100; q++) {
+            assertEquals(sketch1.getQuantile(q / 100.0), sketch2.getQuantile(q / 100.0));
+        }
+    }
+
+    @Test
+    void handlesEmptySketch() {
+        QuantileSketch sketch = new QuantileSketch(1);
+        assertEquals(0, sketch.getCount());
+        assertTrue(Double.isNaN(sketch.getMedian()));
+        assertThrows(IllegalArgumentException.class, () -> sketch.getQuantile(1.5));
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch(1, 1));
+    }
+
+    /*
+     * The values are 0, ..., size - 1, so the rank of a value is the value plus one.
+     */
+    private static void assertRankError(QuantileSketch sketch, int size, double maximumError) {
+        for (int q = 0; q <= 100; q++) {
+            double quantile = q / 100.0;
+            double rank = (sketch.getQuantile(quantile) + 1) / size;
+            assertEquals(quantile, rank, maximumError, String.valueOf(quantile));
+        }
+    }
+
+    private static List<Integer> shuffledValues(int size, long seed) {
+        List<Integer> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(i);
+        }
+        Collections.shuffle(values, new Random(seed));
+        return values;
+    }
+}
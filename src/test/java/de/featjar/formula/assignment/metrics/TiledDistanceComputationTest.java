@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanSolution;
+import de.featjar.formula.assignment.PackedBooleanSolutionList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class TiledDistanceComputationTest {
+
+    private static final double DELTA = 1e-9;
+
+    /**
+     * Aggregates all pairwise distances sequentially, like {@link DistanceMetrics} did before tiling.
+     */
+    private static class SequentialAggregates {
+        private final double[] distances;
+        private double min = Double.MAX_VALUE, max, mean, variance, leastMean, mostMean, meanMin, meanMax;
+
+        private SequentialAggregates(IDistanceFunction function, List<BooleanSolution> sample) {
+            int size = sample.size();
+            double[][] matrix = new double[size][size];
+            distances = new double[(size * (size - 1)) / 2];
+            for (int i = 0, k = 0; i < size; i++) {
+                for (int j = i + 1; j < size; j++, k++) {
+                    double distance = function.computeDistance(sample.get(i).get(), sample.get(j).get());
+                    matrix[i][j] = distance;
+                    matrix[j][i] = distance;
+                    distances[k] = distance;
+                    min = Math.min(min, distance);
+                    max = Math.max(max, distance);
+                    mean += distance;
+                }
+            }
+            mean /= distances.length;
+            for (double distance : distances) {
+                variance += (distance - mean) * (distance - mean);
+            }
+            variance /= distances.length;
+            meanMin = Double.MAX_VALUE;
+            for (int i = 0; i < size; i++) {
+                double rowMin = Double.MAX_VALUE, rowMax = 0, rowSum = 0;
+                for (int j = 0; j < size; j++) {
+                    if (i != j) {
+                        rowMin = Math.min(rowMin, matrix[i][j]);
+                        rowMax = Math.max(rowMax, matrix[i][j]);
+                        rowSum += matrix[i][j];
+                    }
+                }
+                leastMean += rowMin / size;
+                mostMean += rowMax / size;
+                meanMin = Math.min(meanMin, rowSum / size);
+                meanMax = Math.max(meanMax, rowSum / size);
+            }
+        }
+    }
+
+    @Test
+    void aggregatesLikeSequentialComputation() {
+        Random random = new Random(1);
+        List<BooleanSolution> sample = randomSample(random, 70, 150);
+        for (IDistanceFunction function :
+                List.of(new HammingDistance(), new JaccardSelectedDistance(), unpacked(new EuclideanDistance()))) {
+            SequentialAggregates expected = new SequentialAggregates(function, sample);
+            for (int tileSize : new int[] {1, 3, 16, 64, 149, 1000}) {
+                TiledDistanceComputation computation = new TiledDistanceComputation(function);
+                computation.setTileSize(tileSize);
+                computation.setStoringDistances(true);
+                assertSameAggregates(expected, computation.compute(sample), true);
+                computation.setStoringDistances(false);
+                assertSameAggregates(expected, computation.compute(sample), false);
+            }
+        }
+    }
+
+    @Test
+    void aggregatesPackedSolutionList() {
+        Random random = new Random(2);
+        List<BooleanSolution> sample = randomSample(random, 65, 90);
+        VariableMap variableMap = VariableMap.of(
+                IntStream.rangeClosed(1, 65).mapToObj(i -> "x" + i).collect(Collectors.toList()));
+        PackedBooleanSolutionList packedSample = new PackedBooleanSolutionList(variableMap);
+        sample.forEach(packedSample::add);
+        for (IDistanceFunction function : List.of(new HammingDistance(), unpacked(new HammingDistance()))) {
+            TiledDistanceComputation computation = new TiledDistanceComputation(function);
+            computation.setTileSize(7);
+            computation.setStoringDistances(true);
+            assertSameAggregates(
+                    new SequentialAggregates(function, sample), computation.compute(packedSample), true);
+        }
+    }
+
+    @Test
+    void distanceMetricsAggregateLikeSequentialComputation() {
+        Random random = new Random(3);
+        List<BooleanSolution> sample = randomSample(random, 20, 40);
+        BooleanAssignmentList sampleList = new BooleanAssignmentList(new VariableMap(), sample);
+        IDistanceFunction function = new HammingDistance();
+        SequentialAggregates expected = new SequentialAggregates(function, sample);
+        for (ISampleMetric metric : DistanceMetrics.getAllAggregates(function)) {
+            String name = metric.getName().substring(metric.getName().lastIndexOf('_') + 1);
+            double value = metric.get(sampleList);
+            switch (name) {
+                case "min":
+                    assertEquals(expected.min, value, DELTA);
+                    break;
+                case "max":
+                    assertEquals(expected.max, value, DELTA);
+                    break;
+                case "mean":
+                    assertEquals(expected.mean, value, DELTA);
+                    break;
+                case "variance":
+                    assertEquals(expected.variance, value, DELTA);
+                    break;
+                case "leastMean":
+                    assertEquals(expected.leastMean, value, DELTA);
+                    break;
+                case "meanMax":
+                    assertEquals(expected.meanMax, value, DELTA);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    @Test
+    void isReentrant() throws Exception {
+        Random random = new Random(4);
+        List<List<BooleanSolution>> samples = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            samples.add(randomSample(random, 10 + 10 * i, 30 + 5 * i));
+        }
+        TiledDistanceComputation computation = new TiledDistanceComputation(new HammingDistance());
+        computation.setTileSize(4);
+        computation.setStoringDistances(true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<TiledDistanceComputation.Aggregates>> results = new ArrayList<>();
+            for (List<BooleanSolution> sample : samples) {
+                results.add(executor.submit(() -> computation.compute(sample)));
+            }
+            for (int i = 0; i < samples.size(); i++) {
+                assertSameAggregates(
+                        new SequentialAggregates(new HammingDistance(), samples.get(i)), results.get(i).get(), true);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void rejectsTooManyStoredDistances() {
+        List<BooleanSolution> sample = Collections.nCopies(65537, new BooleanSolution(1));
+        TiledDistanceComputation computation = new TiledDistanceComputation(new HammingDistance());
+        computation.setStoringDistances(true);
+        assertThrows(IllegalArgumentException.class, () -> computation.compute(sample));
+        assertEquals(0, new TiledDistanceComputation(new HammingDistance()).compute(List.of()).getCount());
+    }
+
+    private static void assertSameAggregates(
+            SequentialAggregates expected, TiledDistanceComputation.Aggregates actual, boolean isStoringDistances) {
+        assertEquals(expected.distances.length, actual.getCount());
+        assertEquals(expected.min, actual.getMin(), DELTA);
+        assertEquals(expected.max, actual.getMax(), DELTA);
+        assertEquals(expected.mean, actual.getMean(), DELTA);
+        assertEquals(expected.variance, actual.getVariance(), DELTA);
+        assertEquals(Math.sqrt(expected.variance), actual.getStandardDeviation(), DELTA);
+        assertEquals(expected.leastMean, actual.getLeastMean(), DELTA);
+        assertEquals(expected.mostMean, actual.getMostMean(), DELTA);
+        assertEquals(expected.meanMin, actual.getMeanMin(), DELTA);
+        assertEquals(expected.meanMax, actual.getMeanMax(), DELTA);
+        if (isStoringDistances) {
+            assertArrayEquals(expected.distances, actual.getDistances(), DELTA);
+        } else {
+            assertNull(actual.getDistances());
+        }
+    }
+
+    private static IDistanceFunction unpacked(IDistanceFunction function) {
+        return new IDistanceFunction() {
+            @Override
+            public double computeDistance(int[] literals1, int[] literals2) {
+                return function.computeDistance(literals1, literals2);
+            }
+
+            @Override
+            public String getName() {
+                return function.getName();
+            }
+        };
+    }
+
+    private static List<BooleanSolution> randomSample(Random random, int variableCount, int size) {
+        List<BooleanSolution> sample = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            int[] literals = new int[variableCount];
+            for (int v = 1; v <= variableCount; v++) {
+                int value = random.nextInt(7);
+                literals[v - 1] = value == 0 ? 0 : value % 2 == 0 ? v : -v;
+            }
+            sample.add(new BooleanSolution(literals, false));
+        }
+        return sample;
+    }
+}
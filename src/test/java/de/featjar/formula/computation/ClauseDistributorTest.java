@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class ClauseDistributorTest {
+
+    private static List<int[]> distribute(int variableCount, int[][]... alternatives)
+            throws DistributiveTransformer.CancelledException {
+        return new ClauseDistributor(variableCount).distribute(alternatives, null);
+    }
+
+    @Test
+    void distributesAlternatives() throws DistributiveTransformer.CancelledException {
+        // or(and(1, 2), and(3, 4))
+        List<int[]> clauses = distribute(4, new int[][] {{1}, {2}}, new int[][] {{3}, {4}});
+        assertEquals(4, clauses.size());
+        assertArrayEquals(new int[] {1, 3}, clauses.get(0));
+        assertArrayEquals(new int[] {1, 4}, clauses.get(1));
+        assertArrayEquals(new int[] {2, 3}, clauses.get(2));
+        assertArrayEquals(new int[] {2, 4}, clauses.get(3));
+    }
+
+    @Test
+    void prunesTautologicalAlternatives() throws DistributiveTransformer.CancelledException {
+        // or(and(1, 2), and(-1, 3)) would yield the tautology or(1, -1)
+        List<int[]> clauses = distribute(3, new int[][] {{1}, {2}}, new int[][] {{-1}, {3}});
+        assertEquals(3, clauses.size());
+        assertArrayEquals(new int[] {1, 3}, clauses.get(0));
+        assertArrayEquals(new int[] {2, -1}, clauses.get(1));
+        assertArrayEquals(new int[] {2, 3}, clauses.get(2));
+    }
+
+    @Test
+    void prunesTautologiesWithinAlternatives() throws DistributiveTransformer.CancelledException {
+        // or(1, and(-1, 2), and(or(-1, 3), 4)): every alternative containing -1 is pruned
+        List<int[]> clauses = distribute(4, new int[][] {{1}}, new int[][] {{-1}, {2}}, new int[][] {{-1, 3}, {4}});
+        assertEquals(1, clauses.size());
+        assertArrayEquals(new int[] {1, 2, 4}, clauses.get(0));
+    }
+
+    @Test
+    void prunesRedundantChildren() throws DistributiveTransformer.CancelledException {
+        // or(1, and(1, 2)) is equivalent to 1
+        List<int[]> clauses = distribute(2, new int[][] {{1}}, new int[][] {{1}, {2}});
+        assertEquals(1, clauses.size());
+        assertArrayEquals(new int[] {1}, clauses.get(0));
+    }
+
+    @Test
+    void removesSubsumedClauses() throws DistributiveTransformer.CancelledException {
+        // or(and(1, 2), and(1, 3, 4)) yields 1, which subsumes or(2, 3) and or(2, 4)
+        List<int[]> clauses = distribute(4, new int[][] {{1}, {2}}, new int[][] {{1}, {3}, {4}});
+        assertEquals(3, clauses.size());
+        assertArrayEquals(new int[] {1}, clauses.get(0));
+        assertArrayEquals(new int[] {2, 3}, clauses.get(1));
+        assertArrayEquals(new int[] {2, 4}, clauses.get(2));
+    }
+
+    @Test
+    void cancelsAndCanBeReused() throws DistributiveTransformer.CancelledException {
+        ClauseDistributor distributor = new ClauseDistributor(4);
+        int[][][] alternatives = {{{1}, {2}}, {{3}, {4}}};
+        AtomicInteger clauseCount = new AtomicInteger();
+        assertThrows(
+                DistributiveTransformer.CancelledException.class,
+                () -> distributor.distribute(
+                        alternatives,
+                        clause -> clauseCount.incrementAndGet() > 2 ? new RuntimeException("cancelled") : null));
+        assertEquals(3, clauseCount.get());
+        assertEquals(4, distributor.distribute(alternatives, null).size());
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.featjar.base.computation.Computations;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanClause;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ComputeSimplifiedClauseListTest {
+
+    private static final VariableMap VARIABLES = VariableMap.of(List.of("a", "b", "c", "d"));
+
+    private static BooleanAssignmentList simplify(boolean isStrengthening, BooleanClause... clauses) {
+        return Computations.of(new BooleanAssignmentList(VARIABLES, List.of(clauses)))
+                .map(ComputeSimplifiedClauseList::new)
+                .set(ComputeSimplifiedClauseList.IS_STRENGTHENING, isStrengthening)
+                .compute();
+    }
+
+    @Test
+    void removesDuplicatesAndTautologies() {
+        BooleanAssignmentList clauseList = simplify(
+                true,
+                new BooleanClause(1, 2),
+                new BooleanClause(2, 1, 2),
+                new BooleanClause(1, -1, 3),
+                new BooleanClause(-3, 4));
+        assertEquals(List.of(new BooleanClause(1, 2), new BooleanClause(-3, 4)), clauseList.getAll());
+        assertSame(VARIABLES, clauseList.getVariableMap());
+    }
+
+    @Test
+    void removesSubsumedClauses() {
+        BooleanAssignmentList clauseList = simplify(
+                false,
+                new BooleanClause(1, 2, 3),
+                new BooleanClause(-1, 2, 3),
+                new BooleanClause(2, 3),
+                new BooleanClause(1));
+        assertEquals(List.of(new BooleanClause(2, 3), new BooleanClause(1)), clauseList.getAll());
+    }
+
+    @Test
+    void appliesSelfSubsumingResolution() {
+        BooleanClause[] clauses = {new BooleanClause(1, 2), new BooleanClause(-1, 2, 3), new BooleanClause(-2, 4)};
+        assertEquals(
+                List.of(new BooleanClause(1, 2), new BooleanClause(2, 3), new BooleanClause(-2, 4)),
+                simplify(true, clauses).getAll());
+        assertEquals(List.of(clauses), simplify(false, clauses).getAll());
+    }
+
+    @Test
+    void detectsEmptyClause() {
+        assertEquals(
+                List.of(new BooleanClause()),
+                simplify(true, new BooleanClause(1, 2), new BooleanClause(1), new BooleanClause(-1))
+                        .getAll());
+        assertEquals(
+                List.of(new BooleanClause()),
+                simplify(false, new BooleanClause(1, 2), new BooleanClause()).getAll());
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.featjar.base.computation.Computations;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanSolution;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class ComputeTWiseCoverageTest {
+
+    private static final VariableMap VARIABLES = VariableMap.of(List.of("a", "b", "c"));
+
+    private static final BooleanAssignmentList SAMPLE = new BooleanAssignmentList(
+            VARIABLES, List.of(new BooleanSolution(1, 2, 3), new BooleanSolution(-1, -2, 3)));
+
+    @Test
+    void pairwiseCoverage() {
+        ComputeTWiseCoverage.Coverage coverage =
+                Computations.of(SAMPLE).map(ComputeTWiseCoverage::new).compute();
+        assertEquals(2, coverage.getT());
+        assertEquals(6, coverage.getCoveredCount());
+        assertEquals(6, coverage.getUncoveredCount());
+        assertEquals(0, coverage.getInvalidCount());
+        assertEquals(0.5, coverage.getCoverage());
+    }
+
+    @Test
+    void coverageWithExcludedInteractions() throws IOException {
+        Path uncoveredFile = Files.createTempFile("uncovered", ".txt");
+        try {
+            ComputeTWiseCoverage.Coverage coverage = Computations.of(SAMPLE)
+                    .map(ComputeTWiseCoverage::new)
+                    .set(
+                            ComputeTWiseCoverage.EXCLUDED_INTERACTIONS,
+                            new BooleanAssignmentList(VARIABLES, List.of(new BooleanAssignment(-3))))
+                    .set(ComputeTWiseCoverage.UNCOVERED_INTERACTIONS_FILE, uncoveredFile.toString())
+                    .compute();
+            assertEquals(6, coverage.getCoveredCount());
+            assertEquals(2, coverage.getUncoveredCount());
+            assertEquals(4, coverage.getInvalidCount());
+            assertEquals(0.75, coverage.getCoverage());
+            List<String> uncovered = Files.readAllLines(uncoveredFile);
+            assertEquals(2, uncovered.size());
+            assertTrue(uncovered.contains("1 -2 0"));
+            assertTrue(uncovered.contains("-1 2 0"));
+        } finally {
+            Files.delete(uncoveredFile);
+        }
+    }
+
+    @Test
+    void threeWiseCoverageOfEmptySample() {
+        ComputeTWiseCoverage.Coverage coverage = Computations.of(new BooleanAssignmentList(VARIABLES))
+                .map(ComputeTWiseCoverage::new)
+                .set(ComputeTWiseCoverage.T, 3)
+                .compute();
+        assertEquals(0, coverage.getCoveredCount());
+        assertEquals(8, coverage.getUncoveredCount());
+        assertEquals(0.0, coverage.getCoverage());
+    }
+
+    @Test
+    void threeWiseCoverageOfLargeSampleWithExcludedInteractions() {
+        VariableMap variables = VariableMap.of(List.of("a", "b", "c", "d", "e", "f", "g", "h"));
+        Random random = new Random(1);
+        List<BooleanAssignment> assignments = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            assignments.add(randomAssignment(random, variables.size(), 4));
+        }
+        List<BooleanAssignment> excluded = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            excluded.add(randomAssignment(random, variables.size(), 1 + i % 3));
+        }
+        ComputeTWiseCoverage.Coverage coverage = Computations.of(new BooleanAssignmentList(variables, assignments))
+                .map(ComputeTWiseCoverage::new)
+                .set(ComputeTWiseCoverage.T, 3)
+                .set(ComputeTWiseCoverage.EXCLUDED_INTERACTIONS, new BooleanAssignmentList(variables, excluded))
+                .compute();
+
+        long[] expected = new long[3];
+        int n = variables.size();
+        for (int v1 = 1; v1 <= n; v1++) {
+            for (int v2 = v1 + 1; v2 <= n; v2++) {
+                for (int v3 = v2 + 1; v3 <= n; v3++) {
+                    for (int signs = 0; signs < 8; signs++) {
+                        int[] interaction = {
+                            (signs & 1) == 0 ? v1 : -v1, (signs & 2) == 0 ? v2 : -v2, (signs & 4) == 0 ? v3 : -v3
+                        };
+                        if (excluded.stream().anyMatch(e -> new BooleanAssignment(interaction).containsAll(e))) {
+                            expected[2]++;
+                        } else if (assignments.stream().anyMatch(a -> a.containsAll(interaction))) {
+                            expected[0]++;
+                        } else {
+                            expected[1]++;
+                        }
+                    }
+                }
+            }
+        }
+        assertTrue(expected[0] > 0 && expected[1] > 0 && expected[2] > 0);
+        assertEquals(expected[0], coverage.getCoveredCount());
+        assertEquals(expected[1], coverage.getUncoveredCount());
+        assertEquals(expected[2], coverage.getInvalidCount());
+    }
+
+    @Test
+    void computesConcurrentlyWithOneInstance() {
+        ComputeTWiseCoverage computation = new ComputeTWiseCoverage(Computations.of(SAMPLE));
+        BooleanAssignmentList noExclusions = new BooleanAssignmentList(VARIABLES);
+        BooleanAssignmentList emptySample = new BooleanAssignmentList(VARIABLES);
+        IntStream.range(0, 64).parallel().forEach(i -> {
+            boolean isEmpty = i % 2 == 0;
+            int t = 2 + (i / 2) % 2;
+            ComputeTWiseCoverage.Coverage coverage = computation
+                    .compute(List.of(isEmpty ? emptySample : SAMPLE, t, noExclusions, ""), null)
+                    .orElseThrow();
+            assertEquals(t, coverage.getT());
+            long interactionCount = t == 2 ? 12 : 8;
+            long coveredCount = isEmpty ? 0 : t == 2 ? 6 : 2;
+            assertEquals(coveredCount, coverage.getCoveredCount());
+            assertEquals(interactionCount - coveredCount, coverage.getUncoveredCount());
+        });
+    }
+
+    /*
+     * Creates an assignment of the given number of distinct random variables with random signs.
+     */
+    private static BooleanAssignment randomAssignment(Random random, int variableCount, int size) {
+        List<Integer> literals = new ArrayList<>();
+        while (literals.size() < size) {
+            int variable = 1 + random.nextInt(variableCount);
+            if (!literals.contains(variable) && !literals.contains(-variable)) {
+                literals.add(random.nextBoolean() ? variable : -variable);
+            }
+        }
+        return new BooleanAssignment(literals.stream().mapToInt(Integer::intValue).toArray());
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.featjar.base.computation.Computations;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanSolution;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class GreedySampleReducerTest {
+
+    private static final int VARIABLE_COUNT = 10;
+
+    @Test
+    void reducedSampleHasSameCoverage() {
+        for (int t = 1; t <= 3; t++) {
+            for (int size : new int[] {65, 130, 200}) {
+                List<BooleanSolution> sample = randomSample(new Random(31L * size + t), size);
+                List<BooleanSolution> reducedSample = reduce(sample, t);
+                assertTrue(reducedSample.size() <= sample.size());
+                assertTrue(sample.containsAll(reducedSample));
+                assertEquals(
+                        reducedSample.size(),
+                        new HashSet<>(reducedSample).size(),
+                        "duplicate solution for t = " + t);
+
+                ComputeTWiseCoverage.Coverage coverage = coverage(sample, t);
+                ComputeTWiseCoverage.Coverage reducedCoverage = coverage(reducedSample, t);
+                assertEquals(coverage.getCoveredCount(), reducedCoverage.getCoveredCount(), "t = " + t);
+                assertEquals(coverage.getUncoveredCount(), reducedCoverage.getUncoveredCount(), "t = " + t);
+            }
+        }
+    }
+
+    @Test
+    void reducedSampleIsNotLargerThanReference() {
+        for (int t = 1; t <= 3; t++) {
+            for (int size : new int[] {65, 130, 200}) {
+                List<BooleanSolution> sample = randomSample(new Random(17L * size + t), size);
+                int referenceSize = referenceReduction(sample, t).size();
+                assertTrue(reduce(sample, t).size() <= referenceSize, "t = " + t + ", size = " + size);
+            }
+        }
+    }
+
+    @Test
+    void keepsSolutionsWithUniqueInteractions() {
+        List<BooleanSolution> sample = new ArrayList<>();
+        for (int i = 0; i < 70; i++) {
+            sample.add(new BooleanSolution(1, 2, 3));
+        }
+        sample.add(new BooleanSolution(-1, 2, 3));
+        List<BooleanSolution> reducedSample = reduce(sample, 1);
+        assertEquals(List.of(new BooleanSolution(-1, 2, 3), new BooleanSolution(1, 2, 3)), reducedSample);
+    }
+
+    @Test
+    void emptySample() {
+        assertEquals(List.of(), reduce(List.of(), 2));
+    }
+
+    private static List<BooleanSolution> reduce(List<BooleanSolution> sample, int t) {
+        return Computations.of(sample)
+                .map(GreedySampleReducer::new)
+                .set(GreedySampleReducer.T, t)
+                .compute();
+    }
+
+    private static ComputeTWiseCoverage.Coverage coverage(List<BooleanSolution> sample, int t) {
+        VariableMap variableMap = VariableMap.of(IntStream.rangeClosed(1, VARIABLE_COUNT)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.toList()));
+        return Computations.of(new BooleanAssignmentList(variableMap, sample))
+                .map(ComputeTWiseCoverage::new)
+                .set(ComputeTWiseCoverage.T, t)
+                .compute();
+    }
+
+    private static List<BooleanSolution> randomSample(Random random, int size) {
+        List<BooleanSolution> sample = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int[] literals = new int[VARIABLE_COUNT];
+            for (int v = 0; v < VARIABLE_COUNT; v++) {
+                // skew the values such that some interactions are rare
+                literals[v] = random.nextInt(4 + v) == 0 ? -(v + 1) : v + 1;
+            }
+            sample.add(new BooleanSolution(literals, false));
+        }
+        return sample;
+    }
+
+    /*
+     * Straightforward implementation of the greedy reduction that materializes all interactions.
+     * Mirrors the previous implementation of GreedySampleReducer.
+     */
+    private static List<BooleanSolution> referenceReduction(List<BooleanSolution> sample, int t) {
+        Map<List<Integer>, List<Integer>> interactions = new LinkedHashMap<>();
+        for (int i = 0; i < sample.size(); i++) {
+            collectInteractions(sample.get(i).get(), t, 0, new ArrayList<>(), i, interactions);
+        }
+        boolean[] selected = new boolean[sample.size()];
+        for (List<Integer> solutions : interactions.values()) {
+            if (solutions.size() == 1) {
+                selected[solutions.get(0)] = true;
+            }
+        }
+        List<BooleanSolution> reducedSample = new ArrayList<>();
+        for (int i = 0; i < sample.size(); i++) {
+            if (selected[i] && !reducedSample.contains(sample.get(i))) {
+                reducedSample.add(sample.get(i));
+            }
+        }
+        List<List<Integer>> uncovered = interactions.values().stream()
+                .filter(solutions -> solutions.stream().noneMatch(i -> selected[i]))
+                .collect(Collectors.toList());
+        while (!uncovered.isEmpty()) {
+            double[] scores = new double[sample.size()];
+            for (List<Integer> solutions : uncovered) {
+                for (int i : solutions) {
+                    scores[i] += 1.0 / solutions.size();
+                }
+            }
+            int best = 0;
+            for (int i = 1; i < scores.length; i++) {
+                if (scores[i] > scores[best]) {
+                    best = i;
+                }
+            }
+            final int bestIndex = best;
+            reducedSample.add(sample.get(bestIndex));
+            uncovered.removeIf(solutions -> solutions.contains(bestIndex));
+        }
+        return reducedSample;
+    }
+
+    private static void collectInteractions(
+            int[] solution,
+            int t,
+            int first,
+            List<Integer> interaction,
+            int index,
+            Map<List<Integer>, List<Integer>> interactions) {
+        if (interaction.size() == t) {
+            interactions
+                    .computeIfAbsent(new ArrayList<>(interaction), key -> new ArrayList<>())
+                    .add(index);
+            return;
+        }
+        for (int v = first; v < solution.length; v++) {
+            interaction.add(solution[v]);
+            collectInteractions(solution, t, v + 1, interaction, index, interactions);
+            interaction.remove(interaction.size() - 1);
+        }
+    }
+}
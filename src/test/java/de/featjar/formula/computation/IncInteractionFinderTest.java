@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.featjar.base.data.LexicographicIterator;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanSolution;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class IncInteractionFinderTest {
+
+    private static final int VARIABLE_COUNT = 8;
+
+    @Test
+    void potentialInteractionsAreNotCoveredBySucceedingConfigurations() {
+        BooleanSolution failing = new BooleanSolution(1, -2, 3, -4, 5, -6, 7, -8);
+        Random random = new Random(3);
+        List<BooleanAssignment> configurations = new ArrayList<>();
+        configurations.add(failing);
+        while (configurations.size() < 80) {
+            int[] literals = new int[VARIABLE_COUNT];
+            for (int v = 0; v < VARIABLE_COUNT; v++) {
+                // configurations rarely agree with the failing one, such that some interactions remain uncovered
+                literals[v] = random.nextInt(4) == 0 ? failing.get(v) : -failing.get(v);
+            }
+            BooleanSolution configuration = new BooleanSolution(literals, false);
+            if (!configuration.equals(failing)) {
+                configurations.add(configuration);
+            }
+        }
+        List<BooleanAssignment> succeeding = configurations.subList(1, configurations.size());
+
+        IncInteractionFinder finder = new IncInteractionFinder();
+        finder.reset();
+        finder.setVerifier(configuration -> configuration.containsAll(failing) ? 1 : 0);
+        VariableMap variableMap = VariableMap.of(IntStream.rangeClosed(1, VARIABLE_COUNT)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.toList()));
+        finder.addConfigurations(new BooleanAssignmentList(variableMap, configurations));
+        assertEquals(configurations.size(), finder.getSample().size());
+
+        int[] failingLiterals = failing.get();
+        for (int t = 1; t <= 3; t++) {
+            Set<String> expected = LexicographicIterator.stream(t, failingLiterals.length)
+                    .map(combination -> combination.getSelection(failingLiterals))
+                    .filter(literals -> succeeding.stream().noneMatch(c -> c.containsAll(literals)))
+                    .map(Arrays::toString)
+                    .collect(Collectors.toSet());
+            Set<String> actual = finder.computePotentialInteractions(t).stream()
+                    .map(Arrays::toString)
+                    .collect(Collectors.toSet());
+            assertEquals(expected, actual, "t = " + t);
+        }
+        assertTrue(finder.computePotentialInteractions(3).size() > 0);
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.featjar.analysis.CountingConfigurationVerifyer;
+import de.featjar.analysis.IConfigurationUpdater;
+import de.featjar.analysis.IConfigurationVerifyer;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.data.Result;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanSolution;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class PropInteractionFinderTest {
+
+    /**
+     * Completes and updates configurations by enumerating all configurations that satisfy the given clauses.
+     */
+    private static class BruteForceUpdater implements IConfigurationUpdater {
+        private final List<BooleanSolution> solutions = new ArrayList<>();
+
+        private BruteForceUpdater(int variableCount, int[]... clauses) {
+            for (int mask = 0; mask < 1 << variableCount; mask++) {
+                int[] literals = new int[variableCount];
+                for (int v = 0; v < variableCount; v++) {
+                    literals[v] = (mask >> v & 1) == 0 ? v + 1 : -(v + 1);
+                }
+                BooleanSolution solution = new BooleanSolution(literals, false);
+                boolean isValid = true;
+                for (int[] clause : clauses) {
+                    isValid &= solution.containsAny(clause);
+                }
+                if (isValid) {
+                    solutions.add(solution);
+                }
+            }
+        }
+
+        @Override
+        public Result<BooleanSolution> update(BooleanAssignment partialSolution) {
+            List<BooleanSolution> matching = solutions.stream()
+                    .filter(solution -> solution.containsAll(partialSolution))
+                    .collect(Collectors.toList());
+            if (matching.isEmpty()) {
+                return Result.empty();
+            }
+            int[] implied = IntStream.of(matching.get(0).get())
+                    .filter(literal -> matching.stream().allMatch(solution -> solution.contains(literal)))
+                    .toArray();
+            return Result.of(new BooleanSolution(matching.get(0).size(), implied));
+        }
+
+        @Override
+        public Result<BooleanSolution> complete(
+                Collection<int[]> include, Collection<int[]> exclude, Collection<int[]> choose) {
+            return Result.ofOptional(solutions.stream()
+                    .filter(solution -> include == null || include.stream().allMatch(solution::containsAll))
+                    .filter(solution -> exclude == null || exclude.stream().noneMatch(solution::containsAll))
+                    .findFirst());
+        }
+    }
+
+    private static final int VARIABLE_COUNT = 6;
+
+    private static final VariableMap VARIABLES = VariableMap.of(IntStream.rangeClosed(1, VARIABLE_COUNT)
+            .mapToObj(String::valueOf)
+            .collect(Collectors.toList()));
+
+    private static List<BooleanAssignment> find(
+            IConfigurationUpdater updater, IConfigurationVerifyer verifier, BooleanAssignment core, int t) {
+        List<BooleanAssignment> configurations =
+                List.of(new BooleanSolution(1, -2, 3, 4, 5, 6), new BooleanSolution(-1, 2, 3, 4, 5, 6));
+        return Computations.of(new BooleanAssignmentList(VARIABLES, configurations))
+                .map(c -> new PropInteractionFinder(c, updater, verifier))
+                .set(PropInteractionFinder.T, t)
+                .set(PropInteractionFinder.CORE, core)
+                .compute()
+                .getAll();
+    }
+
+    @Test
+    void findsFailureInducingInteraction() {
+        for (int t = 1; t <= 3; t++) {
+            CountingConfigurationVerifyer verifier =
+                    new CountingConfigurationVerifyer(c -> c.containsAll(1, -2) ? 1 : 0);
+            List<BooleanAssignment> interactions =
+                    find(new BruteForceUpdater(VARIABLE_COUNT), verifier, new BooleanAssignment(), t);
+            assertFalse(interactions.isEmpty(), "t = " + t);
+            for (BooleanAssignment interaction : interactions) {
+                assertTrue(interaction.contains(1) || interaction.contains(-2), "t = " + t);
+            }
+            assertTrue(verifier.getVerificationCount() > 2, "t = " + t);
+        }
+    }
+
+    @Test
+    void findsFailureInducingInteractionWithImpliedLiterals() {
+        // 1 implies 5, such that updating [1, -2] yields [1, -2, 5], which subsumes the update of [-2, 5]
+        IConfigurationUpdater updater = new BruteForceUpdater(VARIABLE_COUNT, new int[] {-1, 5});
+        List<BooleanAssignment> interactions =
+                find(updater, c -> c.containsAll(1, -2) ? 1 : 0, new BooleanAssignment(), 2);
+        assertTrue(interactions.get(0).containsAll(1, -2, 5));
+        assertEquals(3, interactions.get(0).size());
+        // [-2, 5] is subsumed by [1, -2, 5]
+        assertTrue(interactions.stream().noneMatch(a -> a.size() == 2 && a.containsAll(-2, 5)));
+    }
+
+    @Test
+    void ignoresCoreLiterals() {
+        IConfigurationUpdater updater = new BruteForceUpdater(VARIABLE_COUNT, new int[] {3});
+        List<BooleanAssignment> interactions =
+                find(updater, c -> c.containsAll(1, -2) ? 1 : 0, new BooleanAssignment(3), 2);
+        assertFalse(interactions.isEmpty());
+        assertTrue(interactions.get(0).containsAll(1, -2));
+        assertTrue(interactions.stream().noneMatch(a -> a.containsAnyVariable(3)));
+    }
+
+    @Test
+    void returnsNoInteractionIfAllConfigurationsFail() {
+        List<BooleanAssignment> interactions =
+                find(new BruteForceUpdater(VARIABLE_COUNT), c -> 1, new BooleanAssignment(), 2);
+        assertEquals(List.of(), interactions);
+    }
+
+    @Test
+    void returnsInteractionsWithMoreThanHalfOfTheMinimalSupport() {
+        List<BooleanAssignment> failing = new ArrayList<>();
+        List<BooleanAssignment> succeeding = new ArrayList<>();
+        IConfigurationVerifyer verifier = c -> {
+            if (c.containsAll(1, -2)) {
+                failing.add(c);
+                return 1;
+            }
+            succeeding.add(c);
+            return 0;
+        };
+        List<BooleanAssignment> interactions =
+                find(new BruteForceUpdater(VARIABLE_COUNT), verifier, new BooleanAssignment(), 2);
+        ToIntFunction<int[]> support = literals -> {
+            int fail = (int) failing.stream().filter(c -> c.containsAll(literals)).count();
+            int succ = (int) succeeding.stream().filter(c -> c.containsAll(literals)).count();
+            return succ * failing.size() - fail * succeeding.size();
+        };
+
+        assertFalse(interactions.isEmpty());
+        double minimalSupport = support.applyAsInt(interactions.get(0).get());
+        assertTrue(minimalSupport < 0);
+        for (BooleanAssignment interaction : interactions) {
+            assertTrue(support.applyAsInt(interaction.get()) / minimalSupport > 0.5);
+        }
+        int weakInteractionCount = 0;
+        for (int v1 = 1; v1 <= VARIABLE_COUNT; v1++) {
+            for (int v2 = v1 + 1; v2 <= VARIABLE_COUNT; v2++) {
+                for (int[] literals :
+                        List.of(new int[] {v1, v2}, new int[] {-v1, v2}, new int[] {v1, -v2}, new int[] {-v1, -v2})) {
+                    double ratio = support.applyAsInt(literals) / minimalSupport;
+                    if (ratio > 0 && ratio <= 0.5) {
+                        weakInteractionCount++;
+                        assertTrue(interactions.stream().noneMatch(a -> a.size() == 2 && a.containsAll(literals)));
+                    }
+                }
+            }
+        }
+        assertTrue(weakInteractionCount > 0);
+    }
+}
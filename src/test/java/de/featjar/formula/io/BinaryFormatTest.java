@@ -20,15 +20,35 @@
  */
 package de.featjar.formula.io;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 import de.featjar.Common;
 import de.featjar.FormatTest;
 import de.featjar.base.computation.Computations;
+import de.featjar.base.data.Result;
+import de.featjar.base.io.IO;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentGroups;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanClause;
+import de.featjar.formula.assignment.BooleanSolution;
 import de.featjar.formula.assignment.ComputeBooleanRepresentation;
 import de.featjar.formula.computation.ComputeCNFFormula;
 import de.featjar.formula.computation.ComputeNNFFormula;
 import de.featjar.formula.io.binary.BooleanAssignmentGroupsBinaryFormat;
+import de.featjar.formula.io.binary.BooleanAssignmentGroupsIndexedBinaryFormat;
+import de.featjar.formula.io.binary.MappedBooleanAssignmentGroups;
 import de.featjar.formula.io.textual.ExpressionFormat;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -53,6 +73,88 @@ public class BinaryFormatTest extends Common {
         test("nAB");
     }
 
+    @Test
+    public void indexedFormat() throws IOException {
+        VariableMap variableMap = VariableMap.of(
+                List.of("A", "B", "C", "D", "E", "F", "G", "H", "I", "J", "K", "L", "M", "N", "O", "P", "Q", "R",
+                        "S", "T", "U", "V", "W", "X", "Y", "Z", "AA", "AB", "AC", "AD", "AE", "AF", "AG", "AH"));
+        int variableCount = variableMap.getVariableCount();
+        Random random = new Random(0);
+        BooleanAssignmentList solutions = new BooleanAssignmentList(variableMap);
+        for (int i = 0; i < 100; i++) {
+            int[] literals = new int[variableCount];
+            for (int j = 0; j < variableCount; j++) {
+                int r = random.nextInt(3);
+                literals[j] = r == 0 ? 0 : r == 1 ? j + 1 : -(j + 1);
+            }
+            solutions.add(new BooleanSolution(literals, false));
+        }
+        BooleanAssignmentList mixed = new BooleanAssignmentList(
+                variableMap,
+                List.of(
+                        new BooleanClause(1, -2),
+                        new BooleanAssignment(-34, 3),
+                        new BooleanClause(),
+                        solutions.get(0)));
+        BooleanAssignmentGroups groups = new BooleanAssignmentGroups(variableMap, List.of(solutions, mixed));
+
+        FormatTest.testSerializeAndParse(groups, new BooleanAssignmentGroupsIndexedBinaryFormat());
+
+        Path path = Files.createTempFile("assignments", ".ibin");
+        try {
+            IO.save(groups, path, new BooleanAssignmentGroupsIndexedBinaryFormat());
+            MappedBooleanAssignmentGroups mappedGroups = MappedBooleanAssignmentGroups.open(path);
+            assertEquals(2, mappedGroups.getGroupCount());
+            assertEquals(variableMap, mappedGroups.getVariableMap());
+            for (int i = solutions.size() - 1; i >= 0; i -= 7) {
+                assertEquals(solutions.get(i), mappedGroups.getAssignment(0, i));
+            }
+            assertEquals(mixed.getAll(), mappedGroups.getGroup(1).getAll());
+            assertEquals(groups, mappedGroups.load());
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void indexedFormatKeepsSolutionsShorterThanVariableMap() {
+        VariableMap variableMap = VariableMap.of(List.of("A", "B", "C", "D"));
+        BooleanAssignmentList solutions = new BooleanAssignmentList(
+                variableMap,
+                List.of(
+                        new BooleanSolution(new int[] {1, -2, 0, 4}, false),
+                        new BooleanSolution(new int[] {-1, 2}, false)));
+        FormatTest.testSerializeAndParse(
+                new BooleanAssignmentGroups(variableMap, List.of(solutions)),
+                new BooleanAssignmentGroupsIndexedBinaryFormat());
+    }
+
+    @Test
+    public void indexedFormatRejectsCorruptLengths() throws IOException {
+        VariableMap variableMap = VariableMap.of(List.of("A", "B"));
+        BooleanAssignmentGroups groups = new BooleanAssignmentGroups(
+                variableMap, List.of(new BooleanAssignmentList(variableMap, List.of(new BooleanClause(1, -2)))));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IO.save(groups, out, new BooleanAssignmentGroupsIndexedBinaryFormat());
+        byte[] bytes = out.toByteArray();
+        // header (12 bytes), two names (5 bytes each), group count (4), group offset (8), group kind and size (5),
+        // assignment offset (8), assignment type (1)
+        int maxIndexPosition = 8, nameLengthPosition = 12, groupCountPosition = 22, groupSizePosition = 35;
+        int literalCountPosition = 48;
+        assertEquals(2, ByteBuffer.wrap(bytes).getInt(literalCountPosition));
+        for (int position : new int[] {
+            maxIndexPosition, nameLengthPosition, groupCountPosition, groupSizePosition, literalCountPosition
+        }) {
+            for (int value : new int[] {-1, Integer.MAX_VALUE}) {
+                byte[] corruptBytes = bytes.clone();
+                ByteBuffer.wrap(corruptBytes).putInt(position, value);
+                Result<BooleanAssignmentGroups> result = IO.load(
+                        new ByteArrayInputStream(corruptBytes), new BooleanAssignmentGroupsIndexedBinaryFormat());
+                assertTrue(result.isEmpty(), () -> position + ": " + value);
+            }
+        }
+    }
+
     private static void test(String name) {
         final BooleanAssignmentGroups assignmentSpace = Computations.of(getFormula(name))
                 .map(ComputeNNFFormula::new)
@@ -62,5 +164,6 @@ public class BinaryFormatTest extends Common {
 
         FormatTest.testParseAndSerialize("binary/" + name, new BooleanAssignmentGroupsBinaryFormat());
         FormatTest.testSerializeAndParse(assignmentSpace, new BooleanAssignmentGroupsBinaryFormat());
+        FormatTest.testSerializeAndParse(assignmentSpace, new BooleanAssignmentGroupsIndexedBinaryFormat());
     }
 }
@@ -21,15 +21,28 @@
 package de.featjar.formula.io;
 
 import static de.featjar.formula.structure.Expressions.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import de.featjar.Common;
 import de.featjar.FormatTest;
 import de.featjar.base.io.IO;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignmentGroups;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanClause;
+import de.featjar.formula.io.dimacs.BooleanAssignmentGroupsDimacsFormat;
+import de.featjar.formula.io.dimacs.BooleanAssignmentGroupsDimacsStreamParser;
 import de.featjar.formula.io.dimacs.FormulaDimacsFormat;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -103,6 +116,62 @@ public class DIMACSFormatTest extends Common {
         test("void");
     }
 
+    @Test
+    public void DIMACS_booleanAssignmentGroups() {
+        VariableMap variableMap = VariableMap.of(List.of("A", "B", "C"));
+        FormatTest.testSerializeAndParse(
+                new BooleanAssignmentGroups(
+                        variableMap,
+                        new BooleanAssignmentList(
+                                variableMap,
+                                List.of(new BooleanClause(1, -2), new BooleanClause(3), new BooleanClause()))),
+                new BooleanAssignmentGroupsDimacsFormat());
+        for (int i = 1; i <= 10; i++) {
+            String name = String.format("formats/DIMACS/faulty_%02d.dimacs", i);
+            assertTrue(
+                    IO.load(ClassLoader.getSystemResource(name), new BooleanAssignmentGroupsDimacsFormat())
+                            .isEmpty(),
+                    name);
+        }
+    }
+
+    @Test
+    public void DIMACS_streamParser() throws ParseException, IOException {
+        String dimacs = "c 1 A\nc 2 B\nc 3 C\np cnf 3 3\n1 -2 0\nc comment\n3 0\n-1 2 -3 0\n";
+        for (boolean isChannel : new boolean[] {false, true}) {
+            BooleanAssignmentGroupsDimacsStreamParser parser = new BooleanAssignmentGroupsDimacsStreamParser();
+            parser.setReadingVariableDirectory(true);
+            BooleanAssignmentGroups groups = parseStream(parser, dimacs, isChannel);
+            VariableMap variableMap = groups.getVariableMap();
+            assertEquals(3, variableMap.getVariableCount());
+            assertEquals("A", variableMap.get(1).orElseThrow());
+            assertEquals("C", variableMap.get(3).orElseThrow());
+            assertEquals(
+                    List.of(new BooleanClause(1, -2), new BooleanClause(3), new BooleanClause(-1, 2, -3)),
+                    groups.getFirstGroup().getAll());
+        }
+    }
+
+    @Test
+    public void DIMACS_streamParserRejectsLargeVariables() {
+        for (boolean isChannel : new boolean[] {false, true}) {
+            for (String literal : List.of("4", "-4", "1000000000", "2147483647", "-2147483647", "2147483648")) {
+                String dimacs = "p cnf 3 1\n1 " + literal + " 0\n";
+                assertThrows(
+                        ParseException.class,
+                        () -> parseStream(new BooleanAssignmentGroupsDimacsStreamParser(), dimacs, isChannel),
+                        literal);
+            }
+        }
+    }
+
+    private static BooleanAssignmentGroups parseStream(
+            BooleanAssignmentGroupsDimacsStreamParser parser, String dimacs, boolean isChannel)
+            throws ParseException, IOException {
+        ByteArrayInputStream inputStream = new ByteArrayInputStream(dimacs.getBytes(StandardCharsets.UTF_8));
+        return isChannel ? parser.parse(Channels.newChannel(inputStream)) : parser.parse(inputStream);
+    }
+
     private static void test(String name) {
         FormatTest.testSerializeAndParse(getFormula(name), new FormulaDimacsFormat());
     }
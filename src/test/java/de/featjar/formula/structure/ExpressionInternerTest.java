@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.structure;
+
+import static de.featjar.formula.structure.Expressions.and;
+import static de.featjar.formula.structure.Expressions.implies;
+import static de.featjar.formula.structure.Expressions.literal;
+import static de.featjar.formula.structure.Expressions.not;
+import static de.featjar.formula.structure.Expressions.or;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.formula.structure.connective.And;
+import de.featjar.formula.structure.connective.Or;
+import org.junit.jupiter.api.Test;
+
+class ExpressionInternerTest {
+    @Test
+    void sharesEqualSubtrees() {
+        ExpressionInterner interner = new ExpressionInterner();
+        And formula = and(
+                or(literal("a"), not(literal("b"))), implies(literal("c"), or(literal("a"), not(literal("b")))));
+        IFormula copy = (IFormula) formula.cloneTree();
+
+        And internedFormula = interner.intern(formula);
+        assertEquals(formula, internedFormula);
+        assertSame(internedFormula, interner.intern(copy));
+
+        IExpression leftOr = internedFormula.getChildren().get(0);
+        IExpression rightOr = internedFormula.getChildren().get(1).getChildren().get(1);
+        assertSame(leftOr, rightOr);
+        assertSame(leftOr.getChildren().get(0), interner.literal("a"));
+        assertTrue(interner.isInterned(leftOr));
+        // and, or, implies, not, literal a, b, c, variable a, b, c
+        assertEquals(10, interner.size());
+    }
+
+    @Test
+    void doesNotModifyInput() {
+        ExpressionInterner interner = new ExpressionInterner();
+        Or first = or(literal("a"), literal("b"));
+        interner.intern(first);
+        And formula = and(or(literal("a"), literal("b")), literal("c"));
+        IExpression child = formula.getChildren().get(0);
+        And internedFormula = interner.intern(formula);
+        assertSame(child, formula.getChildren().get(0));
+        assertNotSame(formula, internedFormula);
+        assertSame(first, internedFormula.getChildren().get(0));
+    }
+
+    @Test
+    void distinguishesNodeData() {
+        ExpressionInterner interner = new ExpressionInterner();
+        assertNotSame(interner.literal(true, "a"), interner.literal(false, "a"));
+        assertNotSame(interner.and(interner.literal("a")), interner.or(interner.literal("a")));
+        assertNotSame(
+                interner.or(interner.literal("a"), interner.literal("b")),
+                interner.or(interner.literal("b"), interner.literal("a")));
+        assertSame(interner.not(interner.literal("a")), interner.not(literal("a")));
+    }
+}
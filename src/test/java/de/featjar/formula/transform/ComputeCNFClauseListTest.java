@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.transform;
+
+import static de.featjar.formula.structure.Expressions.and;
+import static de.featjar.formula.structure.Expressions.atMost;
+import static de.featjar.formula.structure.Expressions.between;
+import static de.featjar.formula.structure.Expressions.biImplies;
+import static de.featjar.formula.structure.Expressions.choose;
+import static de.featjar.formula.structure.Expressions.implies;
+import static de.featjar.formula.structure.Expressions.literal;
+import static de.featjar.formula.structure.Expressions.not;
+import static de.featjar.formula.structure.Expressions.or;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import de.featjar.base.computation.Computations;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.computation.CardinalityEncoder;
+import de.featjar.formula.computation.ComputeCNFClauseList;
+import de.featjar.formula.computation.ComputeNNFFormula;
+import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.structure.connective.And;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class ComputeCNFClauseListTest {
+
+    private static final List<IFormula> FORMULAS = List.of(
+            and(or(literal("a"), literal("b")), or(literal("c"))),
+            or(and(literal("a"), literal("b")), and(literal("c"))),
+            not(or(and(literal("C"), biImplies(or(literal("D"), literal("E")), literal("C"))), and(or(literal("E"))))),
+            and(implies(literal("a"), or(literal("b"), and(literal("c"), literal(false, "d")))), literal("a")));
+
+    private static final List<IFormula> CARDINAL_FORMULAS = List.of(
+            choose(2, literal("a"), literal(false, "b"), literal("c"), literal("d")),
+            atMost(1, literal("a"), literal("b"), literal("c")),
+            or(between(1, 2, literal("a"), and(literal("b"), literal("c")), literal("d")), literal("e")),
+            not(choose(1, literal("a"), or(literal("b"), literal(false, "c")), literal("d"))));
+
+    @Test
+    void keepsClauses() {
+        BooleanAssignmentList clauseList = Computations.of(FORMULAS.get(0))
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFClauseList::new)
+                .compute();
+        assertEquals(3, clauseList.getVariableMap().getVariableCount());
+        assertEquals(2, clauseList.size());
+    }
+
+    @Test
+    void distributive() {
+        for (IFormula formula : FORMULAS) {
+            BooleanAssignmentList clauseList = Computations.of(formula)
+                    .map(ComputeNNFFormula::new)
+                    .map(ComputeCNFClauseList::new)
+                    .compute();
+            assertEquals(
+                    formula.getVariables().size(),
+                    clauseList.getVariableMap().getVariableCount());
+            TransformationTest.assertEquisatisfiable(formula, clauseList);
+        }
+    }
+
+    @Test
+    void tseitin() {
+        for (boolean isPlaistedGreenbaum : new boolean[] {false, true}) {
+            for (IFormula formula : FORMULAS) {
+                BooleanAssignmentList clauseList = Computations.of(formula)
+                        .map(ComputeNNFFormula::new)
+                        .map(ComputeCNFClauseList::new)
+                        .set(ComputeCNFClauseList.MAXIMUM_NUMBER_OF_LITERALS, 0)
+                        .set(ComputeCNFClauseList.IS_PLAISTED_GREENBAUM, isPlaistedGreenbaum)
+                        .compute();
+                TransformationTest.assertEquisatisfiable(formula, clauseList);
+            }
+        }
+    }
+
+    @Test
+    void parallel() {
+        List<IFormula> formulas = new ArrayList<>(FORMULAS);
+        formulas.add(createLargeFormula(new Random(1)));
+        for (int maximumNumberOfLiterals : new int[] {Integer.MAX_VALUE, 0}) {
+            for (IFormula formula : formulas) {
+                BooleanAssignmentList sequentialClauseList = Computations.of(formula)
+                        .map(ComputeNNFFormula::new)
+                        .map(ComputeCNFClauseList::new)
+                        .set(ComputeCNFClauseList.MAXIMUM_NUMBER_OF_LITERALS, maximumNumberOfLiterals)
+                        .compute();
+                BooleanAssignmentList parallelClauseList = Computations.of(formula)
+                        .map(ComputeNNFFormula::new)
+                        .map(ComputeCNFClauseList::new)
+                        .set(ComputeCNFClauseList.MAXIMUM_NUMBER_OF_LITERALS, maximumNumberOfLiterals)
+                        .set(ComputeCNFClauseList.IS_PARALLEL, Boolean.TRUE)
+                        .compute();
+                assertEquals(
+                        sequentialClauseList.getVariableMap().getVariableNames(),
+                        parallelClauseList.getVariableMap().getVariableNames());
+                assertEquals(sequentialClauseList.getAll(), parallelClauseList.getAll());
+            }
+        }
+    }
+
+    /**
+     * {@return a random formula with about 3300 nodes, such that both the formula and its last child exceed the
+     * parallel threshold of {@link ComputeCNFClauseList} (1024 nodes)}
+     * The distributive transformation of the formula stays small.
+     */
+    private static IFormula createLargeFormula(Random random) {
+        List<IFormula> children = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            children.add(or(
+                    and(randomLiteral(random), randomLiteral(random)),
+                    and(randomLiteral(random), randomLiteral(random), randomLiteral(random)),
+                    randomLiteral(random)));
+        }
+        List<IFormula> grandChildren = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            grandChildren.add(or(and(randomLiteral(random), randomLiteral(random)), randomLiteral(random)));
+        }
+        children.add(or(randomLiteral(random), new And(grandChildren)));
+        return new And(children);
+    }
+
+    private static IFormula randomLiteral(Random random) {
+        return literal(random.nextBoolean(), "x" + random.nextInt(40));
+    }
+
+    @Test
+    void cardinalityEncodings() {
+        for (CardinalityEncoder.Encoding encoding : CardinalityEncoder.Encoding.values()) {
+            for (IFormula formula : CARDINAL_FORMULAS) {
+                BooleanAssignmentList clauseList = Computations.of(formula)
+                        .map(ComputeNNFFormula::new)
+                        .set(ComputeNNFFormula.IS_KEEPING_CARDINALS, Boolean.TRUE)
+                        .map(ComputeCNFClauseList::new)
+                        .set(ComputeCNFClauseList.CARDINALITY_ENCODING, encoding)
+                        .compute();
+                TransformationTest.assertEquisatisfiable(formula, clauseList);
+            }
+        }
+    }
+}
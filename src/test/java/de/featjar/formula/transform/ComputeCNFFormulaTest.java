@@ -22,7 +22,10 @@ package de.featjar.formula.transform;
 
 import static de.featjar.base.computation.Computations.async;
 import static de.featjar.formula.structure.Expressions.and;
+import static de.featjar.formula.structure.Expressions.atMost;
+import static de.featjar.formula.structure.Expressions.between;
 import static de.featjar.formula.structure.Expressions.biImplies;
+import static de.featjar.formula.structure.Expressions.choose;
 import static de.featjar.formula.structure.Expressions.literal;
 import static de.featjar.formula.structure.Expressions.not;
 import static de.featjar.formula.structure.Expressions.or;
@@ -34,6 +37,7 @@ import de.featjar.Common;
 import de.featjar.base.computation.Computations;
 import de.featjar.base.computation.IComputation;
 import de.featjar.formula.VariableMap;
+import de.featjar.formula.computation.CardinalityEncoder;
 import de.featjar.formula.computation.ComputeCNFFormula;
 import de.featjar.formula.computation.ComputeNNFFormula;
 import de.featjar.formula.structure.IFormula;
@@ -114,4 +118,113 @@ class ComputeCNFFormulaTest extends Common {
             assertTrue(tseitinEvaluate == null || Objects.equals(tseitinEvaluate, formulaEvaluate), assignment::print);
         });
     }
+
+    @Test
+    void hybrid() {
+        IFormula formula = or(
+                and(literal("a"), literal("b")),
+                and(literal("c"), literal("d")),
+                and(literal("e"), literal("f")),
+                and(literal("g"), literal("h")));
+        IFormula cnf = async(formula)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .set(ComputeCNFFormula.MAXIMUM_NUMBER_OF_LITERALS, 20)
+                .get()
+                .get();
+        assertTrue(cnf.isCNF(), cnf::print);
+        // two of the four conjunctions are substituted, the others are distributed
+        assertEquals(10, cnf.getVariables().size(), cnf::print);
+        TransformationTest.assertEquisatisfiable(formula, cnf);
+    }
+
+    @Test
+    void distributesWithoutLimit() {
+        // the estimate for this formula exceeds Integer.MAX_VALUE, but the result must not have auxiliary variables
+        IFormula formula = redundantDisjunction(27);
+        IFormula cnf = async(formula)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .get()
+                .get();
+        assertTrue(cnf.isCNF(), cnf::print);
+        assertEquals(28, cnf.getVariables().size(), cnf::print);
+    }
+
+    @Test
+    void distributesWithinLimitDespiteEstimate() {
+        // the estimate for this formula exceeds the limit by far, but its distributive transformation fits
+        IFormula formula = redundantDisjunction(27);
+        IFormula cnf = async(formula)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .set(ComputeCNFFormula.MAXIMUM_NUMBER_OF_LITERALS, 1000)
+                .get()
+                .get();
+        assertTrue(cnf.isCNF(), cnf::print);
+        assertEquals(28, cnf.getVariables().size(), cnf::print);
+    }
+
+    /**
+     * {@return or(and(a, b1), ..., and(a, bn)), whose redundant children are pruned by the distributive
+     * transformation}
+     */
+    private static IFormula redundantDisjunction(int count) {
+        IFormula[] children = new IFormula[count];
+        for (int i = 0; i < count; i++) {
+            children[i] = and(literal("a"), literal("b" + (i + 1)));
+        }
+        return or(children);
+    }
+
+    @Test
+    void parallelEqualsSequential() {
+        IFormula[] children = new IFormula[64];
+        for (int i = 0; i < children.length; i++) {
+            children[i] = i % 2 == 0
+                    ? or(and(literal("a" + i), literal("b" + i)), and(literal("c" + i), literal("d" + i)))
+                    : atMost(1, literal("a" + i), and(literal("b" + i), literal("c" + i)), literal("d" + i));
+        }
+        IFormula formula = and(children);
+        IFormula sequentialCNF = parallelCNF(formula, false);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(sequentialCNF, parallelCNF(formula, true));
+        }
+    }
+
+    private static IFormula parallelCNF(IFormula formula, boolean isParallel) {
+        return Computations.of(formula)
+                .map(ComputeNNFFormula::new)
+                .set(ComputeNNFFormula.IS_KEEPING_CARDINALS, Boolean.TRUE)
+                .map(ComputeCNFFormula::new)
+                .set(ComputeCNFFormula.MAXIMUM_NUMBER_OF_LITERALS, 0)
+                .set(ComputeCNFFormula.IS_PARALLEL, isParallel)
+                .get()
+                .get();
+    }
+
+    @Test
+    void cardinalityEncodings() {
+        for (CardinalityEncoder.Encoding encoding : CardinalityEncoder.Encoding.values()) {
+            cardinalityEncoding(choose(2, literal("a"), literal(false, "b"), literal("c"), literal("d")), encoding);
+            cardinalityEncoding(atMost(1, literal("a"), literal("b"), literal("c")), encoding);
+            cardinalityEncoding(
+                    or(between(1, 2, literal("a"), and(literal("b"), literal("c")), literal("d")), literal("e")),
+                    encoding);
+            cardinalityEncoding(
+                    not(choose(1, literal("a"), or(literal("b"), literal(false, "c")), literal("d"))), encoding);
+        }
+    }
+
+    private void cardinalityEncoding(IFormula formula, CardinalityEncoder.Encoding encoding) {
+        IFormula cnf = Computations.of(formula)
+                .map(ComputeNNFFormula::new)
+                .set(ComputeNNFFormula.IS_KEEPING_CARDINALS, Boolean.TRUE)
+                .map(ComputeCNFFormula::new)
+                .set(ComputeCNFFormula.CARDINALITY_ENCODING, encoding)
+                .get()
+                .get();
+        assertTrue(cnf.isCNF(), cnf::print);
+        TransformationTest.assertEquisatisfiable(formula, cnf);
+    }
 }
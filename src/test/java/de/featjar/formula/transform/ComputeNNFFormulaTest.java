@@ -23,14 +23,21 @@ package de.featjar.formula.transform;
 import static de.featjar.formula.structure.Expressions.False;
 import static de.featjar.formula.structure.Expressions.True;
 import static de.featjar.formula.structure.Expressions.and;
+import static de.featjar.formula.structure.Expressions.atMost;
+import static de.featjar.formula.structure.Expressions.biImplies;
+import static de.featjar.formula.structure.Expressions.choose;
 import static de.featjar.formula.structure.Expressions.forAll;
 import static de.featjar.formula.structure.Expressions.implies;
 import static de.featjar.formula.structure.Expressions.literal;
 import static de.featjar.formula.structure.Expressions.not;
 import static de.featjar.formula.structure.Expressions.or;
 import static de.featjar.formula.structure.Expressions.variable;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.IComputation;
+import de.featjar.formula.VariableMap;
 import de.featjar.formula.computation.ComputeNNFFormula;
 import de.featjar.formula.structure.IFormula;
 import de.featjar.formula.structure.predicate.ExpressionKind;
@@ -47,6 +54,31 @@ class ComputeNNFFormulaTest {
         TransformationTest.traverseAndAssertFail(formula, ComputeNNFFormula::new);
     }
 
+    IComputation<IFormula> toSinglePassNNF(IComputation<IFormula> formula) {
+        return formula.map(ComputeNNFFormula::new).set(ComputeNNFFormula.IS_SINGLE_PASS, Boolean.TRUE);
+    }
+
+    void singlePassNNF(IFormula formula, IFormula newFormula) {
+        TransformationTest.traverseAndAssertFormulaEquals(formula, this::toSinglePassNNF, newFormula);
+    }
+
+    void singlePassFails(IFormula formula) {
+        TransformationTest.traverseAndAssertFail(formula, this::toSinglePassNNF);
+    }
+
+    void singlePassEquivalent(IFormula formula) {
+        IFormula nnf = Computations.of(formula).map(ComputeNNFFormula::new).get().get();
+        IFormula singlePassNNF = toSinglePassNNF(Computations.of(formula)).get().get();
+        assertTrue(singlePassNNF.isKind(ExpressionKind.NNF));
+        VariableMap variableMap = VariableMap.of(formula);
+        FormulaCreator.streamAllAssignments(variableMap.getVariableCount()).forEach(assignment -> {
+            assertEquals(
+                    nnf.evaluate(assignment, variableMap).orElse(null),
+                    singlePassNNF.evaluate(assignment, variableMap).orElse(null),
+                    assignment::print);
+        });
+    }
+
     @Test
     public void toNNF() {
         fails(and());
@@ -63,4 +95,31 @@ class ComputeNNFFormulaTest {
                 and(True, and(True, and(True), or(False), or(True, False)), literal("x")),
                 and(literal("x"), literal(false, "x")));
     }
+
+    @Test
+    public void toNNFSinglePass() {
+        singlePassFails(and());
+        singlePassFails(True);
+        singlePassFails(implies(literal("a"), forAll(variable("x"), True)));
+        singlePassNNF(and(literal("a")), literal("a"));
+        singlePassNNF(and(literal("a"), True), literal("a"));
+        singlePassNNF(implies(literal("a"), False), literal(false, "a"));
+        singlePassNNF(not(or(literal("a"), literal("b"))), and(literal(false, "a"), literal(false, "b")));
+        singlePassNNF(
+                and(not(or(literal("a"), literal("b"))), literal("c")),
+                and(literal(false, "a"), literal(false, "b"), literal("c")));
+        singlePassNNF(
+                and(True, and(True, and(True), or(False), or(True, False)), literal("x")),
+                and(literal("x"), literal(false, "x")));
+    }
+
+    @Test
+    public void singlePassEqualsMultiPass() {
+        singlePassEquivalent(FormulaCreator.getFormula01());
+        singlePassEquivalent(FormulaCreator.getFormula02());
+        singlePassEquivalent(not(biImplies(literal("a"), implies(literal("b"), not(literal("c"))))));
+        singlePassEquivalent(and(
+                not(atMost(1, literal("a"), literal("b"), literal(false, "c"))),
+                or(choose(2, literal("a"), not(literal("b")), literal("c"), literal("d")), literal("e"))));
+    }
 }
@@ -25,9 +25,17 @@ import static org.junit.jupiter.api.Assertions.*;
 import de.featjar.base.computation.Computations;
 import de.featjar.base.computation.IComputation;
 import de.featjar.base.data.Result;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
 import de.featjar.formula.structure.Expressions;
 import de.featjar.formula.structure.IFormula;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 class TransformationTest {
     public static void traverseAndAssertSameFormula(
@@ -59,4 +67,50 @@ class TransformationTest {
                 formulaComputationFunction.apply(Computations.of(oldFormula)).get();
         assertFalse(result.isPresent());
     }
+
+    /**
+     * Asserts that the projection of the CNF's solutions onto the variables of the formula equals the formula's
+     * solutions.
+     */
+    public static void assertEquisatisfiable(IFormula formula, IFormula cnf) {
+        VariableMap variableMap = VariableMap.of(cnf);
+        assertEquisatisfiable(
+                formula,
+                variableMap,
+                assignment -> Boolean.TRUE.equals(cnf.evaluate(assignment, variableMap).orElse(null)));
+    }
+
+    /**
+     * Asserts that the projection of the clause list's solutions onto the variables of the formula equals the
+     * formula's solutions.
+     */
+    public static void assertEquisatisfiable(IFormula formula, BooleanAssignmentList clauseList) {
+        assertEquisatisfiable(
+                formula,
+                clauseList.getVariableMap(),
+                assignment -> clauseList.stream().allMatch(clause -> assignment.containsAny(clause.get())));
+    }
+
+    private static void assertEquisatisfiable(
+            IFormula formula, VariableMap variableMap, Predicate<BooleanAssignment> isSolution) {
+        List<Integer> variables = formula.getVariables().stream()
+                .map(variable -> variableMap.get(variable.getName()).get())
+                .collect(Collectors.toList());
+        Set<List<Boolean>> satisfyingProjections = new HashSet<>();
+        FormulaCreator.streamAllAssignments(variableMap.getVariableCount()).forEach(assignment -> {
+            if (isSolution.test(assignment)) {
+                assertEquals(Boolean.TRUE, formula.evaluate(assignment, variableMap).orElse(null), assignment::print);
+                satisfyingProjections.add(project(assignment, variables));
+            }
+        });
+        FormulaCreator.streamAllAssignments(variableMap.getVariableCount()).forEach(assignment -> {
+            if (Boolean.TRUE.equals(formula.evaluate(assignment, variableMap).orElse(null))) {
+                assertTrue(satisfyingProjections.contains(project(assignment, variables)), assignment::print);
+            }
+        });
+    }
+
+    private static List<Boolean> project(BooleanAssignment assignment, List<Integer> variables) {
+        return variables.stream().map(assignment::contains).collect(Collectors.toList());
+    }
 }
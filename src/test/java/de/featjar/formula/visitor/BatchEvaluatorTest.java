@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.visitor;
+
+import static de.featjar.formula.structure.Expressions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanSolution;
+import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.transform.FormulaCreator;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class BatchEvaluatorTest {
+
+    @Test
+    void evaluatesLikeEvaluator() {
+        assertSameEvaluation(FormulaCreator.getFormula01());
+        assertSameEvaluation(FormulaCreator.getFormula02());
+        assertSameEvaluation(biImplies(or(literal("a"), literal(false, "b")), not(and(literal("c"), True))));
+        assertSameEvaluation(and(
+                choose(2, literal("a"), literal(false, "b"), literal("c"), literal("d")),
+                or(atMost(1, literal("a"), literal("e")), between(2, 3, literal("b"), literal("d"), literal("e")))));
+        assertSameEvaluation(implies(atLeast(3, literal("a"), literal("b"), literal("c")), False));
+    }
+
+    @Test
+    void failsForNonPropositionalFormula() {
+        assertTrue(BatchEvaluator.compile(forAll(variable("x"), literal("a"))).isEmpty());
+    }
+
+    private static void assertSameEvaluation(IFormula formula) {
+        VariableMap variableMap = VariableMap.of(formula);
+        BooleanAssignmentList assignments = allPartialAssignments(variableMap);
+        BatchEvaluator batchEvaluator = BatchEvaluator.compile(formula).orElseThrow();
+        BitSet satisfying = batchEvaluator.evaluate(assignments);
+        BitSet violating = batchEvaluator.evaluate(assignments.getAll(), variableMap, false);
+        List<BooleanAssignment> all = assignments.getAll();
+        for (int i = 0; i < all.size(); i++) {
+            BooleanAssignment assignment = all.get(i);
+            Object expected = formula.evaluate(assignment, variableMap).orElse(null);
+            assertEquals(Boolean.TRUE.equals(expected), satisfying.get(i), assignment::print);
+            assertEquals(Boolean.FALSE.equals(expected), violating.get(i), assignment::print);
+        }
+
+        CompiledEvaluator compiledEvaluator = CompiledEvaluator.of(formula, variableMap).orElseThrow();
+        for (Boolean defaultValue : new Boolean[] {null, Boolean.TRUE, Boolean.FALSE}) {
+            compiledEvaluator.setDefaultBooleanValue(defaultValue);
+            for (BooleanAssignment assignment : all) {
+                Evaluator evaluator = new Evaluator(variableMap.toAssignment(assignment).orElseThrow());
+                evaluator.setDefaultBooleanValue(defaultValue);
+                Object expected = formula.traverse(evaluator).orElseThrow().orElse(null);
+                BooleanSolution solution = new BooleanSolution(variableMap.getVariableCount(), assignment.get());
+                assertEquals(expected, compiledEvaluator.evaluate(solution), assignment::print);
+            }
+        }
+    }
+
+    private static BooleanAssignmentList allPartialAssignments(VariableMap variableMap) {
+        int variableCount = variableMap.getVariableCount();
+        BooleanAssignmentList assignments = new BooleanAssignmentList(variableMap);
+        int combinations = (int) Math.pow(3, variableCount);
+        for (int i = 0; i < combinations; i++) {
+            List<Integer> literals = new ArrayList<>();
+            for (int j = 0, rest = i; j < variableCount; j++, rest /= 3) {
+                if (rest % 3 == 1) {
+                    literals.add(j + 1);
+                } else if (rest % 3 == 2) {
+                    literals.add(-(j + 1));
+                }
+            }
+            assignments.add(new BooleanAssignment(literals));
+        }
+        return assignments;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.visitor;
+
+import static de.featjar.formula.structure.Expressions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanSolution;
+import de.featjar.formula.structure.IFormula;
+import de.featjar.formula.transform.FormulaCreator;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class CompiledEvaluatorTest {
+
+    @Test
+    void evaluatesLikeFormula() {
+        assertSameEvaluation(FormulaCreator.getFormula01());
+        assertSameEvaluation(FormulaCreator.getFormula02());
+        assertSameEvaluation(or(and(literal("a"), literal(false, "b")), not(implies(literal("c"), literal("a")))));
+        assertSameEvaluation(biImplies(literal("a"), and(literal("b"), or(literal(false, "c"), False))));
+        assertSameEvaluation(and(
+                atLeast(2, literal("a"), literal("b"), literal(false, "c"), literal("d")),
+                not(between(1, 2, literal("a"), literal("c"), literal("e")))));
+        assertSameEvaluation(or(atMost(0, literal("a"), literal("b")), choose(1, literal("c"), True)));
+    }
+
+    @Test
+    void evaluatesUnassignedVariablesAsDefault() {
+        VariableMap variableMap = VariableMap.of(List.of("a", "b"));
+        CompiledEvaluator evaluator = CompiledEvaluator.of(or(literal("a"), literal(false, "b")), variableMap)
+                .orElseThrow();
+        assertNull(evaluator.getDefaultBooleanValue());
+        assertNull(evaluator.evaluate(new BooleanSolution(new int[] {-1, 0}, false)));
+        assertEquals(Boolean.TRUE, evaluator.evaluate(new BooleanSolution(new int[] {1, 0}, false)));
+        evaluator.setDefaultBooleanValue(Boolean.FALSE);
+        assertEquals(Boolean.FALSE, evaluator.getDefaultBooleanValue());
+        assertEquals(Boolean.TRUE, evaluator.evaluate(new BooleanSolution(new int[] {-1, 0}, false)));
+        evaluator.setDefaultBooleanValue(Boolean.TRUE);
+        assertEquals(Boolean.FALSE, evaluator.evaluate(new BooleanSolution(new int[] {-1, 0}, false)));
+    }
+
+    @Test
+    void failsForNonPropositionalFormula() {
+        IFormula formula = forAll(variable("x"), literal("a"));
+        assertTrue(CompiledEvaluator.of(formula, VariableMap.of(formula)).isEmpty());
+    }
+
+    private static void assertSameEvaluation(IFormula formula) {
+        VariableMap variableMap = VariableMap.of(formula);
+        CompiledEvaluator evaluator = CompiledEvaluator.of(formula, variableMap).orElseThrow();
+        List<BooleanAssignment> assignments = FormulaCreator.streamAllAssignments(variableMap.getVariableCount())
+                .collect(Collectors.toList());
+        for (BooleanAssignment assignment : assignments) {
+            Object expected = formula.evaluate(assignment, variableMap).orElseThrow();
+            assertEquals(expected, evaluator.evaluate(new BooleanSolution(assignment.get())), assignment::print);
+            assertEquals(
+                    Boolean.TRUE.equals(expected) ? 1 : -1, evaluator.evaluate(assignment.get()), assignment::print);
+        }
+    }
+}